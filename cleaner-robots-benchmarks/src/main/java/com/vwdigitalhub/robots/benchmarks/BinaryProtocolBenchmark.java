@@ -0,0 +1,92 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.in.socket.BinaryClient;
+import com.vwdigitalhub.robots.application.adapter.in.socket.BinaryReply;
+import com.vwdigitalhub.robots.application.adapter.in.socket.BinarySocketAdapter;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Robots sent to an in-process {@link BinarySocketAdapter} over loopback, {@code batch} requests
+ * pipelined before their replies are read. One operation is one batch, so robots per millisecond
+ * are the throughput score times {@code batch}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryProtocolBenchmark {
+    private static final int SIDE = 1_000_000;
+
+    @State(Scope.Thread)
+    public static class Connection {
+        @Param({"1", "100", "1000"})
+        public int batch;
+
+        @Param({"MMRMMLMMRMML"})
+        public String route;
+
+        BinarySocketAdapter server;
+        BinaryClient client;
+        InstructionProgram program;
+        SplittableRandom random;
+        int workspace;
+
+        @Setup(Level.Trial)
+        public void connect() throws IOException {
+            server = new BinarySocketAdapter(Engines.create("segment"), new InetSocketAddress("localhost", 0));
+            server.start();
+            client = BinaryClient.connect(new InetSocketAddress("localhost", server.port()));
+            program = InstructionParser.from(route);
+            random = new SplittableRandom(42);
+        }
+
+        /** A fresh workspace per iteration, so parked robots do not pile up across the run. */
+        @Setup(Level.Iteration)
+        public void workspace() throws IOException {
+            workspace = client.createWorkspace(SIDE - 1, SIDE - 1);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            client.close();
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public void execute(Connection connection, Blackhole bh) throws IOException {
+        BinaryClient client = connection.client;
+        for (int i = 0; i < connection.batch; i++) {
+            Position start = new Position(connection.random.nextInt(SIDE - 20), connection.random.nextInt(SIDE - 20));
+            client.execute(connection.workspace, start, Direction.N, connection.program);
+        }
+        client.flush();
+        for (int i = 0; i < connection.batch; i++) {
+            BinaryReply reply = client.receive();
+            bh.consume(reply);
+        }
+    }
+}
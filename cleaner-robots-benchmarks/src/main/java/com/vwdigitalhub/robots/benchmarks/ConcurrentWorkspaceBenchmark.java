@@ -0,0 +1,87 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Several threads driving robots on one shared concurrent workspace. {@code cells} is the side of
+ * the square the threads pick cells from: a small square makes them fight over the same words or
+ * stripes, a large one shows the uncontended cost. The thread count is set with {@code -t}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConcurrentWorkspaceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Floor {
+        /** {@code bitmap} keeps the workspace small enough for the CAS bitmap, {@code striped} forces the striped hash set. */
+        @Param({"bitmap", "striped"})
+        public String index;
+
+        @Param({"64", "4096"})
+        public int cells;
+
+        Workspace workspace;
+
+        @Setup
+        public void setUp() {
+            int max = index.equals("bitmap") ? 4095 : 1_000_000_000;
+            workspace = Workspace.concurrent(max, max, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Driver {
+        final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+        final ExecuteInstructionsUseCase engine = Engines.create("segment");
+        final InstructionProgram route = InstructionParser.from("MMRMMLMMRM");
+    }
+
+    /** Parks and immediately frees a random cell. */
+    @Benchmark
+    public boolean claimAndRelease(Floor floor, Driver driver) {
+        Position cell = new Position(driver.random.nextInt(floor.cells), driver.random.nextInt(floor.cells));
+        boolean claimed = floor.workspace.tryOccupy(cell);
+        if (claimed) floor.workspace.release(cell);
+        return claimed;
+    }
+
+    /** Runs a short route from a random cell, then frees the cell it parked on. */
+    @Benchmark
+    public Object executeAndRelease(Floor floor, Driver driver) {
+        Position start = new Position(driver.random.nextInt(floor.cells - 5), driver.random.nextInt(floor.cells - 5));
+        try {
+            ControlRobotCommandResponse response = driver.engine.execute(new ControlRobotCommand(floor.workspace, start, Direction.N, driver.route));
+            floor.workspace.release(response.finalPosition());
+            return response;
+        } catch (DomainException e) {
+            return e;
+        }
+    }
+}
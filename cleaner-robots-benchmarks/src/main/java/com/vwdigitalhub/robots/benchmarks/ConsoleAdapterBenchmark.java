@@ -0,0 +1,52 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.in.cli.ConsoleAdapter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsoleAdapterBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        byte[] bytes;
+        PrintStream out;
+        ConsoleAdapter adapter;
+
+        @Setup
+        public void prepare(MissionState state) {
+            bytes = state.mission.toInput();
+            out = new PrintStream(OutputStream.nullOutputStream());
+            adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        }
+    }
+
+    @Benchmark
+    public void run(Input input) throws IOException {
+        input.adapter.run(new ByteArrayInputStream(input.bytes), input.out);
+    }
+
+    @Benchmark
+    public void runStreaming(Input input) throws IOException {
+        input.adapter.runStreaming(new ByteArrayInputStream(input.bytes), input.out);
+    }
+}
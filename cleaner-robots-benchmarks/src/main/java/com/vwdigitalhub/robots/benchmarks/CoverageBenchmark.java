@@ -0,0 +1,65 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.CoveringExecuteInstructionsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecuteInstructionsBenchmark} with the route of every parked robot traced into a coverage
+ * map by {@link CoveringExecuteInstructionsService} ({@code coverage=on}) or not ({@code off}). Each
+ * mission starts from an empty map.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverageBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"reference", "segment"})
+        public String engine;
+
+        @Param({"off", "on"})
+        public String coverage;
+
+        ExecuteInstructionsUseCase engineUseCase;
+        ExecuteInstructionsUseCase useCase;
+        List<ControlRobotCommand> commands;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engineUseCase = Engines.create(engine);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(MissionState state) {
+            commands = state.mission.commands(state.mission.newWorkspace());
+            useCase = coverage.equals("on") ? new CoveringExecuteInstructionsService(engineUseCase) : engineUseCase;
+        }
+    }
+
+    @Benchmark
+    public void execute(Run run, Blackhole bh) {
+        for (ControlRobotCommand command : run.commands) {
+            bh.consume(run.useCase.execute(command));
+        }
+    }
+}
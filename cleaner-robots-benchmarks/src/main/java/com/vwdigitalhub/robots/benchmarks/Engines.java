@@ -0,0 +1,20 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrimitiveExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+
+/** Execution engines selectable through the {@code engine} benchmark parameter. */
+final class Engines {
+    private Engines() {}
+
+    static ExecuteInstructionsUseCase create(String name) {
+        return switch (name) {
+            case "reference" -> new ExecuteInstructionsService();
+            case "primitive" -> new PrimitiveExecuteInstructionsService();
+            case "segment" -> new SegmentExecuteInstructionsService();
+            default -> throw new IllegalArgumentException("Unknown engine: " + name);
+        };
+    }
+}
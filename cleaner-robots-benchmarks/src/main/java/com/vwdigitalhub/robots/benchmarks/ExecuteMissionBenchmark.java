@@ -0,0 +1,60 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteMissionUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executemission.ParallelExecuteMissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** A whole mission run one robot after another, or speculatively in parallel on the common pool. */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteMissionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"sequential", "parallel"})
+        public String mode;
+
+        ExecuteMissionUseCase useCase;
+        List<ControlRobotCommand> commands;
+
+        @Setup(Level.Trial)
+        public void mode() {
+            ExecuteInstructionsUseCase engine = Engines.create("segment");
+            useCase = switch (mode) {
+                case "sequential" -> (mission, results) -> mission.forEach(command -> results.accept(engine.execute(command)));
+                case "parallel" -> new ParallelExecuteMissionService(engine);
+                default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+            };
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(MissionState state) {
+            commands = state.mission.commands(state.mission.newWorkspace());
+        }
+    }
+
+    @Benchmark
+    public void execute(Run run, Blackhole bh) {
+        run.useCase.execute(run.commands, bh::consume);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.SimulateFleetUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.FleetRobotOutcome;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.TickFleetSimulationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fleet of {@code robots} moving in lock-step for {@code ticks} ticks on a floor where one
+ * cell in {@code spread} holds a robot, on one thread or on the common pool ({@code mode}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FleetSimulationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Fleet {
+        @Param({"sequential", "parallel"})
+        public String mode;
+
+        @Param({"10000", "100000"})
+        public int robots;
+
+        @Param({"100"})
+        public int ticks;
+
+        @Param({"10"})
+        public int spread;
+
+        @Param({"42"})
+        public long seed;
+
+        SimulateFleetUseCase useCase;
+        ForkJoinPool pool;
+        int side;
+        Position[] starts;
+        Direction[] directions;
+        InstructionProgram[] programs;
+        List<ControlRobotCommand> commands;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            pool = mode.equals("sequential") ? new ForkJoinPool(1) : ForkJoinPool.commonPool();
+            useCase = new TickFleetSimulationService(pool);
+            SplittableRandom random = new SplittableRandom(seed);
+            side = (int) Math.ceil(Math.sqrt((double) robots * spread));
+            starts = new Position[robots];
+            directions = new Direction[robots];
+            programs = new InstructionProgram[robots];
+            boolean[] taken = new boolean[side * side];
+            for (int i = 0; i < robots; i++) {
+                int cell;
+                do {
+                    cell = random.nextInt(side * side);
+                } while (taken[cell]);
+                taken[cell] = true;
+                starts[i] = new Position(cell % side, cell / side);
+                directions[i] = Direction.values()[random.nextInt(4)];
+                InstructionProgram.Builder program = InstructionProgram.builder(ticks);
+                for (int t = 0; t < ticks; t++) {
+                    int roll = random.nextInt(8);
+                    program.addCode(roll == 0 ? InstructionProgram.TURN_LEFT : roll == 1 ? InstructionProgram.TURN_RIGHT : InstructionProgram.MOVE_FORWARD);
+                }
+                programs[i] = program.build();
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            Workspace workspace = new Workspace(side - 1, side - 1, robots);
+            commands = new ArrayList<>(robots);
+            for (int i = 0; i < robots; i++) {
+                commands.add(new ControlRobotCommand(workspace, starts[i], directions[i], programs[i]));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            if (pool != ForkJoinPool.commonPool()) pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<FleetRobotOutcome> simulate(Fleet fleet) {
+        return fleet.useCase.simulate(fleet.commands);
+    }
+}
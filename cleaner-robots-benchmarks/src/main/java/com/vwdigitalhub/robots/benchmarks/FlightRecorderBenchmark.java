@@ -0,0 +1,81 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.FlightRecordedExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.jfr.InstructionsParsedEvent;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotExecutedEvent;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotRejectedEvent;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecuteInstructionsBenchmark} on the segment engine without flight recorder events
+ * ({@code events=none}), wrapped in {@link FlightRecordedExecuteInstructionsService} while no
+ * recording runs ({@code off}), and while a recording has the robot events enabled with their
+ * default thresholds ({@code on}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightRecorderBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"none", "off", "on"})
+        public String events;
+
+        ExecuteInstructionsUseCase useCase;
+        List<ControlRobotCommand> commands;
+        Recording recording;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            useCase = Engines.create("segment");
+            if (events.equals("none")) return;
+            useCase = new FlightRecordedExecuteInstructionsService(useCase);
+            if (events.equals("on")) {
+                recording = new Recording();
+                recording.enable(RobotExecutedEvent.class);
+                recording.enable(RobotRejectedEvent.class);
+                recording.enable(InstructionsParsedEvent.class);
+                recording.start();
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(MissionState state) {
+            commands = state.mission.commands(state.mission.newWorkspace());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (recording != null) recording.close();
+        }
+    }
+
+    @Benchmark
+    public void execute(Run run, Blackhole bh) {
+        for (ControlRobotCommand command : run.commands) {
+            bh.consume(run.useCase.execute(command));
+        }
+    }
+}
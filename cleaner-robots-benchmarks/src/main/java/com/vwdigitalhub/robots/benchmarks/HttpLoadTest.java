@@ -0,0 +1,130 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.in.http.HttpAdapter;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load test of {@link HttpAdapter}: {@code clients} threads each post batches of
+ * {@code robots} robots to their own workspace as fast as the server answers, and the run reports
+ * requests per second and p50/p99 latency. Without {@code --url} the server is started in this JVM
+ * with the segment engine on an ephemeral port.
+ * <pre>
+ * java -cp cleaner-robots-benchmarks/target/benchmarks.jar com.vwdigitalhub.robots.benchmarks.HttpLoadTest \
+ *     [--url http://host:port] [--clients 16] [--robots 10] [--instructions 100] [--warmup 3] [--seconds 10] [--threads 16]
+ * </pre>
+ */
+public final class HttpLoadTest {
+    private static final int SIDE = 1_000_000;
+
+    private HttpLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String url = option(args, "--url", null);
+        int clients = Integer.parseInt(option(args, "--clients", "16"));
+        int robots = Integer.parseInt(option(args, "--robots", "10"));
+        int instructions = Integer.parseInt(option(args, "--instructions", "100"));
+        int warmup = Integer.parseInt(option(args, "--warmup", "3"));
+        int seconds = Integer.parseInt(option(args, "--seconds", "10"));
+        int threads = Integer.parseInt(option(args, "--threads", Integer.toString(2 * Runtime.getRuntime().availableProcessors())));
+
+        HttpAdapter server = null;
+        if (url == null) {
+            server = new HttpAdapter(Engines.create("segment"), new InetSocketAddress("localhost", 0), threads);
+            server.start();
+            url = "http://localhost:" + server.port();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            System.out.printf("Warming up for %d s...%n", warmup);
+            run(client, executor, url, clients, robots, instructions, warmup);
+            System.out.printf("Measuring %d clients, %d robots x %d instructions per request, for %d s...%n", clients, robots, instructions, seconds);
+            long start = System.nanoTime();
+            long[] latencies = run(client, executor, url, clients, robots, instructions, seconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            Arrays.sort(latencies);
+            System.out.printf("Requests: %d in %.2f s, %.0f req/s, %.0f robots/s%n",
+                    latencies.length, elapsed, latencies.length / elapsed, latencies.length * (double) robots / elapsed);
+            System.out.printf("Latency: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        } finally {
+            executor.shutdownNow();
+            if (server != null) server.close();
+        }
+    }
+
+    /** Runs every client for {@code seconds} and returns the latencies of all requests, in nanoseconds. */
+    private static long[] run(HttpClient client, ExecutorService executor, String url, int clients,
+                              int robots, int instructions, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            results.add(executor.submit(() -> client(client, url, new SplittableRandom(seed), robots, instructions, deadline)));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            int from = all.length;
+            all = Arrays.copyOf(all, from + latencies.length);
+            System.arraycopy(latencies, 0, all, from, latencies.length);
+        }
+        return all;
+    }
+
+    private static long[] client(HttpClient client, String url, SplittableRandom random, int robots, int instructions, long deadline) throws Exception {
+        String workspace = client.send(HttpRequest.newBuilder(URI.create(url + "/workspaces"))
+                .POST(HttpRequest.BodyPublishers.ofString((SIDE - 1) + " " + (SIDE - 1))).build(), HttpResponse.BodyHandlers.ofString()).body().trim();
+        URI robotsUri = URI.create(url + "/workspaces/" + workspace + "/robots");
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(robotsUri)
+                    .POST(HttpRequest.BodyPublishers.ofString(batch(random, robots, instructions))).build();
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() != 200) throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count << 1);
+            latencies[count++] = latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String batch(SplittableRandom random, int robots, int instructions) {
+        StringBuilder body = new StringBuilder(robots * (instructions + 24));
+        for (int r = 0; r < robots; r++) {
+            body.append(random.nextInt(SIDE)).append(' ').append(random.nextInt(SIDE)).append(' ').append("NESW".charAt(random.nextInt(4))).append('\n');
+            for (int i = 0; i < instructions; i++) {
+                body.append("MMLR".charAt(random.nextInt(4)));
+            }
+            body.append('\n');
+        }
+        return body.toString();
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals(name)) return args[i + 1];
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,93 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.out.journal.MappedJournal;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.JournalingExecuteInstructionsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link ExecuteInstructionsBenchmark} with every parked robot recorded in a {@link MappedJournal}
+ * ({@code journal=on}) or not ({@code off}). The journal lives in a fresh temporary directory for
+ * each iteration.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"reference", "segment"})
+        public String engine;
+
+        @Param({"off", "on"})
+        public String journal;
+
+        @Param({"10"})
+        public long commitMillis;
+
+        ExecuteInstructionsUseCase useCase;
+        List<ControlRobotCommand> commands;
+        Path directory;
+        MappedJournal opened;
+
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            useCase = Engines.create(engine);
+            if (journal.equals("on")) {
+                directory = Files.createTempDirectory("journal-benchmark");
+                opened = MappedJournal.open(directory, MappedJournal.DEFAULT_SEGMENT_SIZE, Duration.ofMillis(commitMillis));
+                useCase = new JournalingExecuteInstructionsService(useCase, opened);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(MissionState state) {
+            commands = state.mission.commands(state.mission.newWorkspace());
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            if (opened == null) return;
+            opened.close();
+            opened = null;
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void execute(Run run, Blackhole bh) {
+        for (ControlRobotCommand command : run.commands) {
+            bh.consume(run.useCase.execute(command));
+        }
+    }
+}
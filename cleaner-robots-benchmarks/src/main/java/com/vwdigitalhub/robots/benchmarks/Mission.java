@@ -0,0 +1,74 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated mission: workspace bounds, the cells parked before the mission starts and the
+ * routes of the active robots, in execution order. Every route is valid by construction.
+ */
+public final class Mission {
+
+    public record Route(Position start, Direction direction, String instructions) {}
+
+    private final int maxX;
+    private final int maxY;
+    private final List<Position> parked;
+    private final List<Route> routes;
+    private final List<InstructionProgram> programs;
+
+    Mission(int maxX, int maxY, List<Position> parked, List<Route> routes) {
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.parked = List.copyOf(parked);
+        this.routes = List.copyOf(routes);
+        this.programs = routes.stream().map(route -> InstructionParser.from(route.instructions())).toList();
+    }
+
+    public List<Route> routes() {
+        return routes;
+    }
+
+    public long instructionCount() {
+        return routes.stream().mapToLong(route -> route.instructions().length()).sum();
+    }
+
+    /** A fresh workspace with every parked cell already occupied. */
+    public Workspace newWorkspace() {
+        Workspace workspace = new Workspace(maxX, maxY, parked.size() + routes.size());
+        parked.forEach(workspace::occupy);
+        return workspace;
+    }
+
+    /** Commands for the active robots, bound to {@code workspace} and reusing pre-parsed programs. */
+    public List<ControlRobotCommand> commands(Workspace workspace) {
+        List<ControlRobotCommand> commands = new ArrayList<>(routes.size());
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            commands.add(new ControlRobotCommand(workspace, route.start(), route.direction(), programs.get(i)));
+        }
+        return commands;
+    }
+
+    /** The mission in the console input format; parked cells become robots that only turn left. */
+    public byte[] toInput() {
+        StringBuilder sb = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, instructionCount() + 16L * (routes.size() + parked.size())));
+        sb.append(maxX).append(' ').append(maxY).append('\n');
+        for (Position p : parked) {
+            sb.append(p.x()).append(' ').append(p.y()).append(" N\nL\n");
+        }
+        for (Route route : routes) {
+            sb.append(route.start().x()).append(' ').append(route.start().y()).append(' ').append(route.direction().name()).append('\n');
+            sb.append(route.instructions()).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
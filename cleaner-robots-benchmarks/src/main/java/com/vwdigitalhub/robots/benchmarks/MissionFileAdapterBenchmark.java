@@ -0,0 +1,55 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.in.file.MissionFileAdapter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MissionFileAdapterBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        Path file;
+        PrintStream out;
+        MissionFileAdapter adapter;
+
+        @Setup
+        public void prepare(MissionState state) throws IOException {
+            file = Files.createTempFile("mission", ".txt");
+            Files.write(file, state.mission.toInput());
+            out = new PrintStream(OutputStream.nullOutputStream());
+            adapter = new MissionFileAdapter(new ExecuteInstructionsService());
+        }
+
+        @TearDown
+        public void delete() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void run(Input input) throws IOException {
+        input.adapter.run(input.file, input.out);
+    }
+}
@@ -0,0 +1,78 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible missions of a given size. Routes are random walks that turn with
+ * probability {@code turns} at each step and otherwise move forward, turning instead whenever the
+ * move would leave the workspace or enter an occupied cell.
+ */
+public final class MissionGenerator {
+    private MissionGenerator() {}
+
+    public static Mission generate(int maxX, int maxY, int robots, long instructions, double occupancy, double turns, long seed) {
+        long cells = (long) (maxX + 1) * (maxY + 1);
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Workspace too large for the generator: " + cells + " cells");
+        }
+        int parkedCount = (int) (cells * occupancy);
+        if (robots < 1 || parkedCount + (long) robots > cells) {
+            throw new IllegalArgumentException("Cannot fit " + robots + " robots and " + parkedCount + " parked cells in " + cells + " cells");
+        }
+        int width = maxX + 1;
+        SplittableRandom random = new SplittableRandom(seed);
+        BitSet occupied = new BitSet((int) cells);
+
+        List<Position> parked = new ArrayList<>(parkedCount);
+        for (int i = 0; i < parkedCount; i++) {
+            int cell = freeCell(occupied, (int) cells, random);
+            occupied.set(cell);
+            parked.add(new Position(cell % width, cell / width));
+        }
+
+        List<Mission.Route> routes = new ArrayList<>(robots);
+        for (int r = 0; r < robots; r++) {
+            int length = (int) (instructions / robots + (r < instructions % robots ? 1 : 0));
+            int cell = freeCell(occupied, (int) cells, random);
+            int x = cell % width;
+            int y = cell / width;
+            int d = random.nextInt(4);
+            Position start = new Position(x, y);
+            Direction direction = Direction.values()[d];
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                boolean turn = random.nextDouble() < turns;
+                if (turn && random.nextBoolean()) {
+                    sb.append('L');
+                    d = (d + 3) & 3;
+                    continue;
+                }
+                int nx = x + Direction.dx(d);
+                int ny = y + Direction.dy(d);
+                if (turn || nx < 0 || ny < 0 || nx > maxX || ny > maxY || occupied.get(ny * width + nx)) {
+                    sb.append('R');
+                    d = (d + 1) & 3;
+                } else {
+                    sb.append('M');
+                    x = nx;
+                    y = ny;
+                }
+            }
+            occupied.set(y * width + x);
+            routes.add(new Mission.Route(start, direction, sb.toString()));
+        }
+        return new Mission(maxX, maxY, parked, routes);
+    }
+
+    private static int freeCell(BitSet occupied, int cells, SplittableRandom random) {
+        int cell = random.nextInt(cells);
+        int free = occupied.nextClearBit(cell);
+        return free < cells ? free : occupied.nextClearBit(0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Mission shape shared by every benchmark. Override from the command line, e.g.
+ * {@code -p instructions=10000000 -p robots=100 -p occupancy=0.2 -p turns=0.01}.
+ */
+@State(Scope.Benchmark)
+public class MissionState {
+
+    @Param({"999"})
+    public int maxX;
+
+    @Param({"999"})
+    public int maxY;
+
+    @Param({"10"})
+    public int robots;
+
+    @Param({"1000", "100000", "10000000"})
+    public long instructions;
+
+    @Param({"0.0", "0.05"})
+    public double occupancy;
+
+    @Param({"0.25"})
+    public double turns;
+
+    @Param({"42"})
+    public long seed;
+
+    public Mission mission;
+
+    @Setup
+    public void generate() {
+        mission = MissionGenerator.generate(maxX, maxY, robots, instructions, occupancy, turns, seed);
+    }
+}
@@ -0,0 +1,96 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 10^9 x 10^9 floor with {@code robots} robots parked at random, either in a square holding four
+ * cells per robot ({@code cluster}) or anywhere on the floor
+ * ({@code scatter}), kept on the heap ({@code Workspace} sized for the robots, with its row and
+ * column indexes built) or off the heap ({@code Workspace.offHeap}). {@code collect} times a full
+ * garbage collection with the floor alive, which is what grows with the robot count on the heap.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class OffHeapWorkspaceBenchmark {
+    private static final int MAX = 1_000_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Floor {
+        @Param({"heap", "offHeap"})
+        public String storage;
+
+        @Param({"100000", "1000000"})
+        public int robots;
+
+        @Param({"cluster", "scatter"})
+        public String layout;
+
+        final SplittableRandom random = new SplittableRandom(42);
+        final ExecuteInstructionsUseCase engine = Engines.create("segment");
+        final InstructionProgram route = InstructionParser.from("MMRMMLMMRM");
+        Workspace workspace;
+        int side;
+        int origin;
+
+        @Setup
+        public void setUp() {
+            workspace = storage.equals("heap") ? new Workspace(MAX, MAX, robots) : Workspace.offHeap(MAX, MAX);
+            side = layout.equals("cluster") ? (int) Math.sqrt(4.0 * robots) : MAX;
+            origin = layout.equals("cluster") ? MAX / 3 : 0;
+            while (workspace.occupiedCount() < robots) {
+                workspace.tryOccupy(new Position(origin + random.nextInt(side), origin + random.nextInt(side)));
+            }
+            workspace.firstOccupiedOnRow(origin, 0, MAX);
+        }
+    }
+
+    /** Runs a short route from a random cell of the parked area, then frees the cell it parked on. */
+    @Benchmark
+    public Object executeAndRelease(Floor floor) {
+        Position start = new Position(floor.origin + floor.random.nextInt(floor.side), floor.origin + floor.random.nextInt(floor.side));
+        try {
+            ControlRobotCommandResponse response = floor.engine.execute(new ControlRobotCommand(floor.workspace, start, Direction.N, floor.route));
+            floor.workspace.release(response.finalPosition());
+            return response;
+        } catch (DomainException e) {
+            return e;
+        }
+    }
+
+    /** Scans a whole row of the floor, through the parked robots, for its first robot. */
+    @Benchmark
+    public int firstOnLongRow(Floor floor) {
+        return floor.workspace.firstOccupiedOnRow(floor.origin + floor.random.nextInt(floor.side), MAX, 0);
+    }
+
+    @Benchmark
+    public Workspace collect(Floor floor) {
+        System.gc();
+        return floor.workspace;
+    }
+}
@@ -0,0 +1,68 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.in.cli.ConsoleAdapter;
+import com.vwdigitalhub.robots.application.adapter.out.result.ChannelResultWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole mission, input held in memory and results written to {@code /dev/null} through a
+ * {@link ChannelResultWriter}, read, run and written on one thread ({@code streaming}) or on the
+ * three threads of {@code ConsoleAdapter.runPipelined} ({@code pipelined}). Best run with many
+ * short robots, e.g. {@code -p robots=100000 -p instructions=10000000}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"streaming", "pipelined"})
+        public String runner;
+
+        @Param({"segment"})
+        public String engine;
+
+        byte[] bytes;
+        ChannelResultWriter results;
+
+        @Setup
+        public void setUp(MissionState state) throws IOException {
+            bytes = state.mission.toInput();
+            results = new ChannelResultWriter(new FileOutputStream("/dev/null").getChannel(), ChannelResultWriter.Format.TEXT);
+        }
+
+        @TearDown
+        public void tearDown() {
+            results.close();
+        }
+    }
+
+    @Benchmark
+    public void mission(Run run) throws Exception {
+        ConsoleAdapter adapter = new ConsoleAdapter(Engines.create(run.engine));
+        if (run.runner.equals("pipelined")) {
+            adapter.runPipelined(new ByteArrayInputStream(run.bytes), run.results);
+        } else {
+            adapter.runStreaming(new ByteArrayInputStream(run.bytes), run.results);
+        }
+    }
+}
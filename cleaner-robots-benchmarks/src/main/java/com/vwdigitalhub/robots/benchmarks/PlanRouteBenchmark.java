@@ -0,0 +1,73 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.planroute.AStarPlanRouteService;
+import com.vwdigitalhub.robots.application.domain.service.planroute.PlanRouteCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans one route between random free cells at most {@code span} cells apart on each axis, on a
+ * {@code side} x {@code side} floor with {@code robots} robots parked at random.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanRouteBenchmark {
+    private static final int COMMANDS = 1024;
+
+    @State(Scope.Thread)
+    public static class Floor {
+        @Param({"4000"})
+        public int side;
+
+        @Param({"100000"})
+        public int robots;
+
+        @Param({"100", "500", "1000"})
+        public int span;
+
+        final AStarPlanRouteService service = new AStarPlanRouteService();
+        final PlanRouteCommand[] commands = new PlanRouteCommand[COMMANDS];
+        int next;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(47);
+            Workspace workspace = new Workspace(side - 1, side - 1, robots);
+            while (workspace.occupiedCount() < robots) {
+                workspace.tryOccupy(new Position(random.nextInt(side), random.nextInt(side)));
+            }
+            for (int i = 0; i < COMMANDS; ) {
+                int x = random.nextInt(side - span);
+                int y = random.nextInt(side - span);
+                Position start = new Position(x, y);
+                Position target = new Position(x + random.nextInt(span), y + random.nextInt(span));
+                if (workspace.isOccupied(start.x(), start.y()) || workspace.isOccupied(target.x(), target.y())) continue;
+                commands[i++] = new PlanRouteCommand(workspace, start, Direction.values()[random.nextInt(4)], target);
+            }
+        }
+    }
+
+    @Benchmark
+    public InstructionProgram plan(Floor floor) {
+        return floor.service.plan(floor.commands[floor.next++ & (COMMANDS - 1)]);
+    }
+}
@@ -0,0 +1,83 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrevalidatingExecuteInstructionsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExecuteInstructionsBenchmark} with every robot checked first by
+ * {@link PrevalidatingExecuteInstructionsService} ({@code prevalidation=on}) or not ({@code off}).
+ * Programs are copied before each invocation, so the summary they cache is computed again as it
+ * would be for freshly parsed robots.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrevalidationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({"reference", "primitive", "segment"})
+        public String engine;
+
+        @Param({"off", "on"})
+        public String prevalidation;
+
+        ExecuteInstructionsUseCase useCase;
+        List<ControlRobotCommand> commands;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            useCase = Engines.create(engine);
+            if (prevalidation.equals("on")) {
+                useCase = new PrevalidatingExecuteInstructionsService(useCase);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void reset(MissionState state) {
+            commands = new ArrayList<>();
+            for (ControlRobotCommand command : state.mission.commands(state.mission.newWorkspace())) {
+                commands.add(new ControlRobotCommand(command.workspace(), command.start(), command.direction(), copy(command.instructions())));
+            }
+        }
+
+        private static InstructionProgram copy(InstructionProgram program) {
+            long[] words = new long[(program.codeCount() + 31) >>> 5];
+            for (int i = 0; i < words.length; i++) words[i] = program.packedWord(i);
+            return InstructionProgram.fromPacked(words, program.codeCount());
+        }
+    }
+
+    @Benchmark
+    public void execute(Run run, Blackhole bh) {
+        for (ControlRobotCommand command : run.commands) {
+            try {
+                bh.consume(run.useCase.execute(command));
+            } catch (DomainException e) {
+                bh.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A diagonal patrol {@code (MMRMML)*repetitions} across a square workspace with parked robots
+ * scattered off its path, run to completion by each engine. The workspace line indexes are built
+ * during setup, as they are once the first robots of a mission have run.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RepeatBlockBenchmark {
+    @Param({"primitive", "segment"})
+    public String engine;
+
+    @Param({"1000", "1000000"})
+    public int repetitions;
+
+    @Param({"1000"})
+    public int parked;
+
+    ExecuteInstructionsUseCase useCase;
+    InstructionProgram patrol;
+    Workspace workspace;
+    int max;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        useCase = Engines.create(engine);
+        patrol = InstructionParser.from("(MMRMML)*" + repetitions);
+        max = 2 * repetitions + 1;
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        workspace = new Workspace(max, max, parked);
+        Random random = new Random(42);
+        while (workspace.occupiedCount() < parked) {
+            int x = random.nextInt(max + 1);
+            int y = random.nextInt(max + 1);
+            // Keep the parked robots off the patrol band around the diagonal
+            if (Math.abs(x - y) > 2) workspace.occupy(new Position(x, y));
+        }
+        workspace.firstOccupiedOnRow(0, 0, 0);
+    }
+
+    @Benchmark
+    public Object patrol() {
+        return useCase.execute(new ControlRobotCommand(workspace, new Position(0, 0), Direction.N, patrol));
+    }
+}
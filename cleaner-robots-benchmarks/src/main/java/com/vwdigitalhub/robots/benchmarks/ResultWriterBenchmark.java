@@ -0,0 +1,87 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.out.result.ChannelResultWriter;
+import com.vwdigitalhub.robots.application.adapter.out.result.PrintStreamResultWriter;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotResultWriter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@code robots} results to {@code /dev/null}, so every write is a real system call:
+ * printed one line at a time through an autoflushing {@code PrintStream} like {@code System.out}
+ * ({@code print}), or encoded into the direct buffer of a {@link ChannelResultWriter} as text or
+ * binary records and flushed once at the end.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultWriterBenchmark {
+
+    @State(Scope.Thread)
+    public static class Results {
+        @Param({"print", "text", "binary"})
+        public String writer;
+
+        @Param({"100000"})
+        public int robots;
+
+        ControlRobotCommandResponse[] responses;
+        RobotResultWriter out;
+        AutoCloseable closeable;
+
+        @Setup
+        public void setUp() throws IOException {
+            SplittableRandom random = new SplittableRandom(43);
+            responses = new ControlRobotCommandResponse[robots];
+            for (int i = 0; i < robots; i++) {
+                responses[i] = new ControlRobotCommandResponse(new Position(random.nextInt(1_000_000), random.nextInt(1_000_000)),
+                        Direction.values()[random.nextInt(4)]);
+            }
+            FileOutputStream devNull = new FileOutputStream("/dev/null");
+            if (writer.equals("print")) {
+                PrintStream print = new PrintStream(devNull, true);
+                out = new PrintStreamResultWriter(print);
+                closeable = print;
+            } else {
+                ChannelResultWriter channel = new ChannelResultWriter(devNull.getChannel(),
+                        writer.equals("text") ? ChannelResultWriter.Format.TEXT : ChannelResultWriter.Format.BINARY);
+                out = channel;
+                closeable = channel;
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public void write(Results results) {
+        for (ControlRobotCommandResponse response : results.responses) {
+            results.out.parked(response);
+        }
+        results.out.flush();
+    }
+}
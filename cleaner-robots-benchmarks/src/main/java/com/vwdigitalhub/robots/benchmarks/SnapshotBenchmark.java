@@ -0,0 +1,120 @@
+package com.vwdigitalhub.robots.benchmarks;
+
+import com.vwdigitalhub.robots.application.adapter.out.journal.MappedJournal;
+import com.vwdigitalhub.robots.application.adapter.out.journal.WorkspaceSnapshot;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Restart cost of one workspace with {@code robots} parked robots: writing its snapshot, restoring
+ * it from the snapshot, and, for comparison, rebuilding it by replaying one journal record per
+ * robot. {@code sparse} spreads the robots over a 1,000,000 square, so the snapshot stores the gaps
+ * between cells; {@code dense} packs them into a 1,000 square stored as a bitmap.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Floor {
+        @Param({"sparse", "dense"})
+        public String layout;
+
+        @Param({"100000"})
+        public int robots;
+
+        Workspace workspace;
+        Path directory;
+        Path snapshot;
+        Path journal;
+        List<Path> segments;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            int max = layout.equals("sparse") ? 999_999 : 999;
+            workspace = new Workspace(max, max, robots);
+            directory = Files.createTempDirectory("snapshot-benchmark");
+            snapshot = directory.resolve("workspace.snapshot");
+            journal = Files.createDirectory(directory.resolve("journal"));
+            SplittableRandom random = new SplittableRandom(42);
+            try (MappedJournal recorded = MappedJournal.open(journal)) {
+                recorded.workspaceCreated(workspace);
+                while (workspace.occupiedCount() < robots) {
+                    Position cell = new Position(random.nextInt(max + 1), random.nextInt(max + 1));
+                    if (workspace.tryOccupy(cell)) recorded.positionOccupied(workspace, cell);
+                }
+            }
+            WorkspaceSnapshot.of(workspace).writeTo(snapshot);
+            segments = list(journal);
+        }
+
+        /** Every open starts a new segment; drops it so replay always reads the same records. */
+        @TearDown(Level.Invocation)
+        public void dropNewSegments() throws IOException {
+            for (Path file : list(journal)) {
+                if (!segments.contains(file)) Files.delete(file);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+
+        private static List<Path> list(Path directory) throws IOException {
+            try (Stream<Path> files = Files.list(directory)) {
+                return files.toList();
+            }
+        }
+    }
+
+    @Benchmark
+    public Path write(Floor floor) throws IOException {
+        WorkspaceSnapshot.of(floor.workspace).writeTo(floor.snapshot);
+        return floor.snapshot;
+    }
+
+    @Benchmark
+    public Workspace restore(Floor floor) throws IOException {
+        return WorkspaceSnapshot.read(floor.snapshot).restore();
+    }
+
+    @Benchmark
+    public Map<UUID, Workspace> replay(Floor floor) throws IOException {
+        try (MappedJournal journal = MappedJournal.open(floor.journal, 4096, Duration.ofMillis(10))) {
+            return journal.replay();
+        }
+    }
+}
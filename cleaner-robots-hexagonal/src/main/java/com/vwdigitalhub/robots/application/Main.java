@@ -1,14 +1,175 @@
 package com.vwdigitalhub.robots.application;
 
+import com.vwdigitalhub.robots.application.adapter.in.batch.BatchMissionAdapter;
+import com.vwdigitalhub.robots.application.adapter.in.batch.MissionReport;
 import com.vwdigitalhub.robots.application.adapter.in.cli.ConsoleAdapter;
+import com.vwdigitalhub.robots.application.adapter.in.file.MissionFileAdapter;
+import com.vwdigitalhub.robots.application.adapter.in.http.HttpAdapter;
+import com.vwdigitalhub.robots.application.adapter.in.socket.BinarySocketAdapter;
+import com.vwdigitalhub.robots.application.adapter.out.journal.MappedJournal;
+import com.vwdigitalhub.robots.application.adapter.out.metrics.StripedRobotMetrics;
+import com.vwdigitalhub.robots.application.adapter.out.result.ChannelResultWriter;
 import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
-import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.CoveringExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.FlightRecordedExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.JournalingExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.MeteredExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executemission.ParallelExecuteMissionService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.planroute.AStarPlanRouteService;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.TickFleetSimulationService;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public final class Main {
-    public static void main(String[] args) throws IOException {
-        ExecuteInstructionsUseCase useCase = new ExecuteInstructionsService();
-        new ConsoleAdapter(useCase).run(System.in, System.out);
+    private static final long COMPACTION_MINUTES = 10;
+    // Options taking one argument that may come, in any order, before the mode
+    private static final Set<String> OPTIONS = Set.of("--metrics", "--coverage", "--output", "--binary-output");
+    // Modes that do not print robot results through a RobotResultWriter
+    private static final Set<String> UNWRITTEN_MODES = Set.of("--fleet", "--batch", "--http", "--binary");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ExecuteInstructionsUseCase useCase = new FlightRecordedExecuteInstructionsService(new SegmentExecuteInstructionsService());
+        RobotMetrics metrics = RobotMetrics.NONE;
+        Path output = null;
+        ChannelResultWriter.Format format = ChannelResultWriter.Format.TEXT;
+        while (args.length > 0 && OPTIONS.contains(args[0])) {
+            switch (args[0]) {
+                case "--metrics" -> {
+                    metrics = meter(Long.parseLong(argument(args, 1, "--metrics <seconds> [option...]")));
+                    useCase = new MeteredExecuteInstructionsService(useCase, metrics);
+                }
+                case "--coverage" -> useCase = cover(useCase, Path.of(argument(args, 1, "--coverage <file> [option...]")));
+                default -> {
+                    output = Path.of(argument(args, 1, args[0] + " <file> [option...]"));
+                    format = args[0].equals("--output") ? ChannelResultWriter.Format.TEXT : ChannelResultWriter.Format.BINARY;
+                }
+            }
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        if (output != null && args.length > 0 && UNWRITTEN_MODES.contains(args[0])) {
+            throw new IllegalArgumentException(args[0] + " does not support --output or --binary-output");
+        }
+        ConsoleAdapter adapter = new ConsoleAdapter(useCase, metrics);
+        try (ChannelResultWriter results = output == null || output.toString().equals("-")
+                ? ChannelResultWriter.stdout(format) : ChannelResultWriter.open(output, format)) {
+            if (args.length == 0) {
+                adapter.run(System.in, results);
+                return;
+            }
+            switch (args[0]) {
+                case "--stream" -> adapter.runStreaming(System.in, results);
+                case "--keep-going" -> adapter.runKeepGoing(System.in, results);
+                case "--pipelined" -> adapter.runPipelined(System.in, results);
+                case "--parallel" -> adapter.runMission(System.in, results, new ParallelExecuteMissionService(useCase));
+                case "--plan" -> adapter.runPlanned(System.in, results, new AStarPlanRouteService());
+                case "--fleet" -> adapter.runFleet(System.in, System.out, new TickFleetSimulationService());
+                case "--file" -> new MissionFileAdapter(useCase).run(Path.of(argument(args, 1, "--file <path>")), results);
+                case "--batch" -> batch(useCase, args);
+                case "--http" -> serve(useCase, args);
+                case "--binary" -> serveBinary(useCase, args);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[0]);
+            }
+        }
+    }
+
+    private static void batch(ExecuteInstructionsUseCase useCase, String[] args) throws IOException, InterruptedException {
+        String usage = "--batch <output dir> <mission file or dir>...";
+        Path outputDir = Path.of(argument(args, 1, usage));
+        argument(args, 2, usage);
+        List<Path> inputs = Arrays.stream(args, 2, args.length).map(Path::of).toList();
+        List<MissionReport> reports = new BatchMissionAdapter(useCase).run(inputs, outputDir, System.out);
+        if (!reports.stream().allMatch(MissionReport::succeeded)) {
+            System.exit(1);
+        }
+    }
+
+    private static void serve(ExecuteInstructionsUseCase useCase, String[] args) throws IOException {
+        // Read once per JVM, by the first HTTP server; see HttpAdapter
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int threads = 2 * Runtime.getRuntime().availableProcessors();
+        HttpAdapter http;
+        if (args.length > 2) {
+            MappedJournal journal = MappedJournal.open(Path.of(args[2]));
+            http = new HttpAdapter(new JournalingExecuteInstructionsService(useCase, journal), new InetSocketAddress(port), threads, journal);
+            ScheduledExecutorService compactions = Executors.newSingleThreadScheduledExecutor();
+            compactions.scheduleWithFixedDelay(http::compactJournal, COMPACTION_MINUTES, COMPACTION_MINUTES, TimeUnit.MINUTES);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                compactions.shutdownNow();
+                http.close();
+                http.compactJournal();
+                journal.close();
+            }));
+        } else {
+            http = new HttpAdapter(useCase, new InetSocketAddress(port), threads);
+            Runtime.getRuntime().addShutdownHook(new Thread(http::close));
+        }
+        http.start();
+        System.out.println("Listening on port " + http.port());
+    }
+
+    private static void serveBinary(ExecuteInstructionsUseCase useCase, String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+        BinarySocketAdapter binary = new BinarySocketAdapter(useCase, new InetSocketAddress(port));
+        binary.start();
+        System.out.println("Listening on port " + binary.port());
+    }
+
+    /** Publishes the metrics through JMX and prints them to stderr every {@code seconds} and on exit. */
+    private static StripedRobotMetrics meter(long seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("Metrics interval must be positive: " + seconds);
+        }
+        StripedRobotMetrics metrics = new StripedRobotMetrics();
+        metrics.register();
+        ScheduledExecutorService dumps = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumps.scheduleAtFixedRate(() -> System.err.print(metrics.report()), seconds, seconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(metrics.report())));
+        return metrics;
+    }
+
+    /** Traces the cells parked robots went over and writes the ones left uncovered to {@code file} on exit. */
+    private static ExecuteInstructionsUseCase cover(ExecuteInstructionsUseCase useCase, Path file) {
+        CoveringExecuteInstructionsService covering = new CoveringExecuteInstructionsService(useCase);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                covering.coverage().forEach((workspace, coverage) -> {
+                    String summary = String.format(Locale.ROOT, "%s %d %d %d/%d %.2f%%", workspace.getId(),
+                            coverage.getMaxX(), coverage.getMaxY(), coverage.coveredCells(), coverage.totalCells(), 100 * coverage.coverage());
+                    System.err.println("coverage " + summary);
+                    out.println("# " + summary);
+                    coverage.forEachUncovered((minX, minY, maxX, maxY) -> out.println(minX + " " + minY + " " + maxX + " " + maxY));
+                });
+            } catch (IOException e) {
+                System.err.println("Cannot write coverage to " + file + ": " + e.getMessage());
+            }
+        }));
+        return covering;
+    }
+
+    private static String argument(String[] args, int index, String usage) {
+        if (args.length <= index) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+        return args[index];
     }
 }
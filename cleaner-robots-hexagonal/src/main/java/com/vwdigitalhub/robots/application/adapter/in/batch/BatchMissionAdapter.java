@@ -0,0 +1,107 @@
+package com.vwdigitalhub.robots.application.adapter.in.batch;
+
+import com.vwdigitalhub.robots.application.adapter.in.file.MissionFileAdapter;
+import com.vwdigitalhub.robots.application.adapter.out.result.ChannelResultWriter;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Runs many independent mission files in one JVM, each with its own workspace, on a fixed pool of
+ * threads. Every mission is read by {@link MissionFileAdapter} and its results are written to
+ * {@code <outputDir>/<file name>.out}; a mission that fails keeps the results printed before the
+ * failure, and the failure goes to the summary.
+ */
+public final class BatchMissionAdapter {
+    private final ExecuteInstructionsUseCase useCase;
+    private final int threads;
+
+    public BatchMissionAdapter(ExecuteInstructionsUseCase useCase) {
+        this(useCase, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchMissionAdapter(ExecuteInstructionsUseCase useCase, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.useCase = useCase;
+        this.threads = threads;
+    }
+
+    /**
+     * Runs every mission of {@code inputs}, where a directory stands for the regular files it
+     * contains, and prints one summary line per mission, in input order, plus a total.
+     */
+    public List<MissionReport> run(List<Path> inputs, Path outputDir, PrintStream summary) throws IOException, InterruptedException {
+        List<Path> missions = missions(inputs);
+        Files.createDirectories(outputDir);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<MissionReport> reports = new ArrayList<>(missions.size());
+        try {
+            List<Callable<MissionReport>> tasks = new ArrayList<>(missions.size());
+            for (Path mission : missions) {
+                tasks.add(() -> runMission(mission, outputDir.resolve(mission.getFileName() + ".out")));
+            }
+            for (Future<MissionReport> report : executor.invokeAll(tasks)) {
+                reports.add(report.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Mission task failed unexpectedly", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long failed = reports.stream().filter(report -> !report.succeeded()).count();
+        reports.forEach(summary::println);
+        summary.printf("Processed %d missions in %.3f ms: %d succeeded, %d failed%n",
+                reports.size(), (System.nanoTime() - start) / 1e6, reports.size() - failed, failed);
+        return reports;
+    }
+
+    /** Runs one mission; any failure, opening its output included, only fails this mission's report. */
+    private MissionReport runMission(Path mission, Path output) {
+        long start = System.nanoTime();
+        ChannelResultWriter results = null;
+        try {
+            results = ChannelResultWriter.open(output, ChannelResultWriter.Format.TEXT);
+            try (ChannelResultWriter writer = results) {
+                new MissionFileAdapter(useCase).run(mission, writer);
+            }
+        } catch (RuntimeException | IOException e) {
+            return new MissionReport(mission, output, results == null ? 0 : (int) results.records(), System.nanoTime() - start,
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        return new MissionReport(mission, output, (int) results.records(), System.nanoTime() - start, null);
+    }
+
+    private static List<Path> missions(List<Path> inputs) throws IOException {
+        List<Path> missions = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.list(input)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(missions::add);
+                }
+            } else {
+                missions.add(input);
+            }
+        }
+        Set<Path> names = new HashSet<>();
+        for (Path mission : missions) {
+            if (!names.add(mission.getFileName())) {
+                throw new IllegalArgumentException("Duplicate mission file name: " + mission.getFileName());
+            }
+        }
+        return missions;
+    }
+}
@@ -0,0 +1,17 @@
+package com.vwdigitalhub.robots.application.adapter.in.batch;
+
+import java.nio.file.Path;
+
+/** Outcome of one mission file of a batch: how many robots were printed and how long it took. */
+public record MissionReport(Path input, Path output, int robots, long nanos, String failure) {
+
+    public boolean succeeded() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        String line = String.format("%s %s %d robots %.3f ms", input.getFileName(), succeeded() ? "ok" : "failed", robots, nanos / 1e6);
+        return succeeded() ? line : line + " " + failure;
+    }
+}
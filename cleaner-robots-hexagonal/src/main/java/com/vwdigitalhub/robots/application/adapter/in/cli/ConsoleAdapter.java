@@ -1,33 +1,256 @@
 package com.vwdigitalhub.robots.application.adapter.in.cli;
 
+import com.vwdigitalhub.robots.application.adapter.out.result.PrintStreamResultWriter;
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
 import com.vwdigitalhub.robots.application.domain.model.Direction;
 import com.vwdigitalhub.robots.application.domain.model.Position;
 import com.vwdigitalhub.robots.application.domain.model.Workspace;
-import com.vwdigitalhub.robots.application.domain.model.instructions.RobotInstruction;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
 import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteMissionUseCase;
+import com.vwdigitalhub.robots.application.domain.port.in.PlanRouteUseCase;
+import com.vwdigitalhub.robots.application.domain.port.in.SimulateFleetUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotResultWriter;
+import com.vwdigitalhub.robots.application.domain.service.jfr.MissionParsedEvent;
+import com.vwdigitalhub.robots.application.domain.service.planroute.PlanRouteCommand;
 import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
-import lombok.RequiredArgsConstructor;
 
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
 
-@RequiredArgsConstructor
 public final class ConsoleAdapter {
+    static final int PIPELINE_CAPACITY = 1024;
 
     private final ExecuteInstructionsUseCase useCase;
+    private final RobotMetrics metrics;
+
+    public ConsoleAdapter(ExecuteInstructionsUseCase useCase) {
+        this(useCase, RobotMetrics.NONE);
+    }
+
+    /** Also reports how long each instruction line takes to parse to {@code metrics}. */
+    public ConsoleAdapter(ExecuteInstructionsUseCase useCase, RobotMetrics metrics) {
+        this.useCase = useCase;
+        this.metrics = metrics;
+    }
 
     public void run(InputStream in, PrintStream out) throws IOException {
+        run(in, new PrintStreamResultWriter(out));
+    }
+
+    /** Reads every robot, then runs them one after another, writing each result to {@code results}. */
+    public void run(InputStream in, RobotResultWriter results) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            List<ControlRobotCommand> robotsCommands = readMission(br);
+            try {
+                robotsCommands.stream()
+                    .map(useCase::execute)
+                    .forEach(results::parked);
+            } finally {
+                results.flush();
+            }
+        }
+    }
+
+    /** Reads every robot, then hands the whole mission to {@code mission}, printing results as they come. */
+    public void runMission(InputStream in, PrintStream out, ExecuteMissionUseCase mission) throws IOException {
+        runMission(in, new PrintStreamResultWriter(out), mission);
+    }
+
+    public void runMission(InputStream in, RobotResultWriter results, ExecuteMissionUseCase mission) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            List<ControlRobotCommand> robotsCommands = readMission(br);
+            try {
+                mission.execute(robotsCommands, results::parked);
+            } finally {
+                results.flush();
+            }
+        }
+    }
+
+    /** Reads every robot, moves them all at once with {@code fleet} and prints each robot's outcome. */
+    public void runFleet(InputStream in, PrintStream out, SimulateFleetUseCase fleet) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            fleet.simulate(readMission(br)).forEach(out::println);
+        }
+    }
+
+    public void runPlanned(InputStream in, PrintStream out, PlanRouteUseCase planner) throws IOException {
+        runPlanned(in, new PrintStreamResultWriter(out), planner);
+    }
+
+    /**
+     * Reads the workspace, then for each robot its position line and a target line
+     * {@code <x> <y>} instead of instructions. Each robot drives the shortest route
+     * {@code planner} finds around the robots parked before it and parks on its target.
+     */
+    public void runPlanned(InputStream in, RobotResultWriter results, PlanRouteUseCase planner) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            try {
+                Workspace workspace = readWorkspace(br);
+                String posLine;
+                while ((posLine = nextNonEmptyLine(br)) != null) {
+                    String[] robotStartingData = splitLine(posLine);
+                    if (robotStartingData.length != 3) {
+                        throw new IllegalArgumentException("Robot position line must be: '<x> <y> <N|E|S|W>'");
+                    }
+                    Position start = new Position(parseInt(robotStartingData[0], "x"), parseInt(robotStartingData[1], "y"));
+                    Direction direction = Direction.from(robotStartingData[2]);
+                    String targetLine = nextNonEmptyLine(br);
+                    String[] targetData = targetLine == null ? new String[0] : splitLine(targetLine);
+                    if (targetData.length != 2) {
+                        throw new IllegalArgumentException("Robot target line must be: '<x> <y>'");
+                    }
+                    Position target = new Position(parseInt(targetData[0], "x"), parseInt(targetData[1], "y"));
+                    InstructionProgram route = planner.plan(new PlanRouteCommand(workspace, start, direction, target));
+                    results.parked(useCase.execute(new ControlRobotCommand(workspace, start, direction, route)));
+                }
+            } finally {
+                results.flush();
+            }
+        }
+    }
+
+    public void runStreaming(InputStream in, PrintStream out) throws IOException {
+        runStreaming(in, new PrintStreamResultWriter(out));
+    }
+
+    /**
+     * Reads, runs and writes one robot at a time. {@code results} is flushed whenever the next
+     * robot has not arrived yet, so results of an interactive session show up at once while a
+     * piped mission is written in large chunks.
+     */
+    public void runStreaming(InputStream in, RobotResultWriter results) throws IOException {
         try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
-            Workspace workspace = readWorkspace(br);
-            List<ControlRobotCommand> robotsCommands = readRobots(br, workspace);
-            robotsCommands.stream()
-                .map(useCase::execute)
-                .forEach(out::println);
+            try {
+                Workspace workspace = readWorkspace(br);
+                ControlRobotCommand robotCommand;
+                while ((robotCommand = readRobot(br, workspace, results)) != null) {
+                    results.parked(useCase.execute(robotCommand));
+                }
+            } finally {
+                results.flush();
+            }
+        }
+    }
+
+    public void runKeepGoing(InputStream in, PrintStream out) throws IOException {
+        runKeepGoing(in, new PrintStreamResultWriter(out));
+    }
+
+    /**
+     * Streams robots like {@link #runStreaming}, but a robot rejected by the domain writes its
+     * {@link RobotRejection} instead of stopping the mission, and the next robot runs.
+     */
+    public void runKeepGoing(InputStream in, RobotResultWriter results) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            try {
+                Workspace workspace = readWorkspace(br);
+                ControlRobotCommand robotCommand;
+                for (int robot = 1; (robotCommand = readRobot(br, workspace, results)) != null; robot++) {
+                    try {
+                        results.parked(useCase.execute(robotCommand));
+                    } catch (DomainException e) {
+                        results.rejected(RobotRejection.of(robot, robotCommand, e));
+                    }
+                }
+            } finally {
+                results.flush();
+            }
         }
     }
 
+    public void runPipelined(InputStream in, PrintStream out) throws IOException, InterruptedException {
+        runPipelined(in, new PrintStreamResultWriter(out));
+    }
+
+    /**
+     * Streams robots like {@link #runStreaming}, but parses, executes and writes them on three
+     * threads at once: a parser thread hands commands to the calling thread, which runs them in
+     * input order and hands the results to a writer thread, through {@link SpscRingBuffer}s of
+     * {@value #PIPELINE_CAPACITY} entries that hold a stage back when the next one falls behind.
+     * The writer flushes whenever no result is waiting, so results show up at once when typing.
+     * Results and errors are those of a streaming run: everything before the first failure is
+     * written, then the failure is thrown.
+     */
+    public void runPipelined(InputStream in, RobotResultWriter results) throws IOException, InterruptedException {
+        SpscRingBuffer<ControlRobotCommand> commands = new SpscRingBuffer<>(PIPELINE_CAPACITY);
+        SpscRingBuffer<ControlRobotCommandResponse> responses = new SpscRingBuffer<>(PIPELINE_CAPACITY);
+        AtomicReference<Throwable> parseFailure = new AtomicReference<>();
+        AtomicReference<Throwable> writeFailure = new AtomicReference<>();
+        Thread parser = pipelineThread("mission-parser", () -> {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+                Workspace workspace = readWorkspace(br);
+                ControlRobotCommand robotCommand;
+                while ((robotCommand = readRobot(br, workspace)) != null) {
+                    commands.put(robotCommand);
+                }
+            } catch (CancellationException e) {
+                // The mission stopped at an earlier robot
+            } catch (Throwable e) {
+                parseFailure.set(e);
+            } finally {
+                commands.close();
+            }
+        });
+        Thread writer = pipelineThread("result-writer", () -> {
+            try {
+                while (true) {
+                    // Like streaming mode, write results out before waiting for more
+                    if (responses.isEmpty()) results.flush();
+                    ControlRobotCommandResponse response = responses.take();
+                    if (response == null) break;
+                    results.parked(response);
+                }
+            } catch (Throwable e) {
+                writeFailure.set(e);
+                responses.cancel();
+            }
+        });
+        parser.start();
+        writer.start();
+        RuntimeException executeFailure = null;
+        try {
+            ControlRobotCommand robotCommand;
+            while ((robotCommand = commands.take()) != null) {
+                responses.put(useCase.execute(robotCommand));
+            }
+        } catch (CancellationException e) {
+            // The writer failed, which is thrown below
+        } catch (RuntimeException e) {
+            executeFailure = e;
+        } finally {
+            commands.cancel();
+            responses.close();
+        }
+        writer.join();
+        if (writeFailure.get() != null) rethrow(writeFailure.get());
+        if (executeFailure != null) throw executeFailure;
+        if (parseFailure.get() != null) rethrow(parseFailure.get());
+    }
+
+    private List<ControlRobotCommand> readMission(BufferedReader br) throws IOException {
+        MissionParsedEvent event = new MissionParsedEvent();
+        event.begin();
+        Workspace workspace = readWorkspace(br);
+        List<ControlRobotCommand> robotsCommands = readRobots(br, workspace);
+        if (event.shouldCommit()) {
+            event.maxX = workspace.getMaxX();
+            event.maxY = workspace.getMaxY();
+            event.robots = robotsCommands.size();
+            event.instructions = robotsCommands.stream().mapToLong(command -> command.instructions().length()).sum();
+            event.commit();
+        }
+        return robotsCommands;
+    }
+
     private Workspace readWorkspace(BufferedReader br) throws IOException {
         String line = readWorkspaceLine(br);
         String[] parts = splitLine(line);
@@ -39,29 +262,56 @@ public final class ConsoleAdapter {
         return new Workspace(maxX, maxY);
     }
 
+    /** Flushes {@code results} before reading the next robot if it has not arrived yet. */
+    private ControlRobotCommand readRobot(BufferedReader br, Workspace workspace, RobotResultWriter results) throws IOException {
+        if (!br.ready()) results.flush();
+        return readRobot(br, workspace);
+    }
+
     private List<ControlRobotCommand> readRobots(BufferedReader br, Workspace workspace) throws IOException {
         List<ControlRobotCommand> robotsCommands = new ArrayList<>();
-        while (true) {
-            String posLine = nextNonEmptyLine(br);
-            if (posLine == null) break;
-            String[] robotStartingData = splitLine(posLine);
-            if (robotStartingData.length != 3) {
-                throw new IllegalArgumentException("Robot position line must be: '<x> <y> <N|E|S|W>'");
-            }
-            Position initialPosition = new Position(parseInt(robotStartingData[0], "x"), parseInt(robotStartingData[1], "y"));
-            Direction direction = Direction.from(robotStartingData[2]);
-            List<RobotInstruction> instructions = parseRobotInstructions(br);
-            robotsCommands.add(new ControlRobotCommand(workspace, initialPosition, direction, instructions));
+        ControlRobotCommand robotCommand;
+        while ((robotCommand = readRobot(br, workspace)) != null) {
+            robotsCommands.add(robotCommand);
         }
         return robotsCommands;
     }
 
-    private static List<RobotInstruction> parseRobotInstructions(BufferedReader br) throws IOException {
+    private ControlRobotCommand readRobot(BufferedReader br, Workspace workspace) throws IOException {
+        String posLine = nextNonEmptyLine(br);
+        if (posLine == null) return null;
+        String[] robotStartingData = splitLine(posLine);
+        if (robotStartingData.length != 3) {
+            throw new IllegalArgumentException("Robot position line must be: '<x> <y> <N|E|S|W>'");
+        }
+        Position initialPosition = new Position(parseInt(robotStartingData[0], "x"), parseInt(robotStartingData[1], "y"));
+        Direction direction = Direction.from(robotStartingData[2]);
+        InstructionProgram instructions = parseRobotInstructions(br);
+        return new ControlRobotCommand(workspace, initialPosition, direction, instructions);
+    }
+
+    private InstructionProgram parseRobotInstructions(BufferedReader br) throws IOException {
         String instrLine = nextNonEmptyLine(br);
         if (instrLine == null) {
             throw new IllegalArgumentException("Missing instruction line for robot");
         }
-        return InstructionParser.from(instrLine.trim());
+        long start = System.nanoTime();
+        InstructionProgram program = InstructionParser.from(instrLine);
+        metrics.programParsed(System.nanoTime() - start, program.length());
+        return program;
+    }
+
+    private static Thread pipelineThread(String name, Runnable stage) {
+        Thread thread = new Thread(stage, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void rethrow(Throwable failure) throws IOException {
+        if (failure instanceof IOException e) throw e;
+        if (failure instanceof RuntimeException e) throw e;
+        if (failure instanceof Error e) throw e;
+        throw new IllegalStateException(failure);
     }
 
     private static String readWorkspaceLine(BufferedReader br) throws IOException {
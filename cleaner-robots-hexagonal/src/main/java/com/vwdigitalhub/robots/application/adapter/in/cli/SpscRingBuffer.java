@@ -0,0 +1,135 @@
+package com.vwdigitalhub.robots.application.adapter.in.cli;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded queue between exactly one producer thread and one consumer thread, on a power-of-two
+ * array. Each side publishes its own index with a volatile store and keeps a cached copy of the
+ * other side's, which it only reads again once the cached copy says the buffer is full or empty,
+ * so a run of elements costs one load of the other index per side. A full buffer makes the
+ * producer wait and an empty one the consumer: spinning first when there are several cores, then
+ * yielding, then parking until the other side unparks it. A side announces itself before parking
+ * and checks the other index once more, and the other side reads the announcement after
+ * publishing, so one of them always sees the other and an idle pipeline sleeps.
+ * <p>
+ * The producer {@link #close}s the buffer when it has nothing more to give; the consumer
+ * {@link #cancel}s it when it wants nothing more, after which {@link #put} throws.
+ */
+final class SpscRingBuffer<T> {
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    // Spinning only helps when the other side runs on another core at the same time
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+    private static final int YIELDS = 100;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscRingBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscRingBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] slots;
+    private final int mask;
+    // Next slot to take, written by the consumer only
+    private long head;
+    private long cachedTail;
+    // Next slot to fill, written by the producer only
+    private long tail;
+    private long cachedHead;
+    private volatile boolean closed;
+    private volatile boolean cancelled;
+    // The side parked until the other one publishes, if any
+    private volatile Thread parkedConsumer;
+    private volatile Thread parkedProducer;
+
+    SpscRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /** Adds {@code element}, waiting while the buffer is full; throws {@link CancellationException} once cancelled. */
+    void put(T element) {
+        long t = tail;
+        for (int round = 0; t - cachedHead == slots.length; round++) {
+            if (cancelled) throw new CancellationException("Consumer is gone");
+            cachedHead = (long) HEAD.getVolatile(this);
+            if (t - cachedHead < slots.length) break;
+            if (round < SPINS + YIELDS) {
+                idle(round);
+            } else {
+                parkedProducer = Thread.currentThread();
+                if (!cancelled && t - (long) HEAD.getVolatile(this) == slots.length) LockSupport.park(this);
+                parkedProducer = null;
+            }
+        }
+        slots[(int) t & mask] = element;
+        TAIL.setVolatile(this, t + 1);
+        Thread consumer = parkedConsumer;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    /** Next element, waiting while the buffer is empty, or {@code null} once it is closed and drained. */
+    @SuppressWarnings("unchecked")
+    T take() {
+        long h = head;
+        for (int round = 0; h == cachedTail; round++) {
+            boolean wasClosed = closed;
+            cachedTail = (long) TAIL.getVolatile(this);
+            if (h != cachedTail) break;
+            if (wasClosed) return null;
+            if (round < SPINS + YIELDS) {
+                idle(round);
+            } else {
+                parkedConsumer = Thread.currentThread();
+                if (!closed && h == (long) TAIL.getVolatile(this)) LockSupport.park(this);
+                parkedConsumer = null;
+            }
+        }
+        int slot = (int) h & mask;
+        T element = (T) slots[slot];
+        slots[slot] = null;
+        HEAD.setVolatile(this, h + 1);
+        Thread producer = parkedProducer;
+        if (producer != null) LockSupport.unpark(producer);
+        return element;
+    }
+
+    /** Consumer side: whether {@link #take} would wait or return {@code null} right now. */
+    boolean isEmpty() {
+        if (head != cachedTail) return false;
+        cachedTail = (long) TAIL.getVolatile(this);
+        return head == cachedTail;
+    }
+
+    /** Producer side: no more elements will be put. */
+    void close() {
+        closed = true;
+        Thread consumer = parkedConsumer;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    /** Consumer side: no more elements will be taken. */
+    void cancel() {
+        cancelled = true;
+        Thread producer = parkedProducer;
+        if (producer != null) LockSupport.unpark(producer);
+    }
+
+    private static void idle(int round) {
+        if (round < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
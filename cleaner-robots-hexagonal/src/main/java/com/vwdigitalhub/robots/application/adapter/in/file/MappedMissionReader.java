@@ -0,0 +1,173 @@
+package com.vwdigitalhub.robots.application.adapter.in.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Reads a mission file line by line through a sliding memory-mapped window. Lines are exposed
+ * as byte ranges of the current window and tokenized in place, so no String is built unless an
+ * error message needs one. Whitespace follows {@code String.trim()} and {@code split("\\s+")}.
+ * Windows smaller than {@value #MIN_MAPPED_WINDOW} bytes are read into the heap instead: a mapping
+ * lives until the buffer is collected, which adds up when thousands of small files are read.
+ */
+final class MappedMissionReader {
+    private static final int MAX_TOKENS = 3;
+    private static final int MIN_MAPPED_WINDOW = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private ByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+    private int cursor;
+
+    private int lineStart;
+    private int lineEnd;
+    private final int[] tokenStarts = new int[MAX_TOKENS];
+    private final int[] tokenEnds = new int[MAX_TOKENS];
+    private int tokenCount;
+
+    MappedMissionReader(FileChannel channel, int windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        remap(0, windowSize);
+    }
+
+    boolean nextLine() throws IOException {
+        if (windowStart + cursor >= fileSize) return false;
+        int mapSize = windowSize;
+        while (true) {
+            int end = indexOfTerminator(cursor);
+            if (end >= 0) {
+                setLine(cursor, end);
+                cursor = end + 1;
+                return true;
+            }
+            if (windowStart + windowLimit >= fileSize) {
+                setLine(cursor, windowLimit);
+                cursor = windowLimit;
+                return true;
+            }
+            if (cursor == 0) {
+                if (mapSize == Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Line longer than " + Integer.MAX_VALUE + " bytes at offset " + windowStart);
+                }
+                mapSize = (int) Math.min(Integer.MAX_VALUE, 2L * mapSize);
+            }
+            remap(windowStart + cursor, mapSize);
+        }
+    }
+
+    boolean nextNonEmptyLine() throws IOException {
+        while (nextLine()) {
+            if (lineStart < lineEnd) return true;
+        }
+        return false;
+    }
+
+    /** Splits the current line into whitespace separated tokens and returns how many there are. */
+    int tokenize() {
+        tokenCount = 0;
+        int i = lineStart;
+        while (i < lineEnd) {
+            int start = i;
+            while (i < lineEnd && !isSeparator(byteAt(i))) i++;
+            if (tokenCount < MAX_TOKENS) {
+                tokenStarts[tokenCount] = start;
+                tokenEnds[tokenCount] = i;
+            }
+            tokenCount++;
+            while (i < lineEnd && isSeparator(byteAt(i))) i++;
+        }
+        return tokenCount;
+    }
+
+    int tokenLength(int token) {
+        return tokenEnds[token] - tokenStarts[token];
+    }
+
+    byte tokenByte(int token, int index) {
+        return byteAt(tokenStarts[token] + index);
+    }
+
+    int parseInt(int token, String field) {
+        int i = tokenStarts[token];
+        int end = tokenEnds[token];
+        boolean negative = false;
+        if (i < end && (byteAt(i) == '-' || byteAt(i) == '+')) {
+            negative = byteAt(i) == '-';
+            i++;
+        }
+        if (i == end) throw invalidInteger(token, field);
+        long value = 0;
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (; i < end; i++) {
+            int digit = byteAt(i) - '0';
+            if (digit < 0 || digit > 9) throw invalidInteger(token, field);
+            value = value * 10 + digit;
+            if (value > limit) throw invalidInteger(token, field);
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    int lineStart() {
+        return lineStart;
+    }
+
+    int lineEnd() {
+        return lineEnd;
+    }
+
+    byte byteAt(int index) {
+        return window.get(index);
+    }
+
+    private IllegalArgumentException invalidInteger(int token, String field) {
+        return new IllegalArgumentException("Invalid integer for " + field + ": " + text(tokenStarts[token], tokenEnds[token]));
+    }
+
+    /** The bytes between {@code from} and {@code to} decoded as the console adapter decodes its input. */
+    String text(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return new String(bytes, Charset.defaultCharset());
+    }
+
+    /** Stores the line as its trimmed range; a blank line becomes an empty range. */
+    private void setLine(int from, int to) {
+        while (from < to && (byteAt(from) & 0xFF) <= ' ') from++;
+        while (to > from && (byteAt(to - 1) & 0xFF) <= ' ') to--;
+        lineStart = from;
+        lineEnd = to;
+    }
+
+    private int indexOfTerminator(int from) {
+        for (int i = from; i < windowLimit; i++) {
+            byte b = window.get(i);
+            if (b == '\n' || b == '\r') return i;
+        }
+        return -1;
+    }
+
+    private void remap(long offset, int size) throws IOException {
+        windowStart = offset;
+        windowLimit = (int) Math.min(size, fileSize - offset);
+        if (windowLimit < MIN_MAPPED_WINDOW) {
+            window = ByteBuffer.allocate(windowLimit);
+            while (window.hasRemaining()) {
+                if (channel.read(window, offset + window.position()) < 0) throw new IOException("Mission file truncated while reading");
+            }
+        } else {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLimit);
+        }
+        cursor = 0;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+}
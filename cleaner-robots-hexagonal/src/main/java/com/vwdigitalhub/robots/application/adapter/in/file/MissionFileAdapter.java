@@ -0,0 +1,96 @@
+package com.vwdigitalhub.robots.application.adapter.in.file;
+
+import com.vwdigitalhub.robots.application.adapter.out.result.PrintStreamResultWriter;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotResultWriter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a mission file through memory-mapped windows and parses it straight from bytes. Accepts
+ * the same format and reports the same errors as the console adapter; robots are executed and
+ * printed one at a time, as in its streaming mode.
+ */
+public final class MissionFileAdapter {
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final ExecuteInstructionsUseCase useCase;
+    private final int windowSize;
+
+    public MissionFileAdapter(ExecuteInstructionsUseCase useCase) {
+        this(useCase, DEFAULT_WINDOW_SIZE);
+    }
+
+    MissionFileAdapter(ExecuteInstructionsUseCase useCase, int windowSize) {
+        this.useCase = useCase;
+        this.windowSize = windowSize;
+    }
+
+    public void run(Path missionFile, PrintStream out) throws IOException {
+        run(missionFile, new PrintStreamResultWriter(out));
+    }
+
+    public void run(Path missionFile, RobotResultWriter results) throws IOException {
+        try (FileChannel channel = FileChannel.open(missionFile, StandardOpenOption.READ)) {
+            MappedMissionReader reader = new MappedMissionReader(channel, windowSize);
+            Workspace workspace = readWorkspace(reader);
+            while (reader.nextNonEmptyLine()) {
+                results.parked(useCase.execute(readRobot(reader, workspace)));
+            }
+        } finally {
+            results.flush();
+        }
+    }
+
+    private static Workspace readWorkspace(MappedMissionReader reader) throws IOException {
+        if (!reader.nextLine()) {
+            throw new IllegalArgumentException("Missing workspace line");
+        }
+        if (reader.tokenize() != 2) {
+            throw new IllegalArgumentException("Workspace line must contain exactly 2 integers");
+        }
+        int maxX = reader.parseInt(0, "maxX");
+        int maxY = reader.parseInt(1, "maxY");
+        return new Workspace(maxX, maxY);
+    }
+
+    private static ControlRobotCommand readRobot(MappedMissionReader reader, Workspace workspace) throws IOException {
+        if (reader.tokenize() != 3) {
+            throw new IllegalArgumentException("Robot position line must be: '<x> <y> <N|E|S|W>'");
+        }
+        Position initialPosition = new Position(reader.parseInt(0, "x"), reader.parseInt(1, "y"));
+        if (reader.tokenLength(2) != 1) {
+            throw new IllegalArgumentException("Direction must be one of N,E,S,W");
+        }
+        Direction direction = Direction.from((char) reader.tokenByte(2, 0));
+        if (!reader.nextNonEmptyLine()) {
+            throw new IllegalArgumentException("Missing instruction line for robot");
+        }
+        return new ControlRobotCommand(workspace, initialPosition, direction, readInstructions(reader));
+    }
+
+    private static InstructionProgram readInstructions(MappedMissionReader reader) {
+        InstructionParser.Reader instructions = InstructionParser.reader(reader.lineEnd() - reader.lineStart());
+        for (int i = reader.lineStart(); i < reader.lineEnd(); i++) {
+            byte b = reader.byteAt(i);
+            if (b < 0) {
+                // The rest of the line is decoded, so the parser rejects the same character as the console adapter
+                String rest = reader.text(i, reader.lineEnd());
+                for (int j = 0; j < rest.length(); j++) instructions.accept(rest.charAt(j));
+                break;
+            }
+            instructions.accept((char) b);
+        }
+        return instructions.finish();
+    }
+}
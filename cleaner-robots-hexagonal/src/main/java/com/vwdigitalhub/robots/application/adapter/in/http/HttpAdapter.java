@@ -0,0 +1,260 @@
+package com.vwdigitalhub.robots.application.adapter.in.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotJournal;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves workspaces and robot execution over HTTP with the JDK's built-in server, so the engine
+ * can run as a long-lived service. Bodies are plain text in the mission file format:
+ * <ul>
+ *   <li>{@code POST /workspaces} with {@code <maxX> <maxY>} creates a workspace and answers
+ *   {@code 201} with its id, the workspace's UUID.</li>
+ *   <li>{@code GET /workspaces/<id>} answers {@code <maxX> <maxY> <parked robots>};
+ *   {@code DELETE /workspaces/<id>} drops it.</li>
+ *   <li>{@code POST /workspaces/<id>/robots} with any number of robots, two lines each, runs them
+ *   in order and streams one line back per robot: its final position, or
+ *   {@code ERROR <exception>: <message>} when it was rejected. Results are flushed whenever the
+ *   request body has no more data ready, so a client sending robots slowly sees each result
+ *   as soon as it is computed.</li>
+ * </ul>
+ * Workspaces are {@link Workspace#concurrent concurrent}, so requests for the same workspace may
+ * run at the same time. Requests are served by a fixed pool of {@code threads}.
+ * <p>
+ * Given a {@link RobotJournal}, the adapter records workspaces being created and dropped, and
+ * starts from the workspaces it replays, under the ids clients were given. Robots are
+ * recorded by the use case, for example a {@code JournalingExecuteInstructionsService}.
+ * {@link #compactJournal} snapshots the live workspaces while requests keep being served.
+ * <p>
+ * Launch the JVM with {@code -Dsun.net.httpserver.nodelay=true}, as {@code Main} does for
+ * {@code --http}: the JDK server writes headers and body separately, so with Nagle's algorithm on
+ * every response waits for the client's delayed ACK, about 40 ms.
+ */
+public final class HttpAdapter implements AutoCloseable {
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    private final ExecuteInstructionsUseCase useCase;
+    private final RobotJournal journal;
+    private final ConcurrentMap<UUID, Workspace> workspaces = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public HttpAdapter(ExecuteInstructionsUseCase useCase, InetSocketAddress address, int threads) throws IOException {
+        this(useCase, address, threads, null);
+    }
+
+    public HttpAdapter(ExecuteInstructionsUseCase useCase, InetSocketAddress address, int threads, RobotJournal journal) throws IOException {
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.useCase = useCase;
+        this.journal = journal;
+        if (journal != null) {
+            workspaces.putAll(journal.replay());
+        }
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** Port the server listens on, useful when it was bound to port 0. */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Replaces the journal's history with a snapshot of the live workspaces. */
+    public void compactJournal() {
+        if (journal == null) throw new IllegalStateException("No journal to compact");
+        journal.compact(() -> List.copyOf(workspaces.values()));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            if (path.length < 2 || !path[1].equals("workspaces")) {
+                send(exchange, 404, "Not found: " + method + " " + exchange.getRequestURI().getPath());
+            } else if (path.length == 2 && method.equals("POST")) {
+                createWorkspace(exchange);
+            } else if (path.length == 3 && method.equals("GET")) {
+                describeWorkspace(exchange, path[2]);
+            } else if (path.length == 3 && method.equals("DELETE")) {
+                deleteWorkspace(exchange, path[2]);
+            } else if (path.length == 4 && path[3].equals("robots") && method.equals("POST")) {
+                executeRobots(exchange, path[2]);
+            } else {
+                send(exchange, 404, "Not found: " + method + " " + exchange.getRequestURI().getPath());
+            }
+        } catch (IllegalArgumentException | DomainException e) {
+            if (exchange.getResponseCode() == -1) send(exchange, 400, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createWorkspace(HttpExchange exchange) throws IOException {
+        String[] bounds = split(readBody(exchange));
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Workspace line must contain exactly 2 integers");
+        }
+        Workspace workspace = Workspace.concurrent(parseInt(bounds[0], "maxX"), parseInt(bounds[1], "maxY"), 0);
+        UUID id = workspace.getId();
+        // Registered before it is recorded, so a compaction cannot miss it
+        workspaces.put(id, workspace);
+        if (journal != null) journal.workspaceCreated(workspace);
+        exchange.getResponseHeaders().set("Location", "/workspaces/" + id);
+        send(exchange, 201, id.toString());
+    }
+
+    private void describeWorkspace(HttpExchange exchange, String id) throws IOException {
+        Workspace workspace = workspace(exchange, id);
+        if (workspace == null) return;
+        send(exchange, 200, workspace.getMaxX() + " " + workspace.getMaxY() + " " + workspace.occupiedCount());
+    }
+
+    private void deleteWorkspace(HttpExchange exchange, String id) throws IOException {
+        Workspace workspace = workspaces.remove(parseId(id));
+        if (workspace == null) {
+            send(exchange, 404, "Unknown workspace: " + id);
+            return;
+        }
+        if (journal != null) journal.workspaceDropped(workspace);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void executeRobots(HttpExchange exchange, String id) throws IOException {
+        Workspace workspace = workspace(exchange, id);
+        if (workspace == null) return;
+        BufferedReader in = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        Writer out = null;
+        try {
+            String positionLine;
+            while ((positionLine = nextNonEmptyLine(in)) != null) {
+                ControlRobotCommand command = readRobot(positionLine, in, workspace);
+                String result;
+                try {
+                    result = useCase.execute(command).toString();
+                } catch (DomainException e) {
+                    result = error(e);
+                }
+                if (out == null) out = startStreaming(exchange);
+                out.write(result);
+                out.write('\n');
+                if (!in.ready()) out.flush();
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed robot: a 400 if nothing was streamed yet, otherwise the last line
+            if (out == null) throw e;
+            out.write(error(e));
+            out.write('\n');
+        }
+        if (out == null) {
+            send(exchange, 200, null);
+        } else {
+            out.flush();
+        }
+    }
+
+    private Workspace workspace(HttpExchange exchange, String id) throws IOException {
+        Workspace workspace = workspaces.get(parseId(id));
+        if (workspace == null) send(exchange, 404, "Unknown workspace: " + id);
+        return workspace;
+    }
+
+    private static ControlRobotCommand readRobot(String positionLine, BufferedReader in, Workspace workspace) throws IOException {
+        String[] start = split(positionLine);
+        if (start.length != 3) {
+            throw new IllegalArgumentException("Robot position line must be: '<x> <y> <N|E|S|W>'");
+        }
+        Position position = new Position(parseInt(start[0], "x"), parseInt(start[1], "y"));
+        Direction direction = Direction.from(start[2]);
+        String instructions = nextNonEmptyLine(in);
+        if (instructions == null) {
+            throw new IllegalArgumentException("Missing instruction line for robot");
+        }
+        return new ControlRobotCommand(workspace, position, direction, InstructionParser.from(instructions.trim()));
+    }
+
+    private static Writer startStreaming(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", TEXT);
+        exchange.sendResponseHeaders(200, 0);
+        return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body == null ? new byte[0] : (body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static String error(RuntimeException e) {
+        return "ERROR " + e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    private static String[] split(String line) {
+        return line.trim().split("\\s+");
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid workspace id: " + id);
+        }
+    }
+
+    private static int parseInt(String s, String field) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + field + ": " + s);
+        }
+    }
+
+    private static String nextNonEmptyLine(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.isBlank()) return line;
+        }
+        return null;
+    }
+}
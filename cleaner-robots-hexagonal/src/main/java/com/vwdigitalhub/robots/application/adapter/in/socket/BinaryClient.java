@@ -0,0 +1,126 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client of {@link BinarySocketAdapter}. Requests are buffered and only sent on
+ * {@link #flush()} or when the buffer fills, and replies are read one at a time with
+ * {@link #receive()}, so many requests can be in flight at once. A client pipelining without
+ * reading must keep the requests in flight below what the socket buffers hold, or both ends
+ * end up waiting on each other.
+ */
+public final class BinaryClient implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryProtocol.ORDER);
+    private ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryProtocol.ORDER);
+
+    private BinaryClient(SocketChannel channel) {
+        this.channel = channel;
+        in.flip();
+    }
+
+    public static BinaryClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new BinaryClient(channel);
+    }
+
+    /** Creates a workspace and waits for its id; no other request may be in flight. */
+    public int createWorkspace(int maxX, int maxY) throws IOException {
+        reserve(13);
+        BinaryProtocol.putCreateWorkspace(out, maxX, maxY);
+        flush();
+        BinaryReply reply = receive();
+        if (reply.status() != BinaryProtocol.WORKSPACE) throw new IllegalArgumentException(reply.toString());
+        return reply.workspace();
+    }
+
+    /** Drops a workspace of this connection and waits for the acknowledgement; no other request may be in flight. */
+    public void dropWorkspace(int workspace) throws IOException {
+        reserve(9);
+        BinaryProtocol.putDropWorkspace(out, workspace);
+        flush();
+        BinaryReply reply = receive();
+        if (reply.status() != BinaryProtocol.WORKSPACE) throw new IllegalArgumentException(reply.toString());
+    }
+
+    /** Queues a robot for execution; its reply comes back in order through {@link #receive()}. */
+    public void execute(int workspace, Position start, Direction direction, InstructionProgram program) throws IOException {
+        int frame = Integer.BYTES + BinaryProtocol.executeLength(BinaryProtocol.instructionCount(program));
+        if (frame > out.capacity()) {
+            flush();
+            ByteBuffer large = ByteBuffer.allocate(frame).order(BinaryProtocol.ORDER);
+            BinaryProtocol.putExecute(large, workspace, start.x(), start.y(), direction, program);
+            write(large.flip());
+            return;
+        }
+        reserve(frame);
+        BinaryProtocol.putExecute(out, workspace, start.x(), start.y(), direction, program);
+    }
+
+    public void flush() throws IOException {
+        write(out.flip());
+        out.clear();
+    }
+
+    /** Blocks until the next reply arrives. */
+    public BinaryReply receive() throws IOException {
+        fill(Integer.BYTES);
+        int length = in.getInt();
+        fill(length);
+        int end = in.position() + length;
+        byte status = in.get();
+        BinaryReply reply = switch (status) {
+            case BinaryProtocol.RESULT -> new BinaryReply(status, in.getInt(), in.getInt(), BinaryProtocol.direction(in.get()), 0, null);
+            case BinaryProtocol.WORKSPACE -> new BinaryReply(status, 0, 0, null, in.getInt(), null);
+            default -> {
+                byte[] message = new byte[length - 1];
+                in.get(message);
+                yield new BinaryReply(status, 0, 0, null, 0, new String(message, StandardCharsets.UTF_8));
+            }
+        };
+        in.position(end);
+        return reply;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (out.remaining() < bytes) flush();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /** Reads until {@code bytes} bytes are buffered. */
+    private void fill(int bytes) throws IOException {
+        if (in.remaining() >= bytes) return;
+        if (bytes > in.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(bytes).order(BinaryProtocol.ORDER);
+            larger.put(in);
+            in = larger;
+        } else {
+            in.compact();
+        }
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) throw new EOFException("Connection closed by the server");
+        }
+        in.flip();
+    }
+}
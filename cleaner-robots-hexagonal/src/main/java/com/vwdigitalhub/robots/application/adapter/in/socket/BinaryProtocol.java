@@ -0,0 +1,155 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed binary frames spoken by {@link BinarySocketAdapter} and {@link BinaryClient}.
+ * Every value is little-endian and every frame starts with an {@code int} holding the number of
+ * bytes that follow it.
+ * <pre>
+ * request  CREATE_WORKSPACE  type:1  maxX:4  maxY:4
+ *          DROP_WORKSPACE    type:1  workspace:4
+ *          EXECUTE           type:1  workspace:4  x:4  y:4  direction:1  count:4  codes:ceil(count/4)
+ * reply    RESULT            status:1  x:4  y:4  direction:1
+ *          WORKSPACE         status:1  workspace:4
+ *          REJECTED/INVALID  status:1  message:UTF-8
+ * </pre>
+ * Directions are {@link Direction} ordinals. Instruction codes are packed 2 bits each, four per
+ * byte from the lowest bits up, which is the layout of {@link InstructionProgram}'s words, so a
+ * program is copied to and from a frame eight bytes at a time. Replies come back in request order,
+ * so a client may pipeline any number of requests.
+ * <p>
+ * Workspace ids belong to the connection that created them. A connection holds at most
+ * {@value #MAX_WORKSPACES} workspaces at a time; {@code DROP_WORKSPACE} frees one and is answered
+ * with a {@code WORKSPACE} reply holding its id.
+ */
+public final class BinaryProtocol {
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final byte CREATE_WORKSPACE = 1;
+    public static final byte EXECUTE = 2;
+    public static final byte DROP_WORKSPACE = 3;
+
+    public static final byte RESULT = 0;
+    public static final byte WORKSPACE = 1;
+    /** The robot broke a workspace rule; the message is {@code <exception>: <message>}. */
+    public static final byte REJECTED = 2;
+    /** The frame itself was malformed. */
+    public static final byte INVALID = 3;
+
+    /** Largest frame accepted, length prefix excluded; about 64 million instructions. */
+    public static final int MAX_FRAME = 16 * 1024 * 1024;
+    /** Largest number of workspaces one connection may hold at a time. */
+    public static final int MAX_WORKSPACES = 1024;
+    static final int MAX_MESSAGE = 1024;
+    static final int MAX_REPLY = Integer.BYTES + 1 + MAX_MESSAGE;
+
+    private static final int EXECUTE_HEADER = 1 + 4 + 4 + 4 + 1 + 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private BinaryProtocol() {}
+
+    /** Frame length, prefix excluded, of an EXECUTE request for {@code count} instructions. */
+    public static int executeLength(int count) {
+        return EXECUTE_HEADER + packedBytes(count);
+    }
+
+    /**
+     * Number of instructions {@code program} sends in an EXECUTE request once expanded.
+     *
+     * @throws IllegalArgumentException if they do not fit in one {@value #MAX_FRAME}-byte frame
+     */
+    public static int instructionCount(InstructionProgram program) {
+        if (program.length() > 4L * (MAX_FRAME - EXECUTE_HEADER)) {
+            throw new IllegalArgumentException("Instruction program too long for one frame: " + program.length());
+        }
+        return (int) program.length();
+    }
+
+    static int packedBytes(int count) {
+        return (int) ((count + 3L) >>> 2);
+    }
+
+    static void putCreateWorkspace(ByteBuffer out, int maxX, int maxY) {
+        out.putInt(9).put(CREATE_WORKSPACE).putInt(maxX).putInt(maxY);
+    }
+
+    static void putDropWorkspace(ByteBuffer out, int workspace) {
+        out.putInt(5).put(DROP_WORKSPACE).putInt(workspace);
+    }
+
+    /** Writes an EXECUTE request; {@code out} must have {@code 4 + executeLength(size)} bytes left. */
+    static void putExecute(ByteBuffer out, int workspace, int x, int y, Direction direction, InstructionProgram program) {
+        int count = instructionCount(program);
+        out.putInt(executeLength(count)).put(EXECUTE).putInt(workspace).putInt(x).putInt(y)
+                .put((byte) direction.ordinal()).putInt(count);
+        InstructionProgram literal = program.isLiteral() ? program : expand(program);
+        int bytes = packedBytes(count);
+        int fullWords = bytes >>> 3;
+        for (int w = 0; w < fullWords; w++) {
+            out.putLong(literal.packedWord(w));
+        }
+        if ((bytes & 7) != 0) {
+            long last = literal.packedWord(fullWords);
+            for (int b = 0; b < (bytes & 7); b++) {
+                out.put((byte) (last >>> (b << 3)));
+            }
+        }
+    }
+
+    static int packedWords(int count) {
+        return (packedBytes(count) + 7) >>> 3;
+    }
+
+    /** Reads {@code count} packed codes through {@code packed}, which holds at least {@code packedWords(count)} words. */
+    static InstructionProgram getInstructions(ByteBuffer in, int count, long[] packed) {
+        int bytes = packedBytes(count);
+        int fullWords = bytes >>> 3;
+        for (int w = 0; w < fullWords; w++) {
+            packed[w] = in.getLong();
+        }
+        if ((bytes & 7) != 0) {
+            long last = 0;
+            for (int b = 0; b < (bytes & 7); b++) {
+                last |= (in.get() & 0xFFL) << (b << 3);
+            }
+            packed[fullWords] = last;
+        }
+        return InstructionProgram.fromPacked(packed, count);
+    }
+
+    static void putResult(ByteBuffer out, int x, int y, Direction direction) {
+        out.putInt(10).put(RESULT).putInt(x).putInt(y).put((byte) direction.ordinal());
+    }
+
+    static void putWorkspace(ByteBuffer out, int workspace) {
+        out.putInt(5).put(WORKSPACE).putInt(workspace);
+    }
+
+    /** Writes a REJECTED or INVALID reply, cutting the message to {@value #MAX_MESSAGE} bytes. */
+    static void putError(ByteBuffer out, byte status, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_MESSAGE);
+        out.putInt(1 + length).put(status).put(bytes, 0, length);
+    }
+
+    static Direction direction(byte ordinal) {
+        if (ordinal < 0 || ordinal >= DIRECTIONS.length) {
+            throw new IllegalArgumentException("Direction must be one of N,E,S,W");
+        }
+        return DIRECTIONS[ordinal];
+    }
+
+    private static InstructionProgram expand(InstructionProgram program) {
+        InstructionProgram.Builder builder = InstructionProgram.builder((int) program.length());
+        for (long i = 0; i < program.length(); i++) {
+            builder.addCode(program.codeAtExpanded(i));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+
+/**
+ * A reply frame decoded by {@link BinaryClient}. Only the fields of its {@code status} are set:
+ * the final pose for {@link BinaryProtocol#RESULT}, the id for {@link BinaryProtocol#WORKSPACE},
+ * the message otherwise.
+ */
+public record BinaryReply(byte status, int x, int y, Direction direction, int workspace, String message) {
+
+    public boolean succeeded() {
+        return status == BinaryProtocol.RESULT || status == BinaryProtocol.WORKSPACE;
+    }
+
+    /** Same line the text adapters print: {@code x y D}, or {@code ERROR <message>}. */
+    @Override
+    public String toString() {
+        return switch (status) {
+            case BinaryProtocol.RESULT -> x + " " + y + " " + direction.name();
+            case BinaryProtocol.WORKSPACE -> Integer.toString(workspace);
+            default -> "ERROR " + message;
+        };
+    }
+}
@@ -0,0 +1,266 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Accepts {@link BinaryProtocol} connections on one selector thread and runs each request on it
+ * as soon as its frame is complete, so no command is queued or handed between threads. Frames are
+ * decoded in place from pooled direct buffers; the replies of every frame found in one read go
+ * out in a single write. When a client stops reading its replies, the connection stops being read
+ * until they drain.
+ * <p>
+ * Workspaces created through the protocol belong to their connection, are only touched by the
+ * selector thread, and go away with the connection.
+ */
+public final class BinarySocketAdapter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED = 256;
+
+    private final ExecuteInstructionsUseCase useCase;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread loop;
+    private final DirectBufferPool buffers = new DirectBufferPool(BUFFER_SIZE, MAX_POOLED);
+    private long[] packed = new long[BUFFER_SIZE / Long.BYTES];
+    private volatile boolean running = true;
+
+    public BinarySocketAdapter(ExecuteInstructionsUseCase useCase, InetSocketAddress address) throws IOException {
+        this.useCase = useCase;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.loop = new Thread(this::run, "binary-socket-adapter");
+    }
+
+    public void start() {
+        loop.start();
+    }
+
+    public int port() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) connection.close();
+        }
+        selector.close();
+        server.close();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        serve(key, (Connection) key.attachment());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Binary socket adapter stopped", e);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel, buffers.acquire(), buffers.acquire());
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private void serve(SelectionKey key, Connection connection) {
+        try {
+            if (key.isWritable() && connection.flush()) {
+                key.interestOps(SelectionKey.OP_READ);
+                process(connection);
+            }
+            if (key.isValid() && key.isReadable()) {
+                if (connection.channel.read(connection.in) < 0) {
+                    connection.close();
+                    return;
+                }
+                process(connection);
+            }
+        } catch (IOException | RuntimeException e) {
+            // A broken connection, or a failure other than a rejected robot: drop the client, keep serving
+            connection.close();
+        }
+    }
+
+    /** Handles every complete frame buffered for the connection, then flushes the replies. */
+    private void process(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        in.flip();
+        try {
+            while (in.remaining() >= Integer.BYTES) {
+                int length = in.getInt(in.position());
+                if (length < 1 || length > BinaryProtocol.MAX_FRAME) {
+                    BinaryProtocol.putError(connection.out, BinaryProtocol.INVALID, "Frame length out of range: " + length);
+                    connection.flush();
+                    connection.close();
+                    return;
+                }
+                if (in.remaining() < Integer.BYTES + length) {
+                    if (Integer.BYTES + length > in.capacity()) connection.growInput(Integer.BYTES + length);
+                    in = connection.in;
+                    break;
+                }
+                if (connection.out.remaining() < BinaryProtocol.MAX_REPLY && !connection.flush()) {
+                    // The client is not reading: stop reading it until its replies drain
+                    connection.key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                int end = in.position() + Integer.BYTES + length;
+                in.position(in.position() + Integer.BYTES);
+                handle(in, end, connection);
+                in.position(end);
+            }
+        } finally {
+            if (connection.channel.isOpen()) in.compact();
+        }
+        if (!connection.flush()) connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void handle(ByteBuffer in, int end, Connection connection) {
+        ByteBuffer out = connection.out;
+        try {
+            byte type = in.get();
+            switch (type) {
+                case BinaryProtocol.CREATE_WORKSPACE -> {
+                    expect(end - in.position() == 8, "CREATE_WORKSPACE frame must hold 8 bytes");
+                    expect(connection.workspaces.size() < BinaryProtocol.MAX_WORKSPACES,
+                            "Too many workspaces on this connection: " + BinaryProtocol.MAX_WORKSPACES);
+                    Workspace workspace = new Workspace(in.getInt(), in.getInt());
+                    connection.workspaces.put(connection.nextWorkspace, workspace);
+                    BinaryProtocol.putWorkspace(out, connection.nextWorkspace++);
+                }
+                case BinaryProtocol.DROP_WORKSPACE -> {
+                    expect(end - in.position() == 4, "DROP_WORKSPACE frame must hold 4 bytes");
+                    int id = in.getInt();
+                    expect(connection.workspaces.remove(id) != null, "Unknown workspace: " + id);
+                    BinaryProtocol.putWorkspace(out, id);
+                }
+                case BinaryProtocol.EXECUTE -> execute(in, end, connection);
+                default -> throw new IllegalArgumentException("Unknown frame type: " + type);
+            }
+        } catch (DomainException e) {
+            BinaryProtocol.putError(out, BinaryProtocol.REJECTED, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            BinaryProtocol.putError(out, BinaryProtocol.INVALID, e.getMessage());
+        }
+    }
+
+    private void execute(ByteBuffer in, int end, Connection connection) {
+        // Lengths below exclude the type byte, already read
+        int payload = end - in.position();
+        expect(payload >= BinaryProtocol.executeLength(0) - 1, "EXECUTE frame too short");
+        int id = in.getInt();
+        int x = in.getInt();
+        int y = in.getInt();
+        Direction direction = BinaryProtocol.direction(in.get());
+        int count = in.getInt();
+        expect(count >= 0 && BinaryProtocol.executeLength(count) - 1 == payload,
+                "EXECUTE frame length does not match its " + count + " instructions");
+        Workspace workspace = connection.workspaces.get(id);
+        expect(workspace != null, "Unknown workspace: " + id);
+        int words = BinaryProtocol.packedWords(count);
+        if (packed.length < words) packed = new long[Math.max(words, 2 * packed.length)];
+        InstructionProgram program = BinaryProtocol.getInstructions(in, count, packed);
+        ControlRobotCommandResponse response = useCase.execute(new ControlRobotCommand(workspace, new Position(x, y), direction, program));
+        BinaryProtocol.putResult(connection.out, response.finalPosition().x(), response.finalPosition().y(), response.finalDirection());
+    }
+
+    private static void expect(boolean condition, String message) {
+        if (!condition) throw new IllegalArgumentException(message);
+    }
+
+    private final class Connection {
+        final SocketChannel channel;
+        ByteBuffer in;
+        final ByteBuffer out;
+        final Map<Integer, Workspace> workspaces = new HashMap<>();
+        int nextWorkspace = 1;
+        SelectionKey key;
+        boolean closed;
+
+        Connection(SocketChannel channel, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.in = in;
+            this.out = out;
+        }
+
+        /** Writes pending replies; returns whether they all went out. */
+        boolean flush() throws IOException {
+            out.flip();
+            try {
+                while (out.hasRemaining()) {
+                    if (channel.write(out) == 0) return false;
+                }
+                return true;
+            } finally {
+                out.compact();
+            }
+        }
+
+        /** Swaps the input for a buffer that fits a frame larger than the pooled ones. */
+        void growInput(int frame) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Integer.highestOneBit(frame - 1) << 1).order(BinaryProtocol.ORDER);
+            larger.put(in);
+            larger.flip();
+            buffers.release(in);
+            in = larger;
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to do with a broken connection
+            }
+            buffers.release(in);
+            buffers.release(out);
+            workspaces.clear();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Free list of same-sized direct buffers, so connections coming and going do not allocate
+ * native memory each time. Used by one thread only.
+ */
+final class DirectBufferPool {
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) buffer = ByteBuffer.allocateDirect(bufferSize).order(BinaryProtocol.ORDER);
+        return buffer;
+    }
+
+    /** Takes a buffer back; buffers of another size, grown for one large frame, are dropped. */
+    void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && free.size() < maxPooled) {
+            buffer.clear();
+            free.push(buffer);
+        }
+    }
+}
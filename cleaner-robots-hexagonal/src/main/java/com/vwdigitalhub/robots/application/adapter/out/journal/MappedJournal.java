@@ -0,0 +1,557 @@
+package com.vwdigitalhub.robots.application.adapter.out.journal;
+
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotJournal;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal in a directory of memory-mapped segment files, {@code segmentSize} bytes
+ * each. Appending builds a small record and its checksum on the calling thread, reserves room for
+ * it with a CAS on the segment's position and copies it into the mapping, so appenders only take
+ * the lock when a segment fills up. A background thread forces the written range to disk every
+ * {@code commitInterval}, or at once when {@link #sync} is waiting, so concurrent callers of
+ * {@code sync} share one fsync. When a record does not fit, the segment is sealed, forced once
+ * its last records are copied, and the next one is started; every {@link #open} starts a new
+ * segment too.
+ * <p>
+ * A record is its length, its type, its payload and a CRC32C of type and payload, little-endian.
+ * Every payload starts with the workspace's id and bounds, so replay creates a workspace the first
+ * time it meets it and the writer keeps no state per workspace. Replay reads each segment up to
+ * the first zero length or damaged record, which is where the writer stopped or crashed, and goes
+ * on with the next segment.
+ * <p>
+ * {@link #compact} writes a {@link WorkspaceSnapshot} per workspace into a {@code snapshot-N}
+ * directory, where {@code N} is the first segment it does not cover, and deletes older segments
+ * and snapshots. Replay restores the latest snapshot and reads only the segments after it. The
+ * snapshot also lists the workspaces dropped in the segments it replaces, so records of robots
+ * that were still running on them when they were dropped do not bring them back.
+ */
+public final class MappedJournal implements RobotJournal, AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(10);
+
+    static final byte WORKSPACE_CREATED = 1;
+    static final byte WORKSPACE_DROPPED = 2;
+    static final byte ROBOT_EXECUTED = 3;
+    static final byte POSITION_OCCUPIED = 4;
+
+    private static final String SUFFIX = ".journal";
+    private static final String SNAPSHOT = "snapshot-";
+    private static final String DROPPED = "dropped.ids";
+    // Length and checksum around every record
+    private static final int FRAMING = 2 * Integer.BYTES;
+    // Type, workspace id, maxX, maxY and whether it is concurrent
+    private static final int WORKSPACE = 1 + 16 + 4 + 4 + 1;
+    // Start and final x, y and direction, then the number of instructions
+    private static final int ROBOT = WORKSPACE + 2 * 9 + 8;
+    private static final int CELL = WORKSPACE + 8;
+    private static final int MAX_RECORD = FRAMING + ROBOT;
+    private static final ThreadLocal<Encoder> ENCODERS = ThreadLocal.withInitial(Encoder::new);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    // The flusher waits for work on the first, sync callers wait for a flush on the second
+    private final Condition flushWanted = lock.newCondition();
+    private final Condition flushDone = lock.newCondition();
+    private final Thread flusher;
+    private final Object compaction = new Object();
+    // Bytes of every record copied in so far, across segments
+    private final AtomicLong appended = new AtomicLong();
+    private volatile Segment segment;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+    // Workspaces dropped in the segments the next compaction replaces
+    private volatile Set<UUID> droppedSinceCompaction = ConcurrentHashMap.newKeySet();
+
+    // Guarded by lock
+    private int nextSegment;
+    private int flushed;
+    private long durable;
+    private boolean syncRequested;
+    private boolean stopped;
+
+    private MappedJournal(Path directory, int segmentSize, Duration commitInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitMillis = Math.max(1, commitInterval.toMillis());
+        List<Path> existing = segments();
+        this.nextSegment = existing.isEmpty() ? 0 : index(existing.get(existing.size() - 1)) + 1;
+        startSegment();
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static MappedJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_INTERVAL);
+    }
+
+    public static MappedJournal open(Path directory, int segmentSize, Duration commitInterval) throws IOException {
+        if (segmentSize < MAX_RECORD) {
+            throw new IllegalArgumentException("segmentSize must be at least " + MAX_RECORD + " bytes: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        return new MappedJournal(directory, segmentSize, commitInterval);
+    }
+
+    @Override
+    public void workspaceCreated(Workspace workspace) {
+        Encoder encoder = ENCODERS.get();
+        encoder.begin(WORKSPACE_CREATED, workspace);
+        append(encoder, WORKSPACE);
+    }
+
+    @Override
+    public void workspaceDropped(Workspace workspace) {
+        // Before the record: once the id misses a compaction's list, the record misses its segments
+        droppedSinceCompaction.add(workspace.getId());
+        Encoder encoder = ENCODERS.get();
+        encoder.begin(WORKSPACE_DROPPED, workspace);
+        append(encoder, WORKSPACE);
+    }
+
+    @Override
+    public void robotExecuted(ControlRobotCommand command, ControlRobotCommandResponse response) {
+        Encoder encoder = ENCODERS.get();
+        ByteBuffer record = encoder.record;
+        int at = encoder.begin(ROBOT_EXECUTED, command.workspace());
+        record.putInt(at, command.start().x());
+        record.putInt(at + 4, command.start().y());
+        record.put(at + 8, (byte) command.direction().ordinal());
+        record.putInt(at + 9, response.finalPosition().x());
+        record.putInt(at + 13, response.finalPosition().y());
+        record.put(at + 17, (byte) response.finalDirection().ordinal());
+        record.putLong(at + 18, command.instructions().length());
+        append(encoder, ROBOT);
+    }
+
+    @Override
+    public void positionOccupied(Workspace workspace, Position position) {
+        Encoder encoder = ENCODERS.get();
+        int at = encoder.begin(POSITION_OCCUPIED, workspace);
+        encoder.record.putInt(at, position.x());
+        encoder.record.putInt(at + 4, position.y());
+        append(encoder, CELL);
+    }
+
+    @Override
+    public void sync() {
+        lock.lock();
+        try {
+            long target = appended.get();
+            while (durable < target) {
+                if (failure != null) throw failure;
+                if (stopped) throw new IllegalStateException("Journal closed before the record was synced");
+                syncRequested = true;
+                flushWanted.signal();
+                flushDone.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the journal to sync", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Rebuilds the workspaces from the latest snapshot and every later segment, this instance's included. */
+    @Override
+    public Map<UUID, Workspace> replay() {
+        Map<UUID, Workspace> workspaces = new LinkedHashMap<>();
+        Set<UUID> dropped = new HashSet<>();
+        try {
+            int from = 0;
+            List<Path> snapshots = snapshots();
+            if (!snapshots.isEmpty()) {
+                Path latest = snapshots.get(snapshots.size() - 1);
+                from = index(latest);
+                try (Stream<Path> files = Files.list(latest)) {
+                    for (Path file : files.sorted().toList()) {
+                        if (file.getFileName().toString().equals(DROPPED)) {
+                            readDropped(file, dropped);
+                            continue;
+                        }
+                        Workspace workspace = WorkspaceSnapshot.read(file).restore();
+                        workspaces.put(workspace.getId(), workspace);
+                    }
+                }
+            }
+            for (Path file : segments()) {
+                if (index(file) < from) continue;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    replaySegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), workspaces, dropped);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return workspaces;
+    }
+
+    @Override
+    public void compact(Supplier<List<Workspace>> workspaces) {
+        synchronized (compaction) {
+            int covered;
+            Set<UUID> dropped;
+            lock.lock();
+            try {
+                if (closed) throw new IllegalStateException("Journal is closed");
+                if (failure != null) throw failure;
+                roll(segment);
+                covered = nextSegment - 1;
+                // After the roll, so a drop that misses this set is recorded in a segment kept
+                dropped = droppedSinceCompaction;
+                droppedSinceCompaction = ConcurrentHashMap.newKeySet();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                Path target = directory.resolve(String.format("%s%08d", SNAPSHOT, covered));
+                Path staging = directory.resolve(target.getFileName() + ".tmp");
+                deleteTree(staging);
+                Files.createDirectory(staging);
+                List<Workspace> live = workspaces.get();
+                for (int i = 0; i < live.size(); i++) {
+                    WorkspaceSnapshot.of(live.get(i)).writeTo(staging.resolve(String.format("%08d.snapshot", i)));
+                }
+                if (!dropped.isEmpty()) writeDropped(staging.resolve(DROPPED), dropped);
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+                for (Path segment : segments()) {
+                    if (index(segment) < covered) Files.delete(segment);
+                }
+                for (Path snapshot : snapshots()) {
+                    if (index(snapshot) < covered) deleteTree(snapshot);
+                }
+            } catch (IOException e) {
+                droppedSinceCompaction.addAll(dropped);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Makes everything appended durable and stops the flusher; later appends fail. An append
+     * racing with {@code close} may be left to the operating system to write back, and a
+     * {@link #sync} waiting for a record behind it fails.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            flushWanted.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Seals the encoder's record of {@code length} bytes, reserves room for it and copies it in. */
+    private void append(Encoder encoder, int length) {
+        int size = encoder.seal(length);
+        int at = reserve(size);
+        // The segment cannot roll before every record reserved in it is copied in
+        segment.buffer.put(at, encoder.record.array(), 0, size);
+        appended.addAndGet(size);
+    }
+
+    /**
+     * Reserves {@code size} bytes in the current segment, rolling over to the next one when they
+     * do not fit, and returns where they start. Until they are copied in, nothing appended after
+     * them is synced.
+     */
+    int reserve(int size) {
+        while (true) {
+            if (closed) throw new IllegalStateException("Journal is closed");
+            RuntimeException failed = failure;
+            if (failed != null) throw failed;
+            Segment target = segment;
+            int at = target.reserved.get();
+            if (at + size > segmentSize) {
+                lock.lock();
+                try {
+                    roll(target);
+                } finally {
+                    lock.unlock();
+                }
+            } else if (target.reserved.compareAndSet(at, at + size)) {
+                return at;
+            }
+        }
+    }
+
+    /**
+     * Seals {@code full} unless another thread rolled it already, forces it once the records
+     * reserved in it are copied, and starts the next segment. The caller holds the lock.
+     */
+    private void roll(Segment full) {
+        if (segment != full) return;
+        if (failure != null) throw failure;
+        int end = full.reserved.getAndSet(segmentSize);
+        while (appended.get() - full.base < end) {
+            Thread.yield();
+        }
+        try {
+            // From the start: the flusher may still be forcing a range it took before the roll
+            full.buffer.force(0, end);
+            durable = appended.get();
+            flushDone.signalAll();
+            startSegment();
+        } catch (IOException e) {
+            failure = new UncheckedIOException(e);
+            throw failure;
+        } catch (UncheckedIOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void startSegment() throws IOException {
+        Path file = directory.resolve(String.format("%08d%s", nextSegment++, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            // Every earlier segment was sealed once its records were all copied in
+            segment = new Segment(buffer, appended.get());
+        }
+        flushed = 0;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long covered;
+            boolean complete;
+            boolean last;
+            lock.lock();
+            try {
+                if (!closed && !syncRequested) {
+                    try {
+                        flushWanted.await(commitMillis, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                last = closed;
+                syncRequested = false;
+                // Every record counted in covered lies below to, in this segment or a forced one
+                covered = appended.get();
+                Segment current = segment;
+                target = current.buffer;
+                from = flushed;
+                to = current.reserved.get();
+                // A record still being copied below to leaves a gap replay stops at, so neither
+                // this flush nor any record after the gap is durable until a later flush
+                complete = covered - current.base == to;
+                if (complete) flushed = to;
+            } finally {
+                lock.unlock();
+            }
+            UncheckedIOException error = null;
+            try {
+                if (to > from) target.force(from, to - from);
+            } catch (UncheckedIOException e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else if (complete && covered > durable) {
+                    durable = covered;
+                }
+                stopped = error != null || last;
+                flushDone.signalAll();
+                if (stopped) return;
+            } finally {
+                lock.unlock();
+            }
+            if (!complete) Thread.yield();
+        }
+    }
+
+    /** A mapped segment file, with how much of it appenders reserved. */
+    private static final class Segment {
+        final MappedByteBuffer buffer;
+        // Bytes appended before this segment; the rest of appended was copied into it
+        final long base;
+        final AtomicInteger reserved = new AtomicInteger();
+
+        Segment(MappedByteBuffer buffer, long base) {
+            this.buffer = buffer;
+            this.base = base;
+        }
+    }
+
+    /** Builds records on the appending thread, checksum included, before they take room in a segment. */
+    private static final class Encoder {
+        final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD).order(ByteOrder.LITTLE_ENDIAN);
+        final CRC32C checksum = new CRC32C();
+
+        /** Writes the type and workspace of a record and returns where its payload goes. */
+        int begin(byte type, Workspace workspace) {
+            int at = Integer.BYTES;
+            record.put(at, type);
+            record.putLong(at + 1, workspace.getId().getMostSignificantBits());
+            record.putLong(at + 9, workspace.getId().getLeastSignificantBits());
+            record.putInt(at + 17, workspace.getMaxX());
+            record.putInt(at + 21, workspace.getMaxY());
+            record.put(at + 25, (byte) (workspace.isConcurrent() ? 1 : 0));
+            return at + WORKSPACE;
+        }
+
+        /** Frames the record of {@code length} bytes with its length and checksum; returns its size. */
+        int seal(int length) {
+            checksum.reset();
+            checksum.update(record.array(), Integer.BYTES, length);
+            record.putInt(Integer.BYTES + length, (int) checksum.getValue());
+            record.putInt(0, length);
+            return FRAMING + length;
+        }
+    }
+
+    private static void replaySegment(ByteBuffer segment, Map<UUID, Workspace> workspaces, Set<UUID> dropped) {
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        int at = 0;
+        while (at + FRAMING <= segment.limit()) {
+            int length = segment.getInt(at);
+            if (length <= 0 || length > ROBOT || at + FRAMING + length > segment.limit()) return;
+            crc.reset();
+            crc.update(segment.slice(at + Integer.BYTES, length));
+            if ((int) crc.getValue() != segment.getInt(at + Integer.BYTES + length)) return;
+            apply(segment, at + Integer.BYTES, workspaces, dropped);
+            at += FRAMING + length;
+        }
+    }
+
+    private static void apply(ByteBuffer segment, int at, Map<UUID, Workspace> workspaces, Set<UUID> dropped) {
+        byte type = segment.get(at);
+        UUID id = new UUID(segment.getLong(at + 1), segment.getLong(at + 9));
+        if (type == WORKSPACE_DROPPED) {
+            workspaces.remove(id);
+            dropped.add(id);
+            return;
+        }
+        // Robots still running on a workspace while it was dropped do not bring it back
+        if (dropped.contains(id)) return;
+        Workspace workspace = workspaces.computeIfAbsent(id, key ->
+                Workspace.restore(key, segment.getInt(at + 17), segment.getInt(at + 21), segment.get(at + 25) != 0));
+        int payload = at + WORKSPACE;
+        switch (type) {
+            case WORKSPACE_CREATED -> { }
+            // Start (x, y, direction) comes first; the robot parks at its final position
+            case ROBOT_EXECUTED -> workspace.tryOccupy(new Position(segment.getInt(payload + 9), segment.getInt(payload + 13)));
+            case POSITION_OCCUPIED -> workspace.tryOccupy(new Position(segment.getInt(payload), segment.getInt(payload + 4)));
+            default -> throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    /** Writes workspace ids as two longs each, followed by a CRC32C of them. */
+    private static void writeDropped(Path file, Set<UUID> ids) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(ids.size() * 16 + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (UUID id : ids) {
+            bytes.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes.array(), 0, bytes.position());
+        bytes.putInt((int) checksum.getValue()).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (bytes.hasRemaining()) channel.write(bytes);
+            channel.force(true);
+        }
+    }
+
+    private static void readDropped(Path file, Set<UUID> ids) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int end = bytes.limit() - Integer.BYTES;
+        CRC32C checksum = new CRC32C();
+        if (end >= 0) checksum.update(bytes.array(), 0, end);
+        if (end < 0 || end % 16 != 0 || bytes.getInt(end) != (int) checksum.getValue()) {
+            throw new IllegalArgumentException("Damaged list of dropped workspaces: " + file);
+        }
+        for (int at = 0; at < end; at += 16) {
+            ids.add(new UUID(bytes.getLong(at), bytes.getLong(at + 8)));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    /** Complete snapshot directories, oldest first; a {@code .tmp} one was interrupted. */
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SNAPSHOT) && !name.endsWith(".tmp");
+            }).sorted().toList();
+        }
+    }
+
+    /** Number of a segment, or of the first segment a snapshot does not cover. */
+    private static int index(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SNAPSHOT)
+                ? Integer.parseInt(name.substring(SNAPSHOT.length()))
+                : Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /** Makes the snapshot's rename durable before the segments it replaces are deleted. */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        if (!Files.exists(root)) return;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
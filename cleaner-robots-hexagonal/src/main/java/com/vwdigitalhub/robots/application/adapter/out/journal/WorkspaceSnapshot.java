@@ -0,0 +1,203 @@
+package com.vwdigitalhub.robots.application.adapter.out.journal;
+
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact image of a workspace: its id, its bounds and its occupied cells, encoded either as the
+ * row-major bitmap or as the gaps between ascending cell ids in LEB128 varints, whichever is
+ * smaller. {@link #of} copies the cells, which takes milliseconds even for millions of robots;
+ * {@link #writeTo} can then run on another thread while robots keep executing.
+ * <p>
+ * Files are little-endian and end with a CRC32C of everything before it. They are written next
+ * to their final name and moved into place, so a file on disk is always whole, and read back
+ * through a read-only mapping.
+ */
+public final class WorkspaceSnapshot {
+    // "WSS1" read as a little-endian int
+    private static final int MAGIC = 0x31535357;
+    private static final byte BITMAP = 0;
+    private static final byte GAPS = 1;
+    // Magic, id, maxX, maxY, concurrent, encoding and cell count
+    private static final int HEADER = 4 + 16 + 4 + 4 + 1 + 1 + 4;
+
+    private final UUID id;
+    private final int maxX;
+    private final int maxY;
+    private final boolean concurrent;
+    // Ascending y * (maxX + 1) + x
+    private final long[] cells;
+
+    private WorkspaceSnapshot(UUID id, int maxX, int maxY, boolean concurrent, long[] cells) {
+        this.id = id;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.concurrent = concurrent;
+        this.cells = cells;
+    }
+
+    /**
+     * Copies the workspace's cells. On a workspace that is not concurrent, call it from the
+     * thread executing robots on it.
+     */
+    public static WorkspaceSnapshot of(Workspace workspace) {
+        return new WorkspaceSnapshot(workspace.getId(), workspace.getMaxX(), workspace.getMaxY(),
+                workspace.isConcurrent(), workspace.occupiedCellIds());
+    }
+
+    public static WorkspaceSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER + Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a workspace snapshot: " + file);
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+            int end = (int) size - Integer.BYTES;
+            CRC32C checksum = new CRC32C();
+            checksum.update(bytes.slice(0, end));
+            if (bytes.getInt(0) != MAGIC || bytes.getInt(end) != (int) checksum.getValue()) {
+                throw new IllegalArgumentException("Not a workspace snapshot, or a damaged one: " + file);
+            }
+            UUID id = new UUID(bytes.getLong(4), bytes.getLong(12));
+            int maxX = bytes.getInt(20);
+            int maxY = bytes.getInt(24);
+            boolean concurrent = bytes.get(28) != 0;
+            long[] cells = new long[bytes.getInt(30)];
+            if (bytes.get(29) == BITMAP) {
+                readBitmap(bytes, end, cells);
+            } else {
+                readGaps(bytes, cells);
+            }
+            return new WorkspaceSnapshot(id, maxX, maxY, concurrent, cells);
+        }
+    }
+
+    public void writeTo(Path file) throws IOException {
+        long bitmapBytes = ((maxX + 1L) * (maxY + 1L) + 63 >>> 6) * Long.BYTES;
+        long gapBytes = gapBytes();
+        boolean bitmap = bitmapBytes <= gapBytes;
+        long size = HEADER + Math.min(bitmapBytes, gapBytes) + Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Workspace too large to snapshot: " + size + " bytes");
+        }
+        Path staging = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            bytes.order(ByteOrder.LITTLE_ENDIAN);
+            bytes.putInt(MAGIC).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+            bytes.putInt(maxX).putInt(maxY).put((byte) (concurrent ? 1 : 0)).put(bitmap ? BITMAP : GAPS).putInt(cells.length);
+            if (bitmap) {
+                writeBitmap(bytes);
+            } else {
+                writeGaps(bytes);
+            }
+            int end = (int) size - Integer.BYTES;
+            CRC32C checksum = new CRC32C();
+            checksum.update(bytes.slice(0, end));
+            bytes.putInt(end, (int) checksum.getValue());
+            bytes.force();
+        }
+        Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** A new workspace with the snapshot's id, bounds and occupied cells. */
+    public Workspace restore() {
+        Workspace workspace = Workspace.restore(id, maxX, maxY, concurrent, cells.length);
+        long width = maxX + 1L;
+        for (long cell : cells) {
+            workspace.tryOccupy(new Position((int) (cell % width), (int) (cell / width)));
+        }
+        return workspace;
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public int cellCount() {
+        return cells.length;
+    }
+
+    private long gapBytes() {
+        long bytes = 0;
+        long previous = -1;
+        for (long cell : cells) {
+            bytes += varintLength(cell - previous - 1);
+            previous = cell;
+        }
+        return bytes;
+    }
+
+    private void writeGaps(ByteBuffer bytes) {
+        long previous = -1;
+        for (long cell : cells) {
+            long gap = cell - previous - 1;
+            while ((gap & ~0x7FL) != 0) {
+                bytes.put((byte) (gap | 0x80));
+                gap >>>= 7;
+            }
+            bytes.put((byte) gap);
+            previous = cell;
+        }
+    }
+
+    private static void readGaps(ByteBuffer bytes, long[] cells) {
+        int at = HEADER;
+        long previous = -1;
+        for (int i = 0; i < cells.length; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes.get(at++);
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += gap + 1;
+            cells[i] = previous;
+        }
+    }
+
+    private void writeBitmap(ByteBuffer bytes) {
+        // Cells are ascending, so each word is complete before the next one starts
+        int i = 0;
+        while (i < cells.length) {
+            long word = cells[i] >>> 6;
+            long bits = 0;
+            while (i < cells.length && cells[i] >>> 6 == word) {
+                bits |= 1L << cells[i++];
+            }
+            bytes.putLong(HEADER + (int) word * Long.BYTES, bits);
+        }
+    }
+
+    private static void readBitmap(ByteBuffer bytes, int end, long[] cells) {
+        int count = 0;
+        for (int at = HEADER; at < end && count < cells.length; at += Long.BYTES) {
+            long bits = bytes.getLong(at);
+            long base = (long) (at - HEADER) / Long.BYTES << 6;
+            while (bits != 0) {
+                cells[count++] = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static int varintLength(long value) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+}
@@ -0,0 +1,176 @@
+package com.vwdigitalhub.robots.application.adapter.out.metrics;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RobotMetrics} kept in memory: {@link LongAdder} counters, which spread concurrent updates
+ * over several cells instead of contending on one, and a {@link LatencyHistogram} per stage. Read
+ * through JMX once {@link #register registered}, or as text with {@link #report}.
+ */
+public final class StripedRobotMetrics implements RobotMetrics, StripedRobotMetricsMBean {
+    public static final String OBJECT_NAME = "com.vwdigitalhub.robots:type=RobotMetrics";
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder robots = new LongAdder();
+    private final LongAdder instructions = new LongAdder();
+    private final LongAdder outOfBounds = new LongAdder();
+    private final LongAdder occupied = new LongAdder();
+    private final LongAdder otherRejections = new LongAdder();
+    private final LongAdder parsedInstructions = new LongAdder();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram parse = new LatencyHistogram();
+
+    @Override
+    public void robotExecuted(long nanos, long instructions) {
+        execute.record(nanos);
+        robots.increment();
+        this.instructions.add(instructions);
+    }
+
+    @Override
+    public void robotRejected(long nanos, DomainException rejection) {
+        execute.record(nanos);
+        if (rejection instanceof OutOfBoundsException) {
+            outOfBounds.increment();
+        } else if (rejection instanceof PositionOccupiedException) {
+            occupied.increment();
+        } else {
+            otherRejections.increment();
+        }
+    }
+
+    @Override
+    public void programParsed(long nanos, long instructions) {
+        parse.record(nanos);
+        parsedInstructions.add(instructions);
+    }
+
+    /** Registers these metrics with the platform MBean server as {@link #OBJECT_NAME}. */
+    public ObjectName register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(this, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    public LatencyHistogram.Snapshot executeLatency() {
+        return execute.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot parseLatency() {
+        return parse.snapshot();
+    }
+
+    /** Every counter and the main percentiles, one stage per line. */
+    @Override
+    public String getReport() {
+        return report();
+    }
+
+    public String report() {
+        LatencyHistogram.Snapshot executed = execute.snapshot();
+        LatencyHistogram.Snapshot parsed = parse.snapshot();
+        return String.format(Locale.ROOT,
+                "robots %d (%.1f/s), instructions %d (%.1f/s), rejected %d out of bounds, %d occupied, %d other%n"
+                        + "execute micros: mean %.1f p50 %.1f p99 %.1f p99.9 %.1f max %.1f%n"
+                        + "parse micros:   %d programs, %d instructions, mean %.1f p99 %.1f max %.1f%n",
+                getRobots(), getRobotsPerSecond(), getInstructions(), getInstructionsPerSecond(),
+                getRejectedOutOfBounds(), getRejectedOccupied(), otherRejections.sum(),
+                executed.mean() / 1000, micros(executed, 50), micros(executed, 99), micros(executed, 99.9), executed.max() / 1000.0,
+                parsed.count(), parsedInstructions.sum(), parsed.mean() / 1000, micros(parsed, 99), parsed.max() / 1000.0);
+    }
+
+    @Override
+    public long getRobots() {
+        return robots.sum();
+    }
+
+    @Override
+    public long getInstructions() {
+        return instructions.sum();
+    }
+
+    @Override
+    public long getRejectedOutOfBounds() {
+        return outOfBounds.sum();
+    }
+
+    @Override
+    public long getRejectedOccupied() {
+        return occupied.sum();
+    }
+
+    @Override
+    public double getRobotsPerSecond() {
+        return perSecond(robots.sum());
+    }
+
+    @Override
+    public double getInstructionsPerSecond() {
+        return perSecond(instructions.sum());
+    }
+
+    @Override
+    public double getExecuteMeanMicros() {
+        return execute.snapshot().mean() / 1000;
+    }
+
+    @Override
+    public double getExecuteP50Micros() {
+        return micros(execute.snapshot(), 50);
+    }
+
+    @Override
+    public double getExecuteP99Micros() {
+        return micros(execute.snapshot(), 99);
+    }
+
+    @Override
+    public double getExecuteP999Micros() {
+        return micros(execute.snapshot(), 99.9);
+    }
+
+    @Override
+    public double getExecuteMaxMicros() {
+        return execute.snapshot().max() / 1000.0;
+    }
+
+    @Override
+    public long getParsedPrograms() {
+        return parse.snapshot().count();
+    }
+
+    @Override
+    public double getParseMeanMicros() {
+        return parse.snapshot().mean() / 1000;
+    }
+
+    @Override
+    public double getParseP99Micros() {
+        return micros(parse.snapshot(), 99);
+    }
+
+    private double perSecond(long total) {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : total * 1e9 / elapsed;
+    }
+
+    private static double micros(LatencyHistogram.Snapshot snapshot, double percentile) {
+        return snapshot.valueAt(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.vwdigitalhub.robots.application.adapter.out.metrics;
+
+/** JMX view of {@link StripedRobotMetrics}; latencies in microseconds. */
+public interface StripedRobotMetricsMBean {
+
+    long getRobots();
+
+    long getInstructions();
+
+    long getRejectedOutOfBounds();
+
+    long getRejectedOccupied();
+
+    double getRobotsPerSecond();
+
+    double getInstructionsPerSecond();
+
+    double getExecuteMeanMicros();
+
+    double getExecuteP50Micros();
+
+    double getExecuteP99Micros();
+
+    double getExecuteP999Micros();
+
+    double getExecuteMaxMicros();
+
+    long getParsedPrograms();
+
+    double getParseMeanMicros();
+
+    double getParseP99Micros();
+
+    String getReport();
+}
@@ -0,0 +1,205 @@
+package com.vwdigitalhub.robots.application.adapter.out.result;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotResultWriter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes outcomes straight into one reusable direct buffer and writes it to a channel only when
+ * it is full or flushed, so no String is built per robot and a mission of millions of robots costs
+ * a few large writes. {@link Format#TEXT} gives the same lines as printing each outcome;
+ * {@link Format#BINARY} gives fixed-size little-endian records:
+ * <pre>
+ * PARKED    tag:1 (0)  x:4  y:4  direction:1
+ * REJECTED  tag:1 (1)  robot:4  step:8  x:4  y:4  reason:1
+ * </pre>
+ * Directions and reasons are enum ordinals. Write failures are thrown as {@link UncheckedIOException}.
+ * Not thread-safe.
+ */
+public final class ChannelResultWriter implements RobotResultWriter, AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    public static final byte PARKED = 0;
+    public static final byte REJECTED = 1;
+
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+    // Longest record in either format: two 11-character ints, a 19-digit step and the text around them
+    private static final int MAX_RECORD = 96;
+    private static final byte[] ROBOT = ascii("robot ");
+    private static final byte[] AT_STEP = ascii(" rejected at step ");
+    private static final byte[] COLON = ascii(": ");
+    private static final byte[][] REASONS = new byte[RobotRejection.Reason.values().length][];
+    private static final byte[] DIRECTIONS = new byte[Direction.values().length];
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (RobotRejection.Reason reason : RobotRejection.Reason.values()) {
+            REASONS[reason.ordinal()] = ascii(reason.name());
+        }
+        for (Direction direction : Direction.values()) {
+            DIRECTIONS[direction.ordinal()] = (byte) direction.name().charAt(0);
+        }
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final Format format;
+    private final ByteBuffer buffer;
+    private long records;
+
+    /** Writes to {@code channel}, which {@link #close} closes too. */
+    public ChannelResultWriter(WritableByteChannel channel, Format format) {
+        this(channel, true, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    ChannelResultWriter(WritableByteChannel channel, boolean closeChannel, Format format, int bufferSize) {
+        if (bufferSize < MAX_RECORD) {
+            throw new IllegalArgumentException("Buffer must hold at least " + MAX_RECORD + " bytes: " + bufferSize);
+        }
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Writes to {@code file}, replacing what it held. */
+    public static ChannelResultWriter open(Path file, Format format) throws IOException {
+        return new ChannelResultWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), format);
+    }
+
+    /** Writes to the process's standard output, which {@link #close} leaves open. */
+    public static ChannelResultWriter stdout(Format format) {
+        return new ChannelResultWriter(new FileOutputStream(FileDescriptor.out).getChannel(), false, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public void parked(ControlRobotCommandResponse response) {
+        reserve();
+        int x = response.finalPosition().x();
+        int y = response.finalPosition().y();
+        int direction = response.finalDirection().ordinal();
+        if (format == Format.BINARY) {
+            buffer.put(PARKED).putInt(x).putInt(y).put((byte) direction);
+            return;
+        }
+        putDecimal(x);
+        buffer.put((byte) ' ');
+        putDecimal(y);
+        buffer.put((byte) ' ').put(DIRECTIONS[direction]).put((byte) '\n');
+    }
+
+    @Override
+    public void rejected(RobotRejection rejection) {
+        reserve();
+        int x = rejection.position().x();
+        int y = rejection.position().y();
+        int reason = rejection.reason().ordinal();
+        if (format == Format.BINARY) {
+            buffer.put(REJECTED).putInt(rejection.robot()).putLong(rejection.step()).putInt(x).putInt(y).put((byte) reason);
+            return;
+        }
+        buffer.put(ROBOT);
+        putDecimal(rejection.robot());
+        buffer.put(AT_STEP);
+        putDecimal(rejection.step());
+        buffer.put(COLON).put(REASONS[reason]).put((byte) ' ');
+        putDecimal(x);
+        buffer.put((byte) ' ');
+        putDecimal(y);
+        buffer.put((byte) '\n');
+    }
+
+    /** Outcomes written so far, flushed or not. */
+    public long records() {
+        return records;
+    }
+
+    @Override
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            if (closeChannel) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /** Makes room for one more record. */
+    private void reserve() {
+        if (buffer.remaining() < MAX_RECORD) flush();
+        records++;
+    }
+
+    /** Writes the digits of {@code value}, which is not {@code Long.MIN_VALUE}, from the last one back. */
+    private void putDecimal(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int end = buffer.position() + digits(value);
+        int at = end;
+        while (value >= 100) {
+            int pair = (int) (value % 100) << 1;
+            value /= 100;
+            buffer.put(--at, DIGIT_PAIRS[pair + 1]);
+            buffer.put(--at, DIGIT_PAIRS[pair]);
+        }
+        int pair = (int) value << 1;
+        buffer.put(--at, DIGIT_PAIRS[pair + 1]);
+        if (value >= 10) buffer.put(--at, DIGIT_PAIRS[pair]);
+        buffer.position(end);
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,31 @@
+package com.vwdigitalhub.robots.application.adapter.out.result;
+
+import com.vwdigitalhub.robots.application.domain.port.out.RobotResultWriter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
+
+import java.io.PrintStream;
+
+/** Prints every outcome on its own line of a {@link PrintStream}, as its {@code toString}. */
+public final class PrintStreamResultWriter implements RobotResultWriter {
+    private final PrintStream out;
+
+    public PrintStreamResultWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void parked(ControlRobotCommandResponse response) {
+        out.println(response);
+    }
+
+    @Override
+    public void rejected(RobotRejection rejection) {
+        out.println(rejection);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
@@ -2,4 +2,13 @@ package com.vwdigitalhub.robots.application.domain.exception;
 
 public class DomainException extends RuntimeException {
     public DomainException(String message) { super(message); }
+
+    /**
+     * For rejections expected by the thousand, such as robots leaving the workspace: no stack
+     * trace is filled in and nothing can be suppressed, so throwing one costs little more than
+     * allocating it.
+     */
+    protected DomainException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
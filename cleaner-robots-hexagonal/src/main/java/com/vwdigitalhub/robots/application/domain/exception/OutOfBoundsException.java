@@ -2,8 +2,20 @@ package com.vwdigitalhub.robots.application.domain.exception;
 
 import com.vwdigitalhub.robots.application.domain.model.Position;
 
+import lombok.Getter;
+
+/** Stackless; the message is only built when asked for. */
 public class OutOfBoundsException extends DomainException {
+    @Getter
+    private final Position position;
+
     public OutOfBoundsException(Position position) {
-        super("Position out of bounds: " + position);
+        super(null, false);
+        this.position = position;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Position out of bounds: " + position;
     }
 }
@@ -2,8 +2,20 @@ package com.vwdigitalhub.robots.application.domain.exception;
 
 import com.vwdigitalhub.robots.application.domain.model.Position;
 
+import lombok.Getter;
+
+/** Stackless; the message is only built when asked for. */
 public class PositionOccupiedException extends DomainException {
+    @Getter
+    private final Position position;
+
     public PositionOccupiedException(Position position) {
-        super("Final position already occupied by another robot: " + position);
+        super(null, false);
+        this.position = position;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Final position already occupied by another robot: " + position;
     }
 }
@@ -0,0 +1,15 @@
+package com.vwdigitalhub.robots.application.domain.exception;
+
+import com.vwdigitalhub.robots.application.domain.model.Position;
+
+import lombok.Getter;
+
+public class RouteNotFoundException extends DomainException {
+    @Getter
+    private final Position target;
+
+    public RouteNotFoundException(Position target) {
+        super("No route avoids the parked robots on the way to: " + target);
+        this.target = target;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vwdigitalhub.robots.application.domain.exception;
+
+import com.vwdigitalhub.robots.application.domain.model.Position;
+
+import lombok.Getter;
+
+public class RouteSearchLimitException extends DomainException {
+    @Getter
+    private final Position target;
+
+    public RouteSearchLimitException(Position target, int states) {
+        super("Route search to " + target + " gave up after " + states + " states");
+        this.target = target;
+    }
+}
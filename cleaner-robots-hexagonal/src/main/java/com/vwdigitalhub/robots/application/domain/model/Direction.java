@@ -3,6 +3,20 @@ package com.vwdigitalhub.robots.application.domain.model;
 public enum Direction {
     N, E, S, W;
 
+    // Indexed by ordinal
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {1, 0, -1, 0};
+
+    /** Step along x of a move forward facing the direction of {@code ordinal}, for engines that keep directions as ints. */
+    public static int dx(int ordinal) {
+        return DX[ordinal];
+    }
+
+    /** Step along y of a move forward facing the direction of {@code ordinal}. */
+    public static int dy(int ordinal) {
+        return DY[ordinal];
+    }
+
     public Direction turnLeft() {
         return switch (this) {
             case N -> W;
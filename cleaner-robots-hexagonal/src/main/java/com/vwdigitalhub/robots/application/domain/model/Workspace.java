@@ -3,23 +3,100 @@ package com.vwdigitalhub.robots.application.domain.model;
 import com.vwdigitalhub.robots.application.domain.exception.InvalidWorkspaceException;
 import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
 import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.BitmapOccupancyIndex;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.CellConsumer;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.LineIndex;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.OccupancyIndex;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.OffHeapTiledOccupancyIndex;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.SparseOccupancyIndex;
 
-import java.util.HashSet;
+import lombok.Getter;
+
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
+import java.util.UUID;
 
 public final class Workspace extends AggregateRoot {
+    public static final int NONE = LineIndex.NONE;
+
+    @Getter
     private final int maxX;
+    @Getter
     private final int maxY;
-    private final Set<Position> positionsOccupied = new HashSet<>();
+    private final boolean adaptive;
+    private final boolean concurrent;
+    private OccupancyIndex occupancy;
+    // Built on the first segment query: y -> occupied xs and x -> occupied ys
+    private LineIndex rows;
+    private LineIndex columns;
 
     public Workspace(int maxX, int maxY) {
-        super();
+        this(null, maxX, maxY, null, 0, false);
+    }
+
+    /** Sizes the occupancy index for the number of robots expected to park in the workspace. */
+    public Workspace(int maxX, int maxY, int expectedRobots) {
+        this(null, maxX, maxY, null, expectedRobots, false);
+    }
+
+    /** Uses the given occupancy index as is, without adapting it as robots park. */
+    public Workspace(int maxX, int maxY, OccupancyIndex occupancy) {
+        this(null, maxX, maxY, Objects.requireNonNull(occupancy, "occupancy must not be null"), 0, false);
+    }
+
+    private Workspace(UUID id, int maxX, int maxY, OccupancyIndex occupancy, int expectedRobots, boolean concurrent) {
+        super(id);
+        checkBounds(maxX, maxY);
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.adaptive = occupancy == null;
+        this.concurrent = concurrent;
+        this.occupancy = adaptive ? OccupancyIndex.forWorkspace(maxX, maxY, expectedRobots) : occupancy;
+    }
+
+    /**
+     * Workspace that many threads may drive robots on at once. Every cell is claimed atomically by
+     * {@link #tryOccupy} or {@link #occupy}, so two robots can never park on the same cell; the
+     * segment queries probe cell by cell instead of keeping row/column indexes.
+     */
+    public static Workspace concurrent(int maxX, int maxY, int expectedRobots) {
+        checkBounds(maxX, maxY);
+        return new Workspace(null, maxX, maxY, OccupancyIndex.concurrentForWorkspace(maxX, maxY, expectedRobots), 0, true);
+    }
+
+    /**
+     * Workspace for huge floors holding many robots: occupied cells live off the Java heap, in
+     * 64 x 64 tiles allocated when a robot first parks on one, and the segment queries scan those
+     * tiles instead of keeping row and column indexes, so the heap, and with it garbage collection
+     * pauses, stays the same size however many robots park. Not thread-safe.
+     */
+    public static Workspace offHeap(int maxX, int maxY) {
+        checkBounds(maxX, maxY);
+        return new Workspace(null, maxX, maxY, new OffHeapTiledOccupancyIndex(), 0, false);
+    }
+
+    /** Empty workspace keeping the id of one recorded earlier, for example in a journal. */
+    public static Workspace restore(UUID id, int maxX, int maxY, boolean concurrent) {
+        return restore(id, maxX, maxY, concurrent, 0);
+    }
+
+    /** Same as {@link #restore(UUID, int, int, boolean)}, sized for {@code expectedRobots} cells. */
+    public static Workspace restore(UUID id, int maxX, int maxY, boolean concurrent, int expectedRobots) {
+        Objects.requireNonNull(id, "id must not be null");
+        checkBounds(maxX, maxY);
+        return concurrent
+                ? new Workspace(id, maxX, maxY, OccupancyIndex.concurrentForWorkspace(maxX, maxY, expectedRobots), 0, true)
+                : new Workspace(id, maxX, maxY, null, expectedRobots, false);
+    }
+
+    private static void checkBounds(int maxX, int maxY) {
         if (maxX < 0 || maxY < 0) {
             throw new InvalidWorkspaceException("Workspace bounds must be non-negative: maxX=" + maxX + ", maxY=" + maxY);
         }
-        this.maxX = maxX;
-        this.maxY = maxY;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
     }
 
     private boolean isInside(Position p) {
@@ -27,13 +104,146 @@ public final class Workspace extends AggregateRoot {
         return p.x() >= 0 && p.y() >= 0 && p.x() <= maxX && p.y() <= maxY;
     }
 
+    public boolean isInside(int x, int y) {
+        return x >= 0 && y >= 0 && x <= maxX && y <= maxY;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return isInside(x, y) && occupancy.contains(x, y);
+    }
+
     public void ensureValidPosition(Position p) {
         if (!isInside(p)) throw new OutOfBoundsException(p);
-        if (positionsOccupied.contains(p)) throw new PositionOccupiedException(p);
+        if (occupancy.contains(p.x(), p.y())) throw new PositionOccupiedException(p);
+    }
+
+    public void ensureValidPosition(int x, int y) {
+        if (!isInside(x, y)) throw new OutOfBoundsException(new Position(x, y));
+        if (occupancy.contains(x, y)) throw new PositionOccupiedException(new Position(x, y));
+    }
+
+    /**
+     * First occupied x met when walking row {@code y} from {@code fromX} to {@code toX}, both
+     * inclusive and inside the bounds, or {@link #NONE}.
+     */
+    public int firstOccupiedOnRow(int y, int fromX, int toX) {
+        if (concurrent) {
+            int step = fromX <= toX ? 1 : -1;
+            for (int x = fromX; ; x += step) {
+                if (occupancy.contains(x, y)) return x;
+                if (x == toX) return NONE;
+            }
+        }
+        if (occupancy instanceof OffHeapTiledOccupancyIndex tiles) {
+            return tiles.firstOnRow(y, fromX, toX);
+        }
+        ensureLineIndexes();
+        return rows.first(y, fromX, toX);
+    }
+
+    /**
+     * First occupied y met when walking column {@code x} from {@code fromY} to {@code toY}, both
+     * inclusive and inside the bounds, or {@link #NONE}.
+     */
+    public int firstOccupiedOnColumn(int x, int fromY, int toY) {
+        if (concurrent) {
+            int step = fromY <= toY ? 1 : -1;
+            for (int y = fromY; ; y += step) {
+                if (occupancy.contains(x, y)) return y;
+                if (y == toY) return NONE;
+            }
+        }
+        if (occupancy instanceof OffHeapTiledOccupancyIndex tiles) {
+            return tiles.firstOnColumn(x, fromY, toY);
+        }
+        ensureLineIndexes();
+        return columns.first(x, fromY, toY);
+    }
+
+    public int occupiedCount() {
+        return occupancy.size();
+    }
+
+    /** Passes every occupied cell, in no particular order, in time proportional to their number. */
+    public void forEachOccupied(CellConsumer consumer) {
+        if (concurrent || occupancy instanceof OffHeapTiledOccupancyIndex) {
+            occupancy.forEach(consumer);
+            return;
+        }
+        ensureLineIndexes();
+        columns.forEach(consumer);
+    }
+
+    /**
+     * Every occupied cell as {@code y * (maxX + 1) + x}, in ascending order. On a concurrent
+     * workspace cells claimed or released meanwhile may or may not be included.
+     */
+    public long[] occupiedCellIds() {
+        CellIds ids = new CellIds(maxX + 1L, occupancy.size());
+        occupancy.forEach(ids);
+        return ids.sorted();
     }
 
     public void occupy(Position p) {
-        this.ensureValidPosition(p);
-        positionsOccupied.add(p);
+        if (!tryOccupy(p)) throw new PositionOccupiedException(p);
+    }
+
+    /** Claims the cell in one atomic step; returns {@code false} if it is already occupied. */
+    public boolean tryOccupy(Position p) {
+        if (!isInside(p)) throw new OutOfBoundsException(p);
+        if (!occupancy.add(p.x(), p.y())) return false;
+        if (rows != null) {
+            rows.add(p.y(), p.x());
+            columns.add(p.x(), p.y());
+        }
+        if (adaptive && occupancy instanceof SparseOccupancyIndex && OccupancyIndex.prefersBitmap(maxX, maxY, occupancy.size())) {
+            occupancy = BitmapOccupancyIndex.copyOf(maxX, maxY, occupancy);
+        }
+        return true;
+    }
+
+    /** Frees the cell, for example when a robot leaves it; returns {@code false} if it was free. */
+    public boolean release(Position p) {
+        if (!isInside(p) || !occupancy.remove(p.x(), p.y())) return false;
+        if (rows != null) {
+            rows.remove(p.y(), p.x());
+            columns.remove(p.x(), p.y());
+        }
+        return true;
+    }
+
+    private void ensureLineIndexes() {
+        if (rows != null) return;
+        LineIndex byRow = new LineIndex();
+        LineIndex byColumn = new LineIndex();
+        occupancy.forEach((x, y) -> {
+            byRow.add(y, x);
+            byColumn.add(x, y);
+        });
+        rows = byRow;
+        columns = byColumn;
+    }
+
+    private static final class CellIds implements CellConsumer {
+        private final long width;
+        private long[] ids;
+        private int count;
+
+        CellIds(long width, int expected) {
+            this.width = width;
+            this.ids = new long[Math.max(16, expected)];
+        }
+
+        @Override
+        public void accept(int x, int y) {
+            if (count == ids.length) ids = Arrays.copyOf(ids, 2 * count);
+            ids[count++] = y * width + x;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(ids, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
     }
 }
@@ -0,0 +1,273 @@
+package com.vwdigitalhub.robots.application.domain.model.coverage;
+
+import com.vwdigitalhub.robots.application.domain.exception.InvalidWorkspaceException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+
+import java.util.Arrays;
+
+/**
+ * Cells of a workspace that robots have been over, as a compressed bitmap chunked into 64 x 64
+ * tiles in the manner of roaring bitmaps: a tile nobody crossed costs nothing, a lightly crossed
+ * tile keeps a short sorted array, a busy one a 512-byte bitmap and a fully cleaned one a shared
+ * constant. Straight runs are covered a tile row or a tile column at a time, so tracing a run costs
+ * one word operation per tile for rows and one per cell for columns.
+ * <p>
+ * Not thread-safe.
+ */
+public final class CoverageMap {
+    private static final int SHIFT = 6;
+    private static final int MASK = CoverageTile.SIDE - 1;
+    private static final long EMPTY = -1L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final int maxX;
+    private final int maxY;
+    private final long tilesPerRow;
+    private long[] keys;
+    private CoverageTile[] tiles;
+    private int shift;
+    private int tileCount;
+    private long covered;
+    // Consecutive covers usually land in the same tile
+    private long lastKey = EMPTY;
+    private CoverageTile lastTile;
+
+    public CoverageMap(int maxX, int maxY) {
+        if (maxX < 0 || maxY < 0) {
+            throw new InvalidWorkspaceException("Workspace bounds must be non-negative: maxX=" + maxX + ", maxY=" + maxY);
+        }
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.tilesPerRow = (maxX >>> SHIFT) + 1;
+        allocate(16);
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public long coveredCells() {
+        return covered;
+    }
+
+    public long totalCells() {
+        return (maxX + 1L) * (maxY + 1L);
+    }
+
+    /** Covered fraction of the workspace, from 0 to 1. */
+    public double coverage() {
+        return (double) covered / totalCells();
+    }
+
+    /** Number of 64 x 64 tiles holding at least one covered cell. */
+    public int tileCount() {
+        return tileCount;
+    }
+
+    public boolean isCovered(int x, int y) {
+        if (x < 0 || y < 0 || x > maxX || y > maxY) return false;
+        CoverageTile tile = find(key(x >>> SHIFT, y >>> SHIFT));
+        return tile != null && tile.contains(y & MASK, x & MASK);
+    }
+
+    public void cover(int x, int y) {
+        check(x, y);
+        covered += tile(x >>> SHIFT, y >>> SHIFT).coverRow(y & MASK, x & MASK, x & MASK);
+    }
+
+    /** Covers every cell of row {@code y} between {@code fromX} and {@code toX}, in either order. */
+    public void coverRow(int y, int fromX, int toX) {
+        int low = Math.min(fromX, toX);
+        int high = Math.max(fromX, toX);
+        check(low, y);
+        check(high, y);
+        for (int x = low; x <= high; x = (x | MASK) + 1) {
+            int end = Math.min(high, x | MASK);
+            covered += tile(x >>> SHIFT, y >>> SHIFT).coverRow(y & MASK, x & MASK, end & MASK);
+            if (end == Integer.MAX_VALUE) break;
+        }
+    }
+
+    /** Covers every cell of column {@code x} between {@code fromY} and {@code toY}, in either order. */
+    public void coverColumn(int x, int fromY, int toY) {
+        int low = Math.min(fromY, toY);
+        int high = Math.max(fromY, toY);
+        check(x, low);
+        check(x, high);
+        for (int y = low; y <= high; y = (y | MASK) + 1) {
+            int end = Math.min(high, y | MASK);
+            covered += tile(x >>> SHIFT, y >>> SHIFT).coverColumn(x & MASK, y & MASK, end & MASK);
+            if (end == Integer.MAX_VALUE) break;
+        }
+    }
+
+    /** Adds every cell covered in {@code other}, for example by another robot or another run. */
+    public void or(CoverageMap other) {
+        if (other.maxX != maxX || other.maxY != maxY) {
+            throw new IllegalArgumentException("Coverage maps have different bounds: " + maxX + "x" + maxY
+                    + " and " + other.maxX + "x" + other.maxY);
+        }
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            long key = other.keys[slot];
+            if (key == EMPTY) continue;
+            CoverageTile mine = find(key);
+            if (mine == null) {
+                CoverageTile copy = other.tiles[slot].copy();
+                insert(key, copy);
+                covered += copy.size();
+            } else {
+                covered += mine.or(other.tiles[slot]);
+            }
+        }
+    }
+
+    public CoverageMap copy() {
+        CoverageMap copy = new CoverageMap(maxX, maxY);
+        copy.or(this);
+        return copy;
+    }
+
+    /**
+     * Passes rectangles that together hold every uncovered cell exactly once, in row-major order of
+     * their tiles. Untouched tiles are merged into large rectangles, so the output grows with the
+     * covered tiles rather than with the bounds.
+     */
+    public void forEachUncovered(RegionConsumer consumer) {
+        long[] sorted = sortedKeys();
+        int tileRows = (maxY >>> SHIFT) + 1;
+        int i = 0;
+        int untouchedFrom = -1;
+        for (int tileY = 0; tileY < tileRows; tileY++) {
+            int rowEnd = i;
+            while (rowEnd < sorted.length && sorted[rowEnd] / tilesPerRow == tileY) rowEnd++;
+            if (rowEnd == i) {
+                if (untouchedFrom < 0) untouchedFrom = tileY;
+                continue;
+            }
+            if (untouchedFrom >= 0) {
+                consumer.accept(0, untouchedFrom << SHIFT, maxX, (tileY << SHIFT) - 1);
+                untouchedFrom = -1;
+            }
+            int y0 = tileY << SHIFT;
+            int y1 = Math.min(maxY, y0 | MASK);
+            long nextTileX = 0;
+            for (; i < rowEnd; i++) {
+                long tileX = sorted[i] % tilesPerRow;
+                if (tileX > nextTileX) {
+                    consumer.accept((int) (nextTileX << SHIFT), y0, (int) (tileX << SHIFT) - 1, y1);
+                }
+                int x0 = (int) (tileX << SHIFT);
+                uncoveredIn(find(sorted[i]), x0, y0, Math.min(maxX, x0 | MASK) - x0 + 1, y1 - y0 + 1, consumer);
+                nextTileX = tileX + 1;
+            }
+            if (nextTileX < tilesPerRow) {
+                consumer.accept((int) (nextTileX << SHIFT), y0, maxX, y1);
+            }
+        }
+        if (untouchedFrom >= 0) {
+            consumer.accept(0, untouchedFrom << SHIFT, maxX, maxY);
+        }
+    }
+
+    /** Uncovered runs of each row of a tile; identical runs on consecutive rows become one rectangle. */
+    private static void uncoveredIn(CoverageTile tile, int x0, int y0, int width, int height, RegionConsumer consumer) {
+        long inside = width == CoverageTile.SIDE ? -1L : (1L << width) - 1;
+        long previous = 0;
+        int from = 0;
+        for (int row = 0; row <= height; row++) {
+            long free = row < height ? ~tile.row(row) & inside : 0;
+            if (free == previous) continue;
+            runs(previous, x0, y0 + from, y0 + row - 1, consumer);
+            previous = free;
+            from = row;
+        }
+    }
+
+    private static void runs(long free, int x0, int fromY, int toY, RegionConsumer consumer) {
+        while (free != 0) {
+            int start = Long.numberOfTrailingZeros(free);
+            long rest = ~(free >>> start);
+            int length = rest == 0 ? CoverageTile.SIDE - start : Long.numberOfTrailingZeros(rest);
+            consumer.accept(x0 + start, fromY, x0 + start + length - 1, toY);
+            free = start + length >= CoverageTile.SIDE ? 0 : free & (-1L << (start + length));
+        }
+    }
+
+    private void check(int x, int y) {
+        if (x < 0 || y < 0 || x > maxX || y > maxY) throw new OutOfBoundsException(new Position(x, y));
+    }
+
+    private long key(long tileX, long tileY) {
+        return tileY * tilesPerRow + tileX;
+    }
+
+    private CoverageTile tile(int tileX, int tileY) {
+        long key = key(tileX, tileY);
+        if (key == lastKey) return lastTile;
+        CoverageTile tile = find(key);
+        if (tile == null) {
+            tile = new CoverageTile();
+            insert(key, tile);
+        }
+        lastKey = key;
+        lastTile = tile;
+        return tile;
+    }
+
+    private CoverageTile find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return tiles[slot];
+            if (keys[slot] == EMPTY) return null;
+        }
+    }
+
+    private void insert(long key, CoverageTile tile) {
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+        keys[slot] = key;
+        tiles[slot] = tile;
+        if (++tileCount > keys.length >>> 1) rehash();
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        CoverageTile[] oldTiles = tiles;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int mask = keys.length - 1;
+            int slot = slot(oldKeys[i]);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            tiles[slot] = oldTiles[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        tiles = new CoverageTile[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * GOLDEN) >>> shift);
+    }
+
+    private long[] sortedKeys() {
+        long[] sorted = new long[tileCount];
+        int n = 0;
+        for (long key : keys) {
+            if (key != EMPTY) sorted[n++] = key;
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,189 @@
+package com.vwdigitalhub.robots.application.domain.model.coverage;
+
+import java.util.Arrays;
+
+/**
+ * Covered cells of one 64 x 64 tile, in the smallest of three containers: a sorted array of
+ * {@code row << 6 | column} cell numbers while it holds few cells, then a bitmap of one
+ * {@code long} per row, then, once every cell is covered, a shared full bitmap.
+ */
+final class CoverageTile {
+    static final int SIDE = 64;
+    static final int CELLS = SIDE * SIDE;
+    // Past this many cells the 64-word bitmap is smaller than the array
+    static final int ARRAY_LIMIT = 64;
+
+    private static final long[] FULL = filled();
+
+    private short[] cells = new short[8];
+    private long[] rows;
+    private int size;
+
+    CoverageTile() {}
+
+    private CoverageTile(CoverageTile other) {
+        this.cells = other.cells == null ? null : other.cells.clone();
+        this.rows = other.rows == null || other.rows == FULL ? other.rows : other.rows.clone();
+        this.size = other.size;
+    }
+
+    CoverageTile copy() {
+        return new CoverageTile(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int row, int column) {
+        if (rows != null) return (rows[row] >>> column & 1) != 0;
+        return Arrays.binarySearch(cells, 0, size, (short) (row << 6 | column)) >= 0;
+    }
+
+    /** Covers {@code fromColumn..toColumn} of {@code row}; returns how many cells were newly covered. */
+    int coverRow(int row, int fromColumn, int toColumn) {
+        if (rows == FULL) return 0;
+        if (rows == null) {
+            if (size + toColumn - fromColumn + 1 <= ARRAY_LIMIT) {
+                return merge(row << 6 | fromColumn, 1, toColumn - fromColumn + 1);
+            }
+            toBitmap();
+        }
+        long mask = (-1L >>> (SIDE - 1 - toColumn + fromColumn)) << fromColumn;
+        int added = Long.bitCount(mask & ~rows[row]);
+        rows[row] |= mask;
+        return grew(added);
+    }
+
+    /** Covers {@code fromRow..toRow} of {@code column}; returns how many cells were newly covered. */
+    int coverColumn(int column, int fromRow, int toRow) {
+        if (rows == FULL) return 0;
+        if (rows == null) {
+            if (size + toRow - fromRow + 1 <= ARRAY_LIMIT) {
+                return merge(fromRow << 6 | column, SIDE, toRow - fromRow + 1);
+            }
+            toBitmap();
+        }
+        long bit = 1L << column;
+        int added = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            if ((rows[row] & bit) == 0) {
+                rows[row] |= bit;
+                added++;
+            }
+        }
+        return grew(added);
+    }
+
+    /** Covers every cell covered in {@code other}; returns how many cells were newly covered. */
+    int or(CoverageTile other) {
+        if (rows == FULL || other.size == 0) return 0;
+        if (other.rows == null) {
+            if (rows == null && size + other.size <= ARRAY_LIMIT) {
+                int added = 0;
+                for (int i = 0; i < other.size; i++) {
+                    added += insert(other.cells[i]);
+                }
+                return added;
+            }
+            if (rows == null) toBitmap();
+            int added = 0;
+            for (int i = 0; i < other.size; i++) {
+                int cell = other.cells[i];
+                long bit = 1L << (cell & 63);
+                if ((rows[cell >>> 6] & bit) == 0) {
+                    rows[cell >>> 6] |= bit;
+                    added++;
+                }
+            }
+            return grew(added);
+        }
+        if (rows == null) toBitmap();
+        int added = 0;
+        for (int row = 0; row < SIDE; row++) {
+            added += Long.bitCount(other.rows[row] & ~rows[row]);
+            rows[row] |= other.rows[row];
+        }
+        return grew(added);
+    }
+
+    /** Covered cells of {@code row} as a bitmap, bit {@code c} for column {@code c}. */
+    long row(int row) {
+        if (rows != null) return rows[row];
+        long word = 0;
+        int from = Arrays.binarySearch(cells, 0, size, (short) (row << 6));
+        for (int i = from < 0 ? -from - 1 : from; i < size && cells[i] >>> 6 == row; i++) {
+            word |= 1L << (cells[i] & 63);
+        }
+        return word;
+    }
+
+    private int insert(int cell) {
+        int at = Arrays.binarySearch(cells, 0, size, (short) cell);
+        if (at >= 0) return 0;
+        at = -at - 1;
+        if (size == cells.length) cells = Arrays.copyOf(cells, size * 2);
+        System.arraycopy(cells, at, cells, at + 1, size - at);
+        cells[at] = (short) cell;
+        size++;
+        return 1;
+    }
+
+    /**
+     * Adds the {@code count} cells {@code first, first + step, ...}: one pass counts the new ones,
+     * and if there are any, a second merges them in from the back, in place.
+     */
+    private int merge(int first, int step, int count) {
+        int added = count;
+        for (int i = 0, k = 0; i < size && k < count; ) {
+            int next = first + k * step;
+            if (cells[i] < next) {
+                i++;
+            } else {
+                if (cells[i] == next) {
+                    added--;
+                    i++;
+                }
+                k++;
+            }
+        }
+        if (added == 0) return 0;
+        if (size + added > cells.length) {
+            cells = Arrays.copyOf(cells, Integer.highestOneBit(size + added - 1) << 1);
+        }
+        int i = size - 1;
+        int k = count - 1;
+        for (int at = size + added - 1; k >= 0; at--) {
+            int next = first + k * step;
+            if (i >= 0 && cells[i] > next) {
+                cells[at] = cells[i--];
+            } else {
+                if (i >= 0 && cells[i] == next) i--;
+                cells[at] = (short) next;
+                k--;
+            }
+        }
+        size += added;
+        return added;
+    }
+
+    private void toBitmap() {
+        rows = new long[SIDE];
+        for (int i = 0; i < size; i++) {
+            rows[cells[i] >>> 6] |= 1L << (cells[i] & 63);
+        }
+        cells = null;
+    }
+
+    private int grew(int added) {
+        size += added;
+        if (size == CELLS) rows = FULL;
+        return added;
+    }
+
+    private static long[] filled() {
+        long[] rows = new long[SIDE];
+        Arrays.fill(rows, -1L);
+        return rows;
+    }
+}
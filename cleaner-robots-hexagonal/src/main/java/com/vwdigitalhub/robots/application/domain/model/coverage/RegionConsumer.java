@@ -0,0 +1,7 @@
+package com.vwdigitalhub.robots.application.domain.model.coverage;
+
+/** Receives a rectangle of cells, bounds inclusive. */
+@FunctionalInterface
+public interface RegionConsumer {
+    void accept(int minX, int minY, int maxX, int maxY);
+}
@@ -0,0 +1,414 @@
+package com.vwdigitalhub.robots.application.domain.model.instructions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable sequence of instructions. A literal program packs its instructions at 2 bits each,
+ * 32 per {@code long}; hot loops should iterate it with {@link #codeAt(int)} over
+ * {@code 0..codeCount()-1}, which allocates nothing. A program containing repeat blocks is a
+ * sequence of parts, each a body program repeated a number of times, so its size in memory
+ * depends on the program text and not on its {@link #length() expanded length}, which may pass
+ * {@code Integer.MAX_VALUE}; such programs are walked with {@link #codeAtExpanded(long)} up to
+ * {@link #length()}.
+ * <p>
+ * Two programs are equal when they expand to the same instructions.
+ */
+public final class InstructionProgram {
+    public static final int TURN_LEFT = 0;
+    public static final int TURN_RIGHT = 1;
+    public static final int MOVE_FORWARD = 2;
+    /** Keeps every coordinate derived from a program far away from {@code long} overflow. */
+    public static final long MAX_LENGTH = Long.MAX_VALUE >> 2;
+
+    private static final int CODES_PER_WORD = 32;
+    private static final int INLINE_LIMIT = 256;
+    private static final char[] LETTERS = {'L', 'R', 'M'};
+    private static final InstructionProgram EMPTY = new InstructionProgram(new long[0], 0);
+
+    // Literal programs
+    private final long[] words;
+    private final int size;
+    // Programs with repeat blocks
+    private final InstructionProgram[] bodies;
+    private final long[] repetitions;
+    private final long[] offsets;
+
+    private final long length;
+    private ProgramSummary summary;
+
+    private InstructionProgram(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+        this.bodies = null;
+        this.repetitions = null;
+        this.offsets = null;
+        this.length = size;
+    }
+
+    private InstructionProgram(InstructionProgram[] bodies, long[] repetitions) {
+        this.words = null;
+        this.size = 0;
+        this.bodies = bodies;
+        this.repetitions = repetitions;
+        this.offsets = new long[bodies.length];
+        long total = 0;
+        for (int i = 0; i < bodies.length; i++) {
+            offsets[i] = total;
+            total = addLength(total, multiplyLength(bodies[i].length, repetitions[i]));
+        }
+        this.length = total;
+    }
+
+    public static InstructionProgram empty() {
+        return EMPTY;
+    }
+
+    public static InstructionProgram of(List<RobotInstruction> instructions) {
+        Builder builder = builder(instructions.size());
+        instructions.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Literal program of the first {@code size} codes of {@code words}, packed as by this class:
+     * code {@code i} in bits {@code 2*(i%32)} of word {@code i/32}. The words are copied and bits
+     * past {@code size} ignored, so a decoder may reuse one scratch array.
+     *
+     * @throws IllegalArgumentException if a code is not a known instruction
+     */
+    public static InstructionProgram fromPacked(long[] words, int size) {
+        if (size < 0) throw new IllegalArgumentException("size must not be negative: " + size);
+        if (size == 0) return EMPTY;
+        long[] copy = Arrays.copyOf(words, Builder.wordsFor(size));
+        if ((size & 31) != 0) copy[copy.length - 1] &= (1L << ((size & 31) << 1)) - 1;
+        for (long word : copy) {
+            // Code 3 has both bits of a pair set
+            if ((word & (word >>> 1) & 0x5555555555555555L) != 0) {
+                throw new IllegalArgumentException("Unknown instruction code: 3");
+            }
+        }
+        return new InstructionProgram(copy, size);
+    }
+
+    public static Builder builder() {
+        return builder(CODES_PER_WORD);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /** Whether this program is a plain packed sequence, without repeat blocks. */
+    public boolean isLiteral() {
+        return words != null;
+    }
+
+    /** Number of instructions once every repeat block is expanded. */
+    public long length() {
+        return length;
+    }
+
+    /** Number of packed codes of a literal program, its whole length; 0 for a program with repeat blocks. */
+    public int codeCount() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /** Instruction at {@code index} of the expanded program. */
+    public RobotInstruction get(long index) {
+        Objects.checkIndex(index, length);
+        return instruction(codeAtExpanded(index));
+    }
+
+    /** Code of the instruction at {@code index} of a literal program; the caller guarantees {@code index < codeCount()}. */
+    public int codeAt(int index) {
+        return (int) (words[index >>> 5] >>> ((index & 31) << 1)) & 3;
+    }
+
+    /**
+     * Number of consecutive instructions of a literal program equal to the one at {@code from},
+     * starting there. Compares up to 32 codes at a time; the caller guarantees {@code from < codeCount()}.
+     */
+    public int runLength(int from) {
+        long pattern = codeAt(from) * 0x5555555555555555L;
+        int i = from;
+        while (i < size) {
+            int available = CODES_PER_WORD - (i & 31);
+            long diff = (words[i >>> 5] ^ pattern) >>> ((i & 31) << 1);
+            if (diff != 0) {
+                int equal = Long.numberOfTrailingZeros(diff) >>> 1;
+                if (equal < available) {
+                    i += equal;
+                    break;
+                }
+            }
+            i += available;
+        }
+        return Math.min(i, size) - from;
+    }
+
+    /** Word {@code index} of a literal program's packed codes, as read by {@link #fromPacked}. */
+    public long packedWord(int index) {
+        return words[index];
+    }
+
+    /** Number of parts of a program with repeat blocks. */
+    public int partCount() {
+        return bodies.length;
+    }
+
+    public InstructionProgram partBody(int part) {
+        return bodies[part];
+    }
+
+    public long partRepetitions(int part) {
+        return repetitions[part];
+    }
+
+    /** Net effect and bounding box of the program, computed once without expanding it. */
+    public ProgramSummary summary() {
+        ProgramSummary result = summary;
+        if (result == null) {
+            summary = result = isLiteral() ? ProgramSummary.ofLiteral(this) : ProgramSummary.ofParts(this);
+        }
+        return result;
+    }
+
+    public static RobotInstruction instruction(int code) {
+        return switch (code) {
+            case TURN_LEFT -> TurnLeft.INSTANCE;
+            case TURN_RIGHT -> TurnRight.INSTANCE;
+            case MOVE_FORWARD -> MoveForward.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown instruction code: " + code);
+        };
+    }
+
+    public static int code(RobotInstruction instruction) {
+        if (instruction == TurnLeft.INSTANCE) return TURN_LEFT;
+        if (instruction == TurnRight.INSTANCE) return TURN_RIGHT;
+        if (instruction == MoveForward.INSTANCE) return MOVE_FORWARD;
+        throw new IllegalArgumentException("Unknown instruction: " + instruction);
+    }
+
+    /** Code of the instruction at {@code index} of the expanded program, found by binary search over the parts. */
+    public int codeAtExpanded(long index) {
+        if (isLiteral()) return codeAt((int) index);
+        int part = partAt(index);
+        return bodies[part].codeAtExpanded((index - offsets[part]) % bodies[part].length);
+    }
+
+    /** Compares the parts first and expands only as far as it takes to tell differently built programs apart. */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InstructionProgram other) || length != other.length) return false;
+        if (isLiteral() && other.isLiteral()) return Arrays.equals(words, other.words);
+        if (sameParts(other)) return true;
+        return summary().equals(other.summary()) && regionEquals(this, 0, other, 0, length);
+    }
+
+    /** Derived from the length and the {@link #summary()}, which equal programs share whatever their parts. */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(length) + summary().hashCode();
+    }
+
+    /** The program in the instruction grammar, repeat blocks written as {@code (body)*times}. */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        appendTo(text);
+        return text.toString();
+    }
+
+    private void appendTo(StringBuilder text) {
+        if (isLiteral()) {
+            for (int i = 0; i < size; i++) {
+                text.append(LETTERS[codeAt(i)]);
+            }
+            return;
+        }
+        for (int part = 0; part < bodies.length; part++) {
+            if (repetitions[part] == 1) {
+                bodies[part].appendTo(text);
+            } else {
+                text.append('(');
+                bodies[part].appendTo(text);
+                text.append(")*").append(repetitions[part]);
+            }
+        }
+    }
+
+    private int partAt(long index) {
+        int part = Arrays.binarySearch(offsets, index);
+        return part < 0 ? -part - 2 : part;
+    }
+
+    private boolean sameParts(InstructionProgram other) {
+        if (isLiteral() || other.isLiteral() || bodies.length != other.bodies.length) return false;
+        for (int part = 0; part < bodies.length; part++) {
+            if (repetitions[part] != other.repetitions[part] || !bodies[part].equals(other.bodies[part])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@code count} instructions of {@code a} from {@code aFrom} equal those of {@code b}
+     * from {@code bFrom}. Where both lie in repeat blocks, with bodies of lengths p and q, the
+     * first p + q instructions decide: sequences with periods p and q that agree that far share a
+     * period dividing both (Fine and Wilf), so they agree over the whole overlap of the blocks.
+     */
+    private static boolean regionEquals(InstructionProgram a, long aFrom, InstructionProgram b, long bFrom, long count) {
+        while (count > 0) {
+            if (a.isLiteral() && b.isLiteral()) {
+                for (int i = 0; i < count; i++) {
+                    if (a.codeAt((int) aFrom + i) != b.codeAt((int) bFrom + i)) return false;
+                }
+                return true;
+            }
+            // Expand the block with the longer body, so each of its bodies is walked at most a few times
+            if (a.isLiteral() || (!b.isLiteral() && b.bodies[b.partAt(bFrom)].length > a.bodies[a.partAt(aFrom)].length)) {
+                InstructionProgram program = a;
+                a = b;
+                b = program;
+                long from = aFrom;
+                aFrom = bFrom;
+                bFrom = from;
+            }
+            int part = a.partAt(aFrom);
+            InstructionProgram body = a.bodies[part];
+            long within = aFrom - a.offsets[part];
+            long span = Math.min(count, body.length * a.repetitions[part] - within);
+            long decisive = span;
+            if (!b.isLiteral()) {
+                int other = b.partAt(bFrom);
+                long period = b.bodies[other].length;
+                span = Math.min(span, period * b.repetitions[other] - (bFrom - b.offsets[other]));
+                decisive = Math.min(span, body.length + period);
+            }
+            for (long done = 0; done < decisive; ) {
+                long offset = (within + done) % body.length;
+                long chunk = Math.min(decisive - done, body.length - offset);
+                if (!regionEquals(body, offset, b, bFrom + done, chunk)) return false;
+                done += chunk;
+            }
+            aFrom += span;
+            bFrom += span;
+            count -= span;
+        }
+        return true;
+    }
+
+    private static long addLength(long a, long b) {
+        long sum = a + b;
+        if (sum > MAX_LENGTH) throw new IllegalArgumentException("Instruction program too long");
+        return sum;
+    }
+
+    private static long multiplyLength(long length, long times) {
+        if (length != 0 && times > MAX_LENGTH / length) throw new IllegalArgumentException("Instruction program too long");
+        return length * times;
+    }
+
+    public static final class Builder {
+        private long[] words;
+        private int size;
+        private InstructionProgram[] bodies = new InstructionProgram[0];
+        private long[] repetitions = new long[0];
+        private int parts;
+        private long length;
+
+        private Builder(int expectedSize) {
+            this.words = new long[wordsFor(Math.max(expectedSize, 1))];
+        }
+
+        public Builder add(RobotInstruction instruction) {
+            return addCode(code(instruction));
+        }
+
+        public Builder addCode(int code) {
+            if (size == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Instruction program too long");
+            }
+            length = addLength(length, 1);
+            int word = size >>> 5;
+            if (word == words.length) {
+                words = Arrays.copyOf(words, (int) Math.min(Integer.MAX_VALUE - 8L, 2L * words.length));
+            }
+            words[word] |= (long) code << ((size & 31) << 1);
+            size++;
+            return this;
+        }
+
+        /** Appends {@code body} repeated {@code times} times; short expansions are inlined as literal codes. */
+        public Builder addRepeat(InstructionProgram body, long times) {
+            if (times < 0) throw new IllegalArgumentException("Repeat count must not be negative: " + times);
+            long expanded = multiplyLength(body.length, times);
+            if (expanded == 0) return this;
+            if (body.isLiteral() && expanded <= INLINE_LIMIT) {
+                for (long t = 0; t < times; t++) {
+                    for (int i = 0; i < body.size; i++) addCode(body.codeAt(i));
+                }
+                return this;
+            }
+            if (times == 1 && !body.isLiteral()) {
+                for (int i = 0; i < body.bodies.length; i++) addRepeat(body.bodies[i], body.repetitions[i]);
+                return this;
+            }
+            length = addLength(length, expanded);
+            flushLiteral();
+            addPart(body, times);
+            return this;
+        }
+
+        /** Builds the program and leaves the builder empty, ready for the next one. */
+        public InstructionProgram build() {
+            InstructionProgram program;
+            if (parts == 0) {
+                program = literal();
+            } else {
+                flushLiteral();
+                program = new InstructionProgram(Arrays.copyOf(bodies, parts), Arrays.copyOf(repetitions, parts));
+            }
+            words = new long[1];
+            size = 0;
+            bodies = new InstructionProgram[0];
+            repetitions = new long[0];
+            parts = 0;
+            length = 0;
+            return program;
+        }
+
+        private InstructionProgram literal() {
+            if (size == 0) return EMPTY;
+            int needed = wordsFor(size);
+            return new InstructionProgram(needed == words.length ? words : Arrays.copyOf(words, needed), size);
+        }
+
+        private void flushLiteral() {
+            if (size == 0) return;
+            addPart(literal(), 1);
+            words = new long[1];
+            size = 0;
+        }
+
+        private void addPart(InstructionProgram body, long times) {
+            if (parts == bodies.length) {
+                bodies = Arrays.copyOf(bodies, Math.max(4, parts * 2));
+                repetitions = Arrays.copyOf(repetitions, bodies.length);
+            }
+            bodies[parts] = body;
+            repetitions[parts] = times;
+            parts++;
+        }
+
+        private static int wordsFor(int size) {
+            return (size + CODES_PER_WORD - 1) / CODES_PER_WORD;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.vwdigitalhub.robots.application.domain.model.instructions;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+
+/**
+ * Net effect of a program run from the origin facing north, x growing east and y growing north:
+ * the displacement, the rotation in clockwise quarter turns and the bounding box of every cell
+ * visited, start included. The box is tight: each of its edges is reached by some visited cell.
+ */
+public record ProgramSummary(long dx, long dy, int rotation, long minX, long maxX, long minY, long maxY) {
+    public static final ProgramSummary IDENTITY = new ProgramSummary(0, 0, 0, 0, 0, 0, 0);
+
+    /** Walks the packed codes four at a time through the {@link RouteBounds} table, then the last few one by one. */
+    static ProgramSummary ofLiteral(InstructionProgram program) {
+        long x = 0, y = 0, minX = 0, maxX = 0, minY = 0, maxY = 0;
+        int d = 0;
+        int n = program.codeCount();
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            int entry = RouteBounds.bytes(d, (int) (program.packedWord(i >>> 5) >>> ((i & 31) << 1)) & 0xFF);
+            minX = Math.min(minX, x + RouteBounds.field(entry, 2));
+            maxX = Math.max(maxX, x + RouteBounds.field(entry, 3));
+            minY = Math.min(minY, y + RouteBounds.field(entry, 4));
+            maxY = Math.max(maxY, y + RouteBounds.field(entry, 5));
+            x += RouteBounds.field(entry, 0);
+            y += RouteBounds.field(entry, 1);
+            d = RouteBounds.direction(entry);
+        }
+        for (; i < n; i++) {
+            switch (program.codeAt(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        return new ProgramSummary(x, y, d, minX, maxX, minY, maxY);
+    }
+
+    static ProgramSummary ofParts(InstructionProgram program) {
+        ProgramSummary summary = IDENTITY;
+        for (int i = 0; i < program.partCount(); i++) {
+            summary = summary.then(program.partBody(i).summary().repeated(program.partRepetitions(i)));
+        }
+        return summary;
+    }
+
+    /** Whether repeating the program only shifts it, always facing the same way. */
+    public boolean isTranslation() {
+        return rotation == 0 && (dx != 0 || dy != 0);
+    }
+
+    /** Same program started facing {@code quarterTurns} clockwise from north. */
+    public ProgramSummary rotated(int quarterTurns) {
+        ProgramSummary s = this;
+        for (int q = quarterTurns & 3; q > 0; q--) {
+            s = new ProgramSummary(s.dy, -s.dx, s.rotation, s.minY, s.maxY, -s.maxX, -s.minX);
+        }
+        return s;
+    }
+
+    /** This program followed by {@code next}. */
+    public ProgramSummary then(ProgramSummary next) {
+        ProgramSummary n = next.rotated(rotation);
+        return new ProgramSummary(dx + n.dx, dy + n.dy, (rotation + n.rotation) & 3,
+                Math.min(minX, dx + n.minX), Math.max(maxX, dx + n.maxX),
+                Math.min(minY, dy + n.minY), Math.max(maxY, dy + n.maxY));
+    }
+
+    /**
+     * This program repeated {@code times} times. A rotating program comes back to its start facing
+     * the same way after 2 or 4 repetitions, so no more than that many are ever combined.
+     */
+    public ProgramSummary repeated(long times) {
+        if (times == 0) return IDENTITY;
+        if (rotation == 0) {
+            long last = times - 1;
+            return new ProgramSummary(dx * times, dy * times, 0,
+                    Math.min(minX, minX + last * dx), Math.max(maxX, maxX + last * dx),
+                    Math.min(minY, minY + last * dy), Math.max(maxY, maxY + last * dy));
+        }
+        int period = period();
+        ProgramSummary cycle = IDENTITY;
+        ProgramSummary end = IDENTITY;
+        long remainder = times % period;
+        for (int k = 0; k < Math.min(times, period); k++) {
+            cycle = cycle.then(this);
+            if (k + 1 == remainder) end = cycle;
+        }
+        return new ProgramSummary(end.dx, end.dy, end.rotation, cycle.minX, cycle.maxX, cycle.minY, cycle.maxY);
+    }
+
+    /** Number of repetitions after which a program that is not a translation is back at its start, facing the same way. */
+    public int period() {
+        return switch (rotation) {
+            case 0 -> 1;
+            case 2 -> 2;
+            default -> 4;
+        };
+    }
+}
@@ -0,0 +1,340 @@
+package com.vwdigitalhub.robots.application.domain.model.instructions;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+
+/**
+ * Where a program takes a robot relative to the workspace bounds, worked out without simulating it
+ * step by step: whether it leaves them, at which step and cell, the bounding box of the cells it
+ * visits inside them, and where it ends when it stays inside. Literal programs are walked four
+ * instructions at a time through a table indexed by direction and packed byte; a program or
+ * repeat block whose {@link ProgramSummary} fits in the bounds from where it starts is skipped in
+ * one step, and a translating repeat block jumps over every repetition that fits.
+ * {@link #firstVisit} finds when a route first enters a given cell in the same way.
+ */
+public final class RouteBounds {
+    /*
+     * Effect of 4 packed codes run facing a direction, indexed by direction << 8 | byte: the
+     * direction after them in bits 0-1, then dx, dy, minX, maxX, minY and maxY relative to
+     * where they start, each plus 4, in 4 bits.
+     */
+    private static final int[] BYTES = new int[4 << 8];
+
+    static {
+        for (int d0 = 0; d0 < 4; d0++) {
+            for (int codes = 0; codes < 256; codes++) {
+                int d = d0, x = 0, y = 0, minX = 0, maxX = 0, minY = 0, maxY = 0;
+                for (int k = 0; k < 4; k++) {
+                    switch ((codes >>> (k << 1)) & 3) {
+                        case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                        case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                        default -> {
+                            x += Direction.dx(d);
+                            y += Direction.dy(d);
+                            minX = Math.min(minX, x);
+                            maxX = Math.max(maxX, x);
+                            minY = Math.min(minY, y);
+                            maxY = Math.max(maxY, y);
+                        }
+                    }
+                }
+                BYTES[d0 << 8 | codes] = d | (x + 4) << 2 | (y + 4) << 6
+                        | (minX + 4) << 10 | (maxX + 4) << 14 | (minY + 4) << 18 | (maxY + 4) << 22;
+            }
+        }
+    }
+
+    private final long boundX;
+    private final long boundY;
+    private long x;
+    private long y;
+    private int d;
+    private long step;
+    private long minX;
+    private long maxX;
+    private long minY;
+    private long maxY;
+    private boolean leaves;
+    private long targetX;
+    private long targetY;
+
+    private RouteBounds(int x, int y, int d, int boundX, int boundY) {
+        this.boundX = boundX;
+        this.boundY = boundY;
+        this.x = this.minX = this.maxX = x;
+        this.y = this.minY = this.maxY = y;
+        this.d = d;
+    }
+
+    /**
+     * Route of {@code program} run from ({@code x}, {@code y}), inside the bounds, facing the
+     * direction of ordinal {@code direction}, in a workspace of bounds {@code maxX} x {@code maxY}.
+     */
+    public static RouteBounds of(InstructionProgram program, int x, int y, int direction, int maxX, int maxY) {
+        RouteBounds route = new RouteBounds(x, y, direction, maxX, maxY);
+        route.leaves = !route.walk(program);
+        return route;
+    }
+
+    /**
+     * Index, in the expanded program, of the first move that takes a robot started at
+     * ({@code x}, {@code y}) facing the direction of ordinal {@code direction} onto
+     * ({@code targetX}, {@code targetY}), or -1 if none does. Blocks and repetitions whose bounding
+     * box misses the cell are skipped without being walked.
+     */
+    public static long firstVisit(InstructionProgram program, int x, int y, int direction, int targetX, int targetY) {
+        RouteBounds route = new RouteBounds(x, y, direction, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        route.targetX = targetX;
+        route.targetY = targetY;
+        return route.visit(program) ? route.step : -1;
+    }
+
+    /** Whether some move takes the robot out of the bounds. */
+    public boolean leaves() {
+        return leaves;
+    }
+
+    /** Index, in the expanded program, of the first move out of the bounds; the program length if none. */
+    public long exitStep() {
+        return step;
+    }
+
+    /** Cell the robot is at after the route, or the first cell out of the bounds if it {@link #leaves}. */
+    public int endX() {
+        return (int) x;
+    }
+
+    public int endY() {
+        return (int) y;
+    }
+
+    /** Direction ordinal the robot faces after the route, or when it leaves the bounds. */
+    public int endDirection() {
+        return d;
+    }
+
+    /** Bounding box of the cells visited inside the bounds, start included. */
+    public int minX() {
+        return (int) minX;
+    }
+
+    public int maxX() {
+        return (int) maxX;
+    }
+
+    public int minY() {
+        return (int) minY;
+    }
+
+    public int maxY() {
+        return (int) maxY;
+    }
+
+    /** Effect of the 4 codes of {@code codes} run facing {@code d}, as packed in the table. */
+    static int bytes(int d, int codes) {
+        return BYTES[d << 8 | codes];
+    }
+
+    static int direction(int entry) {
+        return entry & 3;
+    }
+
+    /** Field {@code field} of an entry: 0 dx, 1 dy, 2 minX, 3 maxX, 4 minY, 5 maxY. */
+    static int field(int entry, int field) {
+        return ((entry >>> (2 + (field << 2))) & 15) - 4;
+    }
+
+    private boolean walk(InstructionProgram program) {
+        ProgramSummary summary = program.summary().rotated(d);
+        if (fits(summary)) {
+            skip(summary, program.length());
+            return true;
+        }
+        if (program.isLiteral()) return walkLiteral(program);
+        for (int part = 0; part < program.partCount(); part++) {
+            InstructionProgram body = program.partBody(part);
+            ProgramSummary once = body.summary();
+            for (long left = program.partRepetitions(part); left > 0; left--) {
+                ProgramSummary all = once.repeated(left).rotated(d);
+                if (fits(all)) {
+                    skip(all, body.length() * left);
+                    break;
+                }
+                long fitting = Math.min(left, fittingRepetitions(once.rotated(d)));
+                if (fitting > 0) {
+                    skip(once.repeated(fitting).rotated(d), body.length() * fitting);
+                    left -= fitting;
+                }
+                // A rotating block leaves within its period, a translating one on this repetition
+                if (!walk(body)) return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean walkLiteral(InstructionProgram program) {
+        int n = program.codeCount();
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            int entry = BYTES[d << 8 | (int) (program.packedWord(i >>> 5) >>> ((i & 31) << 1)) & 0xFF];
+            long lowX = x + field(entry, 2), highX = x + field(entry, 3);
+            long lowY = y + field(entry, 4), highY = y + field(entry, 5);
+            if (lowX < 0 || lowY < 0 || highX > boundX || highY > boundY) break;
+            minX = Math.min(minX, lowX);
+            maxX = Math.max(maxX, highX);
+            minY = Math.min(minY, lowY);
+            maxY = Math.max(maxY, highY);
+            x += field(entry, 0);
+            y += field(entry, 1);
+            d = direction(entry);
+        }
+        for (; i < n; i++) {
+            switch (program.codeAt(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    if (x < 0 || y < 0 || x > boundX || y > boundY) {
+                        step += i;
+                        return false;
+                    }
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        step += n;
+        return true;
+    }
+
+    private boolean visit(InstructionProgram program) {
+        ProgramSummary summary = program.summary().rotated(d);
+        if (!covers(summary)) {
+            skip(summary, program.length());
+            return false;
+        }
+        if (program.isLiteral()) return visitLiteral(program);
+        for (int part = 0; part < program.partCount(); part++) {
+            InstructionProgram body = program.partBody(part);
+            ProgramSummary once = body.summary();
+            long left = program.partRepetitions(part);
+            if (once.rotation() != 0) {
+                // Back where it started, facing the same way, after each period: later ones add nothing
+                int walks = (int) Math.min(left, once.period());
+                for (int k = 0; k < walks; k++) {
+                    if (visit(body)) return true;
+                }
+                if (left > walks) skip(once.repeated(left - walks).rotated(d), body.length() * (left - walks));
+                continue;
+            }
+            while (left > 0) {
+                long missed = Math.min(left, repetitionsMissing(once.rotated(d)));
+                if (missed > 0) {
+                    skip(once.repeated(missed).rotated(d), body.length() * missed);
+                    left -= missed;
+                }
+                if (left == 0) break;
+                if (visit(body)) return true;
+                left--;
+                if (once.dx() == 0 && once.dy() == 0) {
+                    skip(once.repeated(left).rotated(d), body.length() * left);
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean visitLiteral(InstructionProgram program) {
+        int n = program.codeCount();
+        for (int i = 0; i < n; ) {
+            if (i + 4 <= n) {
+                int entry = BYTES[d << 8 | (int) (program.packedWord(i >>> 5) >>> ((i & 31) << 1)) & 0xFF];
+                if (targetX < x + field(entry, 2) || targetX > x + field(entry, 3)
+                        || targetY < y + field(entry, 4) || targetY > y + field(entry, 5)) {
+                    x += field(entry, 0);
+                    y += field(entry, 1);
+                    d = direction(entry);
+                    i += 4;
+                    continue;
+                }
+            }
+            for (int end = Math.min(i + 4, n); i < end; i++) {
+                switch (program.codeAt(i)) {
+                    case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                    case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                    default -> {
+                        x += Direction.dx(d);
+                        y += Direction.dy(d);
+                        if (x == targetX && y == targetY) {
+                            step += i;
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        step += n;
+        return false;
+    }
+
+    /** Whether the box of a program of that summary, already rotated, holds the target from here. */
+    private boolean covers(ProgramSummary s) {
+        return targetX >= x + s.minX() && targetX <= x + s.maxX() && targetY >= y + s.minY() && targetY <= y + s.maxY();
+    }
+
+    /**
+     * Number of leading repetitions of a non-rotating block, already rotated, whose box misses the
+     * target from here; {@code Long.MAX_VALUE} if every one does.
+     */
+    private long repetitionsMissing(ProgramSummary s) {
+        long low = 0;
+        long high = Long.MAX_VALUE;
+        long[] axes = {s.dx(), targetX - x - s.maxX(), targetX - x - s.minX(), s.dy(), targetY - y - s.maxY(), targetY - y - s.minY()};
+        for (int axis = 0; axis < axes.length; axis += 3) {
+            long step = axes[axis];
+            long from = axes[axis + 1];
+            long to = axes[axis + 2];
+            // Repetition j covers the target along this axis when from <= j * step <= to
+            if (step == 0) {
+                if (from > 0 || to < 0) return Long.MAX_VALUE;
+            } else if (step > 0) {
+                low = Math.max(low, -Math.floorDiv(-from, step));
+                high = Math.min(high, Math.floorDiv(to, step));
+            } else {
+                low = Math.max(low, -Math.floorDiv(to, -step));
+                high = Math.min(high, Math.floorDiv(-from, -step));
+            }
+        }
+        return low <= high ? low : Long.MAX_VALUE;
+    }
+
+    /** Whether a program of that summary, already rotated to the current direction, stays inside from here. */
+    private boolean fits(ProgramSummary s) {
+        return x + s.minX() >= 0 && y + s.minY() >= 0 && x + s.maxX() <= boundX && y + s.maxY() <= boundY;
+    }
+
+    /** Number of leading repetitions of a non-rotating block, already rotated, that stay inside from here. */
+    private long fittingRepetitions(ProgramSummary s) {
+        if (s.rotation() != 0 || !fits(s)) return 0;
+        long fitting = Long.MAX_VALUE;
+        if (s.dx() > 0) fitting = Math.min(fitting, (boundX - x - s.maxX()) / s.dx() + 1);
+        if (s.dx() < 0) fitting = Math.min(fitting, (x + s.minX()) / -s.dx() + 1);
+        if (s.dy() > 0) fitting = Math.min(fitting, (boundY - y - s.maxY()) / s.dy() + 1);
+        if (s.dy() < 0) fitting = Math.min(fitting, (y + s.minY()) / -s.dy() + 1);
+        return fitting;
+    }
+
+    private void skip(ProgramSummary s, long length) {
+        minX = Math.min(minX, x + s.minX());
+        maxX = Math.max(maxX, x + s.maxX());
+        minY = Math.min(minY, y + s.minY());
+        maxY = Math.max(maxY, y + s.maxY());
+        x += s.dx();
+        y += s.dy();
+        d = (d + s.rotation()) & 3;
+        step += length;
+    }
+}
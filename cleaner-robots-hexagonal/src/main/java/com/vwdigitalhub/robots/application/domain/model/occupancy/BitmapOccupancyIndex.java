@@ -0,0 +1,72 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+/** One bit per cell of the workspace, row-major. */
+public final class BitmapOccupancyIndex implements OccupancyIndex {
+    private final long width;
+    private final long[] bits;
+    private int size;
+
+    public BitmapOccupancyIndex(int maxX, int maxY) {
+        this.width = maxX + 1L;
+        long words = (width * (maxY + 1L) + 63) >>> 6;
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Workspace too large for a bitmap: maxX=" + maxX + ", maxY=" + maxY);
+        }
+        this.bits = new long[(int) words];
+    }
+
+    public static BitmapOccupancyIndex copyOf(int maxX, int maxY, OccupancyIndex source) {
+        BitmapOccupancyIndex copy = new BitmapOccupancyIndex(maxX, maxY);
+        source.forEach(copy::add);
+        return copy;
+    }
+
+    static long bytesFor(int maxX, int maxY) {
+        return (((maxX + 1L) * (maxY + 1L) + 63) >>> 6) * Long.BYTES;
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        long cell = y * width + x;
+        return (bits[(int) (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    @Override
+    public boolean add(int x, int y) {
+        long cell = y * width + x;
+        int word = (int) (cell >>> 6);
+        long mask = 1L << cell;
+        if ((bits[word] & mask) != 0) return false;
+        bits[word] |= mask;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(int x, int y) {
+        long cell = y * width + x;
+        int word = (int) (cell >>> 6);
+        long mask = 1L << cell;
+        if ((bits[word] & mask) == 0) return false;
+        bits[word] &= ~mask;
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(CellConsumer action) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                long cell = ((long) word << 6) + Long.numberOfTrailingZeros(remaining);
+                action.accept((int) (cell % width), (int) (cell / width));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+@FunctionalInterface
+public interface CellConsumer {
+    void accept(int x, int y);
+}
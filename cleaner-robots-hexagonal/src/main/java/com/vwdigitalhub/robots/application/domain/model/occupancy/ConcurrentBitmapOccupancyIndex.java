@@ -0,0 +1,76 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One bit per cell of the workspace, row-major, in an {@link AtomicLongArray}. Adding and removing
+ * a cell are single compare-and-set loops on its word, so threads only contend on cells less than
+ * 64 apart on the same row.
+ */
+public final class ConcurrentBitmapOccupancyIndex implements OccupancyIndex {
+    private final long width;
+    private final AtomicLongArray bits;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentBitmapOccupancyIndex(int maxX, int maxY) {
+        this.width = maxX + 1L;
+        long words = (width * (maxY + 1L) + 63) >>> 6;
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Workspace too large for a bitmap: maxX=" + maxX + ", maxY=" + maxY);
+        }
+        this.bits = new AtomicLongArray((int) words);
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        long cell = y * width + x;
+        return (bits.get((int) (cell >>> 6)) & (1L << cell)) != 0;
+    }
+
+    @Override
+    public boolean add(int x, int y) {
+        long cell = y * width + x;
+        int word = (int) (cell >>> 6);
+        long mask = 1L << cell;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) return false;
+        } while (!bits.compareAndSet(word, current, current | mask));
+        size.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public boolean remove(int x, int y) {
+        long cell = y * width + x;
+        int word = (int) (cell >>> 6);
+        long mask = 1L << cell;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) == 0) return false;
+        } while (!bits.compareAndSet(word, current, current & ~mask));
+        size.decrementAndGet();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /** Weakly consistent: cells added or removed during the walk may or may not be seen. */
+    @Override
+    public void forEach(CellConsumer action) {
+        for (int word = 0; word < bits.length(); word++) {
+            long remaining = bits.get(word);
+            while (remaining != 0) {
+                long cell = ((long) word << 6) + Long.numberOfTrailingZeros(remaining);
+                action.accept((int) (cell % width), (int) (cell / width));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import java.util.Arrays;
+
+/**
+ * Occupied cells grouped by line (a row or a column), each line kept as a sorted {@code int}
+ * array, so the first occupied cell along a straight segment is found by binary search.
+ */
+public final class LineIndex {
+    public static final int NONE = -1;
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[][] values;
+    private int[] lengths;
+    private int size;
+
+    public LineIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public void add(int line, int value) {
+        int slot = slotOf(line);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = line;
+            values[slot] = new int[4];
+            if (++size > keys.length >>> 1) {
+                rehash();
+                slot = slotOf(line);
+            }
+        }
+        int[] sorted = values[slot];
+        int length = lengths[slot];
+        int at = Arrays.binarySearch(sorted, 0, length, value);
+        if (at >= 0) return;
+        at = -at - 1;
+        if (length == sorted.length) {
+            sorted = values[slot] = Arrays.copyOf(sorted, length << 1);
+        }
+        System.arraycopy(sorted, at, sorted, at + 1, length - at);
+        sorted[at] = value;
+        lengths[slot] = length + 1;
+    }
+
+    /** Removes {@code value} from {@code line}; an emptied line keeps its slot. */
+    public void remove(int line, int value) {
+        int slot = slotOf(line);
+        if (keys[slot] == EMPTY) return;
+        int[] sorted = values[slot];
+        int length = lengths[slot];
+        int at = Arrays.binarySearch(sorted, 0, length, value);
+        if (at < 0) return;
+        System.arraycopy(sorted, at + 1, sorted, at, length - at - 1);
+        lengths[slot] = length - 1;
+    }
+
+    /**
+     * First value of {@code line} met when walking from {@code from} to {@code to}, both
+     * inclusive and in either order, or {@link #NONE}.
+     */
+    public int first(int line, int from, int to) {
+        int slot = slotOf(line);
+        if (keys[slot] == EMPTY) return NONE;
+        int[] sorted = values[slot];
+        int length = lengths[slot];
+        if (from <= to) {
+            int at = Arrays.binarySearch(sorted, 0, length, from);
+            if (at < 0) at = -at - 1;
+            return at < length && sorted[at] <= to ? sorted[at] : NONE;
+        }
+        int at = Arrays.binarySearch(sorted, 0, length, from);
+        if (at < 0) at = -at - 2;
+        return at >= 0 && sorted[at] >= to ? sorted[at] : NONE;
+    }
+
+    /** Passes every (line, value) pair, lines in no particular order. */
+    public void forEach(CellConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY) continue;
+            int[] sorted = values[slot];
+            for (int i = 0; i < lengths[slot]; i++) {
+                consumer.accept(keys[slot], sorted[i]);
+            }
+        }
+    }
+
+    private int slotOf(int line) {
+        int mask = keys.length - 1;
+        int hash = line * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != line) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[][] oldValues = values;
+        int[] oldLengths = lengths;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                lengths[slot] = oldLengths[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity][];
+        lengths = new int[capacity];
+    }
+}
@@ -0,0 +1,51 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+/**
+ * Set of occupied cells of a workspace. Coordinates are always inside the workspace bounds;
+ * callers check bounds before probing. Implementations are not thread-safe unless built by
+ * {@link #concurrentForWorkspace}.
+ */
+public interface OccupancyIndex {
+    /** Bitmaps up to this size are always cheaper than hashing, whatever the robot count. */
+    long SMALL_BITMAP_BYTES = 1024L * 1024;
+    /** Bitmaps above this size are never allocated, however dense the workspace gets. */
+    long MAX_BITMAP_BYTES = 256L * 1024 * 1024;
+
+    boolean contains(int x, int y);
+
+    /** Marks the cell as occupied; returns {@code false} if it already was. */
+    boolean add(int x, int y);
+
+    /** Marks the cell as free; returns {@code false} if it already was. */
+    boolean remove(int x, int y);
+
+    int size();
+
+    void forEach(CellConsumer action);
+
+    /**
+     * Picks the cheapest index for a workspace: a bitmap when it is small or smaller than a hash
+     * table holding {@code expectedRobots} cells, a primitive hash set otherwise.
+     */
+    static OccupancyIndex forWorkspace(int maxX, int maxY, int expectedRobots) {
+        return prefersBitmap(maxX, maxY, expectedRobots)
+                ? new BitmapOccupancyIndex(maxX, maxY)
+                : new SparseOccupancyIndex(expectedRobots);
+    }
+
+    /**
+     * Same choice as {@link #forWorkspace}, with indexes whose every operation is atomic and safe
+     * to call from several threads: a CAS bitmap or a lock-striped hash set.
+     */
+    static OccupancyIndex concurrentForWorkspace(int maxX, int maxY, int expectedRobots) {
+        return prefersBitmap(maxX, maxY, expectedRobots)
+                ? new ConcurrentBitmapOccupancyIndex(maxX, maxY)
+                : new StripedOccupancyIndex(expectedRobots);
+    }
+
+    static boolean prefersBitmap(int maxX, int maxY, int robots) {
+        long bitmapBytes = BitmapOccupancyIndex.bytesFor(maxX, maxY);
+        return bitmapBytes <= SMALL_BITMAP_BYTES
+                || (bitmapBytes <= MAX_BITMAP_BYTES && bitmapBytes <= SparseOccupancyIndex.bytesFor(robots));
+    }
+}
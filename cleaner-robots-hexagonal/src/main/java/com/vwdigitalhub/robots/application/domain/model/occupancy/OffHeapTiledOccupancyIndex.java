@@ -0,0 +1,298 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Occupied cells kept outside the Java heap, in 64 x 64 tiles of one bit per cell (512 bytes)
+ * allocated the first time one of their cells is occupied. Tiles are carved out of direct buffers
+ * of 256 tiles and found through open-addressing tables, themselves direct buffers, so the heap
+ * only holds a handful of buffer objects however many robots park and however large the bounds
+ * are. Every tile is also chained to the other tiles of its band of 64 rows and of its band of 64
+ * columns, so a segment query looks at the tiles the segment crosses or at the tiles of its band,
+ * whichever are fewer. A tile stays allocated once touched, even when emptied again. Not
+ * thread-safe.
+ */
+public final class OffHeapTiledOccupancyIndex implements OccupancyIndex {
+    public static final int NONE = LineIndex.NONE;
+
+    private static final int TILE_SHIFT = 6;
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+    // 64 row words, then tile x, tile y, next tile of the row band and next tile of the column band
+    private static final int HEADER = Long.BYTES << TILE_SHIFT;
+    private static final int TILE_BYTES = HEADER + 4 * Integer.BYTES;
+    private static final int SLAB_SHIFT = 8;
+    private static final int SLAB_MASK = (1 << SLAB_SHIFT) - 1;
+    // Keeps every table within the 2 GB a direct buffer can hold
+    private static final int MAX_TILES = 1 << 25;
+
+    private final Table tileTable = new Table();
+    private final Table rowBands = new Table();
+    private final Table columnBands = new Table();
+    private ByteBuffer[] slabs = new ByteBuffer[1];
+    private int tiles;
+    private int size;
+    private long lastKey = -1L;
+    private int lastTile;
+
+    @Override
+    public boolean contains(int x, int y) {
+        int tile = find(x >>> TILE_SHIFT, y >>> TILE_SHIFT);
+        return tile >= 0 && (word(tile, y & TILE_MASK) & (1L << x)) != 0;
+    }
+
+    @Override
+    public boolean add(int x, int y) {
+        int tile = find(x >>> TILE_SHIFT, y >>> TILE_SHIFT);
+        if (tile < 0) tile = create(x >>> TILE_SHIFT, y >>> TILE_SHIFT);
+        ByteBuffer slab = slabs[tile >>> SLAB_SHIFT];
+        int at = offset(tile) + (y & TILE_MASK) * Long.BYTES;
+        long word = slab.getLong(at);
+        if ((word & (1L << x)) != 0) return false;
+        slab.putLong(at, word | (1L << x));
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(int x, int y) {
+        int tile = find(x >>> TILE_SHIFT, y >>> TILE_SHIFT);
+        if (tile < 0) return false;
+        ByteBuffer slab = slabs[tile >>> SLAB_SHIFT];
+        int at = offset(tile) + (y & TILE_MASK) * Long.BYTES;
+        long word = slab.getLong(at);
+        if ((word & (1L << x)) == 0) return false;
+        slab.putLong(at, word & ~(1L << x));
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(CellConsumer action) {
+        for (int tile = 0; tile < tiles; tile++) {
+            int left = header(tile, 0) << TILE_SHIFT;
+            int bottom = header(tile, 1) << TILE_SHIFT;
+            for (int row = 0; row <= TILE_MASK; row++) {
+                for (long word = word(tile, row); word != 0; word &= word - 1) {
+                    action.accept(left + Long.numberOfTrailingZeros(word), bottom + row);
+                }
+            }
+        }
+    }
+
+    /**
+     * First occupied x met when walking row {@code y} from {@code fromX} to {@code toX}, both
+     * inclusive and in either order, or {@link #NONE}.
+     */
+    public int firstOnRow(int y, int fromX, int toX) {
+        return first(true, y, fromX, toX);
+    }
+
+    /** Same as {@link #firstOnRow} along column {@code x}. */
+    public int firstOnColumn(int x, int fromY, int toY) {
+        return first(false, x, fromY, toY);
+    }
+
+    public int tileCount() {
+        return tiles;
+    }
+
+    /** Direct memory held by the tiles and their tables. */
+    public long offHeapBytes() {
+        long slabCount = (tiles + SLAB_MASK) >>> SLAB_SHIFT;
+        return slabCount * (TILE_BYTES << SLAB_SHIFT) + tileTable.bytes() + rowBands.bytes() + columnBands.bytes();
+    }
+
+    private int first(boolean alongRow, int line, int from, int to) {
+        int lineTile = line >>> TILE_SHIFT;
+        Table bands = alongRow ? rowBands : columnBands;
+        int band = bands.find(lineTile);
+        if (band < 0) return NONE;
+        int fromTile = from >>> TILE_SHIFT;
+        int toTile = to >>> TILE_SHIFT;
+        if (Math.abs(toTile - fromTile) < bands.count(band)) {
+            int step = fromTile <= toTile ? 1 : -1;
+            for (int t = fromTile; ; t += step) {
+                int tile = alongRow ? find(t, lineTile) : find(lineTile, t);
+                int found = tile < 0 ? NONE : firstInTile(tile, alongRow, line, t, from, to);
+                if (found != NONE || t == toTile) return found;
+            }
+        }
+        // The segment crosses more tiles than its band holds: look at those instead
+        int low = Math.min(fromTile, toTile);
+        int high = Math.max(fromTile, toTile);
+        int best = NONE;
+        for (int tile = bands.value(band); tile >= 0; tile = header(tile, alongRow ? 2 : 3)) {
+            int t = header(tile, alongRow ? 0 : 1);
+            if (t < low || t > high) continue;
+            int found = firstInTile(tile, alongRow, line, t, from, to);
+            if (found != NONE && (best == NONE || (from <= to ? found < best : found > best))) {
+                best = found;
+            }
+        }
+        return best;
+    }
+
+    private int firstInTile(int tile, boolean alongRow, int line, int t, int from, int to) {
+        int origin = t << TILE_SHIFT;
+        int lo = Math.max(Math.min(from, to), origin) - origin;
+        int hi = Math.min(Math.max(from, to), origin + TILE_MASK) - origin;
+        if (alongRow) {
+            long word = word(tile, line & TILE_MASK) & (-1L << lo) & (-1L >>> (TILE_MASK - hi));
+            if (word == 0) return NONE;
+            return origin + (from <= to ? Long.numberOfTrailingZeros(word) : TILE_MASK - Long.numberOfLeadingZeros(word));
+        }
+        long bit = 1L << line;
+        if (from <= to) {
+            for (int row = lo; row <= hi; row++) {
+                if ((word(tile, row) & bit) != 0) return origin + row;
+            }
+        } else {
+            for (int row = hi; row >= lo; row--) {
+                if ((word(tile, row) & bit) != 0) return origin + row;
+            }
+        }
+        return NONE;
+    }
+
+    private int find(int tileX, int tileY) {
+        long key = ((long) tileX << 32) | tileY;
+        if (key == lastKey) return lastTile;
+        int slot = tileTable.find(key);
+        if (slot < 0) return -1;
+        lastKey = key;
+        lastTile = tileTable.value(slot);
+        return lastTile;
+    }
+
+    private int create(int tileX, int tileY) {
+        if (tiles == MAX_TILES) {
+            throw new IllegalStateException("Off-heap occupancy index is full: " + MAX_TILES + " tiles");
+        }
+        int tile = tiles++;
+        int slab = tile >>> SLAB_SHIFT;
+        if (slab == slabs.length) slabs = Arrays.copyOf(slabs, slab << 1);
+        if (slabs[slab] == null) {
+            slabs[slab] = ByteBuffer.allocateDirect(TILE_BYTES << SLAB_SHIFT).order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer buffer = slabs[slab];
+        int at = offset(tile) + HEADER;
+        buffer.putInt(at, tileX);
+        buffer.putInt(at + Integer.BYTES, tileY);
+        buffer.putInt(at + 2 * Integer.BYTES, rowBands.push(tileY, tile));
+        buffer.putInt(at + 3 * Integer.BYTES, columnBands.push(tileX, tile));
+        tileTable.push(((long) tileX << 32) | tileY, tile);
+        lastKey = ((long) tileX << 32) | tileY;
+        lastTile = tile;
+        return tile;
+    }
+
+    private long word(int tile, int row) {
+        return slabs[tile >>> SLAB_SHIFT].getLong(offset(tile) + row * Long.BYTES);
+    }
+
+    /** Field {@code field} of the tile header: tile x, tile y, next tile of the row band, of the column band. */
+    private int header(int tile, int field) {
+        return slabs[tile >>> SLAB_SHIFT].getInt(offset(tile) + HEADER + field * Integer.BYTES);
+    }
+
+    private static int offset(int tile) {
+        return (tile & SLAB_MASK) * TILE_BYTES;
+    }
+
+    /**
+     * Open-addressing table from non-negative {@code long} keys to an {@code int} value and a
+     * count, with linear probing and Fibonacci hashing, in a direct buffer.
+     */
+    private static final class Table {
+        // Key + 1 (0 marks a free slot), value, count
+        private static final int ENTRY_BYTES = 16;
+        private static final int MIN_CAPACITY = 16;
+        private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+        private ByteBuffer entries;
+        private int capacity;
+        private int shift;
+        private int size;
+
+        Table() {
+            allocate(MIN_CAPACITY);
+        }
+
+        /** Slot holding {@code key}, or -1. */
+        int find(long key) {
+            int mask = capacity - 1;
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                long stored = entries.getLong(slot * ENTRY_BYTES);
+                if (stored == key + 1) return slot;
+                if (stored == 0) return -1;
+            }
+        }
+
+        int value(int slot) {
+            return entries.getInt(slot * ENTRY_BYTES + Long.BYTES);
+        }
+
+        int count(int slot) {
+            return entries.getInt(slot * ENTRY_BYTES + Long.BYTES + Integer.BYTES);
+        }
+
+        /** Makes {@code value} the value of {@code key} and counts it; returns the previous value, or -1. */
+        int push(long key, int value) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (++size > capacity >>> 1) rehash();
+                insert(key, value, 1);
+                return -1;
+            }
+            int previous = value(slot);
+            entries.putInt(slot * ENTRY_BYTES + Long.BYTES, value);
+            entries.putInt(slot * ENTRY_BYTES + Long.BYTES + Integer.BYTES, count(slot) + 1);
+            return previous;
+        }
+
+        long bytes() {
+            return (long) capacity * ENTRY_BYTES;
+        }
+
+        private int insert(long key, int value, int count) {
+            int mask = capacity - 1;
+            int slot = slot(key);
+            while (entries.getLong(slot * ENTRY_BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            entries.putLong(slot * ENTRY_BYTES, key + 1);
+            entries.putInt(slot * ENTRY_BYTES + Long.BYTES, value);
+            entries.putInt(slot * ENTRY_BYTES + Long.BYTES + Integer.BYTES, count);
+            return slot;
+        }
+
+        private void rehash() {
+            ByteBuffer old = entries;
+            int oldCapacity = capacity;
+            allocate(oldCapacity << 1);
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                long stored = old.getLong(slot * ENTRY_BYTES);
+                if (stored != 0) {
+                    insert(stored - 1, old.getInt(slot * ENTRY_BYTES + Long.BYTES), old.getInt(slot * ENTRY_BYTES + Long.BYTES + Integer.BYTES));
+                }
+            }
+        }
+
+        private void allocate(int slots) {
+            entries = ByteBuffer.allocateDirect(slots * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+            capacity = slots;
+            shift = 64 - Integer.numberOfTrailingZeros(slots);
+        }
+
+        private int slot(long key) {
+            return (int) ((key * GOLDEN) >>> shift);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of cells packed into {@code long} keys, with linear probing and
+ * Fibonacci hashing. Costs 16 bytes per occupied cell at most, independently of the bounds.
+ * Removal shifts the following entries of the probe sequence back, so no tombstones build up.
+ */
+public final class SparseOccupancyIndex implements OccupancyIndex {
+    private static final long EMPTY = -1L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int shift;
+    private int size;
+
+    public SparseOccupancyIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    static long bytesFor(int entries) {
+        return (long) capacityFor(entries) * Long.BYTES;
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        long key = key(x, y);
+        int mask = keys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) return true;
+            if (current == EMPTY) return false;
+        }
+    }
+
+    @Override
+    public boolean add(int x, int y) {
+        if (!insert(key(x, y))) return false;
+        if (++size > keys.length >>> 1) {
+            rehash();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(int x, int y) {
+        long key = key(x, y);
+        int mask = keys.length - 1;
+        int hole = slot(key);
+        while (keys[hole] != key) {
+            if (keys[hole] == EMPTY) return false;
+            hole = (hole + 1) & mask;
+        }
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            // The entry may fill the hole if the hole lies between its home slot and its slot
+            if (((next - slot(keys[next])) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(CellConsumer action) {
+        for (long key : keys) {
+            if (key != EMPTY) {
+                action.accept((int) (key >>> 32), (int) key);
+            }
+        }
+    }
+
+    private boolean insert(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) return false;
+            if (current == EMPTY) {
+                keys[slot] = key;
+                return true;
+            }
+        }
+    }
+
+    private void rehash() {
+        long[] old = keys;
+        allocate(old.length << 1);
+        for (long key : old) {
+            if (key != EMPTY) insert(key);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * GOLDEN) >>> shift);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int capacityFor(int entries) {
+        long wanted = Math.max(MIN_CAPACITY, 2L * entries);
+        if (wanted > 1 << 30) return 1 << 30;
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+}
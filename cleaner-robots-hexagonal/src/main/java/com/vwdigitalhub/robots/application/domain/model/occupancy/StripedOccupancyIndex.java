@@ -0,0 +1,72 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SparseOccupancyIndex} split into independently locked stripes, picked by a hash of the
+ * cell, so threads working on different cells rarely wait for each other.
+ */
+public final class StripedOccupancyIndex implements OccupancyIndex {
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    private final SparseOccupancyIndex[] stripes = new SparseOccupancyIndex[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+
+    public StripedOccupancyIndex(int expectedSize) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new SparseOccupancyIndex(expectedSize / STRIPES);
+        }
+    }
+
+    @Override
+    public boolean contains(int x, int y) {
+        SparseOccupancyIndex stripe = stripe(x, y);
+        synchronized (stripe) {
+            return stripe.contains(x, y);
+        }
+    }
+
+    @Override
+    public boolean add(int x, int y) {
+        SparseOccupancyIndex stripe = stripe(x, y);
+        boolean added;
+        synchronized (stripe) {
+            added = stripe.add(x, y);
+        }
+        if (added) size.incrementAndGet();
+        return added;
+    }
+
+    @Override
+    public boolean remove(int x, int y) {
+        SparseOccupancyIndex stripe = stripe(x, y);
+        boolean removed;
+        synchronized (stripe) {
+            removed = stripe.remove(x, y);
+        }
+        if (removed) size.decrementAndGet();
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /** Visits one stripe at a time, holding its lock; cells of other stripes may change meanwhile. */
+    @Override
+    public void forEach(CellConsumer action) {
+        for (SparseOccupancyIndex stripe : stripes) {
+            synchronized (stripe) {
+                stripe.forEach(action);
+            }
+        }
+    }
+
+    private SparseOccupancyIndex stripe(int x, int y) {
+        // Different multiplier from the stripes' own hash, so each stripe still spreads its cells
+        long hash = (((long) x << 32) | (y & 0xFFFFFFFFL)) * 0xC2B2AE3D27D4EB4FL;
+        return stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+    }
+}
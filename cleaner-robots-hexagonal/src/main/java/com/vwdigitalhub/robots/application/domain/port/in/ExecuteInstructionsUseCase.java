@@ -1,8 +1,24 @@
 package com.vwdigitalhub.robots.application.domain.port.in;
 
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
 
 public interface ExecuteInstructionsUseCase {
     ControlRobotCommandResponse execute(ControlRobotCommand command);
+
+    /**
+     * Parks a robot whose outcome {@code known} was already worked out, for example speculatively,
+     * without running its instructions again. Engines occupy the final cell; decorators record the
+     * robot as they would after {@link #execute} and pass it on.
+     */
+    default ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        command.workspace().occupy(known.finalPosition());
+        return known;
+    }
+
+    /** Throws {@code rejection}, already worked out for the robot; decorators record it first. */
+    default void reject(ControlRobotCommand command, DomainException rejection) {
+        throw rejection;
+    }
 }
@@ -0,0 +1,16 @@
+package com.vwdigitalhub.robots.application.domain.port.in;
+
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executes every robot of a mission, all sharing one workspace, with the outcome of running them
+ * one after another: results reach {@code results} in input order and the first failing robot
+ * stops the mission with its exception.
+ */
+public interface ExecuteMissionUseCase {
+    void execute(List<ControlRobotCommand> commands, Consumer<ControlRobotCommandResponse> results);
+}
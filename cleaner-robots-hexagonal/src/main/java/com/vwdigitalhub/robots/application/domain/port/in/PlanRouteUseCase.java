@@ -0,0 +1,13 @@
+package com.vwdigitalhub.robots.application.domain.port.in;
+
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.planroute.PlanRouteCommand;
+
+/**
+ * Finds the shortest program, counting every instruction as one, that takes a robot from its
+ * start to a target cell without leaving the workspace or entering a parked cell. The robot may
+ * face any way at the end. Nothing is parked.
+ */
+public interface PlanRouteUseCase {
+    InstructionProgram plan(PlanRouteCommand command);
+}
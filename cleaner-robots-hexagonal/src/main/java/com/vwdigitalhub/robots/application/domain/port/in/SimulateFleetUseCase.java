@@ -0,0 +1,14 @@
+package com.vwdigitalhub.robots.application.domain.port.in;
+
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.FleetRobotOutcome;
+
+import java.util.List;
+
+/**
+ * Moves every robot of a fleet at the same time, all sharing one workspace: on each tick every
+ * robot still running applies its next instruction. Outcomes are returned in input order.
+ */
+public interface SimulateFleetUseCase {
+    List<FleetRobotOutcome> simulate(List<ControlRobotCommand> robots);
+}
@@ -0,0 +1,41 @@
+package com.vwdigitalhub.robots.application.domain.port.out;
+
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Records every change to a workspace, so the workspaces can be rebuilt after a restart. A
+ * workspace is recorded on its first event if it was not recorded explicitly. Events become
+ * durable asynchronously; {@link #sync} waits until everything recorded so far is durable.
+ */
+public interface RobotJournal {
+
+    void workspaceCreated(Workspace workspace);
+
+    void workspaceDropped(Workspace workspace);
+
+    /** A robot parked at its final position; rejected robots change nothing and are not recorded. */
+    void robotExecuted(ControlRobotCommand command, ControlRobotCommandResponse response);
+
+    /** A cell occupied other than by executing a robot. */
+    void positionOccupied(Workspace workspace, Position position);
+
+    void sync();
+
+    /** Every recorded workspace not dropped since, with its occupied cells, in creation order. */
+    Map<UUID, Workspace> replay();
+
+    /**
+     * Replaces the history recorded so far with a snapshot of the workspaces, so replay does not
+     * have to go through it again. {@code workspaces} is asked for every workspace not dropped, in
+     * creation order, once events recorded from then on are kept apart; robots may keep executing.
+     */
+    void compact(Supplier<List<Workspace>> workspaces);
+}
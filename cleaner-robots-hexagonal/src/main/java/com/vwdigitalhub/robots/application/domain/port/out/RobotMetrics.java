@@ -0,0 +1,28 @@
+package com.vwdigitalhub.robots.application.domain.port.out;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+
+/** Receives how long robots take and how often they are rejected. Called from many threads at once. */
+public interface RobotMetrics {
+
+    /** Records nothing. */
+    RobotMetrics NONE = new RobotMetrics() {
+        @Override
+        public void robotExecuted(long nanos, long instructions) {}
+
+        @Override
+        public void robotRejected(long nanos, DomainException rejection) {}
+
+        @Override
+        public void programParsed(long nanos, long instructions) {}
+    };
+
+    /** A robot ran its {@code instructions} and parked, in {@code nanos}. */
+    void robotExecuted(long nanos, long instructions);
+
+    /** A robot was rejected after {@code nanos}, for example out of bounds or blocked. */
+    void robotRejected(long nanos, DomainException rejection);
+
+    /** An instruction line of {@code instructions} instructions was parsed in {@code nanos}. */
+    void programParsed(long nanos, long instructions);
+}
@@ -0,0 +1,20 @@
+package com.vwdigitalhub.robots.application.domain.port.out;
+
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
+
+/**
+ * Receives the outcome of every robot of a mission, in mission order, and hands it on to wherever
+ * results go. Writes may be buffered until {@link #flush}. Called from one thread at a time.
+ */
+public interface RobotResultWriter {
+
+    /** A robot parked. */
+    void parked(ControlRobotCommandResponse response);
+
+    /** A robot was rejected and the mission went on without it. */
+    void rejected(RobotRejection rejection);
+
+    /** Hands on everything written so far. */
+    void flush();
+}
@@ -0,0 +1,133 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.coverage.CoverageMap;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.model.instructions.ProgramSummary;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs robots on any engine and marks every cell each parked robot went over, its start included,
+ * in a {@link CoverageMap} per workspace. The route is traced again from the program as straight
+ * runs, so the engine itself is not slowed down; rejected robots change nothing and are not traced.
+ * A repeat block that turns the robot is traced for one period only, since later repetitions go
+ * over the same cells.
+ */
+public class CoveringExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private final ExecuteInstructionsUseCase engine;
+    private final Map<Workspace, CoverageMap> coverage = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public CoveringExecuteInstructionsService(ExecuteInstructionsUseCase engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        ControlRobotCommandResponse response = engine.execute(command);
+        cover(command);
+        return response;
+    }
+
+    @Override
+    public ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        ControlRobotCommandResponse response = engine.park(command, known);
+        cover(command);
+        return response;
+    }
+
+    @Override
+    public void reject(ControlRobotCommand command, DomainException rejection) {
+        engine.reject(command, rejection);
+    }
+
+    private void cover(ControlRobotCommand command) {
+        Workspace workspace = command.workspace();
+        CoverageMap map = coverage.computeIfAbsent(workspace, w -> new CoverageMap(w.getMaxX(), w.getMaxY()));
+        synchronized (map) {
+            map.cover(command.start().x(), command.start().y());
+            trace(map, command.instructions(), new RobotCursor(command.start().x(), command.start().y(), command.direction().ordinal()));
+        }
+    }
+
+    /** Copy of the coverage of {@code workspace}; empty if no robot parked there yet. */
+    public CoverageMap coverage(Workspace workspace) {
+        CoverageMap map = coverage.get(workspace);
+        if (map == null) return new CoverageMap(workspace.getMaxX(), workspace.getMaxY());
+        synchronized (map) {
+            return map.copy();
+        }
+    }
+
+    /** Copies of every coverage map, by workspace, in the order their first robot parked. */
+    public Map<Workspace, CoverageMap> coverage() {
+        Map<Workspace, CoverageMap> copies = new LinkedHashMap<>();
+        synchronized (coverage) {
+            coverage.keySet().forEach(workspace -> copies.put(workspace, null));
+        }
+        copies.replaceAll((workspace, ignored) -> coverage(workspace));
+        return copies;
+    }
+
+    private static void trace(CoverageMap map, InstructionProgram program, RobotCursor robot) {
+        if (program.isLiteral()) {
+            traceLiteral(map, program, robot);
+            return;
+        }
+        for (int part = 0; part < program.partCount(); part++) {
+            InstructionProgram body = program.partBody(part);
+            long times = program.partRepetitions(part);
+            if (times > 1) {
+                ProgramSummary summary = body.summary().rotated(robot.d);
+                if (!summary.isTranslation()) {
+                    int period = summary.period();
+                    times = times <= period ? times : period + (times - period) % period;
+                }
+            }
+            for (long k = 0; k < times; k++) {
+                trace(map, body, robot);
+            }
+        }
+    }
+
+    private static void traceLiteral(CoverageMap map, InstructionProgram instructions, RobotCursor robot) {
+        int x = robot.x;
+        int y = robot.y;
+        int d = robot.d;
+        int i = 0;
+        int n = instructions.codeCount();
+        while (i < n) {
+            switch (instructions.codeAt(i)) {
+                case InstructionProgram.TURN_LEFT -> {
+                    d = (d + 3) & 3;
+                    i++;
+                }
+                case InstructionProgram.TURN_RIGHT -> {
+                    d = (d + 1) & 3;
+                    i++;
+                }
+                default -> {
+                    int run = instructions.runLength(i);
+                    int toX = x + Direction.dx(d) * run;
+                    int toY = y + Direction.dy(d) * run;
+                    if (Direction.dx(d) != 0) {
+                        map.coverRow(y, x + Direction.dx(d), toX);
+                    } else {
+                        map.coverColumn(x, y + Direction.dy(d), toY);
+                    }
+                    x = toX;
+                    y = toY;
+                    i += run;
+                }
+            }
+        }
+        robot.x = x;
+        robot.y = y;
+        robot.d = d;
+    }
+}
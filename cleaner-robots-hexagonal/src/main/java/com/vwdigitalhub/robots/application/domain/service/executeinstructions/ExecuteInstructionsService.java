@@ -10,9 +10,10 @@ public class ExecuteInstructionsService implements ExecuteInstructionsUseCase {
         var workspace = command.workspace();
         workspace.ensureValidPosition(command.start());
         var robot = Robot.create(command.start(), command.direction());
-        command.instructions().forEach(instruction ->
-            workspace.ensureValidPosition(robot.executeInstruction(instruction))
-        );
+        var instructions = command.instructions();
+        for (long i = 0; i < instructions.length(); i++) {
+            workspace.ensureValidPosition(robot.executeInstruction(instructions.get(i)));
+        }
         workspace.occupy(robot.getPosition());
         return new ControlRobotCommandResponse(robot.getPosition(), robot.getDirection());
     }
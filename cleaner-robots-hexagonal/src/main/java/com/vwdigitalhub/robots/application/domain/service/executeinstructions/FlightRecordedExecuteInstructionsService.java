@@ -0,0 +1,83 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotExecutedEvent;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotRejectedEvent;
+
+/**
+ * Runs robots on any engine and emits a {@link RobotExecutedEvent} or {@link RobotRejectedEvent}
+ * for each one to Java Flight Recorder. While no recording has the events enabled, the events are
+ * never filled in and cost next to nothing.
+ */
+public class FlightRecordedExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private final ExecuteInstructionsUseCase engine;
+    private final String engineName;
+
+    public FlightRecordedExecuteInstructionsService(ExecuteInstructionsUseCase engine) {
+        this.engine = engine;
+        this.engineName = engine.getClass().getSimpleName();
+    }
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        RobotExecutedEvent executed = new RobotExecutedEvent();
+        executed.begin();
+        ControlRobotCommandResponse response;
+        try {
+            response = engine.execute(command);
+        } catch (DomainException e) {
+            rejected(command, e);
+            throw e;
+        }
+        executed(executed, command, response);
+        return response;
+    }
+
+    @Override
+    public ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        RobotExecutedEvent executed = new RobotExecutedEvent();
+        executed.begin();
+        ControlRobotCommandResponse response = engine.park(command, known);
+        executed(executed, command, response);
+        return response;
+    }
+
+    @Override
+    public void reject(ControlRobotCommand command, DomainException rejection) {
+        rejected(command, rejection);
+        engine.reject(command, rejection);
+    }
+
+    private void executed(RobotExecutedEvent executed, ControlRobotCommand command, ControlRobotCommandResponse response) {
+        if (executed.shouldCommit()) {
+            Workspace workspace = command.workspace();
+            executed.engine = engineName;
+            executed.maxX = workspace.getMaxX();
+            executed.maxY = workspace.getMaxY();
+            executed.instructions = command.instructions().length();
+            executed.startX = command.start().x();
+            executed.startY = command.start().y();
+            executed.finalX = response.finalPosition().x();
+            executed.finalY = response.finalPosition().y();
+            executed.finalDirection = response.finalDirection().name();
+            executed.commit();
+        }
+    }
+
+    private void rejected(ControlRobotCommand command, DomainException rejection) {
+        RobotRejectedEvent event = new RobotRejectedEvent();
+        if (!event.isEnabled()) return;
+        Workspace workspace = command.workspace();
+        event.engine = engineName;
+        event.maxX = workspace.getMaxX();
+        event.maxY = workspace.getMaxY();
+        event.instructions = command.instructions().length();
+        event.startX = command.start().x();
+        event.startY = command.start().y();
+        event.reason = rejection.getClass().getSimpleName();
+        event.message = rejection.getMessage();
+        event.commit();
+    }
+}
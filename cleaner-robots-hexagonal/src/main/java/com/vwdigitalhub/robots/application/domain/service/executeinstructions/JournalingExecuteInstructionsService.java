@@ -0,0 +1,35 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotJournal;
+
+/** Runs robots on any engine and records every robot it parks in a {@link RobotJournal}. */
+public class JournalingExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private final ExecuteInstructionsUseCase engine;
+    private final RobotJournal journal;
+
+    public JournalingExecuteInstructionsService(ExecuteInstructionsUseCase engine, RobotJournal journal) {
+        this.engine = engine;
+        this.journal = journal;
+    }
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        ControlRobotCommandResponse response = engine.execute(command);
+        journal.robotExecuted(command, response);
+        return response;
+    }
+
+    @Override
+    public ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        ControlRobotCommandResponse response = engine.park(command, known);
+        journal.robotExecuted(command, response);
+        return response;
+    }
+
+    @Override
+    public void reject(ControlRobotCommand command, DomainException rejection) {
+        engine.reject(command, rejection);
+    }
+}
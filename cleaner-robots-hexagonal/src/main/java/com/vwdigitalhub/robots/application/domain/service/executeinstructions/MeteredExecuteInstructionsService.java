@@ -0,0 +1,45 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+
+/** Runs robots on any engine and reports how long each one took, and whether it parked, to {@link RobotMetrics}. */
+public class MeteredExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private final ExecuteInstructionsUseCase engine;
+    private final RobotMetrics metrics;
+
+    public MeteredExecuteInstructionsService(ExecuteInstructionsUseCase engine, RobotMetrics metrics) {
+        this.engine = engine;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        long start = System.nanoTime();
+        ControlRobotCommandResponse response;
+        try {
+            response = engine.execute(command);
+        } catch (DomainException e) {
+            metrics.robotRejected(System.nanoTime() - start, e);
+            throw e;
+        }
+        metrics.robotExecuted(System.nanoTime() - start, command.instructions().length());
+        return response;
+    }
+
+    /** Reports the robot with the time taken to park it; working out its outcome was timed by whoever did. */
+    @Override
+    public ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        long start = System.nanoTime();
+        ControlRobotCommandResponse response = engine.park(command, known);
+        metrics.robotExecuted(System.nanoTime() - start, command.instructions().length());
+        return response;
+    }
+
+    @Override
+    public void reject(ControlRobotCommand command, DomainException rejection) {
+        metrics.robotRejected(0, rejection);
+        engine.reject(command, rejection);
+    }
+}
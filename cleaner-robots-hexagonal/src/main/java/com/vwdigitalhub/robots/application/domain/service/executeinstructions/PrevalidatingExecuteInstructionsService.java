@@ -0,0 +1,75 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.model.instructions.RouteBounds;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+
+/**
+ * Answers robots without running any engine when the {@link RouteBounds} of their program show it
+ * cannot meet a parked robot: the bounding box of the cells it visits inside the workspace holds
+ * none, which takes one segment query per row or column of the box. Such a robot is then rejected
+ * at the first cell out of the bounds, or parked where the route ends, exactly as the engine would
+ * have done. Every other robot, and every robot on a concurrent workspace, goes to the engine.
+ */
+public class PrevalidatingExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ExecuteInstructionsUseCase engine;
+
+    public PrevalidatingExecuteInstructionsService(ExecuteInstructionsUseCase engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        Workspace workspace = command.workspace();
+        if (workspace.isConcurrent()) return engine.execute(command);
+        workspace.ensureValidPosition(command.start());
+        InstructionProgram program = command.instructions();
+        RouteBounds route = RouteBounds.of(program, command.start().x(), command.start().y(),
+                command.direction().ordinal(), workspace.getMaxX(), workspace.getMaxY());
+        if (!isClear(workspace, route, program.length())) return engine.execute(command);
+        if (route.leaves()) throw new OutOfBoundsException(new Position(route.endX(), route.endY()));
+        Position finalPosition = new Position(route.endX(), route.endY());
+        workspace.occupy(finalPosition);
+        return new ControlRobotCommandResponse(finalPosition, DIRECTIONS[route.endDirection()]);
+    }
+
+    @Override
+    public ControlRobotCommandResponse park(ControlRobotCommand command, ControlRobotCommandResponse known) {
+        return engine.park(command, known);
+    }
+
+    @Override
+    public void reject(ControlRobotCommand command, DomainException rejection) {
+        engine.reject(command, rejection);
+    }
+
+    /**
+     * Whether no robot is parked in the route's box, when that is cheaper to tell than running
+     * {@code steps} steps and the box is not expected to hold a robot at the workspace's density.
+     */
+    private static boolean isClear(Workspace workspace, RouteBounds route, long steps) {
+        int occupied = workspace.occupiedCount();
+        if (occupied == 0) return true;
+        long rows = (long) route.maxY() - route.minY() + 1;
+        long columns = (long) route.maxX() - route.minX() + 1;
+        double cells = (workspace.getMaxX() + 1.0) * (workspace.getMaxY() + 1.0);
+        if (Math.min(rows, columns) > steps || occupied * ((double) rows * columns / cells) >= 1) return false;
+        if (rows <= columns) {
+            for (int y = route.minY(); ; y++) {
+                if (workspace.firstOccupiedOnRow(y, route.minX(), route.maxX()) != Workspace.NONE) return false;
+                if (y == route.maxY()) return true;
+            }
+        }
+        for (int x = route.minX(); ; x++) {
+            if (workspace.firstOccupiedOnColumn(x, route.minY(), route.maxY()) != Workspace.NONE) return false;
+            if (x == route.maxX()) return true;
+        }
+    }
+}
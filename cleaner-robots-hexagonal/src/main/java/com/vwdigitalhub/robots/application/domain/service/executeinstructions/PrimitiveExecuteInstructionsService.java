@@ -0,0 +1,62 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+
+/**
+ * Same rules as {@link ExecuteInstructionsService}, with the robot state kept in local primitives
+ * instead of a {@code Robot} aggregate. Turns cannot change the position, so only moves are
+ * validated, and no object is created per instruction: the final {@code Position} and the
+ * response are the only allocations of a successful run. Repeat blocks are run once per
+ * repetition.
+ */
+public class PrimitiveExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        var workspace = command.workspace();
+        workspace.ensureValidPosition(command.start());
+        var robot = new RobotCursor(command.start().x(), command.start().y(), command.direction().ordinal());
+        run(workspace, command.instructions(), robot);
+        Position finalPosition = new Position(robot.x, robot.y);
+        workspace.occupy(finalPosition);
+        return new ControlRobotCommandResponse(finalPosition, DIRECTIONS[robot.d]);
+    }
+
+    private static void run(Workspace workspace, InstructionProgram program, RobotCursor robot) {
+        if (program.isLiteral()) {
+            runLiteral(workspace, program, robot);
+            return;
+        }
+        for (int part = 0; part < program.partCount(); part++) {
+            InstructionProgram body = program.partBody(part);
+            for (long k = program.partRepetitions(part); k > 0; k--) {
+                run(workspace, body, robot);
+            }
+        }
+    }
+
+    private static void runLiteral(Workspace workspace, InstructionProgram instructions, RobotCursor robot) {
+        int x = robot.x;
+        int y = robot.y;
+        int d = robot.d;
+        for (int i = 0, n = instructions.codeCount(); i < n; i++) {
+            switch (instructions.codeAt(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    workspace.ensureValidPosition(x, y);
+                }
+            }
+        }
+        robot.x = x;
+        robot.y = y;
+        robot.d = d;
+    }
+}
@@ -0,0 +1,14 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+/** Mutable robot state threaded through the parts of a program with repeat blocks. */
+final class RobotCursor {
+    int x;
+    int y;
+    int d;
+
+    RobotCursor(int x, int y, int d) {
+        this.x = x;
+        this.y = y;
+        this.d = d;
+    }
+}
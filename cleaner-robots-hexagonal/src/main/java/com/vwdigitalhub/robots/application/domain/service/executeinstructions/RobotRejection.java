@@ -0,0 +1,51 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.instructions.RouteBounds;
+
+/**
+ * Why a robot was not parked, for modes that keep going after a rejection: the robot's 1-based
+ * index in the mission, the 1-based instruction whose move was rejected (0 when the start cell
+ * itself was), the cell it could not enter and the reason.
+ */
+public record RobotRejection(int robot, long step, Position position, Reason reason) {
+
+    public enum Reason {
+        OUT_OF_BOUNDS,
+        POSITION_OCCUPIED,
+        OTHER
+    }
+
+    /**
+     * Rejection of the {@code robot}-th robot of a mission by {@code e}. The step is worked out
+     * again from the program, skipping every block that cannot hold it, so engines need not track it.
+     */
+    public static RobotRejection of(int robot, ControlRobotCommand command, DomainException e) {
+        Position start = command.start();
+        int direction = command.direction().ordinal();
+        if (e instanceof OutOfBoundsException outOfBounds) {
+            Position position = outOfBounds.getPosition();
+            if (position.equals(start)) return new RobotRejection(robot, 0, position, Reason.OUT_OF_BOUNDS);
+            var workspace = command.workspace();
+            RouteBounds route = RouteBounds.of(command.instructions(), start.x(), start.y(), direction, workspace.getMaxX(), workspace.getMaxY());
+            return new RobotRejection(robot, route.exitStep() + 1, position, Reason.OUT_OF_BOUNDS);
+        }
+        if (e instanceof PositionOccupiedException occupied) {
+            Position position = occupied.getPosition();
+            if (position.equals(start)) return new RobotRejection(robot, 0, position, Reason.POSITION_OCCUPIED);
+            long visit = RouteBounds.firstVisit(command.instructions(), start.x(), start.y(), direction, position.x(), position.y());
+            // Not on the route: another thread parked on the final cell first
+            long step = visit < 0 ? command.instructions().length() : visit + 1;
+            return new RobotRejection(robot, step, position, Reason.POSITION_OCCUPIED);
+        }
+        return new RobotRejection(robot, 0, start, Reason.OTHER);
+    }
+
+    @Override
+    public String toString() {
+        return "robot " + robot + " rejected at step " + step + ": " + reason + " " + position.x() + " " + position.y();
+    }
+}
@@ -0,0 +1,240 @@
+package com.vwdigitalhub.robots.application.domain.service.executeinstructions;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.model.instructions.ProgramSummary;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.CellConsumer;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+
+import java.util.Arrays;
+
+/**
+ * Executes each long run of consecutive moves as a single straight segment: the bounds are
+ * checked once per segment and the first occupied cell on it comes from the workspace row/column
+ * index. Short runs are probed cell by cell.
+ * <p>
+ * Repeat blocks are fast-forwarded from the block's {@link ProgramSummary}. A block that turns the
+ * robot, or does not move it, is back at its start after at most 4 repetitions, so only those are
+ * simulated. A block that shifts the robot is jumped over: repetitions whose bounding box stays
+ * inside the workspace and away from every occupied cell are skipped, and only the others are
+ * simulated, the first one leaving the workspace included.
+ * <p>
+ * Reports the same violation, at the same position, as the step-by-step engines.
+ */
+public class SegmentExecuteInstructionsService implements ExecuteInstructionsUseCase {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // Fast-forwarding scans every occupied cell; below this many expanded instructions per
+    // occupied cell, simulating the repetitions is cheaper
+    private static final long FAST_FORWARD_RATIO = 4;
+    // Shorter runs are cheaper to probe cell by cell than through the row/column index
+    private static final int SHORT_RUN = 8;
+
+    @Override
+    public ControlRobotCommandResponse execute(ControlRobotCommand command) {
+        var workspace = command.workspace();
+        workspace.ensureValidPosition(command.start());
+        var robot = new RobotCursor(command.start().x(), command.start().y(), command.direction().ordinal());
+        run(workspace, command.instructions(), robot);
+        Position finalPosition = new Position(robot.x, robot.y);
+        workspace.occupy(finalPosition);
+        return new ControlRobotCommandResponse(finalPosition, DIRECTIONS[robot.d]);
+    }
+
+    private static void run(Workspace workspace, InstructionProgram program, RobotCursor robot) {
+        if (program.isLiteral()) {
+            runLiteral(workspace, program, robot);
+            return;
+        }
+        for (int part = 0; part < program.partCount(); part++) {
+            long times = program.partRepetitions(part);
+            if (times == 1) {
+                run(workspace, program.partBody(part), robot);
+            } else {
+                repeat(workspace, program.partBody(part), times, robot);
+            }
+        }
+    }
+
+    private static void runLiteral(Workspace workspace, InstructionProgram instructions, RobotCursor robot) {
+        int x = robot.x;
+        int y = robot.y;
+        int d = robot.d;
+        int i = 0;
+        int n = instructions.codeCount();
+        while (i < n) {
+            switch (instructions.codeAt(i)) {
+                case InstructionProgram.TURN_LEFT -> {
+                    d = (d + 3) & 3;
+                    i++;
+                }
+                case InstructionProgram.TURN_RIGHT -> {
+                    d = (d + 1) & 3;
+                    i++;
+                }
+                default -> {
+                    int run = instructions.runLength(i);
+                    if (run < SHORT_RUN) {
+                        for (int step = 0; step < run; step++) {
+                            x += Direction.dx(d);
+                            y += Direction.dy(d);
+                            workspace.ensureValidPosition(x, y);
+                        }
+                    } else {
+                        checkSegment(workspace, x, y, d, run);
+                        x += Direction.dx(d) * run;
+                        y += Direction.dy(d) * run;
+                    }
+                    i += run;
+                }
+            }
+        }
+        robot.x = x;
+        robot.y = y;
+        robot.d = d;
+    }
+
+    private static void repeat(Workspace workspace, InstructionProgram body, long times, RobotCursor robot) {
+        ProgramSummary summary = body.summary().rotated(robot.d);
+        if (!summary.isTranslation()) {
+            // One period brings the robot back to its start, so it visits every cell of the block
+            int period = summary.period();
+            long simulated = times <= period ? times : period + (times - period) % period;
+            simulate(workspace, body, simulated, robot);
+        } else if (body.length() * times / FAST_FORWARD_RATIO <= workspace.occupiedCount()) {
+            simulate(workspace, body, times, robot);
+        } else {
+            fastForward(workspace, body, times, summary, robot);
+        }
+    }
+
+    private static void fastForward(Workspace workspace, InstructionProgram body, long times, ProgramSummary s, RobotCursor robot) {
+        int x0 = robot.x;
+        int y0 = robot.y;
+        long inside = Math.min(times, Math.min(
+                repetitionsWithin(x0 + s.minX(), x0 + s.maxX(), s.dx(), workspace.getMaxX()),
+                repetitionsWithin(y0 + s.minY(), y0 + s.maxY(), s.dy(), workspace.getMaxY())));
+        BlockedRepetitions blocked = new BlockedRepetitions(x0, y0, s, inside);
+        workspace.forEachOccupied(blocked);
+        blocked.sort();
+        for (int i = 0; i < blocked.count; ) {
+            long from = blocked.starts[i];
+            long to = blocked.ends[i];
+            for (i++; i < blocked.count && blocked.starts[i] <= to; i++) {
+                to = Math.max(to, blocked.ends[i]);
+            }
+            jump(robot, x0, y0, s, from);
+            simulate(workspace, body, to - from, robot);
+        }
+        jump(robot, x0, y0, s, inside);
+        // The box is tight, so the first of these leaves the workspace
+        simulate(workspace, body, times - inside, robot);
+    }
+
+    private static void simulate(Workspace workspace, InstructionProgram body, long times, RobotCursor robot) {
+        for (long k = 0; k < times; k++) {
+            run(workspace, body, robot);
+        }
+    }
+
+    private static void jump(RobotCursor robot, int x0, int y0, ProgramSummary s, long repetitions) {
+        robot.x = (int) (x0 + repetitions * s.dx());
+        robot.y = (int) (y0 + repetitions * s.dy());
+    }
+
+    /** Number of repetitions k, from 0, keeping [low + k*step, high + k*step] within [0, max]. */
+    private static long repetitionsWithin(long low, long high, long step, long max) {
+        if (low < 0 || high > max) return 0;
+        if (step > 0) return (max - high) / step + 1;
+        if (step < 0) return low / -step + 1;
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Collects, for each occupied cell, the repetitions among the first {@code inside} whose
+     * bounding box contains it, as half-open ranges sorted by start.
+     */
+    private static final class BlockedRepetitions implements CellConsumer {
+        private final int x0;
+        private final int y0;
+        private final ProgramSummary s;
+        private final long inside;
+        private long[] starts = new long[8];
+        private long[] ends = new long[8];
+        private int count;
+
+        private BlockedRepetitions(int x0, int y0, ProgramSummary s, long inside) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.s = s;
+            this.inside = inside;
+        }
+
+        @Override
+        public void accept(int x, int y) {
+            long rx = (long) x - x0;
+            long ry = (long) y - y0;
+            long from = Math.max(0, Math.max(
+                    firstMultiple(rx - s.maxX(), rx - s.minX(), s.dx()),
+                    firstMultiple(ry - s.maxY(), ry - s.minY(), s.dy())));
+            long to = Math.min(inside, Math.min(
+                    lastMultiple(rx - s.maxX(), rx - s.minX(), s.dx()),
+                    lastMultiple(ry - s.maxY(), ry - s.minY(), s.dy())) + 1);
+            if (from >= to) return;
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = from;
+            ends[count] = to;
+            count++;
+        }
+
+        private void sort() {
+            // Sorted separately, starts and ends still describe the same union of ranges
+            Arrays.sort(starts, 0, count);
+            Arrays.sort(ends, 0, count);
+        }
+
+        /** Smallest k with low <= k*step <= high, ignoring the upper side. */
+        private static long firstMultiple(long low, long high, long step) {
+            if (step > 0) return -Math.floorDiv(-low, step);
+            if (step < 0) return -Math.floorDiv(high, -step);
+            return low <= 0 && high >= 0 ? 0 : Long.MAX_VALUE;
+        }
+
+        /** Largest k with low <= k*step <= high, ignoring the lower side. */
+        private static long lastMultiple(long low, long high, long step) {
+            if (step > 0) return Math.floorDiv(high, step);
+            if (step < 0) return Math.floorDiv(-low, -step);
+            return low <= 0 && high >= 0 ? Long.MAX_VALUE - 1 : -1;
+        }
+    }
+
+    /** Validates the {@code steps} cells after (x, y) in direction {@code d}, in walking order. */
+    static void checkSegment(Workspace workspace, int x, int y, int d, int steps) {
+        int inside = switch (d) {
+            case 0 -> Math.min(steps, workspace.getMaxY() - y);
+            case 1 -> Math.min(steps, workspace.getMaxX() - x);
+            case 2 -> Math.min(steps, y);
+            default -> Math.min(steps, x);
+        };
+        if (inside > 0) {
+            int blocker = switch (d) {
+                case 0 -> workspace.firstOccupiedOnColumn(x, y + 1, y + inside);
+                case 1 -> workspace.firstOccupiedOnRow(y, x + 1, x + inside);
+                case 2 -> workspace.firstOccupiedOnColumn(x, y - 1, y - inside);
+                default -> workspace.firstOccupiedOnRow(y, x - 1, x - inside);
+            };
+            if (blocker != Workspace.NONE) {
+                throw new PositionOccupiedException(Direction.dx(d) == 0 ? new Position(x, blocker) : new Position(blocker, y));
+            }
+        }
+        if (inside < steps) {
+            throw new OutOfBoundsException(new Position(x + Direction.dx(d) * (inside + 1), y + Direction.dy(d) * (inside + 1)));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.vwdigitalhub.robots.application.domain.service.executemission;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.model.occupancy.SparseOccupancyIndex;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteMissionUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs the robots of a mission speculatively in parallel and commits them in input order.
+ * <p>
+ * Robots are taken in chunks. Every robot of a chunk is first simulated on the pool against the
+ * bounds and the cells occupied before the chunk, recording the cells it touched and their
+ * bounding box; the workspace is only read during this phase. The chunk is then committed in
+ * order: a robot whose path holds no final cell committed earlier in the chunk would have met
+ * exactly the same cells running alone, so its speculative outcome is the sequential one and is
+ * handed to the sequential engine's {@link ExecuteInstructionsUseCase#park} or
+ * {@link ExecuteInstructionsUseCase#reject}, so the decorators wrapping it still see every robot.
+ * Any other robot, and any robot with repeat blocks, is re-run on the sequential engine against
+ * the live workspace.
+ * <p>
+ * A chunk closes at {@code chunkSize} robots or once its recorded paths reach
+ * {@value #CHUNK_INSTRUCTIONS} instructions. A robot longer than that only records its bounding
+ * box, and is re-run whenever an earlier final cell of its chunk falls inside it. On a pool of a
+ * single thread speculating cannot pay off, so robots simply run on the sequential engine.
+ */
+public class ParallelExecuteMissionService implements ExecuteMissionUseCase {
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+    static final int CHUNK_INSTRUCTIONS = 1 << 20;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ExecuteInstructionsUseCase sequential;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelExecuteMissionService(ExecuteInstructionsUseCase sequential) {
+        this(sequential, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelExecuteMissionService(ExecuteInstructionsUseCase sequential, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        this.sequential = sequential;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void execute(List<ControlRobotCommand> commands, Consumer<ControlRobotCommandResponse> results) {
+        if (commands.isEmpty()) return;
+        Workspace workspace = commands.get(0).workspace();
+        for (ControlRobotCommand command : commands) {
+            if (command.workspace() != workspace) {
+                throw new IllegalArgumentException("All robots of a mission must share one workspace");
+            }
+        }
+        if (pool.getParallelism() == 1) {
+            commands.forEach(command -> results.accept(sequential.execute(command)));
+            return;
+        }
+        Chunk chunk = new Chunk(Math.min(chunkSize, commands.size()));
+        int from = 0;
+        while (from < commands.size()) {
+            int to = chunkEnd(commands, from);
+            List<ControlRobotCommand> robots = commands.subList(from, to);
+            pool.invoke(new Speculate(workspace, robots, chunk, 0, robots.size()));
+            commit(robots, chunk, results);
+            from = to;
+        }
+    }
+
+    private int chunkEnd(List<ControlRobotCommand> commands, int from) {
+        int to = from;
+        long instructions = 0;
+        while (to < commands.size() && to - from < chunkSize && instructions < CHUNK_INSTRUCTIONS) {
+            instructions += commands.get(to++).instructions().length();
+        }
+        return to;
+    }
+
+    private void commit(List<ControlRobotCommand> robots, Chunk chunk, Consumer<ControlRobotCommandResponse> results) {
+        int committed = 0;
+        for (int i = 0; i < robots.size(); i++) {
+            ControlRobotCommand command = robots.get(i);
+            ControlRobotCommandResponse response;
+            if (!chunk.speculated[i] || chunk.crossesCommitted(i, committed)) {
+                response = sequential.execute(command);
+            } else if (chunk.failures[i] != null) {
+                sequential.reject(command, chunk.failures[i]);
+                throw chunk.failures[i];
+            } else {
+                response = sequential.park(command,
+                        new ControlRobotCommandResponse(new Position(chunk.x[i], chunk.y[i]), DIRECTIONS[chunk.d[i]]));
+            }
+            chunk.committedX[committed] = response.finalPosition().x();
+            chunk.committedY[committed] = response.finalPosition().y();
+            committed++;
+            results.accept(response);
+        }
+    }
+
+    /** Per-robot speculative outcomes of the chunk being executed, reused from chunk to chunk. */
+    private static final class Chunk {
+        final boolean[] speculated;
+        final int[] x;
+        final int[] y;
+        final int[] d;
+        final int[] minX;
+        final int[] maxX;
+        final int[] minY;
+        final int[] maxY;
+        final SparseOccupancyIndex[] visited;
+        final DomainException[] failures;
+        final int[] committedX;
+        final int[] committedY;
+
+        Chunk(int size) {
+            speculated = new boolean[size];
+            x = new int[size];
+            y = new int[size];
+            d = new int[size];
+            minX = new int[size];
+            maxX = new int[size];
+            minY = new int[size];
+            maxY = new int[size];
+            visited = new SparseOccupancyIndex[size];
+            failures = new DomainException[size];
+            committedX = new int[size];
+            committedY = new int[size];
+        }
+
+        boolean crossesCommitted(int robot, int committed) {
+            for (int j = 0; j < committed; j++) {
+                int cx = committedX[j];
+                int cy = committedY[j];
+                if (cx >= minX[robot] && cx <= maxX[robot] && cy >= minY[robot] && cy <= maxY[robot]
+                        && (visited[robot] == null || visited[robot].contains(cx, cy))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void speculate(Workspace workspace, ControlRobotCommand command, int robot) {
+            InstructionProgram instructions = command.instructions();
+            failures[robot] = null;
+            visited[robot] = null;
+            speculated[robot] = instructions.isLiteral();
+            if (!speculated[robot]) return;
+            int n = instructions.codeCount();
+            SparseOccupancyIndex path = n < CHUNK_INSTRUCTIONS ? new SparseOccupancyIndex(n + 1) : null;
+            int cx = command.start().x();
+            int cy = command.start().y();
+            int cd = command.direction().ordinal();
+            int lowX = cx, highX = cx, lowY = cy, highY = cy;
+            try {
+                workspace.ensureValidPosition(command.start());
+                if (path != null) path.add(cx, cy);
+                for (int i = 0; i < n; i++) {
+                    switch (instructions.codeAt(i)) {
+                        case InstructionProgram.TURN_LEFT -> cd = (cd + 3) & 3;
+                        case InstructionProgram.TURN_RIGHT -> cd = (cd + 1) & 3;
+                        default -> {
+                            cx += Direction.dx(cd);
+                            cy += Direction.dy(cd);
+                            workspace.ensureValidPosition(cx, cy);
+                            lowX = Math.min(lowX, cx);
+                            highX = Math.max(highX, cx);
+                            lowY = Math.min(lowY, cy);
+                            highY = Math.max(highY, cy);
+                            if (path != null) path.add(cx, cy);
+                        }
+                    }
+                }
+            } catch (DomainException e) {
+                // The failing cell is outside the workspace or occupied before the chunk, so no
+                // final cell committed in the chunk can be on it
+                failures[robot] = e;
+            }
+            x[robot] = cx;
+            y[robot] = cy;
+            d[robot] = cd;
+            minX[robot] = lowX;
+            maxX[robot] = highX;
+            minY[robot] = lowY;
+            maxY[robot] = highY;
+            visited[robot] = path;
+        }
+    }
+
+    /** Speculates robots [from, to) of the chunk, splitting down to single robots for balance. */
+    private static final class Speculate extends RecursiveAction {
+        private final Workspace workspace;
+        private final List<ControlRobotCommand> robots;
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+
+        Speculate(Workspace workspace, List<ControlRobotCommand> robots, Chunk chunk, int from, int to) {
+            this.workspace = workspace;
+            this.robots = robots;
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunk.speculate(workspace, robots.get(from), from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Speculate(workspace, robots, chunk, from, middle), new Speculate(workspace, robots, chunk, middle, to));
+        }
+    }
+}
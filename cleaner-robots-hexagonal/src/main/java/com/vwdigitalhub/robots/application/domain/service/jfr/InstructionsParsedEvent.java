@@ -0,0 +1,28 @@
+package com.vwdigitalhub.robots.application.domain.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One instruction line parsed by {@code InstructionParser}. Only lines slower than the threshold are recorded. */
+@Name("com.vwdigitalhub.robots.InstructionsParsed")
+@Label("Instructions Parsed")
+@Category({"Cleaner Robots", "Parsing"})
+@Description("An instruction line turned into an InstructionProgram")
+@Threshold("20 us")
+@StackTrace(false)
+public final class InstructionsParsedEvent extends jdk.jfr.Event {
+    @Label("Characters")
+    public int characters;
+
+    @Label("Instructions")
+    @Description("Number of instructions once every repeat block is expanded")
+    public long instructions;
+
+    @Label("Literal")
+    @Description("Whether the line has no repeat blocks")
+    public boolean literal;
+}
@@ -0,0 +1,28 @@
+package com.vwdigitalhub.robots.application.domain.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A whole mission read by the console adapter before its first robot runs. */
+@Name("com.vwdigitalhub.robots.MissionParsed")
+@Label("Mission Parsed")
+@Category({"Cleaner Robots", "Parsing"})
+@Description("A workspace line and every robot after it read and parsed")
+@StackTrace(false)
+public final class MissionParsedEvent extends jdk.jfr.Event {
+    @Label("Max X")
+    public int maxX;
+
+    @Label("Max Y")
+    public int maxY;
+
+    @Label("Robots")
+    public int robots;
+
+    @Label("Instructions")
+    @Description("Instructions of every robot once repeat blocks are expanded")
+    public long instructions;
+}
@@ -0,0 +1,44 @@
+package com.vwdigitalhub.robots.application.domain.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One robot run to its final position. Only robots slower than the threshold are recorded. */
+@Name("com.vwdigitalhub.robots.RobotExecuted")
+@Label("Robot Executed")
+@Category({"Cleaner Robots", "Execution"})
+@Description("A robot ran its instructions and parked")
+@Threshold("100 us")
+@StackTrace(false)
+public final class RobotExecutedEvent extends jdk.jfr.Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Max X")
+    public int maxX;
+
+    @Label("Max Y")
+    public int maxY;
+
+    @Label("Instructions")
+    public long instructions;
+
+    @Label("Start X")
+    public int startX;
+
+    @Label("Start Y")
+    public int startY;
+
+    @Label("Final X")
+    public int finalX;
+
+    @Label("Final Y")
+    public int finalY;
+
+    @Label("Final Direction")
+    public String finalDirection;
+}
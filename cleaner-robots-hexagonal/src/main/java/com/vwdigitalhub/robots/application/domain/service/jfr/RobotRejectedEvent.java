@@ -0,0 +1,40 @@
+package com.vwdigitalhub.robots.application.domain.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One robot rejected, for example for leaving the workspace or running into a parked robot. */
+@Name("com.vwdigitalhub.robots.RobotRejected")
+@Label("Robot Rejected")
+@Category({"Cleaner Robots", "Execution"})
+@Description("A robot was stopped by a domain rule and parked nowhere")
+@StackTrace(false)
+public final class RobotRejectedEvent extends jdk.jfr.Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Max X")
+    public int maxX;
+
+    @Label("Max Y")
+    public int maxY;
+
+    @Label("Instructions")
+    public long instructions;
+
+    @Label("Start X")
+    public int startX;
+
+    @Label("Start Y")
+    public int startY;
+
+    @Label("Reason")
+    @Description("Simple name of the domain exception")
+    public String reason;
+
+    @Label("Message")
+    public String message;
+}
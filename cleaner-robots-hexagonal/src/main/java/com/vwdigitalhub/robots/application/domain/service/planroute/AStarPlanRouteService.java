@@ -0,0 +1,206 @@
+package com.vwdigitalhub.robots.application.domain.service.planroute;
+
+import com.vwdigitalhub.robots.application.domain.exception.RouteNotFoundException;
+import com.vwdigitalhub.robots.application.domain.exception.RouteSearchLimitException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.PlanRouteUseCase;
+
+/**
+ * A* search over (x, y, direction) states, where each of L, R and M costs one instruction. The
+ * estimate of what is left is the Manhattan distance to the target plus the fewest turns needed
+ * to face every way that distance has to be covered in, raised with the workspace segment
+ * queries when the straight line or the one-turn route to the target is blocked by a parked
+ * robot. It never overestimates and never drops by more than the instruction taken, so each
+ * state is settled the first time it leaves the queue. Among states of equal estimate the one
+ * furthest along comes out first, which keeps the search on the straight runs of an open floor
+ * instead of widening over every route of the same length.
+ * <p>
+ * States are packed into longs, kept in a {@link StateTable} and a {@link StateQueue}, so only
+ * the states the search reaches take memory. That is a few thousand for a route of some hundred
+ * cells on a floor of scattered robots, but every state that could still lead to a shorter route
+ * for one crossing a whole crowded floor, so a search reaching more than {@code maxStates} states,
+ * about 100 bytes each, gives up with a {@link RouteSearchLimitException}. A target or start with
+ * no free neighbour is rejected at once. Once the search grows large, the free cells around the
+ * target are flooded once, up to {@value #POCKET_LIMIT} of them, so a target enclosed with a few
+ * free cells is rejected without settling every state reachable from the start.
+ */
+public class AStarPlanRouteService implements PlanRouteUseCase {
+    /** About 400 MB of search state, given up on within seconds. */
+    public static final int DEFAULT_MAX_STATES = 1 << 22;
+
+    // Estimated totals stay below 2^33, leaving 30 bits to break ties
+    private static final int TIE_MASK = (1 << 30) - 1;
+    private static final int POCKET_LIMIT = 1 << 16;
+    private static final int POCKET_CHECK = 4 * POCKET_LIMIT;
+
+    private final int maxStates;
+
+    public AStarPlanRouteService() {
+        this(DEFAULT_MAX_STATES);
+    }
+
+    public AStarPlanRouteService(int maxStates) {
+        if (maxStates < 1) throw new IllegalArgumentException("maxStates must be positive: " + maxStates);
+        this.maxStates = maxStates;
+    }
+
+    @Override
+    public InstructionProgram plan(PlanRouteCommand command) {
+        Workspace workspace = command.workspace();
+        Position start = command.start();
+        Position target = command.target();
+        workspace.ensureValidPosition(start);
+        workspace.ensureValidPosition(target);
+        if (start.equals(target)) return InstructionProgram.builder().build();
+        if (isWalledIn(workspace, target.x(), target.y()) || isWalledIn(workspace, start.x(), start.y())) {
+            throw new RouteNotFoundException(target);
+        }
+        StateTable table = new StateTable();
+        StateQueue queue = new StateQueue();
+        long first = state(start.x(), start.y(), command.direction().ordinal());
+        table.put(first, 0, InstructionProgram.MOVE_FORWARD);
+        queue.push(priority(0, estimate(workspace, start.x(), start.y(), command.direction().ordinal(), target)), first);
+        boolean pocketChecked = false;
+        while (!queue.isEmpty()) {
+            if (table.size() > maxStates) throw new RouteSearchLimitException(target, maxStates);
+            if (!pocketChecked && table.size() > POCKET_CHECK) {
+                pocketChecked = true;
+                if (isEnclosed(workspace, target, start)) throw new RouteNotFoundException(target);
+            }
+            long state = queue.pop();
+            int slot = table.find(state);
+            if (table.settled(slot)) continue;
+            table.settle(slot);
+            int d = (int) (state & 3);
+            int x = (int) (state >>> 33);
+            int y = (int) (state >>> 2) & Integer.MAX_VALUE;
+            if (x == target.x() && y == target.y()) return route(table, state, first);
+            int cost = table.cost(slot) + 1;
+            reach(workspace, table, queue, cost, InstructionProgram.TURN_LEFT, x, y, (d + 3) & 3, target);
+            reach(workspace, table, queue, cost, InstructionProgram.TURN_RIGHT, x, y, (d + 1) & 3, target);
+            int nx = x + Direction.dx(d);
+            int ny = y + Direction.dy(d);
+            if (workspace.isInside(nx, ny) && !workspace.isOccupied(nx, ny)) {
+                reach(workspace, table, queue, cost, InstructionProgram.MOVE_FORWARD, nx, ny, d, target);
+            }
+        }
+        throw new RouteNotFoundException(target);
+    }
+
+    private static void reach(Workspace workspace, StateTable table, StateQueue queue, int cost, int code, int x, int y, int d, Position target) {
+        long state = state(x, y, d);
+        int slot = table.find(state);
+        if (slot != StateTable.NONE && table.cost(slot) <= cost) return;
+        table.put(state, cost, code);
+        queue.push(priority(cost, estimate(workspace, x, y, d, target)), state);
+    }
+
+    /** Follows the instructions recorded for each state back from {@code last} to {@code first}. */
+    private static InstructionProgram route(StateTable table, long last, long first) {
+        int[] codes = new int[table.cost(table.find(last))];
+        long state = last;
+        for (int i = codes.length; state != first; ) {
+            int code = table.code(table.find(state));
+            codes[--i] = code;
+            int d = (int) (state & 3);
+            state = switch (code) {
+                case InstructionProgram.TURN_LEFT -> (state & ~3L) | ((d + 1) & 3);
+                case InstructionProgram.TURN_RIGHT -> (state & ~3L) | ((d + 3) & 3);
+                default -> state((int) (state >>> 33) - Direction.dx(d), ((int) (state >>> 2) & Integer.MAX_VALUE) - Direction.dy(d), d);
+            };
+        }
+        InstructionProgram.Builder builder = InstructionProgram.builder(codes.length);
+        for (int code : codes) {
+            builder.addCode(code);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Instructions still needed at least: the distance left plus the turns to face along it, or,
+     * when the only routes with that few turns are blocked, the fewest a detour takes.
+     */
+    private static long estimate(Workspace workspace, int x, int y, int d, Position target) {
+        long dx = (long) target.x() - x;
+        long dy = (long) target.y() - y;
+        int ways = (dy > 0 ? 1 : 0) | (dx > 0 ? 1 << 1 : 0) | (dy < 0 ? 1 << 2 : 0) | (dx < 0 ? 1 << 3 : 0);
+        long distance = Math.abs(dx) + Math.abs(dy);
+        if (ways == 0) return 0;
+        boolean facing = (ways & (1 << d)) != 0;
+        if (Integer.bitCount(ways) == 1) {
+            int turns = facing ? 0 : (ways & (1 << ((d + 2) & 3))) != 0 ? 2 : 1;
+            boolean clear = dx == 0 ? clearColumn(workspace, x, y, target.y()) : clearRow(workspace, y, x, target.x());
+            // Off the line and back takes two moves and at least two turns
+            return clear ? distance + turns : distance + 2 + Math.max(turns, 2);
+        }
+        if (!facing) return distance + 2;
+        // The only one-turn route goes straight ahead to the corner, then turns to the target
+        boolean clear = (d & 1) == 0
+                ? clearColumn(workspace, x, y, target.y()) && clearRow(workspace, target.y(), x, target.x())
+                : clearRow(workspace, y, x, target.x()) && clearColumn(workspace, target.x(), y, target.y());
+        return distance + (clear ? 1 : 2);
+    }
+
+    /**
+     * No robot parks on column {@code x} after {@code fromY} up to {@code toY}. A concurrent
+     * workspace would probe cell by cell, so its lines are taken as clear.
+     */
+    private static boolean clearColumn(Workspace workspace, int x, int fromY, int toY) {
+        if (fromY == toY || workspace.isConcurrent()) return true;
+        return workspace.firstOccupiedOnColumn(x, fromY < toY ? fromY + 1 : fromY - 1, toY) == Workspace.NONE;
+    }
+
+    /** No robot parks on row {@code y} after {@code fromX} up to {@code toX}. */
+    private static boolean clearRow(Workspace workspace, int y, int fromX, int toX) {
+        if (fromX == toX || workspace.isConcurrent()) return true;
+        return workspace.firstOccupiedOnRow(y, fromX < toX ? fromX + 1 : fromX - 1, toX) == Workspace.NONE;
+    }
+
+    /** Lower estimated total first, then more instructions already taken, up to 2^30 of them. */
+    private static long priority(int cost, long estimate) {
+        return ((cost + estimate) << 30) | (TIE_MASK - Math.min(cost, TIE_MASK));
+    }
+
+    /** x in the top 31 bits, then y in 31 bits, then the direction ordinal. */
+    private static long state(int x, int y, int d) {
+        return ((long) x << 33) | ((long) y << 2) | d;
+    }
+
+    /** Whether at most {@value #POCKET_LIMIT} free cells connect to {@code target}, {@code start} not among them. */
+    private static boolean isEnclosed(Workspace workspace, Position target, Position start) {
+        StateTable seen = new StateTable();
+        long[] pending = new long[POCKET_LIMIT];
+        int size = 0;
+        pending[size++] = state(target.x(), target.y(), 0);
+        seen.put(pending[0], 0, 0);
+        while (size > 0) {
+            long cell = pending[--size];
+            int x = (int) (cell >>> 33);
+            int y = (int) (cell >>> 2) & Integer.MAX_VALUE;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + Direction.dx(d);
+                int ny = y + Direction.dy(d);
+                if (!workspace.isInside(nx, ny) || workspace.isOccupied(nx, ny)) continue;
+                if (nx == start.x() && ny == start.y()) return false;
+                long next = state(nx, ny, 0);
+                if (seen.find(next) != StateTable.NONE) continue;
+                if (seen.size() == POCKET_LIMIT) return false;
+                seen.put(next, 0, 0);
+                pending[size++] = next;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWalledIn(Workspace workspace, int x, int y) {
+        for (int d = 0; d < 4; d++) {
+            int nx = x + Direction.dx(d);
+            int ny = y + Direction.dy(d);
+            if (workspace.isInside(nx, ny) && !workspace.isOccupied(nx, ny)) return false;
+        }
+        return true;
+    }
+}
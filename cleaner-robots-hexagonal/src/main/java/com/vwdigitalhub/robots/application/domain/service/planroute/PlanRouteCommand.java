@@ -0,0 +1,7 @@
+package com.vwdigitalhub.robots.application.domain.service.planroute;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+
+public record PlanRouteCommand(Workspace workspace, Position start, Direction direction, Position target) {}
@@ -0,0 +1,53 @@
+package com.vwdigitalhub.robots.application.domain.service.planroute;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of search states by priority, held in two parallel {@code long} arrays rather
+ * than node objects. A state may be pushed again with a better priority; the search skips the
+ * stale copies when they come out.
+ */
+final class StateQueue {
+    private long[] priorities = new long[1 << 10];
+    private long[] states = new long[1 << 10];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(long priority, long state) {
+        if (size == priorities.length) {
+            priorities = Arrays.copyOf(priorities, size << 1);
+            states = Arrays.copyOf(states, size << 1);
+        }
+        int at = size++;
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (priorities[parent] <= priority) break;
+            priorities[at] = priorities[parent];
+            states[at] = states[parent];
+            at = parent;
+        }
+        priorities[at] = priority;
+        states[at] = state;
+    }
+
+    /** Removes the state of lowest priority and returns it. */
+    long pop() {
+        long top = states[0];
+        long priority = priorities[--size];
+        long state = states[size];
+        int at = 0;
+        for (int child = 1; child < size; child = 2 * at + 1) {
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) child++;
+            if (priority <= priorities[child]) break;
+            priorities[at] = priorities[child];
+            states[at] = states[child];
+            at = child;
+        }
+        priorities[at] = priority;
+        states[at] = state;
+        return top;
+    }
+}
@@ -0,0 +1,102 @@
+package com.vwdigitalhub.robots.application.domain.service.planroute;
+
+/**
+ * Growing open-addressing map from a search state to the fewest instructions found
+ * so far to reach it, the instruction code that got there and whether the state is settled, in
+ * parallel primitive arrays with linear probing and Fibonacci hashing. Only states the search
+ * reaches take room, so a route across a huge floor costs what the search explores.
+ */
+final class StateTable {
+    static final int NONE = -1;
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final byte SETTLED = 1 << 2;
+
+    private long[] keys;
+    // Cost + 1, so 0 marks a free slot and every long is a valid state
+    private int[] costs;
+    // Instruction code in the low two bits, SETTLED above them
+    private byte[] flags;
+    private int mask;
+    private int shift;
+    private int size;
+
+    StateTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /** Slot holding {@code state}, or {@link #NONE}. */
+    int find(long state) {
+        for (int slot = slot(state); ; slot = (slot + 1) & mask) {
+            if (costs[slot] == 0) return NONE;
+            if (keys[slot] == state) return slot;
+        }
+    }
+
+    /** Records that {@code state} is reached in {@code cost} instructions, the last being {@code code}. */
+    void put(long state, int cost, int code) {
+        int slot = find(state);
+        if (slot == NONE) {
+            if (++size > (mask + 1) >>> 1) grow();
+            slot = insert(state);
+        }
+        costs[slot] = cost + 1;
+        flags[slot] = (byte) code;
+    }
+
+    int cost(int slot) {
+        return costs[slot] - 1;
+    }
+
+    int code(int slot) {
+        return flags[slot] & 3;
+    }
+
+    boolean settled(int slot) {
+        return (flags[slot] & SETTLED) != 0;
+    }
+
+    void settle(int slot) {
+        flags[slot] |= SETTLED;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int insert(long state) {
+        int slot = slot(state);
+        while (costs[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = state;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCosts = costs;
+        byte[] oldFlags = flags;
+        allocate(oldKeys.length << 1);
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldCosts[old] != 0) {
+                int slot = insert(oldKeys[old]);
+                costs[slot] = oldCosts[old];
+                flags[slot] = oldFlags[old];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        costs = new int[capacity];
+        flags = new byte[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long state) {
+        return (int) ((state * GOLDEN) >>> shift);
+    }
+}
@@ -0,0 +1,126 @@
+package com.vwdigitalhub.robots.application.domain.service.simulatefleet;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed capacity open-addressing map from a cell to a robot, written by many threads at once.
+ * Keys are claimed by compare-and-set, so concurrent inserts of distinct cells never lose one.
+ * Removed keys leave tombstones that later inserts reuse; {@link #clear} empties the table.
+ * <p>
+ * Inserts, removals and lookups must not run concurrently with each other: the simulation
+ * separates them into phases.
+ */
+final class CellTable {
+    static final int NONE = -1;
+    /** Value of a cell {@link #claim claimed} by more than one robot. */
+    static final int CONTESTED = -2;
+
+    private static final long EMPTY = -1L;
+    private static final long TOMBSTONE = -2L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray values;
+    private final int mask;
+    private final int shift;
+
+    /** Table for up to {@code entries} cells, at most a quarter full. */
+    CellTable(int entries) {
+        int capacity = Integer.highestOneBit(Math.max(16, 4 * entries) - 1) << 1;
+        keys = new AtomicLongArray(capacity);
+        values = new AtomicIntegerArray(capacity);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        clear();
+    }
+
+    static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            if (current == key) return values.get(slot);
+            if (current == EMPTY) return NONE;
+        }
+    }
+
+    /**
+     * Records that {@code robot} wants {@code key}; a key claimed twice becomes {@link #CONTESTED}.
+     * Returns the slot, whose value is {@code robot} once every claim is in only if no other robot
+     * claimed the key.
+     */
+    int claim(long key, int robot) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            if (current == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, key)) {
+                    values.compareAndSet(slot, NONE, robot);
+                    return slot;
+                }
+                current = keys.get(slot);
+            }
+            if (current == key) {
+                values.set(slot, CONTESTED);
+                return slot;
+            }
+        }
+    }
+
+    int valueAt(int slot) {
+        return values.get(slot);
+    }
+
+    /** Empties a slot returned by {@link #claim}; every claimed slot must be released in the same phase. */
+    void release(int slot) {
+        values.set(slot, NONE);
+        keys.set(slot, EMPTY);
+    }
+
+    /** Inserts a key known to be absent; returns whether it took the place of a tombstone. */
+    boolean insert(long key, int robot) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            while (current == EMPTY || current == TOMBSTONE) {
+                if (keys.compareAndSet(slot, current, key)) {
+                    values.set(slot, robot);
+                    return current == TOMBSTONE;
+                }
+                current = keys.get(slot);
+            }
+        }
+    }
+
+    void remove(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            if (current == key) {
+                keys.set(slot, TOMBSTONE);
+                return;
+            }
+            if (current == EMPTY) return;
+        }
+    }
+
+    void clear() {
+        clear(0, capacity());
+    }
+
+    /** Empties slots [from, to); lets a large table be cleared in parallel ranges. */
+    void clear(int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            keys.set(slot, EMPTY);
+            values.set(slot, NONE);
+        }
+    }
+
+    private int slot(long key) {
+        return (int) ((key * GOLDEN) >>> shift);
+    }
+}
@@ -0,0 +1,34 @@
+package com.vwdigitalhub.robots.application.domain.service.simulatefleet;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+
+/**
+ * Where a robot of a fleet ended and why. {@code executed} is the number of instructions it
+ * applied; a halted robot stays on the cell it was on before its rejected move.
+ */
+public record FleetRobotOutcome(Position finalPosition, Direction finalDirection, Status status, long executed) {
+
+    public enum Status {
+        /** Every instruction was applied. */
+        COMPLETED,
+        /** The next move would leave the workspace. */
+        OUT_OF_BOUNDS,
+        /** The next move was into a parked cell, a robot that stayed put or a robot that was itself halted. */
+        BLOCKED,
+        /** Another robot moved into the same cell on the same tick. */
+        COLLISION,
+        /** The robot ahead moved into this robot's cell on the same tick. */
+        SWAP
+    }
+
+    public boolean completed() {
+        return status == Status.COMPLETED;
+    }
+
+    @Override
+    public String toString() {
+        String position = finalPosition.x() + " " + finalPosition.y() + " " + finalDirection.name();
+        return completed() ? position : position + " " + status + " after " + executed + " instructions";
+    }
+}
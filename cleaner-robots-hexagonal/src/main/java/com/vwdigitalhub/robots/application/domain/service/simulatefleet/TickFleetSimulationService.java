@@ -0,0 +1,354 @@
+package com.vwdigitalhub.robots.application.domain.service.simulatefleet;
+
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.port.in.SimulateFleetUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.FleetRobotOutcome.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Advances a fleet in lock-step ticks: on tick {@code t} every running robot applies instruction
+ * {@code t} of its program. Turns always succeed. A move is rejected, and the robot halted where
+ * it stands, when it would leave the workspace or enter a parked cell ({@code OUT_OF_BOUNDS},
+ * {@code BLOCKED}), when another robot moves into the same cell ({@code COLLISION}), when the robot
+ * ahead moves into this robot's cell ({@code SWAP}), or when the robot ahead does not leave its
+ * cell on that tick ({@code BLOCKED}). Robots may follow each other in a line or a loop of three
+ * or more. Finished and halted robots stay on the floor and block the others; once every robot
+ * has stopped, their cells are occupied in the workspace.
+ * <p>
+ * Robot positions live in a {@link CellTable} hashed by cell. Each tick runs as four phases over
+ * the running robots, each split across the pool once the fleet is large enough: plan the
+ * instruction and claim the target cell, resolve which moves go through by following each move
+ * to the robot it runs into, vacate the cells of the robots that move, then enter their targets.
+ * Only the robots that move touch the position table, which is rebuilt when removed entries
+ * pile up.
+ */
+public class TickFleetSimulationService implements SimulateFleetUseCase {
+    static final int PARALLEL_THRESHOLD = 4096;
+    static final int GRAIN = 1024;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final byte UNKNOWN = 0;
+    private static final byte MOVES = 1;
+    private static final byte STAYS = 2;
+
+    private final ForkJoinPool pool;
+
+    public TickFleetSimulationService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TickFleetSimulationService(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public List<FleetRobotOutcome> simulate(List<ControlRobotCommand> robots) {
+        if (robots.isEmpty()) return List.of();
+        Workspace workspace = robots.get(0).workspace();
+        for (ControlRobotCommand robot : robots) {
+            if (robot.workspace() != workspace) {
+                throw new IllegalArgumentException("All robots of a fleet must share one workspace");
+            }
+        }
+        Fleet fleet = new Fleet(workspace, robots);
+        fleet.run();
+        return fleet.park();
+    }
+
+    private void forEach(Phase phase, int count) {
+        if (count < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            phase.run(0, count);
+        } else {
+            pool.invoke(new RangeTask(phase, 0, count));
+        }
+    }
+
+    /** The state of one simulation, as parallel arrays indexed by robot. */
+    private final class Fleet {
+        private final Workspace workspace;
+        private final int size;
+        private final InstructionProgram[] programs;
+        private final long[] lengths;
+        private final int[] x;
+        private final int[] y;
+        private final int[] d;
+        private final Status[] status;
+        private final long[] executed;
+
+        private final boolean[] mover;
+        private final int[] targetX;
+        private final int[] targetY;
+        private final int[] claimSlot;
+        private final byte[] verdict;
+
+        private final int[] active;
+        private int activeCount;
+        private long tick;
+
+        private final CellTable claims;
+        private CellTable positions;
+        private int tombstones;
+        private final AtomicInteger stopped = new AtomicInteger();
+        private final AtomicInteger moved = new AtomicInteger();
+        private final AtomicInteger reused = new AtomicInteger();
+
+        private final Phase plan = this::plan;
+        private final Phase resolve = this::resolve;
+        private final Phase vacate = this::vacate;
+        private final Phase arrive = this::arrive;
+
+        Fleet(Workspace workspace, List<ControlRobotCommand> robots) {
+            this.workspace = workspace;
+            size = robots.size();
+            programs = new InstructionProgram[size];
+            lengths = new long[size];
+            x = new int[size];
+            y = new int[size];
+            d = new int[size];
+            status = new Status[size];
+            executed = new long[size];
+            mover = new boolean[size];
+            targetX = new int[size];
+            targetY = new int[size];
+            claimSlot = new int[size];
+            verdict = new byte[size];
+            active = new int[size];
+            claims = new CellTable(size);
+            positions = new CellTable(size);
+            for (int i = 0; i < size; i++) {
+                ControlRobotCommand robot = robots.get(i);
+                Position start = robot.start();
+                workspace.ensureValidPosition(start);
+                long cell = CellTable.key(start.x(), start.y());
+                if (positions.get(cell) != CellTable.NONE) throw new PositionOccupiedException(start);
+                positions.insert(cell, i);
+                programs[i] = robot.instructions();
+                lengths[i] = programs[i].length();
+                x[i] = start.x();
+                y[i] = start.y();
+                d[i] = robot.direction().ordinal();
+                if (lengths[i] == 0) {
+                    status[i] = Status.COMPLETED;
+                } else {
+                    active[activeCount++] = i;
+                }
+            }
+        }
+
+        void run() {
+            while (activeCount > 0) {
+                stopped.set(0);
+                moved.set(0);
+                reused.set(0);
+                forEach(plan, activeCount);
+                forEach(resolve, activeCount);
+                forEach(vacate, activeCount);
+                forEach(arrive, activeCount);
+                tombstones += moved.get() - reused.get();
+                if (size + tombstones > positions.capacity() >>> 1) rebuildPositions();
+                if (stopped.get() > 0) compact();
+                tick++;
+            }
+        }
+
+        List<FleetRobotOutcome> park() {
+            List<FleetRobotOutcome> outcomes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Position position = new Position(x[i], y[i]);
+                long steps = status[i] == Status.COMPLETED ? lengths[i] : executed[i];
+                outcomes.add(new FleetRobotOutcome(position, DIRECTIONS[d[i]], status[i], steps));
+            }
+            outcomes.forEach(outcome -> workspace.occupy(outcome.finalPosition()));
+            return outcomes;
+        }
+
+        /** Applies turns, halts moves that leave the workspace or hit a parked cell, and claims the other targets. */
+        private void plan(int from, int to) {
+            int halted = 0;
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                InstructionProgram program = programs[i];
+                int code = program.isLiteral() ? program.codeAt((int) tick) : program.codeAtExpanded(tick);
+                switch (code) {
+                    case InstructionProgram.TURN_LEFT -> d[i] = (d[i] + 3) & 3;
+                    case InstructionProgram.TURN_RIGHT -> d[i] = (d[i] + 1) & 3;
+                    default -> {
+                        int nx = x[i] + Direction.dx(d[i]);
+                        int ny = y[i] + Direction.dy(d[i]);
+                        if (!workspace.isInside(nx, ny)) {
+                            halt(i, Status.OUT_OF_BOUNDS);
+                            halted++;
+                        } else if (workspace.isOccupied(nx, ny)) {
+                            halt(i, Status.BLOCKED);
+                            halted++;
+                        } else {
+                            mover[i] = true;
+                            targetX[i] = nx;
+                            targetY[i] = ny;
+                            verdict[i] = UNKNOWN;
+                            claimSlot[i] = claims.claim(CellTable.key(nx, ny), i);
+                        }
+                    }
+                }
+            }
+            if (halted > 0) stopped.addAndGet(halted);
+        }
+
+        private void resolve(int from, int to) {
+            int halted = 0;
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                if (mover[i] && !moves(i)) {
+                    halt(i, rejection(i));
+                    halted++;
+                }
+            }
+            if (halted > 0) stopped.addAndGet(halted);
+        }
+
+        private void vacate(int from, int to) {
+            int count = 0;
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                if (mover[i] && verdict[i] == MOVES) {
+                    positions.remove(CellTable.key(x[i], y[i]));
+                    count++;
+                }
+            }
+            if (count > 0) moved.addAndGet(count);
+        }
+
+        private void arrive(int from, int to) {
+            int tombstonesTaken = 0;
+            int completed = 0;
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                if (mover[i]) {
+                    claims.release(claimSlot[i]);
+                    if (verdict[i] == MOVES) {
+                        if (positions.insert(CellTable.key(targetX[i], targetY[i]), i)) tombstonesTaken++;
+                        x[i] = targetX[i];
+                        y[i] = targetY[i];
+                    }
+                    mover[i] = false;
+                }
+                if (status[i] == null && tick + 1 == lengths[i]) {
+                    status[i] = Status.COMPLETED;
+                    completed++;
+                }
+            }
+            if (tombstonesTaken > 0) reused.addAndGet(tombstonesTaken);
+            if (completed > 0) stopped.addAndGet(completed);
+        }
+
+        /**
+         * Whether the move of robot {@code i} goes through. Follows the robots standing on each
+         * target: every robot on the way has its target to itself, so the walk ends on a free cell,
+         * on a robot that stays, or back at {@code i} after a loop. Every robot walked shares the
+         * result, which is memoized; threads racing on the same line only repeat work.
+         */
+        private boolean moves(int i) {
+            if (verdict[i] != UNKNOWN) return verdict[i] == MOVES;
+            byte result;
+            int last = i;
+            while (true) {
+                if (claims.valueAt(claimSlot[last]) != last) {
+                    result = STAYS;
+                    break;
+                }
+                int ahead = positions.get(CellTable.key(targetX[last], targetY[last]));
+                if (ahead == CellTable.NONE || ahead == i) {
+                    result = MOVES;
+                    break;
+                }
+                if (!mover[ahead] || swaps(last, ahead)) {
+                    result = STAYS;
+                    break;
+                }
+                if (verdict[ahead] != UNKNOWN) {
+                    result = verdict[ahead];
+                    break;
+                }
+                last = ahead;
+            }
+            for (int robot = i; ; robot = positions.get(CellTable.key(targetX[robot], targetY[robot]))) {
+                verdict[robot] = result;
+                if (robot == last) break;
+            }
+            return result == MOVES;
+        }
+
+        /** Whether the moving robot {@code ahead} heads into the cell of robot {@code behind}. */
+        private boolean swaps(int behind, int ahead) {
+            return mover[ahead] && targetX[ahead] == x[behind] && targetY[ahead] == y[behind];
+        }
+
+        private Status rejection(int i) {
+            if (claims.valueAt(claimSlot[i]) != i) return Status.COLLISION;
+            int ahead = positions.get(CellTable.key(targetX[i], targetY[i]));
+            return ahead != CellTable.NONE && swaps(i, ahead) ? Status.SWAP : Status.BLOCKED;
+        }
+
+        private void halt(int i, Status reason) {
+            status[i] = reason;
+            executed[i] = tick;
+        }
+
+        private void compact() {
+            int kept = 0;
+            for (int k = 0; k < activeCount; k++) {
+                int i = active[k];
+                if (status[i] == null) active[kept++] = i;
+            }
+            activeCount = kept;
+        }
+
+        private void rebuildPositions() {
+            CellTable table = positions;
+            forEach(table::clear, table.capacity());
+            forEach((from, to) -> {
+                for (int i = from; i < to; i++) table.insert(CellTable.key(x[i], y[i]), i);
+            }, size);
+            tombstones = 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        void run(int from, int to);
+    }
+
+    /** Runs a phase over [from, to), splitting down to {@value #GRAIN} items per task. */
+    private static final class RangeTask extends RecursiveAction {
+        private final Phase phase;
+        private final int from;
+        private final int to;
+
+        RangeTask(Phase phase, int from, int to) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                phase.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(phase, from, middle), new RangeTask(phase, middle, to));
+        }
+    }
+}
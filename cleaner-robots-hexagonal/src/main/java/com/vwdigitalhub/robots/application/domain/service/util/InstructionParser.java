@@ -1,29 +1,136 @@
 package com.vwdigitalhub.robots.application.domain.service.util;
 
-import com.vwdigitalhub.robots.application.domain.model.instructions.MoveForward;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
 import com.vwdigitalhub.robots.application.domain.model.instructions.RobotInstruction;
-import com.vwdigitalhub.robots.application.domain.model.instructions.TurnLeft;
-import com.vwdigitalhub.robots.application.domain.model.instructions.TurnRight;
+import com.vwdigitalhub.robots.application.domain.service.jfr.InstructionsParsedEvent;
 
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
+/**
+ * Parses instruction lines: {@code L}, {@code R} and {@code M} in any case, plus repeat blocks
+ * {@code (<instructions>)*<count>}, which may be nested. A repeat block is kept as a block, never
+ * expanded, so {@code (MMRMML)*1000000} costs as much to parse and store as its text.
+ */
 public final class InstructionParser {
     private InstructionParser() {}
 
-    private static RobotInstruction from(char ch) {
+    public static RobotInstruction from(char ch) {
+        return InstructionProgram.instruction(code(ch));
+    }
+
+    public static int code(char ch) {
         return switch (Character.toUpperCase(ch)) {
-            case 'L' -> TurnLeft.INSTANCE;
-            case 'R' -> TurnRight.INSTANCE;
-            case 'M' -> MoveForward.INSTANCE;
+            case 'L' -> InstructionProgram.TURN_LEFT;
+            case 'R' -> InstructionProgram.TURN_RIGHT;
+            case 'M' -> InstructionProgram.MOVE_FORWARD;
             default  -> throw new IllegalArgumentException("Unknown instruction: " + ch);
         };
     }
 
-    public static List<RobotInstruction> from(String raw) {
-        if (raw == null) return List.of();
-        return raw.trim()
-            .chars()
-            .mapToObj(c -> from((char) c))
-            .toList();
+    public static InstructionProgram from(String raw) {
+        if (raw == null) return InstructionProgram.empty();
+        InstructionsParsedEvent event = new InstructionsParsedEvent();
+        event.begin();
+        int start = 0;
+        int end = raw.length();
+        while (start < end && raw.charAt(start) <= ' ') start++;
+        while (end > start && raw.charAt(end - 1) <= ' ') end--;
+        Reader reader = reader(end - start);
+        for (int i = start; i < end; i++) {
+            reader.accept(raw.charAt(i));
+        }
+        InstructionProgram program = reader.finish();
+        if (event.shouldCommit()) {
+            event.characters = end - start;
+            event.instructions = program.length();
+            event.literal = program.isLiteral();
+            event.commit();
+        }
+        return program;
+    }
+
+    /** Parser fed one character at a time, for adapters that do not hold the line as a {@code String}. */
+    public static Reader reader(int expectedSize) {
+        return new Reader(expectedSize);
+    }
+
+    public static final class Reader {
+        private static final int BODY = 0;
+        private static final int STAR = 1;
+        private static final int FIRST_DIGIT = 2;
+        private static final int DIGITS = 3;
+
+        private final Deque<InstructionProgram.Builder> enclosing = new ArrayDeque<>();
+        private InstructionProgram.Builder current;
+        private InstructionProgram body;
+        private long count;
+        private int state = BODY;
+
+        private Reader(int expectedSize) {
+            this.current = InstructionProgram.builder(expectedSize);
+        }
+
+        public void accept(char ch) {
+            switch (state) {
+                case STAR -> {
+                    if (ch != '*') throw missingCount();
+                    state = FIRST_DIGIT;
+                }
+                case FIRST_DIGIT -> {
+                    if (ch < '0' || ch > '9') throw missingCount();
+                    count = ch - '0';
+                    state = DIGITS;
+                }
+                case DIGITS -> {
+                    if (ch >= '0' && ch <= '9') {
+                        if (count > (Long.MAX_VALUE - (ch - '0')) / 10) {
+                            throw new IllegalArgumentException("Repeat count too large");
+                        }
+                        count = count * 10 + (ch - '0');
+                    } else {
+                        closeRepeat();
+                        acceptInBody(ch);
+                    }
+                }
+                default -> acceptInBody(ch);
+            }
+        }
+
+        public InstructionProgram finish() {
+            if (state == DIGITS) closeRepeat();
+            else if (state != BODY) throw missingCount();
+            if (!enclosing.isEmpty()) throw unbalanced();
+            return current.build();
+        }
+
+        private void acceptInBody(char ch) {
+            if (ch == '(') {
+                enclosing.push(current);
+                current = InstructionProgram.builder();
+            } else if (ch == ')') {
+                if (enclosing.isEmpty()) throw unbalanced();
+                body = current.build();
+                current = enclosing.pop();
+                state = STAR;
+            } else {
+                current.addCode(code(ch));
+            }
+        }
+
+        private void closeRepeat() {
+            if (count == 0) throw new IllegalArgumentException("Repeat count must be positive");
+            current.addRepeat(body, count);
+            body = null;
+            state = BODY;
+        }
+
+        private static IllegalArgumentException missingCount() {
+            return new IllegalArgumentException("Repeat block must be followed by '*<count>'");
+        }
+
+        private static IllegalArgumentException unbalanced() {
+            return new IllegalArgumentException("Unbalanced parentheses in instructions");
+        }
     }
 }
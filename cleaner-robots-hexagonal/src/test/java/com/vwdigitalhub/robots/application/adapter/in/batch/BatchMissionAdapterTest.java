@@ -0,0 +1,78 @@
+package com.vwdigitalhub.robots.application.adapter.in.batch;
+
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchMissionAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteOneOutputPerMissionAndSummarizeFailures() throws Exception {
+        // GIVEN
+        Path missions = Files.createDirectory(tempDir.resolve("missions"));
+        Files.writeString(missions.resolve("a.txt"), "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n");
+        Files.writeString(missions.resolve("b.txt"), "5 5\n1 2 N\nLMLMLMLMM\n0 0 S\nM\n");
+        Path extra = Files.writeString(tempDir.resolve("c.txt"), "9 9\n0 0 N\n(MR)*3\n");
+        Path outputDir = tempDir.resolve("out");
+        var summary = new ByteArrayOutputStream();
+        // WHEN
+        List<MissionReport> reports = new BatchMissionAdapter(new SegmentExecuteInstructionsService(), 2)
+                .run(List.of(missions, extra), outputDir, new PrintStream(summary));
+        // THEN
+        assertEquals(List.of("a.txt", "b.txt", "c.txt"), reports.stream().map(r -> r.input().getFileName().toString()).toList());
+        assertEquals(List.of(true, false, true), reports.stream().map(MissionReport::succeeded).toList());
+        assertEquals(List.of(2, 1, 1), reports.stream().map(MissionReport::robots).toList());
+        assertEquals("1 3 N\n5 1 E\n", Files.readString(outputDir.resolve("a.txt.out")));
+        assertEquals("1 3 N\n", Files.readString(outputDir.resolve("b.txt.out")));
+        assertEquals("1 0 W\n", Files.readString(outputDir.resolve("c.txt.out")));
+        assertEquals("OutOfBoundsException: Position out of bounds: Position[x=0, y=-1]", reports.get(1).failure());
+        String[] lines = summary.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("b.txt failed 1 robots "));
+        assertTrue(lines[1].endsWith(" OutOfBoundsException: Position out of bounds: Position[x=0, y=-1]"));
+        assertTrue(lines[3].startsWith("Processed 3 missions in "));
+        assertTrue(lines[3].endsWith(": 2 succeeded, 1 failed"));
+    }
+
+    @Test
+    void shouldFailOnlyTheMissionWhoseOutputCannotBeOpened() throws Exception {
+        // GIVEN
+        Path missions = Files.createDirectory(tempDir.resolve("missions"));
+        Files.writeString(missions.resolve("a.txt"), "5 5\n1 2 N\nLMLMLMLMM\n");
+        Files.writeString(missions.resolve("b.txt"), "5 5\n3 3 E\nMMRMMRMRRM\n");
+        Path outputDir = Files.createDirectory(tempDir.resolve("out"));
+        Files.createDirectory(outputDir.resolve("a.txt.out"));
+        // WHEN
+        List<MissionReport> reports = new BatchMissionAdapter(new SegmentExecuteInstructionsService(), 2)
+                .run(List.of(missions), outputDir, new PrintStream(new ByteArrayOutputStream()));
+        // THEN
+        assertEquals(List.of(false, true), reports.stream().map(MissionReport::succeeded).toList());
+        assertEquals(List.of(0, 1), reports.stream().map(MissionReport::robots).toList());
+        assertTrue(reports.get(0).failure().startsWith("FileSystemException: "));
+        assertEquals("5 1 E\n", Files.readString(outputDir.resolve("b.txt.out")));
+    }
+
+    @Test
+    void shouldRejectMissionsWithTheSameFileName() throws Exception {
+        // GIVEN
+        Path first = Files.writeString(Files.createDirectory(tempDir.resolve("first")).resolve("m.txt"), "5 5\n");
+        Path second = Files.writeString(Files.createDirectory(tempDir.resolve("second")).resolve("m.txt"), "5 5\n");
+        var adapter = new BatchMissionAdapter(new SegmentExecuteInstructionsService(), 2);
+        // WHEN
+        var ex = assertThrows(IllegalArgumentException.class,
+                () -> adapter.run(List.of(first, second), tempDir.resolve("out"), new PrintStream(new ByteArrayOutputStream())));
+        // THEN
+        assertEquals("Duplicate mission file name: m.txt", ex.getMessage());
+    }
+}
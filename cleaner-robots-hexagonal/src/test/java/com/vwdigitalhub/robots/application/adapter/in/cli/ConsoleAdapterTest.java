@@ -1,16 +1,37 @@
 package com.vwdigitalhub.robots.application.adapter.in.cli;
 
+import com.vwdigitalhub.robots.application.adapter.out.metrics.StripedRobotMetrics;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Position;
 import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.MeteredExecuteInstructionsService;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.jfr.InstructionsParsedEvent;
+import com.vwdigitalhub.robots.application.domain.service.jfr.MissionParsedEvent;
+import com.vwdigitalhub.robots.application.domain.service.executemission.ParallelExecuteMissionService;
+import com.vwdigitalhub.robots.application.domain.service.planroute.AStarPlanRouteService;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.TickFleetSimulationService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +49,279 @@ class ConsoleAdapterParameterizedTest {
         assertEquals(expectedOutput, output);
     }
 
+    @ParameterizedTest(name = "[{index}] streaming ok → {0}")
+    @MethodSource("successCases")
+    @DisplayName("Streaming mode should print the same outputs for valid inputs")
+    void shouldPrintExpectedOutputs_whenStreaming(String description, String input, String expectedOutput) throws Exception {
+        // WHEN
+        String output = runAdapterStreaming(input);
+        // THEN
+        assertEquals(expectedOutput, output);
+    }
+
+    @ParameterizedTest(name = "[{index}] pipelined ok → {0}")
+    @MethodSource("successCases")
+    @DisplayName("Pipelined mode should print the same outputs for valid inputs")
+    void shouldPrintExpectedOutputs_whenPipelined(String description, String input, String expectedOutput) throws Exception {
+        // WHEN
+        String output = runAdapterPipelined(input);
+        // THEN
+        assertEquals(expectedOutput, output);
+    }
+
+    @ParameterizedTest(name = "[{index}] parallel ok → {0}")
+    @MethodSource("successCases")
+    @DisplayName("Parallel mission mode should print the same outputs for valid inputs")
+    void shouldPrintExpectedOutputs_whenRunningMissionInParallel(String description, String input, String expectedOutput) throws Exception {
+        // GIVEN
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        var out = new ByteArrayOutputStream();
+        // WHEN
+        adapter.runMission(new ByteArrayInputStream(input.getBytes()), new PrintStream(out),
+                new ParallelExecuteMissionService(new ExecuteInstructionsService()));
+        // THEN
+        assertEquals(expectedOutput, out.toString());
+    }
+
+    @Test
+    @DisplayName("Metered runs should count parked robots, rejections and parsed instruction lines")
+    void shouldMeterRobotsAndParsing() throws Exception {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                3 3 E
+                MMRMMRMRRM
+                1 3 N
+                L
+                """;
+        StripedRobotMetrics metrics = new StripedRobotMetrics();
+        ConsoleAdapter adapter = new ConsoleAdapter(new MeteredExecuteInstructionsService(new ExecuteInstructionsService(), metrics), metrics);
+        var out = new ByteArrayOutputStream();
+        // WHEN
+        assertThrows(PositionOccupiedException.class,
+                () -> adapter.runStreaming(new ByteArrayInputStream(input.getBytes()), new PrintStream(out)));
+        // THEN
+        assertEquals("1 3 N\n5 1 E\n", out.toString());
+        assertEquals(2, metrics.getRobots());
+        assertEquals(19, metrics.getInstructions());
+        assertEquals(1, metrics.getRejectedOccupied());
+        assertEquals(3, metrics.getParsedPrograms());
+    }
+
+    @Test
+    @DisplayName("Reading a mission should emit flight recorder events for the mission and each instruction line")
+    void shouldRecordMissionParsing(@TempDir Path directory) throws Exception {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                3 3 E
+                (MRRM)*100000
+                """;
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        Path file = directory.resolve("parse.jfr");
+        // WHEN
+        try (Recording recording = new Recording()) {
+            recording.enable(MissionParsedEvent.class);
+            recording.enable(InstructionsParsedEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            adapter.run(new ByteArrayInputStream(input.getBytes()), new PrintStream(new ByteArrayOutputStream()));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        // THEN
+        RecordedEvent mission = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.vwdigitalhub.robots.MissionParsed")).findFirst().orElseThrow();
+        assertEquals(2, mission.getInt("robots"));
+        assertEquals(400_009, mission.getLong("instructions"));
+        assertEquals(5, mission.getInt("maxY"));
+        List<Boolean> literal = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.vwdigitalhub.robots.InstructionsParsed"))
+                .map(event -> event.getBoolean("literal")).toList();
+        assertEquals(List.of(true, false), literal);
+    }
+
+    @Test
+    @DisplayName("Fleet mode should move robots at the same time and print how each one stopped")
+    void shouldPrintFleetOutcomes() throws Exception {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                0 0 E
+                MM
+                2 0 W
+                MM
+                """;
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        var out = new ByteArrayOutputStream();
+        // WHEN
+        adapter.runFleet(new ByteArrayInputStream(input.getBytes()), new PrintStream(out), new TickFleetSimulationService());
+        // THEN
+        assertEquals("""
+                1 3 N
+                0 0 E COLLISION after 0 instructions
+                2 0 W COLLISION after 0 instructions
+                """, out.toString());
+    }
+
+    @ParameterizedTest(name = "[{index}] streaming ko → {0}")
+    @MethodSource("errorCases")
+    @DisplayName("Streaming mode should throw IllegalArgumentException for malformed inputs")
+    void shouldThrowIllegalArgument_forMalformedInputs_whenStreaming(String description, String malformedInput) {
+        assertThrows(IllegalArgumentException.class, () -> runAdapterStreaming(malformedInput));
+    }
+
+    @ParameterizedTest(name = "[{index}] pipelined ko → {0}")
+    @MethodSource("errorCases")
+    @DisplayName("Pipelined mode should throw IllegalArgumentException for malformed inputs")
+    void shouldThrowIllegalArgument_forMalformedInputs_whenPipelined(String description, String malformedInput) {
+        assertThrows(IllegalArgumentException.class, () -> runAdapterPipelined(malformedInput));
+    }
+
+    @Test
+    @DisplayName("Pipelined mode should print every result before the first rejected robot, then throw its rejection")
+    void shouldPrintResultsBeforeFirstRejection_whenPipelined() {
+        // GIVEN
+        StringBuilder input = new StringBuilder("1000 1000\n");
+        StringBuilder expected = new StringBuilder();
+        for (int robot = 0; robot < 5 * ConsoleAdapter.PIPELINE_CAPACITY; robot++) {
+            input.append(2 * (robot % 500)).append(' ').append(robot / 500).append(" N\nRML\n");
+            expected.append(2 * (robot % 500) + 1).append(' ').append(robot / 500).append(" N\n");
+        }
+        input.append("0 0 S\nM\n").append("1 1 N\nM\n".repeat(3000));
+        var out = new ByteArrayOutputStream();
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        // WHEN
+        var ex = assertThrows(OutOfBoundsException.class,
+                () -> adapter.runPipelined(new ByteArrayInputStream(input.toString().getBytes()), new PrintStream(out)));
+        // THEN
+        assertEquals(new Position(0, -1), ex.getPosition());
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    @Test
+    @DisplayName("Streaming mode should print each result before reading the next robot")
+    void shouldPrintResultsBeforeReadingNextRobot_whenStreaming() {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                0 0
+                M
+                """;
+        var out = new ByteArrayOutputStream();
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        // WHEN
+        assertThrows(IllegalArgumentException.class,
+                () -> adapter.runStreaming(new ByteArrayInputStream(input.getBytes()), new PrintStream(out)));
+        // THEN
+        assertEquals("1 3 N\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("Pipelined mode should write each result out before the next robot arrives")
+    void shouldFlushResultsBeforeTheNextRobotArrives_whenPipelined() throws Exception {
+        // GIVEN
+        var typed = new PipedOutputStream();
+        var in = new PipedInputStream(typed);
+        var out = new ByteArrayOutputStream();
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        Thread mission = new Thread(() -> {
+            try {
+                adapter.runPipelined(in, new PrintStream(new BufferedOutputStream(out)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        mission.start();
+        // WHEN
+        typed.write("5 5\n1 2 N\nLMLMLMLMM\n".getBytes());
+        typed.flush();
+        // THEN
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (out.size() == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+        assertEquals("1 3 N\n", out.toString());
+        typed.write("3 3 E\nMMRMMRMRRM\n".getBytes());
+        typed.close();
+        mission.join();
+        assertEquals("1 3 N\n5 1 E\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("Keep-going mode should report rejected robots and run the robots after them")
+    void shouldReportRejectionsAndKeepGoing() throws Exception {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                0 0 E
+                MRM
+                1 1 N
+                MMM
+                3 3 E
+                MMRMMRMRRM
+                """;
+        var out = new ByteArrayOutputStream();
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        // WHEN
+        adapter.runKeepGoing(new ByteArrayInputStream(input.getBytes()), new PrintStream(out));
+        // THEN
+        assertEquals("""
+                1 3 N
+                robot 2 rejected at step 3: OUT_OF_BOUNDS 1 -1
+                robot 3 rejected at step 2: POSITION_OCCUPIED 1 3
+                5 1 E
+                """, out.toString());
+    }
+    @Test
+    void shouldDriveEachRobotToItsTargetAroundParkedRobots_whenPlanned() throws Exception {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                3 3
+                3 0 N
+                3 4
+                0 0 S
+                0 0
+                """;
+        var out = new ByteArrayOutputStream();
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        // WHEN
+        adapter.runPlanned(new ByteArrayInputStream(input.getBytes()), new PrintStream(out), new AStarPlanRouteService());
+        // THEN
+        assertEquals("""
+                3 3 E
+                3 4 E
+                0 0 S
+                """, out.toString());
+    }
+
+    @Test
+    void shouldRejectATargetLineThatIsNotAPosition_whenPlanned() {
+        // GIVEN
+        String input = """
+                5 5
+                1 2 N
+                LMLMLMLMM
+                """;
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        // WHEN
+        var e = assertThrows(IllegalArgumentException.class, () -> adapter.runPlanned(
+                new ByteArrayInputStream(input.getBytes()), new PrintStream(new ByteArrayOutputStream()), new AStarPlanRouteService()));
+        // THEN
+        assertEquals("Robot target line must be: '<x> <y>'", e.getMessage());
+    }
+
+
     private Stream<Arguments> successCases() {
         return Stream.of(
                 Arguments.of(
@@ -133,4 +427,21 @@ class ConsoleAdapterParameterizedTest {
         adapter.run(in, new PrintStream(out));
         return out.toString();
     }
+
+    private String runAdapterPipelined(String input) throws Exception {
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+        var out = new ByteArrayOutputStream();
+        adapter.runPipelined(new ByteArrayInputStream(input.getBytes()), new PrintStream(out));
+        return out.toString();
+    }
+
+    private String runAdapterStreaming(String input) throws Exception {
+        ConsoleAdapter adapter = new ConsoleAdapter(new ExecuteInstructionsService());
+
+        var in = new ByteArrayInputStream(input.getBytes());
+        var out = new ByteArrayOutputStream();
+
+        adapter.runStreaming(in, new PrintStream(out));
+        return out.toString();
+    }
 }
@@ -0,0 +1,90 @@
+package com.vwdigitalhub.robots.application.adapter.in.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscRingBufferTest {
+
+    @Test
+    void shouldHandOverEveryElementInOrder() throws Exception {
+        // GIVEN
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(8);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                buffer.put(i);
+            }
+            buffer.close();
+        });
+        // WHEN
+        producer.start();
+        int expected = 0;
+        for (Integer element; (element = buffer.take()) != null; expected++) {
+            // THEN
+            assertEquals(expected, element);
+        }
+        producer.join();
+        assertEquals(200_000, expected);
+        assertNull(buffer.take());
+    }
+
+    @Test
+    void shouldParkAnIdleSideUntilTheOtherOnePublishes() throws Exception {
+        // GIVEN
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(2);
+        AtomicReference<Integer> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            taken.set(buffer.take());
+            taken.set(buffer.take());
+        });
+        consumer.start();
+        awaitParked(consumer);
+        // WHEN
+        buffer.put(42);
+        for (int i = 0; i < 5_000 && taken.get() == null; i++) {
+            Thread.sleep(1);
+        }
+        // THEN
+        assertEquals(42, taken.get());
+        awaitParked(consumer);
+        buffer.close();
+        consumer.join(5_000);
+        assertFalse(consumer.isAlive());
+        assertNull(taken.get());
+    }
+
+    @Test
+    void shouldStopAWaitingProducerOnceCancelled() throws Exception {
+        // GIVEN
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; ; i++) {
+                    buffer.put(i);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        producer.start();
+        assertEquals(0, buffer.take());
+        // WHEN
+        buffer.cancel();
+        producer.join(5_000);
+        // THEN
+        assertInstanceOf(CancellationException.class, failure.get());
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<>(6));
+    }
+
+    /** Waits until {@code thread} blocks without a timeout, as a parked side does. */
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        for (int i = 0; i < 5_000 && thread.getState() != Thread.State.WAITING; i++) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
@@ -0,0 +1,106 @@
+package com.vwdigitalhub.robots.application.adapter.in.file;
+
+import com.vwdigitalhub.robots.application.adapter.in.cli.ConsoleAdapter;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MissionFileAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest(name = "[{index}] ok → {0} (window {2})")
+    @MethodSource("successCases")
+    @DisplayName("Should print the same outputs as the console adapter")
+    void shouldPrintSameOutputsAsConsoleAdapter(String description, String input, int windowSize) throws Exception {
+        // GIVEN
+        String expected = runConsole(input);
+        // WHEN
+        String output = runFile(input, windowSize);
+        // THEN
+        assertEquals(expected, output);
+    }
+
+    private Stream<Arguments> successCases() {
+        String sample = "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n";
+        String padded = "  5   5  \r\n\r\n\t1 2 n\r\n\r\n  lmlmlmlmm  \r\n3\t3 E\r\nMMRMMRMRRM";
+        String longRoute = "1000 1000\n0 0 N\n" + "M".repeat(999) + "RM\n";
+        return Stream.of(
+                Arguments.of("statement sample", sample, MissionFileAdapter.DEFAULT_WINDOW_SIZE),
+                Arguments.of("statement sample", sample, 4),
+                Arguments.of("CRLF, tabs, blank lines, lower case, no final newline", padded, MissionFileAdapter.DEFAULT_WINDOW_SIZE),
+                Arguments.of("CRLF, tabs, blank lines, lower case, no final newline", padded, 3),
+                Arguments.of("line longer than the window", longRoute, 16),
+                Arguments.of("file large enough to be mapped", "100000 100000\n0 0 N\n" + "M".repeat(70_000) + "\n", MissionFileAdapter.DEFAULT_WINDOW_SIZE),
+                Arguments.of("signed coordinates", "+5 5\n+0 -0 E\nM\n", 2),
+                Arguments.of("repeat blocks", "99 99\n0 0 N\n((MMRMML)*10M)*3\n", 5)
+        );
+    }
+
+    @ParameterizedTest(name = "[{index}] ko → {0}")
+    @MethodSource("errorCases")
+    @DisplayName("Should fail with the same message as the console adapter")
+    void shouldFailWithSameMessageAsConsoleAdapter(String description, String malformedInput) {
+        // GIVEN
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class, () -> runConsole(malformedInput));
+        // WHEN
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class, () -> runFile(malformedInput, 5));
+        // THEN
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    private Stream<Arguments> errorCases() {
+        return Stream.of(
+                Arguments.of("empty file", ""),
+                Arguments.of("blank workspace line", "\n\n"),
+                Arguments.of("workspace line not two integers", "5\n0 0 N\nM\n"),
+                Arguments.of("workspace line with three integers", "5 5 5\n0 0 N\nM\n"),
+                Arguments.of("workspace integer overflow", "2147483648 5\n"),
+                Arguments.of("robot position line malformed", "5 5\n0 0\nM\n"),
+                Arguments.of("missing instruction line for robot", "5 5\n1 1 N\n\n"),
+                Arguments.of("invalid direction token", "5 5\n1 1 X\nM\n"),
+                Arguments.of("direction token too long", "5 5\n1 1 NE\nM\n"),
+                Arguments.of("coordinates are not integers", "5 5\nA 1 N\nM\n"),
+                Arguments.of("lonely sign", "5 5\n- 1 N\nM\n"),
+                Arguments.of("unknown instruction", "5 5\n1 1 N\nMXM\n"),
+                Arguments.of("whitespace between instructions", "5 5\n1 1 N\nM M\n"),
+                Arguments.of("unbalanced repeat block", "5 5\n1 1 N\n(MM\n"),
+                Arguments.of("repeat block without count", "5 5\n1 1 N\n(MM)\n"),
+                Arguments.of("non-ASCII character ending the instructions", "5 5\n1 2 N\nLMLMLMLMM\u00e9\n"),
+                Arguments.of("non-ASCII character starting the instructions", "5 5\n1 2 N\n\u20acLMLM\n"),
+                Arguments.of("non-ASCII character as a repeat count", "5 5\n1 2 N\n(MM)*\u00e9\n"),
+                Arguments.of("non-ASCII character ending the workspace line", "5 5\u00e9\n1 2 N\nM\n"),
+                Arguments.of("non-ASCII character ending the direction", "5 5\n1 2 N\u00e9\nM\n")
+        );
+    }
+
+    private String runConsole(String input) throws Exception {
+        var out = new ByteArrayOutputStream();
+        new ConsoleAdapter(new ExecuteInstructionsService())
+                .runStreaming(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new PrintStream(out));
+        return out.toString();
+    }
+
+    private String runFile(String input, int windowSize) throws Exception {
+        Path file = Files.write(Files.createTempFile(tempDir, "mission", ".txt"), input.getBytes(StandardCharsets.UTF_8));
+        var out = new ByteArrayOutputStream();
+        new MissionFileAdapter(new ExecuteInstructionsService(), windowSize).run(file, new PrintStream(out));
+        return out.toString();
+    }
+}
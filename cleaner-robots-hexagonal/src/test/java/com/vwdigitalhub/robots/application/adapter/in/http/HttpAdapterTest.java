@@ -0,0 +1,203 @@
+package com.vwdigitalhub.robots.application.adapter.in.http;
+
+import com.vwdigitalhub.robots.application.adapter.out.journal.MappedJournal;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.JournalingExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpAdapterTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpAdapter adapter;
+
+    @BeforeEach
+    void start() throws Exception {
+        adapter = new HttpAdapter(new SegmentExecuteInstructionsService(), new InetSocketAddress("localhost", 0), 4);
+        adapter.start();
+    }
+
+    @AfterEach
+    void stop() {
+        adapter.close();
+    }
+
+    @Test
+    void shouldCreateWorkspaceAndRunBatchedRobots() throws Exception {
+        // GIVEN
+        var created = post("/workspaces", "5 5");
+        String robots = """
+                1 2 N
+                LMLMLMLMM
+                3 3 E
+                MMRMMRMRRM
+                5 5 N
+                M
+                """;
+        // WHEN
+        var results = post("/workspaces/" + created.body().trim() + "/robots", robots);
+        var description = get("/workspaces/" + created.body().trim());
+        // THEN
+        assertEquals(201, created.statusCode());
+        assertEquals("/workspaces/" + created.body().trim(), created.headers().firstValue("Location").orElseThrow());
+        assertEquals(200, results.statusCode());
+        assertEquals("""
+                1 3 N
+                5 1 E
+                ERROR OutOfBoundsException: Position out of bounds: Position[x=5, y=6]
+                """, results.body());
+        assertEquals("5 5 2\n", description.body());
+    }
+
+    @Test
+    void shouldRejectMalformedRequests() throws Exception {
+        // GIVEN
+        String id = post("/workspaces", "3 3").body().trim();
+        // WHEN + THEN
+        assertEquals(400, post("/workspaces", "3").statusCode());
+        assertEquals(400, post("/workspaces", "-1 3").statusCode());
+        assertEquals(404, post("/workspaces/" + UUID.randomUUID() + "/robots", "0 0 N\nM").statusCode());
+        assertEquals(400, post("/workspaces/x/robots", "0 0 N\nM").statusCode());
+        assertEquals(404, get("/robots").statusCode());
+        var badFirstRobot = post("/workspaces/" + id + "/robots", "0 0 X\nM");
+        assertEquals(400, badFirstRobot.statusCode());
+        assertEquals("Direction must be one of N,E,S,W\n", badFirstRobot.body());
+        var badSecondRobot = post("/workspaces/" + id + "/robots", "0 0 N\nM\n1 1 N\n");
+        assertEquals("0 1 N\nERROR IllegalArgumentException: Missing instruction line for robot\n", badSecondRobot.body());
+    }
+
+    @Test
+    void shouldDeleteWorkspaces() throws Exception {
+        // GIVEN
+        String id = post("/workspaces", "3 3").body().trim();
+        // WHEN
+        var deleted = client.send(HttpRequest.newBuilder(uri("/workspaces/" + id)).DELETE().build(), HttpResponse.BodyHandlers.ofString());
+        // THEN
+        assertEquals(204, deleted.statusCode());
+        assertEquals(404, get("/workspaces/" + id).statusCode());
+    }
+
+    @Test
+    void shouldStreamEachResultBeforeTheNextRobotArrives() throws Exception {
+        // GIVEN
+        String id = post("/workspaces", "5 5").body().trim();
+        try (Socket socket = new Socket("localhost", adapter.port())) {
+            OutputStream body = socket.getOutputStream();
+            var response = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            body.write(("POST /workspaces/" + id + "/robots HTTP/1.1\r\nHost: localhost\r\nTransfer-Encoding: chunked\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            // WHEN
+            writeChunk(body, "1 2 N\nLMLMLMLMM\n");
+            // THEN
+            assertEquals("HTTP/1.1 200 OK", response.readLine());
+            while (!response.readLine().isEmpty()) {
+                // Headers
+            }
+            response.readLine();
+            assertEquals("1 3 N", response.readLine());
+            // WHEN
+            writeChunk(body, "3 3 E\nM\n");
+            body.write("0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            // THEN
+            response.readLine();
+            response.readLine();
+            assertEquals("4 3 E", response.readLine());
+        }
+    }
+
+    @Test
+    void shouldServeConcurrentRequestsOnOneWorkspace() throws Exception {
+        // GIVEN
+        String id = post("/workspaces", "99 99").body().trim();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        // WHEN
+        for (int column = 0; column < 100; column++) {
+            String robots = column + " 0 N\n" + "M".repeat(99) + "\n" + column + " 0 N\nMMM\n";
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/workspaces/" + id + "/robots"))
+                    .POST(HttpRequest.BodyPublishers.ofString(robots)).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        // THEN
+        for (int column = 0; column < 100; column++) {
+            assertEquals(column + " 99 N\n" + column + " 3 N\n", responses.get(column).get().body());
+        }
+        assertEquals("99 99 200\n", get("/workspaces/" + id).body());
+    }
+
+    @Test
+    void shouldRestoreJournaledWorkspacesUnderTheirIdsAfterARestart(@TempDir Path directory) throws Exception {
+        // GIVEN
+        adapter.close();
+        String first;
+        String dropped;
+        String third;
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            adapter = journaled(journal);
+            first = post("/workspaces", "5 5").body().trim();
+            dropped = post("/workspaces", "3 3").body().trim();
+            third = post("/workspaces", "9 9").body().trim();
+            post("/workspaces/" + first + "/robots", "1 2 N\nLMLMLMLMM\n");
+            post("/workspaces/" + third + "/robots", "0 0 N\nMMM\n0 0 E\nMM\n");
+            client.send(HttpRequest.newBuilder(uri("/workspaces/" + dropped)).DELETE().build(), HttpResponse.BodyHandlers.ofString());
+            adapter.close();
+        }
+        // WHEN
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            adapter = journaled(journal);
+            // THEN
+            assertEquals("5 5 1\n", get("/workspaces/" + first).body());
+            assertEquals(404, get("/workspaces/" + dropped).statusCode());
+            assertEquals("9 9 2\n", get("/workspaces/" + third).body());
+            assertEquals("ERROR PositionOccupiedException: Final position already occupied by another robot: Position[x=1, y=3]\n",
+                    post("/workspaces/" + first + "/robots", "1 2 N\nLMLMLMLMM\n").body());
+        }
+    }
+
+    private HttpAdapter journaled(MappedJournal journal) throws Exception {
+        HttpAdapter http = new HttpAdapter(new JournalingExecuteInstructionsService(new SegmentExecuteInstructionsService(), journal),
+                new InetSocketAddress("localhost", 0), 4, journal);
+        http.start();
+        return http;
+    }
+
+    private static void writeChunk(OutputStream out, String data) throws Exception {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        out.write((Integer.toHexString(bytes.length) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(bytes);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + adapter.port() + path);
+    }
+}
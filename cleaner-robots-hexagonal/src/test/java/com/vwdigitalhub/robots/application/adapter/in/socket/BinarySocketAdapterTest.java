@@ -0,0 +1,200 @@
+package com.vwdigitalhub.robots.application.adapter.in.socket;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySocketAdapterTest {
+
+    private BinarySocketAdapter adapter;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void start() throws Exception {
+        adapter = new BinarySocketAdapter(new SegmentExecuteInstructionsService(), new InetSocketAddress("localhost", 0));
+        adapter.start();
+        address = new InetSocketAddress("localhost", adapter.port());
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        adapter.close();
+    }
+
+    @Test
+    void shouldAnswerPipelinedRobotsInOrder() throws Exception {
+        try (BinaryClient client = BinaryClient.connect(address)) {
+            // GIVEN
+            int workspace = client.createWorkspace(5, 5);
+            // WHEN
+            client.execute(workspace, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM"));
+            client.execute(workspace, new Position(3, 3), Direction.E, InstructionParser.from("MMRMMRMRRM"));
+            client.execute(workspace, new Position(5, 5), Direction.N, InstructionParser.from("(RRRR)*1000M"));
+            client.execute(workspace + 1, new Position(0, 0), Direction.N, InstructionParser.from("M"));
+            client.flush();
+            // THEN
+            assertEquals("1 3 N", client.receive().toString());
+            assertEquals("5 1 E", client.receive().toString());
+            assertEquals("ERROR OutOfBoundsException: Position out of bounds: Position[x=5, y=6]", client.receive().toString());
+            assertEquals("ERROR Unknown workspace: 2", client.receive().toString());
+        }
+    }
+
+    @Test
+    void shouldMatchTheEngineOnRandomRobotsIncludingFramesLargerThanTheBuffers() throws Exception {
+        // GIVEN
+        Random random = new Random(5);
+        Workspace reference = new Workspace(199, 199);
+        var engine = new SegmentExecuteInstructionsService();
+        List<ControlRobotCommand> robots = new ArrayList<>();
+        for (int robot = 0; robot < 300; robot++) {
+            StringBuilder route = new StringBuilder();
+            int length = robot == 150 ? 1_000_000 : random.nextInt(80);
+            for (int i = 0; i < length; i++) route.append("MMLR".charAt(random.nextInt(4)));
+            robots.add(new ControlRobotCommand(reference, new Position(random.nextInt(200), random.nextInt(200)),
+                    Direction.values()[random.nextInt(4)], InstructionParser.from(route.toString())));
+        }
+        try (BinaryClient client = BinaryClient.connect(address)) {
+            int workspace = client.createWorkspace(199, 199);
+            // WHEN
+            for (ControlRobotCommand robot : robots) {
+                client.execute(workspace, robot.start(), robot.direction(), robot.instructions());
+            }
+            client.flush();
+            // THEN
+            for (ControlRobotCommand robot : robots) {
+                String expected;
+                try {
+                    expected = engine.execute(robot).toString();
+                } catch (DomainException e) {
+                    expected = "ERROR " + e.getClass().getSimpleName() + ": " + e.getMessage();
+                }
+                assertEquals(expected, client.receive().toString());
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectProgramsThatDoNotFitInOneFrame() throws Exception {
+        try (BinaryClient client = BinaryClient.connect(address)) {
+            // GIVEN
+            int workspace = client.createWorkspace(5, 5);
+            InstructionProgram huge = InstructionParser.from("(MRMRMRMR)*1000000000");
+            // WHEN
+            var e = assertThrows(IllegalArgumentException.class,
+                    () -> client.execute(workspace, new Position(0, 0), Direction.N, huge));
+            // THEN
+            assertEquals("Instruction program too long for one frame: 8000000000", e.getMessage());
+            client.execute(workspace, new Position(0, 0), Direction.N, InstructionParser.from("(MRMRMRMR)*1000"));
+            client.flush();
+            assertEquals("0 0 N", client.receive().toString());
+        }
+    }
+
+    @Test
+    void shouldKeepWorkspacesToTheConnectionThatCreatedThem() throws Exception {
+        try (BinaryClient owner = BinaryClient.connect(address); BinaryClient other = BinaryClient.connect(address)) {
+            // GIVEN
+            int workspace = owner.createWorkspace(5, 5);
+            // WHEN
+            other.execute(workspace, new Position(0, 0), Direction.N, InstructionParser.from("M"));
+            other.flush();
+            owner.dropWorkspace(workspace);
+            owner.execute(workspace, new Position(0, 0), Direction.N, InstructionParser.from("M"));
+            owner.flush();
+            // THEN
+            assertEquals("ERROR Unknown workspace: 1", other.receive().toString());
+            assertEquals("ERROR Unknown workspace: 1", owner.receive().toString());
+            var e = assertThrows(IllegalArgumentException.class, () -> owner.dropWorkspace(workspace));
+            assertEquals("ERROR Unknown workspace: 1", e.getMessage());
+        }
+    }
+
+    @Test
+    void shouldCapTheWorkspacesOfOneConnection() throws Exception {
+        try (BinaryClient client = BinaryClient.connect(address)) {
+            // GIVEN
+            for (int i = 0; i < BinaryProtocol.MAX_WORKSPACES; i++) client.createWorkspace(5, 5);
+            // WHEN
+            var e = assertThrows(IllegalArgumentException.class, () -> client.createWorkspace(5, 5));
+            // THEN
+            assertEquals("ERROR Too many workspaces on this connection: 1024", e.getMessage());
+            client.dropWorkspace(1);
+            assertEquals(BinaryProtocol.MAX_WORKSPACES + 1, client.createWorkspace(5, 5));
+        }
+    }
+
+    @Test
+    void shouldKeepServingAClientThatReadsSlowerThanItWrites() throws Exception {
+        try (BinaryClient client = BinaryClient.connect(address)) {
+            // GIVEN
+            int workspace = client.createWorkspace(1_000_000, 1_000_000);
+            InstructionProgram program = InstructionParser.from("MRMLM");
+            int robots = 200_000;
+            // WHEN
+            CompletableFuture<Void> sender = CompletableFuture.runAsync(() -> {
+                try {
+                    for (int robot = 0; robot < robots; robot++) {
+                        client.execute(workspace, new Position(robot, 0), Direction.N, program);
+                    }
+                    client.flush();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            // THEN
+            for (int robot = 0; robot < robots; robot++) {
+                assertEquals((robot + 1) + " 2 N", client.receive().toString());
+            }
+            sender.get();
+        }
+    }
+
+    @Test
+    void shouldReportMalformedFramesAndDropClientsWithImpossibleLengths() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            // GIVEN
+            ByteBuffer frames = ByteBuffer.allocate(256).order(BinaryProtocol.ORDER);
+            frames.putInt(1).put((byte) 9);
+            frames.putInt(BinaryProtocol.executeLength(1)).put(BinaryProtocol.EXECUTE).putInt(1).putInt(0).putInt(0).put((byte) 7).putInt(1).put((byte) 2);
+            frames.putInt(BinaryProtocol.executeLength(4)).put(BinaryProtocol.EXECUTE).putInt(1).putInt(0).putInt(0).put((byte) 0).putInt(9).put((byte) 2);
+            frames.putInt(9).put(BinaryProtocol.CREATE_WORKSPACE).putInt(-1).putInt(3);
+            frames.putInt(-5);
+            // WHEN
+            channel.write(frames.flip());
+            // THEN
+            assertEquals("Unknown frame type: 9", readMessage(channel));
+            assertEquals("Direction must be one of N,E,S,W", readMessage(channel));
+            assertEquals("EXECUTE frame length does not match its 9 instructions", readMessage(channel));
+            assertEquals("InvalidWorkspaceException: Workspace bounds must be non-negative: maxX=-1, maxY=3", readMessage(channel));
+            assertEquals("Frame length out of range: -5", readMessage(channel));
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    private static String readMessage(SocketChannel channel) throws Exception {
+        ByteBuffer header = ByteBuffer.allocate(4).order(BinaryProtocol.ORDER);
+        while (header.hasRemaining()) channel.read(header);
+        ByteBuffer body = ByteBuffer.allocate(header.getInt(0));
+        while (body.hasRemaining()) channel.read(body);
+        return new String(body.array(), 1, body.capacity() - 1);
+    }
+}
@@ -0,0 +1,286 @@
+package com.vwdigitalhub.robots.application.adapter.out.journal;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.JournalingExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRebuildWorkspacesAfterReopening() throws Exception {
+        // GIVEN
+        Workspace kept = new Workspace(5, 5);
+        Workspace shared = Workspace.concurrent(9, 9, 0);
+        Workspace dropped = new Workspace(3, 3);
+        Workspace empty = new Workspace(7, 2);
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            ExecuteInstructionsUseCase useCase = new JournalingExecuteInstructionsService(new SegmentExecuteInstructionsService(), journal);
+            useCase.execute(new ControlRobotCommand(kept, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+            useCase.execute(new ControlRobotCommand(shared, new Position(0, 0), Direction.E, InstructionParser.from("MMLM")));
+            useCase.execute(new ControlRobotCommand(dropped, new Position(0, 0), Direction.N, InstructionParser.from("M")));
+            useCase.execute(new ControlRobotCommand(kept, new Position(3, 3), Direction.E, InstructionParser.from("MMRMMRMRRM")));
+            assertThrows(DomainException.class, () -> useCase.execute(
+                    new ControlRobotCommand(kept, new Position(5, 5), Direction.N, InstructionParser.from("M"))));
+            journal.positionOccupied(shared, new Position(9, 9));
+            journal.workspaceCreated(empty);
+            journal.workspaceDropped(dropped);
+        }
+        // WHEN
+        Map<UUID, Workspace> replayed;
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            replayed = journal.replay();
+        }
+        // THEN
+        assertEquals(List.of(kept.getId(), shared.getId(), empty.getId()), new ArrayList<>(replayed.keySet()));
+        assertEquals(occupied(kept), occupied(replayed.get(kept.getId())));
+        assertEquals(Set.of(new Position(1, 3), new Position(5, 1)), occupied(replayed.get(kept.getId())));
+        assertEquals(Set.of(new Position(2, 1), new Position(9, 9)), occupied(replayed.get(shared.getId())));
+        assertTrue(replayed.get(shared.getId()).isConcurrent());
+        assertFalse(replayed.get(kept.getId()).isConcurrent());
+        assertEquals(7, replayed.get(empty.getId()).getMaxX());
+        assertEquals(2, replayed.get(empty.getId()).getMaxY());
+        assertEquals(0, replayed.get(empty.getId()).occupiedCount());
+    }
+
+    @Test
+    void shouldReplayTheLatestSnapshotAndTheEventsAfterIt() throws Exception {
+        // GIVEN
+        Workspace first = new Workspace(9, 9);
+        Workspace second = Workspace.concurrent(9, 9, 0);
+        Workspace third = new Workspace(4, 4);
+        try (MappedJournal journal = MappedJournal.open(directory, 256, Duration.ofMillis(1))) {
+            for (int x = 0; x < 10; x++) {
+                occupy(journal, first, new Position(x, x));
+            }
+            occupy(journal, second, new Position(1, 1));
+            journal.compact(() -> List.of(first, second));
+            occupy(journal, second, new Position(2, 2));
+            journal.workspaceCreated(third);
+            journal.compact(() -> List.of(first, second, third));
+            // WHEN
+            occupy(journal, first, new Position(0, 9));
+            journal.workspaceDropped(second);
+        }
+        // THEN
+        List<String> names;
+        try (Stream<Path> files = Files.list(directory)) {
+            names = files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+        String snapshot = names.get(names.size() - 1);
+        assertTrue(snapshot.startsWith("snapshot-"));
+        assertEquals(snapshot.substring(9) + ".journal", names.get(0));
+        assertEquals(3, Files.list(directory.resolve(snapshot)).count());
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            Map<UUID, Workspace> replayed = journal.replay();
+            assertEquals(List.of(first.getId(), third.getId()), new ArrayList<>(replayed.keySet()));
+            assertEquals(11, replayed.get(first.getId()).occupiedCount());
+            assertTrue(replayed.get(first.getId()).isOccupied(0, 9));
+            assertEquals(4, replayed.get(third.getId()).getMaxX());
+        }
+    }
+
+    @Test
+    void shouldKeepWorkspacesDroppedBeforeACompactionDropped() throws Exception {
+        // GIVEN
+        Workspace kept = new Workspace(9, 9);
+        Workspace dropped = Workspace.concurrent(9, 9, 0);
+        try (MappedJournal journal = MappedJournal.open(directory, 256, Duration.ofMillis(1))) {
+            occupy(journal, kept, new Position(1, 1));
+            occupy(journal, dropped, new Position(2, 2));
+            journal.workspaceDropped(dropped);
+            journal.compact(() -> List.of(kept));
+            // WHEN
+            occupy(journal, dropped, new Position(3, 3));
+            occupy(journal, kept, new Position(4, 4));
+        }
+        // THEN
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            Map<UUID, Workspace> replayed = journal.replay();
+            assertEquals(List.of(kept.getId()), new ArrayList<>(replayed.keySet()));
+            assertEquals(Set.of(new Position(1, 1), new Position(4, 4)), occupied(replayed.get(kept.getId())));
+        }
+    }
+
+    @Test
+    void shouldRollOverToNewSegmentsWhenOneIsFull() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(999, 0);
+        try (MappedJournal journal = MappedJournal.open(directory, 256, Duration.ofMillis(1))) {
+            ExecuteInstructionsUseCase useCase = new JournalingExecuteInstructionsService(new SegmentExecuteInstructionsService(), journal);
+            // WHEN
+            for (int x = 0; x < 1000; x++) {
+                useCase.execute(new ControlRobotCommand(ws, new Position(x, 0), Direction.N, InstructionParser.from("RL")));
+            }
+        }
+        // THEN
+        assertTrue(segments().size() > 100);
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            assertEquals(1000, journal.replay().get(ws.getId()).occupiedCount());
+        }
+    }
+
+    @Test
+    void shouldSkipTheTornTailOfASegmentAndKeepLaterOnes() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(9, 9);
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            journal.positionOccupied(ws, new Position(1, 1));
+            journal.positionOccupied(ws, new Position(2, 2));
+            journal.positionOccupied(ws, new Position(3, 3));
+        }
+        damageLastRecord(segments().get(0));
+        // WHEN
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            journal.replay();
+            journal.positionOccupied(ws, new Position(4, 4));
+        }
+        // THEN
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            assertEquals(Set.of(new Position(1, 1), new Position(2, 2), new Position(4, 4)), occupied(journal.replay().get(ws.getId())));
+        }
+    }
+
+    @Test
+    void shouldMakeEveryRecordDurableForConcurrentSyncCallers() throws Exception {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(99, 99, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (MappedJournal journal = MappedJournal.open(directory, 4096, Duration.ofSeconds(10))) {
+            // WHEN
+            for (int t = 0; t < 8; t++) {
+                int row = t;
+                executor.execute(() -> {
+                    for (int x = 0; x < 100; x++) {
+                        journal.positionOccupied(ws, new Position(x, row));
+                        journal.sync();
+                    }
+                });
+            }
+            executor.shutdown();
+            // THEN
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertEquals(800, journal.replay().get(ws.getId()).occupiedCount());
+        }
+    }
+
+    @Test
+    void shouldKeepEveryRecordOfConcurrentAppendersAcrossRollOvers() throws Exception {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(999, 7, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (MappedJournal journal = MappedJournal.open(directory, 512, Duration.ofMillis(1))) {
+            // WHEN
+            for (int t = 0; t < 8; t++) {
+                int row = t;
+                executor.execute(() -> {
+                    for (int x = 0; x < 1000; x++) {
+                        journal.positionOccupied(ws, new Position(x, row));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        // THEN
+        assertTrue(segments().size() > 100);
+        try (MappedJournal journal = MappedJournal.open(directory)) {
+            assertEquals(8000, journal.replay().get(ws.getId()).occupiedCount());
+        }
+    }
+
+    @Test
+    void shouldNotSyncARecordBehindOneStillBeingCopied() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(9, 9);
+        MappedJournal journal = MappedJournal.open(directory, 4096, Duration.ofMillis(1));
+        journal.reserve(50);
+        // WHEN
+        CompletableFuture<Void> synced = CompletableFuture.runAsync(() -> {
+            journal.positionOccupied(ws, new Position(1, 1));
+            journal.sync();
+        });
+        // THEN
+        assertThrows(TimeoutException.class, () -> synced.get(200, TimeUnit.MILLISECONDS));
+        journal.close();
+        var ex = assertThrows(ExecutionException.class, () -> synced.get(5, TimeUnit.SECONDS));
+        assertEquals("Journal closed before the record was synced", ex.getCause().getMessage());
+        try (MappedJournal reopened = MappedJournal.open(directory)) {
+            assertEquals(Map.of(), reopened.replay());
+        }
+    }
+
+    @Test
+    void shouldRejectEventsOnceClosed() throws Exception {
+        // GIVEN
+        MappedJournal journal = MappedJournal.open(directory);
+        journal.close();
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> journal.workspaceCreated(new Workspace(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> MappedJournal.open(directory, 16, Duration.ofMillis(1)));
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /** Flips a payload byte of the last record, as a crash in the middle of writing it would. */
+    private static void damageLastRecord(Path segment) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            int at = 0;
+            int last = 0;
+            while (bytes.getInt(at) != 0) {
+                last = at;
+                at += bytes.getInt(at) + 2 * Integer.BYTES;
+            }
+            bytes.put(last + Integer.BYTES + 20, (byte) 7);
+        }
+    }
+
+    private static Set<Position> occupied(Workspace workspace) {
+        Set<Position> cells = new HashSet<>();
+        workspace.forEachOccupied((x, y) -> cells.add(new Position(x, y)));
+        return cells;
+    }
+
+    private static void occupy(MappedJournal journal, Workspace workspace, Position position) {
+        workspace.occupy(position);
+        journal.positionOccupied(workspace, position);
+    }
+}
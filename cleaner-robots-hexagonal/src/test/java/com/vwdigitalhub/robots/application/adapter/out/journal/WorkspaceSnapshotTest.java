@@ -0,0 +1,134 @@
+package com.vwdigitalhub.robots.application.adapter.out.journal;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkspaceSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreASparseWorkspaceFromCellGaps() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(99_999, 99_999);
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            ws.tryOccupy(new Position(random.nextInt(100_000), random.nextInt(100_000)));
+        }
+        ws.occupy(new Position(99_999, 99_999));
+        Path file = directory.resolve("sparse.snapshot");
+        // WHEN
+        WorkspaceSnapshot.of(ws).writeTo(file);
+        Workspace restored = WorkspaceSnapshot.read(file).restore();
+        // THEN
+        assertTrue(Files.size(file) < 1001 * 8);
+        assertEquals(ws.getId(), restored.getId());
+        assertEquals(99_999, restored.getMaxX());
+        assertEquals(99_999, restored.getMaxY());
+        assertFalse(restored.isConcurrent());
+        assertEquals(occupied(ws), occupied(restored));
+    }
+
+    @Test
+    void shouldRestoreADenseWorkspaceFromItsBitmap() throws Exception {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(62, 40, 0);
+        for (int y = 0; y <= 40; y++) {
+            for (int x = (y & 1); x <= 62; x += 2) {
+                ws.occupy(new Position(x, y));
+            }
+        }
+        Path file = directory.resolve("dense.snapshot");
+        // WHEN
+        WorkspaceSnapshot.of(ws).writeTo(file);
+        Workspace restored = WorkspaceSnapshot.read(file).restore();
+        // THEN
+        assertEquals(63L * 41 / 8 + 8 + 38 + 4, Files.size(file), 8);
+        assertTrue(restored.isConcurrent());
+        assertEquals(ws.occupiedCount(), restored.occupiedCount());
+        assertEquals(occupied(ws), occupied(restored));
+    }
+
+    @Test
+    void shouldRoundTripAnEmptyWorkspace() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(0, 0);
+        Path file = directory.resolve("empty.snapshot");
+        // WHEN
+        WorkspaceSnapshot.of(ws).writeTo(file);
+        WorkspaceSnapshot snapshot = WorkspaceSnapshot.read(file);
+        // THEN
+        assertEquals(0, snapshot.cellCount());
+        assertEquals(ws.getId(), snapshot.id());
+        assertEquals(0, snapshot.restore().occupiedCount());
+    }
+
+    @Test
+    void shouldRejectDamagedFiles() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(9, 9);
+        ws.occupy(new Position(3, 4));
+        Path file = directory.resolve("damaged.snapshot");
+        WorkspaceSnapshot.of(ws).writeTo(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 1;
+        Files.write(file, bytes);
+        Path garbage = Files.writeString(directory.resolve("garbage.snapshot"), "not a snapshot");
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> WorkspaceSnapshot.read(file));
+        assertThrows(IllegalArgumentException.class, () -> WorkspaceSnapshot.read(garbage));
+    }
+
+    @Test
+    void shouldSnapshotWhileRobotsKeepExecuting() throws Exception {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(199, 199, 0);
+        for (int x = 0; x < 200; x++) {
+            ws.occupy(new Position(x, 0));
+        }
+        Set<Position> before = occupied(ws);
+        var useCase = new SegmentExecuteInstructionsService();
+        Thread robots = new Thread(() -> {
+            Random random = new Random(3);
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    useCase.execute(new ControlRobotCommand(ws, new Position(random.nextInt(200), 1 + random.nextInt(199)),
+                            Direction.N, InstructionParser.from("RM")));
+                } catch (DomainException e) {
+                    // Occupied or out of bounds
+                }
+            }
+        });
+        robots.start();
+        // WHEN
+        Path file = directory.resolve("live.snapshot");
+        WorkspaceSnapshot.of(ws).writeTo(file);
+        robots.join();
+        Set<Position> restored = occupied(WorkspaceSnapshot.read(file).restore());
+        // THEN
+        assertTrue(restored.containsAll(before));
+        assertTrue(occupied(ws).containsAll(restored));
+    }
+
+    private static Set<Position> occupied(Workspace workspace) {
+        Set<Position> cells = new HashSet<>();
+        workspace.forEachOccupied((x, y) -> cells.add(new Position(x, y)));
+        return cells;
+    }
+}
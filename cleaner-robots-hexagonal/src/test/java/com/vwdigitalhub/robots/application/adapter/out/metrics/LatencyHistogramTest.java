@@ -0,0 +1,71 @@
+package com.vwdigitalhub.robots.application.adapter.out.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldPlaceEveryValueInABucketWithinThreePercent() {
+        // GIVEN
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            // WHEN
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestOf(bucket);
+            // THEN
+            assertTrue(highest >= value, () -> value + " above its bucket");
+            assertTrue(bucket == 0 || LatencyHistogram.highestOf(bucket - 1) < value, () -> value + " below its bucket");
+            assertTrue(highest - value <= value / 32, () -> value + " reported as " + highest);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void shouldReportPercentilesOfRecordedValues() {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        // WHEN
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        // THEN
+        assertEquals(10_000, snapshot.count());
+        assertEquals(5_000_500, snapshot.mean(), 0.001);
+        assertEquals(5_000_000, snapshot.valueAt(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, snapshot.valueAt(99), 9_900_000 / 32.0);
+        assertEquals(10_000_000, snapshot.max(), 10_000_000 / 32.0);
+        assertEquals(1000, snapshot.valueAt(0), 1000 / 32.0);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.valueAt(101));
+        assertEquals(0, new LatencyHistogram().snapshot().valueAt(99));
+    }
+
+    @Test
+    void shouldCountEveryValueRecordedFromManyThreads() throws Exception {
+        // GIVEN
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        // WHEN
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        // THEN
+        assertEquals(80_000, histogram.snapshot().count());
+        assertEquals(99, histogram.snapshot().max());
+        assertEquals(49.5, histogram.snapshot().mean(), 0.001);
+    }
+}
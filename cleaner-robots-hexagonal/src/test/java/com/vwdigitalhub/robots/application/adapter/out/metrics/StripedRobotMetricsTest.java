@@ -0,0 +1,62 @@
+package com.vwdigitalhub.robots.application.adapter.out.metrics;
+
+import com.vwdigitalhub.robots.application.domain.exception.InvalidWorkspaceException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedRobotMetricsTest {
+
+    @Test
+    void shouldCountRobotsInstructionsAndRejectionsByCause() {
+        // GIVEN
+        StripedRobotMetrics metrics = new StripedRobotMetrics();
+        // WHEN
+        metrics.robotExecuted(2_000, 10);
+        metrics.robotExecuted(4_000, 30);
+        metrics.robotRejected(1_000, new OutOfBoundsException(new Position(9, 9)));
+        metrics.robotRejected(1_000, new PositionOccupiedException(new Position(1, 1)));
+        metrics.robotRejected(1_000, new PositionOccupiedException(new Position(1, 2)));
+        metrics.robotRejected(1_000, new InvalidWorkspaceException("gone"));
+        metrics.programParsed(500, 40);
+        // THEN
+        assertEquals(2, metrics.getRobots());
+        assertEquals(40, metrics.getInstructions());
+        assertEquals(1, metrics.getRejectedOutOfBounds());
+        assertEquals(2, metrics.getRejectedOccupied());
+        assertEquals(6, metrics.executeLatency().count());
+        assertEquals(4.0, metrics.getExecuteMaxMicros(), 4.0 / 32);
+        assertEquals(1, metrics.getParsedPrograms());
+        assertTrue(metrics.getRobotsPerSecond() > 0);
+        assertTrue(metrics.report().startsWith("robots 2 ("), metrics.report());
+        assertTrue(metrics.report().contains("rejected 1 out of bounds, 2 occupied, 1 other"), metrics.report());
+        assertTrue(metrics.report().contains("1 programs, 40 instructions"), metrics.report());
+    }
+
+    @Test
+    void shouldPublishTheCountersThroughJmx() throws Exception {
+        // GIVEN
+        StripedRobotMetrics metrics = new StripedRobotMetrics();
+        metrics.robotExecuted(3_000, 7);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        // WHEN
+        ObjectName name = metrics.register();
+        // THEN
+        try {
+            assertEquals(new ObjectName(StripedRobotMetrics.OBJECT_NAME), name);
+            assertEquals(1L, server.getAttribute(name, "Robots"));
+            assertEquals(7L, server.getAttribute(name, "Instructions"));
+            assertEquals(3.0, (double) server.getAttribute(name, "ExecuteP99Micros"), 3.0 / 32);
+            assertTrue(((String) server.getAttribute(name, "Report")).startsWith("robots 1 ("));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
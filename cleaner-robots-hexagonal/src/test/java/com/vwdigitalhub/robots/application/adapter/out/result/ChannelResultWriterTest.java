@@ -0,0 +1,90 @@
+package com.vwdigitalhub.robots.application.adapter.out.result;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelResultWriterTest {
+
+    @Test
+    void shouldWriteTheSameTextAsPrintingEachOutcome() {
+        // GIVEN
+        Random random = new Random(41);
+        var bytes = new ByteArrayOutputStream();
+        var writer = new ChannelResultWriter(Channels.newChannel(bytes), true, ChannelResultWriter.Format.TEXT, 200);
+        StringBuilder expected = new StringBuilder();
+        int[] edges = {0, 9, 10, 99, 100, -1, -10, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        // WHEN
+        for (int i = 0; i < 10_000; i++) {
+            int x = i < edges.length ? edges[i] : random.nextInt() >> random.nextInt(32);
+            int y = random.nextInt() >> random.nextInt(32);
+            if (random.nextBoolean()) {
+                var response = new ControlRobotCommandResponse(new Position(x, y), Direction.values()[random.nextInt(4)]);
+                writer.parked(response);
+                expected.append(response).append('\n');
+            } else {
+                var rejection = new RobotRejection(random.nextInt(1_000_000), random.nextLong() >>> random.nextInt(64),
+                        new Position(x, y), RobotRejection.Reason.values()[random.nextInt(3)]);
+                writer.rejected(rejection);
+                expected.append(rejection).append('\n');
+            }
+        }
+        writer.close();
+        // THEN
+        assertEquals(expected.toString(), bytes.toString());
+        assertEquals(10_000, writer.records());
+    }
+
+    @Test
+    void shouldWriteFixedSizeBinaryRecords(@TempDir Path directory) throws Exception {
+        // GIVEN
+        Path file = directory.resolve("results.bin");
+        // WHEN
+        try (var writer = ChannelResultWriter.open(file, ChannelResultWriter.Format.BINARY)) {
+            writer.parked(new ControlRobotCommandResponse(new Position(1, 3), Direction.N));
+            writer.rejected(new RobotRejection(2, 3, new Position(1, -1), RobotRejection.Reason.OUT_OF_BOUNDS));
+        }
+        // THEN
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(10 + 22, in.remaining());
+        assertEquals(ChannelResultWriter.PARKED, in.get());
+        assertEquals(1, in.getInt());
+        assertEquals(3, in.getInt());
+        assertEquals(Direction.N.ordinal(), in.get());
+        assertEquals(ChannelResultWriter.REJECTED, in.get());
+        assertEquals(2, in.getInt());
+        assertEquals(3L, in.getLong());
+        assertEquals(1, in.getInt());
+        assertEquals(-1, in.getInt());
+        assertEquals(RobotRejection.Reason.OUT_OF_BOUNDS.ordinal(), in.get());
+    }
+
+    @Test
+    void shouldWriteNothingUntilFlushedOrFull() {
+        // GIVEN
+        var bytes = new ByteArrayOutputStream();
+        var writer = new ChannelResultWriter(Channels.newChannel(bytes), true, ChannelResultWriter.Format.TEXT, 1 << 10);
+        // WHEN
+        writer.parked(new ControlRobotCommandResponse(new Position(1, 3), Direction.N));
+        String beforeFlush = bytes.toString();
+        writer.flush();
+        // THEN
+        assertEquals("", beforeFlush);
+        assertEquals("1 3 N\n", bytes.toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChannelResultWriter(Channels.newChannel(bytes), true, ChannelResultWriter.Format.TEXT, 16));
+    }
+}
@@ -1,10 +1,22 @@
 package com.vwdigitalhub.robots.application.domain.model;
 
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
 import com.vwdigitalhub.robots.application.domain.exception.InvalidWorkspaceException;
 import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
 import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class WorkspaceAggregateTest {
@@ -114,4 +126,154 @@ class WorkspaceAggregateTest {
         // THEN
         assertThrows(PositionOccupiedException.class, () -> ws.ensureValidPosition(p));
     }
+
+    @Test
+    void shouldKeepOccupiedCellsWhenSwitchingToADenserIndex() {
+        // GIVEN
+        Workspace ws = new Workspace(9999, 999);
+        // WHEN
+        for (int x = 0; x < 10000; x += 2) {
+            for (int y = 0; y < 14; y++) {
+                ws.occupy(new Position(x, y));
+            }
+        }
+        // THEN
+        assertThrows(PositionOccupiedException.class, () -> ws.ensureValidPosition(new Position(0, 0)));
+        assertThrows(PositionOccupiedException.class, () -> ws.ensureValidPosition(new Position(9998, 13)));
+        assertDoesNotThrow(() -> ws.ensureValidPosition(new Position(1, 0)));
+        assertDoesNotThrow(() -> ws.ensureValidPosition(new Position(0, 14)));
+        assertTrue(ws.isOccupied(500, 7));
+        assertFalse(ws.isOccupied(501, 7));
+    }
+
+    @Test
+    void shouldNotReportCellsOutsideBoundsAsOccupied() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        ws.occupy(new Position(0, 1));
+        // WHEN + THEN
+        assertFalse(ws.isOccupied(6, 0));
+        assertFalse(ws.isOccupied(-1, 1));
+    }
+
+    @Test
+    void shouldFindFirstOccupiedCellAlongRowsAndColumns() {
+        // GIVEN
+        Workspace ws = new Workspace(9, 9);
+        ws.occupy(new Position(2, 4));
+        ws.firstOccupiedOnRow(4, 0, 9);
+        ws.occupy(new Position(7, 4));
+        // WHEN + THEN
+        assertEquals(2, ws.firstOccupiedOnRow(4, 0, 9));
+        assertEquals(7, ws.firstOccupiedOnRow(4, 9, 0));
+        assertEquals(7, ws.firstOccupiedOnRow(4, 3, 9));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnRow(4, 3, 6));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnRow(5, 0, 9));
+        assertEquals(4, ws.firstOccupiedOnColumn(7, 0, 9));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnColumn(7, 3, 0));
+    }
+
+    @Test
+    void shouldClaimAndReleaseCells() {
+        // GIVEN
+        Workspace ws = new Workspace(9, 9);
+        ws.occupy(new Position(3, 3));
+        ws.firstOccupiedOnRow(3, 0, 9);
+        // WHEN + THEN
+        assertFalse(ws.tryOccupy(new Position(3, 3)));
+        assertTrue(ws.tryOccupy(new Position(5, 3)));
+        assertTrue(ws.release(new Position(3, 3)));
+        assertFalse(ws.release(new Position(3, 3)));
+        assertFalse(ws.release(new Position(10, 3)));
+        assertFalse(ws.isOccupied(3, 3));
+        assertEquals(5, ws.firstOccupiedOnRow(3, 0, 9));
+        assertEquals(1, ws.occupiedCount());
+        assertThrows(OutOfBoundsException.class, () -> ws.tryOccupy(new Position(-1, 0)));
+    }
+
+    @Test
+    void shouldListOccupiedCellIdsInAscendingOrder() {
+        // GIVEN
+        Workspace ws = new Workspace(9999, 9999, 4);
+        ws.occupy(new Position(7, 3));
+        ws.occupy(new Position(9999, 0));
+        ws.occupy(new Position(0, 9999));
+        ws.occupy(new Position(2, 3));
+        // WHEN + THEN
+        assertArrayEquals(new long[]{9999, 3 * 10000L + 2, 3 * 10000L + 7, 9999 * 10000L}, ws.occupiedCellIds());
+        assertArrayEquals(new long[0], new Workspace(3, 3).occupiedCellIds());
+    }
+
+    @Test
+    void shouldAnswerSegmentQueriesOnConcurrentWorkspaces() {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(9, 9, 0);
+        ws.occupy(new Position(2, 4));
+        ws.occupy(new Position(7, 4));
+        // WHEN + THEN
+        assertTrue(ws.isConcurrent());
+        assertEquals(2, ws.firstOccupiedOnRow(4, 0, 9));
+        assertEquals(7, ws.firstOccupiedOnRow(4, 9, 0));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnRow(4, 3, 6));
+        assertEquals(4, ws.firstOccupiedOnColumn(7, 0, 9));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnColumn(7, 3, 0));
+        assertThrows(PositionOccupiedException.class, () -> ws.occupy(new Position(7, 4)));
+        assertThrows(InvalidWorkspaceException.class, () -> Workspace.concurrent(-1, 5, 0));
+    }
+
+    @Test
+    void shouldKeepOccupiedCellsOffHeapOnHugeWorkspaces() {
+        // GIVEN
+        Workspace ws = Workspace.offHeap(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        ws.occupy(new Position(2, 4));
+        ws.occupy(new Position(2_000_000_000, 4));
+        ws.occupy(new Position(7, 1_500_000_000));
+        // WHEN + THEN
+        assertFalse(ws.isConcurrent());
+        assertTrue(ws.isOccupied(2_000_000_000, 4));
+        assertFalse(ws.isOccupied(2_000_000_001, 4));
+        assertEquals(2, ws.firstOccupiedOnRow(4, 0, Integer.MAX_VALUE));
+        assertEquals(2_000_000_000, ws.firstOccupiedOnRow(4, Integer.MAX_VALUE, 3));
+        assertEquals(Workspace.NONE, ws.firstOccupiedOnRow(4, 3, 1_999_999_999));
+        assertEquals(1_500_000_000, ws.firstOccupiedOnColumn(7, 0, Integer.MAX_VALUE));
+        assertThrows(PositionOccupiedException.class, () -> ws.occupy(new Position(7, 1_500_000_000)));
+        assertTrue(ws.release(new Position(2, 4)));
+        assertEquals(2_000_000_000, ws.firstOccupiedOnRow(4, 0, Integer.MAX_VALUE));
+        assertArrayEquals(new long[]{4 * (Integer.MAX_VALUE + 1L) + 2_000_000_000, 1_500_000_000 * (Integer.MAX_VALUE + 1L) + 7},
+                ws.occupiedCellIds());
+        assertThrows(InvalidWorkspaceException.class, () -> Workspace.offHeap(5, -1));
+    }
+
+    @Test
+    void shouldNeverParkTwoRobotsOnOneCellWhenDrivenFromManyThreads() throws Exception {
+        // GIVEN
+        Workspace ws = Workspace.concurrent(30, 30, 0);
+        var useCase = new SegmentExecuteInstructionsService();
+        Set<Position> parked = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        // WHEN
+        for (int t = 0; t < 8; t++) {
+            long seed = t;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                for (int robot = 0; robot < 300; robot++) {
+                    var start = new Position(random.nextInt(31), random.nextInt(31));
+                    var program = InstructionParser.from("M".repeat(random.nextInt(4)) + "RM");
+                    try {
+                        var response = useCase.execute(new ControlRobotCommand(ws, start, Direction.N, program));
+                        if (!parked.add(response.finalPosition())) duplicates.incrementAndGet();
+                    } catch (DomainException e) {
+                        // Blocked or out of bounds
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        // THEN
+        assertEquals(0, duplicates.get());
+        assertEquals(parked.size(), ws.occupiedCount());
+        parked.forEach(p -> assertTrue(ws.isOccupied(p.x(), p.y())));
+    }
 }
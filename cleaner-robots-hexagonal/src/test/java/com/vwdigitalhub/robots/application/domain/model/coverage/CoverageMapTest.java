@@ -0,0 +1,138 @@
+package com.vwdigitalhub.robots.application.domain.model.coverage;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoverageMapTest {
+
+    @Test
+    void shouldCoverCellsRowsAndColumnsAcrossTiles() {
+        // GIVEN
+        CoverageMap map = new CoverageMap(199, 99);
+        // WHEN
+        map.cover(5, 5);
+        map.cover(5, 5);
+        map.coverRow(10, 150, 30);
+        map.coverColumn(64, 0, 99);
+        // THEN
+        assertEquals(1 + 121 + 99, map.coveredCells());
+        assertTrue(map.isCovered(30, 10));
+        assertTrue(map.isCovered(150, 10));
+        assertFalse(map.isCovered(151, 10));
+        assertTrue(map.isCovered(64, 99));
+        assertFalse(map.isCovered(65, 99));
+        assertFalse(map.isCovered(-1, 0));
+        assertEquals(221 / 20000.0, map.coverage(), 1e-12);
+        assertEquals(4, map.tileCount());
+    }
+
+    @Test
+    void shouldSwitchContainersAsATileFillsUp() {
+        // GIVEN
+        CoverageMap map = new CoverageMap(127, 63);
+        // WHEN
+        for (int y = 0; y < 64; y++) {
+            map.coverRow(y, 0, 63);
+            assertEquals(64L * (y + 1), map.coveredCells());
+        }
+        map.coverColumn(3, 0, 63);
+        map.coverColumn(64, 63, 0);
+        // THEN
+        assertEquals(4096 + 64, map.coveredCells());
+        assertTrue(map.isCovered(63, 63));
+        assertTrue(map.isCovered(64, 17));
+        assertFalse(map.isCovered(65, 17));
+    }
+
+    @Test
+    void shouldTrackHugeWorkspacesByTouchedTilesOnly() {
+        // GIVEN
+        CoverageMap map = new CoverageMap(999_999, 999_999);
+        // WHEN
+        map.coverRow(500_000, 0, 999_999);
+        map.coverColumn(999_999, 0, 999_999);
+        // THEN
+        assertEquals(1_999_999, map.coveredCells());
+        assertEquals(1e12, map.totalCells(), 0);
+        assertEquals(15_625 * 2 - 1, map.tileCount());
+        assertTrue(map.isCovered(999_999, 999_999));
+    }
+
+    @Test
+    void shouldUniteTheCoverageOfSeveralMaps() {
+        // GIVEN
+        CoverageMap first = new CoverageMap(99, 99);
+        CoverageMap second = new CoverageMap(99, 99);
+        first.coverRow(0, 0, 99);
+        first.coverColumn(70, 0, 99);
+        second.coverRow(0, 50, 99);
+        second.coverRow(99, 0, 99);
+        for (int y = 0; y < 64; y++) second.coverRow(y, 0, 63);
+        // WHEN
+        CoverageMap union = first.copy();
+        union.or(second);
+        // THEN
+        assertEquals(199, first.coveredCells());
+        assertEquals(100 + 99 + 99 + 64 * 63, union.coveredCells());
+        assertTrue(union.isCovered(70, 50));
+        assertTrue(union.isCovered(10, 99));
+        assertTrue(union.isCovered(63, 63));
+        assertThrows(IllegalArgumentException.class, () -> union.or(new CoverageMap(99, 98)));
+    }
+
+    @Test
+    void shouldExportEveryUncoveredCellExactlyOnce() {
+        // GIVEN
+        int maxX = 210;
+        int maxY = 150;
+        CoverageMap map = new CoverageMap(maxX, maxY);
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            int x = random.nextInt(maxX + 1);
+            int y = random.nextInt(maxY - 20);
+            if (random.nextBoolean()) map.coverRow(y, x, Math.min(maxX, x + random.nextInt(40)));
+            else map.coverColumn(x, y, Math.min(maxY - 20, y + random.nextInt(40)));
+        }
+        int[][] seen = new int[maxX + 1][maxY + 1];
+        // WHEN
+        map.forEachUncovered((minX, minY, toX, toY) -> {
+            for (int x = minX; x <= toX; x++) {
+                for (int y = minY; y <= toY; y++) seen[x][y]++;
+            }
+        });
+        // THEN
+        for (int x = 0; x <= maxX; x++) {
+            for (int y = 0; y <= maxY; y++) {
+                assertEquals(map.isCovered(x, y) ? 0 : 1, seen[x][y], x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void shouldExportUntouchedAreasAsOneRectanglePerBand() {
+        // GIVEN
+        CoverageMap map = new CoverageMap(999_999, 999_999);
+        map.coverRow(640, 0, 999_999);
+        int[] regions = {0};
+        // WHEN
+        map.forEachUncovered((minX, minY, maxX, maxY) -> regions[0]++);
+        // THEN
+        // One band above and one below the crossed tiles, one rectangle under the row in each tile
+        assertEquals(2 + 15_625, regions[0]);
+    }
+
+    @Test
+    void shouldRejectCellsOutsideTheBounds() {
+        // GIVEN
+        CoverageMap map = new CoverageMap(9, 9);
+        // WHEN + THEN
+        assertThrows(OutOfBoundsException.class, () -> map.cover(10, 0));
+        assertThrows(OutOfBoundsException.class, () -> map.coverRow(0, 5, 10));
+        assertThrows(OutOfBoundsException.class, () -> map.coverColumn(0, -1, 3));
+        assertEquals(0, map.coveredCells());
+    }
+}
@@ -0,0 +1,209 @@
+package com.vwdigitalhub.robots.application.domain.model.instructions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstructionProgramTest {
+
+    @Test
+    void shouldKeepInstructionsInOrderAcrossWordBoundaries() {
+        // GIVEN
+        Random random = new Random(7);
+        List<RobotInstruction> expected = new ArrayList<>();
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            int code = random.nextInt(3);
+            expected.add(InstructionProgram.instruction(code));
+            letters.append("LRM".charAt(code));
+        }
+        // WHEN
+        InstructionProgram program = InstructionProgram.of(expected);
+        // THEN
+        assertEquals(expected.size(), program.length());
+        assertEquals(expected.size(), program.codeCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), program.get(i));
+            assertEquals(InstructionProgram.code(expected.get(i)), program.codeAt(i));
+        }
+        assertEquals(letters.toString(), program.toString());
+    }
+
+    @Test
+    void shouldResetBuilderAfterBuild() {
+        // GIVEN
+        InstructionProgram.Builder builder = InstructionProgram.builder(1);
+        // WHEN
+        InstructionProgram first = builder.add(TurnLeft.INSTANCE).add(MoveForward.INSTANCE).build();
+        InstructionProgram second = builder.add(TurnRight.INSTANCE).build();
+        // THEN
+        assertEquals(InstructionProgram.of(List.of(TurnLeft.INSTANCE, MoveForward.INSTANCE)), first);
+        assertEquals(InstructionProgram.of(List.of(TurnRight.INSTANCE)), second);
+    }
+
+    @Test
+    void shouldShareEmptyProgram() {
+        // GIVEN + WHEN + THEN
+        assertSame(InstructionProgram.empty(), InstructionProgram.builder().build());
+        assertTrue(InstructionProgram.empty().isEmpty());
+    }
+
+    @Test
+    void shouldRejectIndexOutsideProgram() {
+        // GIVEN
+        InstructionProgram program = InstructionProgram.builder().add(MoveForward.INSTANCE).build();
+        // WHEN + THEN
+        assertThrows(IndexOutOfBoundsException.class, () -> program.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> program.get(-1));
+    }
+
+    @Test
+    void shouldCompareProgramsByTheirExpandedInstructions() {
+        // GIVEN
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0; i < 600; i++) builder.addCode(InstructionProgram.MOVE_FORWARD).addCode(InstructionProgram.TURN_RIGHT);
+        InstructionProgram literal = builder.build();
+        InstructionProgram body = builder.addCode(InstructionProgram.MOVE_FORWARD).addCode(InstructionProgram.TURN_RIGHT).build();
+        // WHEN
+        InstructionProgram repeated = InstructionProgram.builder().addRepeat(body, 600).build();
+        InstructionProgram huge = InstructionProgram.builder().addRepeat(body, 3_000_000_000L).build();
+        // THEN
+        assertFalse(repeated.isLiteral());
+        assertEquals(literal, repeated);
+        assertEquals(literal.hashCode(), repeated.hashCode());
+        assertNotEquals(literal, huge);
+        assertEquals("(MR)*3000000000", huge.toString());
+        assertEquals(6_000_000_000L, huge.length());
+        assertSame(TurnRight.INSTANCE, huge.get(5_999_999_999L));
+    }
+
+    @Test
+    void shouldCompareHugeProgramsWithoutExpandingThem() {
+        // GIVEN
+        InstructionProgram body = literal("MMRMML");
+        InstructionProgram pair = literal("MR");
+        InstructionProgram block = InstructionProgram.builder().addRepeat(pair, 1_000_000_000L).build();
+        // WHEN
+        InstructionProgram first = InstructionProgram.builder().addRepeat(body, 1_000_000_000_000L).build();
+        InstructionProgram second = InstructionProgram.builder().addRepeat(literal("MMRMML"), 1_000_000_000_000L).build();
+        InstructionProgram pairs = InstructionProgram.builder().addRepeat(pair, 1_000_000_000_000L).build();
+        InstructionProgram blocks = InstructionProgram.builder().addRepeat(block, 1000).build();
+        InstructionProgram quads = InstructionProgram.builder().addRepeat(literal("MRMR"), 500_000_000_000L).build();
+        InstructionProgram shifted = InstructionProgram.builder().addCode(InstructionProgram.MOVE_FORWARD)
+                .addRepeat(literal("RM"), 999_999_999_999L).addCode(InstructionProgram.TURN_RIGHT).build();
+        InstructionProgram broken = InstructionProgram.builder().addRepeat(block, 999).addRepeat(pair, 999_999_999)
+                .addCode(InstructionProgram.TURN_RIGHT).addCode(InstructionProgram.TURN_RIGHT).build();
+        // THEN
+        assertEquals(first, second);
+        assertEquals(pairs, blocks);
+        assertEquals(pairs, quads);
+        assertEquals(blocks, shifted);
+        assertNotEquals(pairs, broken);
+        assertNotEquals(broken, blocks);
+    }
+
+    @Test
+    void shouldCompareDifferentlyBuiltProgramsLikeTheirExpansions() {
+        // GIVEN
+        Random random = new Random(11);
+        List<InstructionProgram> programs = new ArrayList<>();
+        List<String> expansions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            programs.add(randomProgram(random, 2));
+            expansions.add(expand(programs.get(i)));
+        }
+        // WHEN + THEN
+        for (int a = 0; a < programs.size(); a++) {
+            for (int b = 0; b < programs.size(); b++) {
+                assertEquals(expansions.get(a).equals(expansions.get(b)), programs.get(a).equals(programs.get(b)),
+                        programs.get(a) + " vs " + programs.get(b));
+            }
+        }
+    }
+
+    @Test
+    void shouldCountRunsOfEqualInstructionsAcrossWords() {
+        // GIVEN
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0; i < 3; i++) builder.add(TurnLeft.INSTANCE);
+        for (int i = 0; i < 70; i++) builder.add(MoveForward.INSTANCE);
+        builder.add(TurnRight.INSTANCE);
+        for (int i = 0; i < 5; i++) builder.add(TurnLeft.INSTANCE);
+        InstructionProgram program = builder.build();
+        // WHEN + THEN
+        assertEquals(3, program.runLength(0));
+        assertEquals(2, program.runLength(1));
+        assertEquals(70, program.runLength(3));
+        assertEquals(40, program.runLength(33));
+        assertEquals(1, program.runLength(72));
+        assertEquals(1, program.runLength(73));
+        assertEquals(5, program.runLength(74));
+        assertEquals(1, program.runLength(78));
+    }
+
+    @Test
+    void shouldSummarizeBlocksWithoutExpandingThem() {
+        // GIVEN
+        InstructionProgram zigzag = InstructionProgram.builder().addCode(InstructionProgram.MOVE_FORWARD)
+                .addCode(InstructionProgram.MOVE_FORWARD).addCode(InstructionProgram.TURN_RIGHT)
+                .addCode(InstructionProgram.MOVE_FORWARD).addCode(InstructionProgram.TURN_LEFT).build();
+        InstructionProgram program = InstructionProgram.builder().addRepeat(zigzag, 1_000_000_000L)
+                .addCode(InstructionProgram.TURN_RIGHT).build();
+        // WHEN
+        ProgramSummary block = zigzag.summary();
+        ProgramSummary whole = program.summary();
+        // THEN
+        assertEquals(new ProgramSummary(1, 2, 0, 0, 1, 0, 2), block);
+        assertEquals(new ProgramSummary(1_000_000_000L, 2_000_000_000L, 1, 0, 1_000_000_000L, 0, 2_000_000_000L), whole);
+        assertEquals(new ProgramSummary(2, -1, 0, 0, 2, -1, 0), block.rotated(1));
+        assertEquals(5_000_000_001L, program.length());
+        assertEquals(InstructionProgram.instruction(InstructionProgram.TURN_LEFT), program.get(4));
+    }
+
+    @Test
+    void shouldRebuildProgramsFromTheirPackedWords() {
+        // GIVEN
+        Random random = new Random(3);
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0; i < 77; i++) builder.addCode(random.nextInt(3));
+        InstructionProgram program = builder.build();
+        long[] scratch = {program.packedWord(0), program.packedWord(1), program.packedWord(2) | -1L << 26, -1L};
+        // WHEN
+        InstructionProgram copy = InstructionProgram.fromPacked(scratch, 77);
+        // THEN
+        assertEquals(program, copy);
+        assertEquals(program.packedWord(2), copy.packedWord(2));
+        assertSame(InstructionProgram.empty(), InstructionProgram.fromPacked(new long[0], 0));
+        var ex = assertThrows(IllegalArgumentException.class, () -> InstructionProgram.fromPacked(new long[]{0b1100}, 2));
+        assertEquals("Unknown instruction code: 3", ex.getMessage());
+    }
+
+    private static InstructionProgram literal(String letters) {
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (char letter : letters.toCharArray()) builder.addCode("LRM".indexOf(letter));
+        return builder.build();
+    }
+
+    /** Programs over few bodies and short repeats, so that many pairs expand alike. */
+    private static InstructionProgram randomProgram(Random random, int depth) {
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        int parts = 1 + random.nextInt(2);
+        for (int i = 0; i < parts; i++) {
+            InstructionProgram body = depth == 0 || random.nextBoolean()
+                    ? literal(List.of("M", "MR", "MRM", "RM").get(random.nextInt(4)))
+                    : randomProgram(random, depth - 1);
+            builder.addRepeat(body, 1 + random.nextInt(12));
+        }
+        return builder.build();
+    }
+
+    private static String expand(InstructionProgram program) {
+        StringBuilder letters = new StringBuilder();
+        for (long i = 0; i < program.length(); i++) letters.append("LRM".charAt(program.codeAtExpanded(i)));
+        return letters.toString();
+    }
+}
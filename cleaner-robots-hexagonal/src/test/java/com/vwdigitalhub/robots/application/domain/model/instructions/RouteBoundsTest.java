@@ -0,0 +1,150 @@
+package com.vwdigitalhub.robots.application.domain.model.instructions;
+
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteBoundsTest {
+
+    @Test
+    void shouldFindTheFirstStepOutsideLikeAStepByStepWalk() {
+        // GIVEN
+        Random random = new Random(21);
+        for (int i = 0; i < 5_000; i++) {
+            InstructionProgram program = randomProgram(random, 2);
+            int maxX = random.nextInt(30);
+            int maxY = random.nextInt(30);
+            int x = random.nextInt(maxX + 1);
+            int y = random.nextInt(maxY + 1);
+            int d = random.nextInt(4);
+            // WHEN
+            RouteBounds route = RouteBounds.of(program, x, y, d, maxX, maxY);
+            // THEN
+            assertEquals(walk(program, x, y, d, maxX, maxY), describe(route), program.toString());
+        }
+    }
+
+    @Test
+    void shouldSummarizeLiteralProgramsFourCodesAtATime() {
+        // GIVEN
+        Random random = new Random(23);
+        for (int i = 0; i < 2_000; i++) {
+            InstructionProgram.Builder builder = InstructionProgram.builder();
+            for (int j = random.nextInt(100); j > 0; j--) builder.addCode(random.nextInt(3));
+            InstructionProgram program = builder.build();
+            // WHEN
+            ProgramSummary summary = program.summary();
+            // THEN
+            RouteBounds unbounded = RouteBounds.of(program, 1 << 29, 1 << 29, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            assertEquals(new ProgramSummary(unbounded.endX() - (1 << 29), unbounded.endY() - (1 << 29), unbounded.endDirection(),
+                    unbounded.minX() - (1 << 29), unbounded.maxX() - (1 << 29), unbounded.minY() - (1 << 29), unbounded.maxY() - (1 << 29)), summary);
+        }
+    }
+
+    @Test
+    void shouldJumpOverRepetitionsThatStayInside() {
+        // GIVEN
+        InstructionProgram stairs = InstructionProgram.builder().addCode(InstructionProgram.MOVE_FORWARD)
+                .addCode(InstructionProgram.TURN_RIGHT).addCode(InstructionProgram.MOVE_FORWARD)
+                .addCode(InstructionProgram.TURN_LEFT).build();
+        InstructionProgram program = InstructionProgram.builder().addRepeat(stairs, 1_000_000_000_000L).build();
+        // WHEN
+        RouteBounds route = RouteBounds.of(program, 0, 0, 0, 999_999, 1_999_999);
+        // THEN
+        assertTrue(route.leaves());
+        assertEquals(4 * 999_999L + 2, route.exitStep());
+        assertEquals(1_000_000, route.endX());
+        assertEquals(1_000_000, route.endY());
+        assertEquals(999_999, route.maxX());
+        assertEquals(1_000_000, route.maxY());
+    }
+
+    @Test
+    void shouldFindTheFirstVisitOfACellLikeAStepByStepWalk() {
+        // GIVEN
+        Random random = new Random(31);
+        for (int i = 0; i < 1_000; i++) {
+            InstructionProgram program = randomProgram(random, 2);
+            int d = random.nextInt(4);
+            int targetX = random.nextInt(21) - 10;
+            int targetY = random.nextInt(21) - 10;
+            // WHEN
+            long visit = RouteBounds.firstVisit(program, 0, 0, d, targetX, targetY);
+            // THEN
+            assertEquals(visit(program, d, targetX, targetY), visit, program + " " + targetX + " " + targetY);
+        }
+    }
+
+    @Test
+    void shouldSkipRepetitionsThatMissTheVisitedCell() {
+        // GIVEN
+        InstructionProgram stairs = InstructionProgram.builder().addCode(InstructionProgram.MOVE_FORWARD)
+                .addCode(InstructionProgram.TURN_RIGHT).addCode(InstructionProgram.MOVE_FORWARD)
+                .addCode(InstructionProgram.TURN_LEFT).build();
+        InstructionProgram program = InstructionProgram.builder().addRepeat(stairs, 1_000_000_000_000L).build();
+        // WHEN
+        long visit = RouteBounds.firstVisit(program, 0, 0, 0, 700_000_000, 700_000_001);
+        long missed = RouteBounds.firstVisit(program, 0, 0, 0, 700_000_001, 700_000_000);
+        // THEN
+        assertEquals(4 * 700_000_000L, visit);
+        assertEquals(-1, missed);
+    }
+
+    private static long visit(InstructionProgram program, int d, int targetX, int targetY) {
+        int x = 0, y = 0;
+        for (long i = 0; i < program.length(); i++) {
+            switch (program.codeAtExpanded(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    if (x == targetX && y == targetY) return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static InstructionProgram randomProgram(Random random, int depth) {
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0, parts = 1 + random.nextInt(3); i < parts; i++) {
+            if (depth > 0 && random.nextInt(3) > 0) {
+                builder.addRepeat(randomProgram(random, depth - 1), 1 + random.nextInt(12));
+            } else {
+                for (int j = random.nextInt(12); j >= 0; j--) builder.addCode("22201".charAt(random.nextInt(5)) - '0');
+            }
+        }
+        return builder.build();
+    }
+
+    private static String walk(InstructionProgram program, int x, int y, int d, int maxX, int maxY) {
+        int minX = x, highX = x, minY = y, highY = y;
+        for (long i = 0; i < program.length(); i++) {
+            switch (program.codeAtExpanded(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    if (x < 0 || y < 0 || x > maxX || y > maxY) {
+                        return "leaves at " + i + " " + x + " " + y + " " + d + " box " + minX + " " + highX + " " + minY + " " + highY;
+                    }
+                    minX = Math.min(minX, x);
+                    highX = Math.max(highX, x);
+                    minY = Math.min(minY, y);
+                    highY = Math.max(highY, y);
+                }
+            }
+        }
+        return "ends at " + program.length() + " " + x + " " + y + " " + d + " box " + minX + " " + highX + " " + minY + " " + highY;
+    }
+
+    private static String describe(RouteBounds route) {
+        return (route.leaves() ? "leaves at " : "ends at ") + route.exitStep() + " " + route.endX() + " " + route.endY() + " "
+                + route.endDirection() + " box " + route.minX() + " " + route.maxX() + " " + route.minY() + " " + route.maxY();
+    }
+}
@@ -0,0 +1,209 @@
+package com.vwdigitalhub.robots.application.domain.model.occupancy;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyIndexTest {
+    private static final int MAX_X = 300;
+    private static final int MAX_Y = 200;
+
+    static Stream<Arguments> indexes() {
+        return Stream.of(
+                Arguments.of("bitmap", (Supplier<OccupancyIndex>) () -> new BitmapOccupancyIndex(MAX_X, MAX_Y)),
+                Arguments.of("sparse", (Supplier<OccupancyIndex>) () -> new SparseOccupancyIndex(0)),
+                Arguments.of("off-heap tiles", (Supplier<OccupancyIndex>) OffHeapTiledOccupancyIndex::new),
+                Arguments.of("concurrent bitmap", (Supplier<OccupancyIndex>) () -> new ConcurrentBitmapOccupancyIndex(MAX_X, MAX_Y)),
+                Arguments.of("striped", (Supplier<OccupancyIndex>) () -> new StripedOccupancyIndex(0))
+        );
+    }
+
+    static Stream<Arguments> concurrentIndexes() {
+        return Stream.of(
+                Arguments.of("concurrent bitmap", (Supplier<OccupancyIndex>) () -> new ConcurrentBitmapOccupancyIndex(MAX_X, MAX_Y)),
+                Arguments.of("striped", (Supplier<OccupancyIndex>) () -> new StripedOccupancyIndex(0))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexes")
+    void shouldBehaveLikeASetOfCells(String name, Supplier<OccupancyIndex> factory) {
+        // GIVEN
+        OccupancyIndex index = factory.get();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(3);
+        // WHEN
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(MAX_X + 1);
+            int y = random.nextInt(MAX_Y + 1);
+            // THEN
+            assertEquals(expected.add(((long) x << 32) | y), index.add(x, y));
+        }
+        assertEquals(expected.size(), index.size());
+        for (int x = 0; x <= MAX_X; x++) {
+            for (int y = 0; y <= MAX_Y; y++) {
+                assertEquals(expected.contains(((long) x << 32) | y), index.contains(x, y));
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexes")
+    void shouldVisitEveryOccupiedCellOnce(String name, Supplier<OccupancyIndex> factory) {
+        // GIVEN
+        OccupancyIndex index = factory.get();
+        index.add(0, 0);
+        index.add(MAX_X, MAX_Y);
+        index.add(7, 3);
+        Set<Long> visited = new HashSet<>();
+        // WHEN
+        index.forEach((x, y) -> assertTrue(visited.add(((long) x << 32) | y)));
+        // THEN
+        assertEquals(Set.of(0L, ((long) MAX_X << 32) | MAX_Y, (7L << 32) | 3), visited);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexes")
+    void shouldRemoveCellsLikeASet(String name, Supplier<OccupancyIndex> factory) {
+        // GIVEN
+        OccupancyIndex index = factory.get();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(5);
+        // WHEN
+        for (int i = 0; i < 50_000; i++) {
+            int x = random.nextInt(40);
+            int y = random.nextInt(40);
+            Long key = ((long) x << 32) | y;
+            // THEN
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), index.add(x, y));
+            } else {
+                assertEquals(expected.remove(key), index.remove(x, y));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (int x = 0; x < 40; x++) {
+            for (int y = 0; y < 40; y++) {
+                assertEquals(expected.contains(((long) x << 32) | y), index.contains(x, y));
+            }
+        }
+    }
+
+    @Test
+    void shouldFindFirstOccupiedCellAlongLinesOfTiles() {
+        // GIVEN
+        OffHeapTiledOccupancyIndex tiles = new OffHeapTiledOccupancyIndex();
+        LineIndex rows = new LineIndex();
+        LineIndex columns = new LineIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 3_000; i++) {
+            // Clustered near the origin and scattered up to the largest coordinates
+            int x = i % 3 == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(1_000);
+            int y = i % 3 == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(300);
+            tiles.add(x, y);
+            rows.add(y, x);
+            columns.add(x, y);
+        }
+        tiles.add(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        rows.add(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        columns.add(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        // WHEN + THEN
+        for (int i = 0; i < 20_000; i++) {
+            int line = random.nextInt(300);
+            int limit = i % 2 == 0 ? 1_200 : Integer.MAX_VALUE;
+            int from = random.nextInt(limit);
+            int to = random.nextInt(limit);
+            assertEquals(rows.first(line, from, to), tiles.firstOnRow(line, from, to));
+            assertEquals(columns.first(line, from, to), tiles.firstOnColumn(line, from, to));
+        }
+        assertEquals(Integer.MAX_VALUE, tiles.firstOnRow(Integer.MAX_VALUE, 0, Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, tiles.firstOnColumn(Integer.MAX_VALUE, Integer.MAX_VALUE, 0));
+        assertTrue(tiles.offHeapBytes() >= 512L * tiles.tileCount());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("concurrentIndexes")
+    void shouldLetExactlyOneThreadClaimAndReleaseEachCell(String name, Supplier<OccupancyIndex> factory) throws Exception {
+        // GIVEN
+        OccupancyIndex index = factory.get();
+        int cells = (MAX_X + 1) * 20;
+        // WHEN
+        int added = onEightThreads(index::add);
+        int sizeAfterAdding = index.size();
+        int removed = onEightThreads(index::remove);
+        // THEN
+        assertEquals(cells, added);
+        assertEquals(cells, sizeAfterAdding);
+        assertEquals(cells, removed);
+        assertEquals(0, index.size());
+    }
+
+    /** Applies the operation to the same cells from 8 threads at once and counts the successes. */
+    private static int onEightThreads(BiPredicate<Integer, Integer> operation) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int y = 0; y < 20; y++) {
+                    for (int x = 0; x <= MAX_X; x++) {
+                        if (operation.test(x, y)) succeeded.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        return succeeded.get();
+    }
+
+    @Test
+    void shouldPickConcurrentIndexesForConcurrentWorkspaces() {
+        // GIVEN + WHEN + THEN
+        assertInstanceOf(ConcurrentBitmapOccupancyIndex.class, OccupancyIndex.concurrentForWorkspace(700, 700, 0));
+        assertInstanceOf(StripedOccupancyIndex.class, OccupancyIndex.concurrentForWorkspace(1_000_000, 1_000_000, 1_000));
+    }
+
+    @Test
+    void shouldPickBitmapForSmallWorkspaces() {
+        // GIVEN + WHEN + THEN
+        assertInstanceOf(BitmapOccupancyIndex.class, OccupancyIndex.forWorkspace(5, 5, 0));
+        assertInstanceOf(BitmapOccupancyIndex.class, OccupancyIndex.forWorkspace(700, 700, 0));
+    }
+
+    @Test
+    void shouldPickSparseForHugeWorkspacesWithFewRobots() {
+        // GIVEN + WHEN + THEN
+        assertInstanceOf(SparseOccupancyIndex.class, OccupancyIndex.forWorkspace(1_000_000, 1_000_000, 1_000_000));
+        assertInstanceOf(SparseOccupancyIndex.class, OccupancyIndex.forWorkspace(Integer.MAX_VALUE, Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    void shouldPickBitmapForDenselyPopulatedWorkspaces() {
+        // GIVEN + WHEN + THEN
+        assertInstanceOf(SparseOccupancyIndex.class, OccupancyIndex.forWorkspace(9_999, 9_999, 1_000));
+        assertInstanceOf(BitmapOccupancyIndex.class, OccupancyIndex.forWorkspace(9_999, 9_999, 1_000_000));
+    }
+}
@@ -0,0 +1,181 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.exception.RouteNotFoundException;
+import com.vwdigitalhub.robots.application.domain.exception.RouteSearchLimitException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.planroute.AStarPlanRouteService;
+import com.vwdigitalhub.robots.application.domain.service.planroute.PlanRouteCommand;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AStarPlanRouteServiceTest {
+
+    private final AStarPlanRouteService service = new AStarPlanRouteService();
+
+    @Test
+    void shouldPlanRoutesAsShortAsABreadthFirstSearch() {
+        // GIVEN
+        Random random = new Random(43);
+        int unreachable = 0;
+        for (int i = 0; i < 500; i++) {
+            Workspace ws = new Workspace(random.nextInt(20), random.nextInt(20));
+            for (int robot = random.nextInt((ws.getMaxX() + 1) * (ws.getMaxY() + 1) / 3 + 1); robot > 0; robot--) {
+                ws.tryOccupy(new Position(random.nextInt(ws.getMaxX() + 1), random.nextInt(ws.getMaxY() + 1)));
+            }
+            Position start = new Position(random.nextInt(ws.getMaxX() + 1), random.nextInt(ws.getMaxY() + 1));
+            Position target = new Position(random.nextInt(ws.getMaxX() + 1), random.nextInt(ws.getMaxY() + 1));
+            if (ws.isOccupied(start.x(), start.y()) || ws.isOccupied(target.x(), target.y())) continue;
+            Direction direction = Direction.values()[random.nextInt(4)];
+            int shortest = breadthFirst(ws, start, direction, target);
+            // WHEN
+            if (shortest < 0) {
+                unreachable++;
+                // THEN
+                assertThrows(RouteNotFoundException.class, () -> service.plan(new PlanRouteCommand(ws, start, direction, target)));
+                continue;
+            }
+            InstructionProgram route = service.plan(new PlanRouteCommand(ws, start, direction, target));
+            // THEN
+            assertEquals(shortest, route.length());
+            assertEquals(target, follow(ws, start, direction, route));
+        }
+        assertTrue(unreachable > 0);
+    }
+
+    @Test
+    void shouldPlanRoutesOnAHugeCrowdedFloorWithinMilliseconds() {
+        // GIVEN
+        Random random = new Random(47);
+        Workspace ws = new Workspace(3999, 3999, 100_000);
+        while (ws.occupiedCount() < 100_000) {
+            ws.tryOccupy(new Position(random.nextInt(4000), random.nextInt(4000)));
+        }
+        List<PlanRouteCommand> commands = new ArrayList<>();
+        while (commands.size() < 200) {
+            Position start = new Position(random.nextInt(3500), random.nextInt(3500));
+            Position target = new Position(start.x() + random.nextInt(500), start.y() + random.nextInt(500));
+            if (ws.isOccupied(start.x(), start.y()) || ws.isOccupied(target.x(), target.y())) continue;
+            commands.add(random.nextBoolean()
+                    ? new PlanRouteCommand(ws, start, Direction.values()[random.nextInt(4)], target)
+                    : new PlanRouteCommand(ws, target, Direction.values()[random.nextInt(4)], start));
+        }
+        commands.forEach(service::plan);
+        // WHEN
+        long start = System.nanoTime();
+        List<InstructionProgram> routes = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> commands.stream().map(service::plan).toList());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        // THEN
+        for (int i = 0; i < commands.size(); i++) {
+            PlanRouteCommand command = commands.get(i);
+            assertEquals(command.target(), follow(ws, command.start(), command.direction(), routes.get(i)));
+        }
+        assertTrue(millis < 2_000, millis + " ms for " + commands.size() + " routes");
+    }
+
+    @Test
+    void shouldRejectTargetsThatCannotBeReached() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        ws.occupy(new Position(2, 3));
+        ws.occupy(new Position(3, 2));
+        ws.occupy(new Position(1, 2));
+        ws.occupy(new Position(2, 1));
+        // WHEN
+        var walledIn = assertThrows(RouteNotFoundException.class,
+                () -> service.plan(new PlanRouteCommand(ws, new Position(0, 0), Direction.N, new Position(2, 2))));
+        // THEN
+        assertEquals(new Position(2, 2), walledIn.getTarget());
+        assertThrows(PositionOccupiedException.class,
+                () -> service.plan(new PlanRouteCommand(ws, new Position(0, 0), Direction.N, new Position(2, 3))));
+        assertEquals(0, service.plan(new PlanRouteCommand(ws, new Position(4, 4), Direction.N, new Position(4, 4))).length());
+        assertEquals(2, service.plan(new PlanRouteCommand(ws, new Position(0, 0), Direction.N, new Position(0, 2))).length());
+    }
+
+    @Test
+    void shouldRejectAnEnclosedTargetWithoutSearchingTheWholeFloor() {
+        // GIVEN
+        Workspace ws = new Workspace(3999, 3999, 100_000);
+        for (int i = 10; i <= 14; i++) {
+            ws.tryOccupy(new Position(i, 10));
+            ws.tryOccupy(new Position(i, 14));
+            ws.tryOccupy(new Position(10, i));
+            ws.tryOccupy(new Position(14, i));
+        }
+        // WHEN
+        var enclosed = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(RouteNotFoundException.class,
+                () -> service.plan(new PlanRouteCommand(ws, new Position(3999, 3999), Direction.S, new Position(12, 12)))));
+        // THEN
+        assertEquals(new Position(12, 12), enclosed.getTarget());
+    }
+
+    @Test
+    void shouldGiveUpOnceTheSearchReachesItsStateBudget() {
+        // GIVEN
+        Workspace ws = new Workspace(199, 199);
+        for (int y = 0; y < 199; y++) ws.occupy(new Position(100, y));
+        AStarPlanRouteService bounded = new AStarPlanRouteService(1000);
+        PlanRouteCommand command = new PlanRouteCommand(ws, new Position(0, 0), Direction.N, new Position(199, 0));
+        // WHEN
+        var ex = assertThrows(RouteSearchLimitException.class, () -> bounded.plan(command));
+        // THEN
+        assertEquals("Route search to Position[x=199, y=0] gave up after 1000 states", ex.getMessage());
+        assertEquals(599, service.plan(command).length());
+        assertThrows(IllegalArgumentException.class, () -> new AStarPlanRouteService(0));
+    }
+
+    /** Where the route ends, checking every move stays inside on a free cell. */
+    private static Position follow(Workspace ws, Position start, Direction direction, InstructionProgram route) {
+        int x = start.x(), y = start.y(), d = direction.ordinal();
+        for (long i = 0; i < route.length(); i++) {
+            switch (route.codeAtExpanded(i)) {
+                case InstructionProgram.TURN_LEFT -> d = (d + 3) & 3;
+                case InstructionProgram.TURN_RIGHT -> d = (d + 1) & 3;
+                default -> {
+                    x += Direction.dx(d);
+                    y += Direction.dy(d);
+                    assertTrue(ws.isInside(x, y) && !ws.isOccupied(x, y), "move " + i + " to " + x + " " + y);
+                }
+            }
+        }
+        return new Position(x, y);
+    }
+
+    /** Fewest instructions to the target over every (x, y, direction) state, or -1. */
+    private static int breadthFirst(Workspace ws, Position start, Direction direction, Position target) {
+        int width = ws.getMaxX() + 1, height = ws.getMaxY() + 1;
+        int[] distance = new int[width * height * 4];
+        Arrays.fill(distance, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int first = (start.x() * height + start.y()) * 4 + direction.ordinal();
+        distance[first] = 0;
+        queue.add(first);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int d = state & 3, cell = state >> 2, x = cell / height, y = cell % height;
+            if (x == target.x() && y == target.y()) return distance[state];
+            int[] next = {(cell << 2) | ((d + 3) & 3), (cell << 2) | ((d + 1) & 3), -1};
+            int nx = x + Direction.dx(d), ny = y + Direction.dy(d);
+            if (ws.isInside(nx, ny) && !ws.isOccupied(nx, ny)) next[2] = ((nx * height + ny) << 2) | d;
+            for (int n : next) {
+                if (n >= 0 && distance[n] < 0) {
+                    distance[n] = distance[state] + 1;
+                    queue.add(n);
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Robot;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.coverage.CoverageMap;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.CoveringExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoveringExecuteInstructionsServiceTest {
+
+    @Test
+    void shouldCoverTheRouteOfParkedRobotsOnly() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var useCase = new CoveringExecuteInstructionsService(new SegmentExecuteInstructionsService());
+        // WHEN
+        useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+        assertThrows(OutOfBoundsException.class, () -> useCase.execute(
+                new ControlRobotCommand(ws, new Position(4, 4), Direction.E, InstructionParser.from("MMMM"))));
+        CoverageMap coverage = useCase.coverage(ws);
+        // THEN
+        assertEquals(5, coverage.coveredCells());
+        for (Position p : new Position[]{new Position(1, 2), new Position(0, 2), new Position(0, 1), new Position(1, 1), new Position(1, 3)}) {
+            assertTrue(coverage.isCovered(p.x(), p.y()), p.toString());
+        }
+        assertFalse(coverage.isCovered(5, 4));
+        assertEquals(0, useCase.coverage(new Workspace(3, 3)).coveredCells());
+        assertEquals(1, useCase.coverage().size());
+    }
+
+    @Test
+    void shouldCoverTheSameCellsAsAStepByStepWalk() {
+        // GIVEN
+        Workspace ws = new Workspace(300, 300);
+        var useCase = new CoveringExecuteInstructionsService(new SegmentExecuteInstructionsService());
+        Set<Position> walked = new HashSet<>();
+        Random random = new Random(17);
+        String[] programs = {"(MMRMML)*20", "(MRML)*40", "(MMMMRR)*7M", "MM(RMMM)*1001", "(M(LM)*3)*5"};
+        // WHEN
+        for (int robot = 0; robot < 200; robot++) {
+            String raw = random.nextInt(3) == 0 ? programs[random.nextInt(programs.length)] : randomRoute(random);
+            InstructionProgram program = InstructionParser.from(raw);
+            Position start = new Position(50 + random.nextInt(200), 50 + random.nextInt(200));
+            Direction direction = Direction.values()[random.nextInt(4)];
+            try {
+                useCase.execute(new ControlRobotCommand(ws, start, direction, program));
+            } catch (DomainException e) {
+                continue;
+            }
+            Robot walker = Robot.create(start, direction);
+            walked.add(start);
+            for (long i = 0; i < program.length(); i++) {
+                walked.add(walker.executeInstruction(InstructionProgram.instruction(program.codeAtExpanded(i))));
+            }
+        }
+        CoverageMap coverage = useCase.coverage(ws);
+        // THEN
+        assertEquals(walked.size(), coverage.coveredCells());
+        walked.forEach(p -> assertTrue(coverage.isCovered(p.x(), p.y()), p.toString()));
+    }
+
+    private static String randomRoute(Random random) {
+        StringBuilder route = new StringBuilder();
+        for (int i = random.nextInt(60); i > 0; i--) {
+            route.append("LRMMMM".charAt(random.nextInt(6)));
+        }
+        return route.toString();
+    }
+}
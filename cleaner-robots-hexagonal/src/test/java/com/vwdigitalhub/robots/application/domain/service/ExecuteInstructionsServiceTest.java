@@ -6,7 +6,7 @@ import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedExce
 import com.vwdigitalhub.robots.application.domain.model.Direction;
 import com.vwdigitalhub.robots.application.domain.model.Position;
 import com.vwdigitalhub.robots.application.domain.model.Workspace;
-import com.vwdigitalhub.robots.application.domain.model.instructions.RobotInstruction;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
 import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
 import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
@@ -17,7 +17,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,13 +94,13 @@ class ExecuteInstructionsServiceTest {
     @Test
     void shouldParseInstructionsCaseInsensitively() {
         // GIVEN
-        List<RobotInstruction> lower = InstructionParser.from("lmr");
-        List<RobotInstruction> mixed = InstructionParser.from("LmR");
-        List<RobotInstruction> upper = InstructionParser.from("LMR");
+        InstructionProgram lower = InstructionParser.from("lmr");
+        InstructionProgram mixed = InstructionParser.from("LmR");
+        InstructionProgram upper = InstructionParser.from("LMR");
         // WHEN + THEN
-        assertEquals(upper.size(), lower.size());
-        assertEquals(upper.size(), mixed.size());
-        for (int i = 0; i < upper.size(); i++) {
+        assertEquals(upper.length(), lower.length());
+        assertEquals(upper.length(), mixed.length());
+        for (long i = 0; i < upper.length(); i++) {
             assertEquals(upper.get(i).getClass(), lower.get(i).getClass());
             assertEquals(upper.get(i).getClass(), mixed.get(i).getClass());
         }
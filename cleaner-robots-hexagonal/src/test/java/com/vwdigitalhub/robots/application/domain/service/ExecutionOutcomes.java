@@ -0,0 +1,31 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+
+import java.util.Random;
+
+/** Helpers for the tests comparing an engine with a reference one robot by robot. */
+final class ExecutionOutcomes {
+    private ExecutionOutcomes() {}
+
+    /** The robot's final position, or the rejection as {@code <exception>: <message>}. */
+    static String outcome(ExecuteInstructionsUseCase useCase, ControlRobotCommand command) {
+        try {
+            return useCase.execute(command).toString();
+        } catch (DomainException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /** {@code runs} straight runs of fewer than {@code maxRun} moves, each followed by a turn. */
+    static String randomRoute(Random random, int runs, int maxRun) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < runs; i++) {
+            sb.append("M".repeat(random.nextInt(maxRun)));
+            sb.append(random.nextBoolean() ? 'L' : 'R');
+        }
+        return sb.toString();
+    }
+}
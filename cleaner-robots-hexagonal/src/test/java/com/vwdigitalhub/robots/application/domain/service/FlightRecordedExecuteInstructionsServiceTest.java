@@ -0,0 +1,67 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.FlightRecordedExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotExecutedEvent;
+import com.vwdigitalhub.robots.application.domain.service.jfr.RobotRejectedEvent;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordedExecuteInstructionsServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecordParkedAndRejectedRobots() throws Exception {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var useCase = new FlightRecordedExecuteInstructionsService(new SegmentExecuteInstructionsService());
+        Path file = directory.resolve("robots.jfr");
+        // WHEN
+        try (Recording recording = new Recording()) {
+            recording.enable(RobotExecutedEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(RobotRejectedEvent.class);
+            recording.start();
+            useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+            assertThrows(PositionOccupiedException.class, () -> useCase.execute(
+                    new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("M"))));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        // THEN
+        RecordedEvent executed = only(events, "com.vwdigitalhub.robots.RobotExecuted");
+        assertEquals("SegmentExecuteInstructionsService", executed.getString("engine"));
+        assertEquals(5, executed.getInt("maxX"));
+        assertEquals(9, executed.getLong("instructions"));
+        assertEquals(1, executed.getInt("finalX"));
+        assertEquals(3, executed.getInt("finalY"));
+        assertEquals("N", executed.getString("finalDirection"));
+        RecordedEvent rejected = only(events, "com.vwdigitalhub.robots.RobotRejected");
+        assertEquals("PositionOccupiedException", rejected.getString("reason"));
+        assertEquals(2, rejected.getInt("startY"));
+        assertEquals("Final position already occupied by another robot: Position[x=1, y=3]", rejected.getString("message"));
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotJournal;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommandResponse;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.JournalingExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrimitiveExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalingExecuteInstructionsServiceTest {
+
+    @Test
+    void shouldRecordParkedRobotsOnly() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        RecordingJournal journal = new RecordingJournal();
+        var useCase = new JournalingExecuteInstructionsService(new PrimitiveExecuteInstructionsService(), journal);
+        // WHEN
+        var parked = useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+        assertThrows(PositionOccupiedException.class, () -> useCase.execute(
+                new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("M"))));
+        // THEN
+        assertEquals(List.of(parked), journal.executed);
+        assertEquals("1 3 N", parked.toString());
+    }
+
+    private static final class RecordingJournal implements RobotJournal {
+        final List<ControlRobotCommandResponse> executed = new ArrayList<>();
+
+        @Override
+        public void workspaceCreated(Workspace workspace) {}
+
+        @Override
+        public void workspaceDropped(Workspace workspace) {}
+
+        @Override
+        public void robotExecuted(ControlRobotCommand command, ControlRobotCommandResponse response) {
+            executed.add(response);
+        }
+
+        @Override
+        public void positionOccupied(Workspace workspace, Position position) {}
+
+        @Override
+        public void sync() {}
+
+        @Override
+        public Map<UUID, Workspace> replay() {
+            return Map.of();
+        }
+
+        @Override
+        public void compact(Supplier<List<Workspace>> workspaces) {}
+    }
+}
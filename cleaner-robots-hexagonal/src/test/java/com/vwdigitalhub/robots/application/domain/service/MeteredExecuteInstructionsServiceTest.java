@@ -0,0 +1,61 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.MeteredExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredExecuteInstructionsServiceTest {
+
+    @Test
+    void shouldReportParkedAndRejectedRobots() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        RecordingMetrics metrics = new RecordingMetrics();
+        var useCase = new MeteredExecuteInstructionsService(new SegmentExecuteInstructionsService(), metrics);
+        // WHEN
+        var parked = useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("(LM)*4M")));
+        assertThrows(OutOfBoundsException.class, () -> useCase.execute(
+                new ControlRobotCommand(ws, new Position(5, 5), Direction.N, InstructionParser.from("M"))));
+        // THEN
+        assertEquals("1 3 N", parked.toString());
+        assertEquals(List.of(9L), metrics.instructions);
+        assertEquals(1, metrics.rejections.size());
+        assertInstanceOf(OutOfBoundsException.class, metrics.rejections.get(0));
+        assertTrue(metrics.nanos.stream().allMatch(nanos -> nanos >= 0));
+        assertEquals(2, metrics.nanos.size());
+    }
+
+    private static final class RecordingMetrics implements RobotMetrics {
+        final List<Long> nanos = new ArrayList<>();
+        final List<Long> instructions = new ArrayList<>();
+        final List<DomainException> rejections = new ArrayList<>();
+
+        @Override
+        public void robotExecuted(long nanos, long instructions) {
+            this.nanos.add(nanos);
+            this.instructions.add(instructions);
+        }
+
+        @Override
+        public void robotRejected(long nanos, DomainException rejection) {
+            this.nanos.add(nanos);
+            rejections.add(rejection);
+        }
+
+        @Override
+        public void programParsed(long nanos, long instructions) {}
+    }
+}
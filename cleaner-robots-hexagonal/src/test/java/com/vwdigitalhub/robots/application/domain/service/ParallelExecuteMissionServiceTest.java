@@ -0,0 +1,164 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.coverage.CoverageMap;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteMissionUseCase;
+import com.vwdigitalhub.robots.application.domain.port.out.RobotMetrics;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.CoveringExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.MeteredExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executemission.ParallelExecuteMissionService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelExecuteMissionServiceTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterAll
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 1024})
+    void shouldPrintSameResultsAsSequentialExecutionOnCrowdedMissions(int chunkSize) {
+        // GIVEN
+        Random random = new Random(chunkSize);
+        var parallel = new ParallelExecuteMissionService(new SegmentExecuteInstructionsService(), pool, chunkSize);
+        for (int mission = 0; mission < 100; mission++) {
+            long seed = random.nextLong();
+            // WHEN
+            List<String> expected = sequentialOutcome(randomMission(new Random(seed)));
+            List<String> actual = outcome(parallel, randomMission(new Random(seed)));
+            // THEN
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldReportEveryRobotToTheDecoratorsOfTheSequentialEngine() {
+        // GIVEN
+        Random random = new Random(11);
+        for (int mission = 0; mission < 50; mission++) {
+            long seed = random.nextLong();
+            List<String> expected = new ArrayList<>();
+            List<String> actual = new ArrayList<>();
+            var sequential = new MeteredExecuteInstructionsService(new ExecuteInstructionsService(), recording(expected));
+            var parallel = new ParallelExecuteMissionService(
+                    new MeteredExecuteInstructionsService(new SegmentExecuteInstructionsService(), recording(actual)), pool, 16);
+            // WHEN
+            outcome((commands, results) -> commands.forEach(command -> results.accept(sequential.execute(command))),
+                    randomMission(new Random(seed)));
+            outcome(parallel, randomMission(new Random(seed)));
+            // THEN
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldCoverTheCellsOfEveryRobotLikeASequentialRun() {
+        // GIVEN
+        Random random = new Random(13);
+        for (int mission = 0; mission < 50; mission++) {
+            long seed = random.nextLong();
+            var sequential = new CoveringExecuteInstructionsService(new ExecuteInstructionsService());
+            var covering = new CoveringExecuteInstructionsService(new SegmentExecuteInstructionsService());
+            var parallel = new ParallelExecuteMissionService(covering, pool, 16);
+            List<ControlRobotCommand> expected = randomMission(new Random(seed));
+            List<ControlRobotCommand> actual = randomMission(new Random(seed));
+            // WHEN
+            outcome((commands, results) -> commands.forEach(command -> results.accept(sequential.execute(command))), expected);
+            outcome(parallel, actual);
+            // THEN
+            assertEquals(uncovered(sequential.coverage(expected.get(0).workspace())), uncovered(covering.coverage(actual.get(0).workspace())));
+        }
+    }
+
+    @Test
+    void shouldRejectRobotsOfDifferentWorkspaces() {
+        // GIVEN
+        var parallel = new ParallelExecuteMissionService(new SegmentExecuteInstructionsService(), pool, 8);
+        var commands = List.of(
+                new ControlRobotCommand(new Workspace(5, 5), new Position(0, 0), Direction.N, InstructionParser.from("M")),
+                new ControlRobotCommand(new Workspace(5, 5), new Position(0, 0), Direction.N, InstructionParser.from("M")));
+        // WHEN
+        var ex = assertThrows(IllegalArgumentException.class, () -> parallel.execute(commands, response -> {}));
+        // THEN
+        assertEquals("All robots of a mission must share one workspace", ex.getMessage());
+    }
+
+    /** Many robots on a small floor, so paths often cross cells committed earlier in the chunk. */
+    private static List<ControlRobotCommand> randomMission(Random random) {
+        Workspace workspace = new Workspace(14, 11);
+        List<ControlRobotCommand> commands = new ArrayList<>();
+        for (int robot = 0; robot < 60; robot++) {
+            var start = new Position(random.nextInt(16) - 1, random.nextInt(13) - 1);
+            var direction = Direction.values()[random.nextInt(4)];
+            StringBuilder route = new StringBuilder();
+            for (int step = random.nextInt(12); step > 0; step--) {
+                route.append("MMMLR".charAt(random.nextInt(5)));
+            }
+            if (random.nextInt(10) == 0) route.append("(RM)*").append(1 + random.nextInt(500));
+            commands.add(new ControlRobotCommand(workspace, start, direction, InstructionParser.from(route.toString())));
+        }
+        return commands;
+    }
+
+    /** Metrics writing down each robot's instructions, or the simple name of its rejection. */
+    private static RobotMetrics recording(List<String> robots) {
+        return new RobotMetrics() {
+            @Override
+            public void robotExecuted(long nanos, long instructions) {
+                robots.add("parked after " + instructions);
+            }
+
+            @Override
+            public void robotRejected(long nanos, DomainException rejection) {
+                robots.add(rejection.getClass().getSimpleName());
+            }
+
+            @Override
+            public void programParsed(long nanos, long instructions) {
+            }
+        };
+    }
+
+    private static List<String> uncovered(CoverageMap coverage) {
+        List<String> rectangles = new ArrayList<>();
+        coverage.forEachUncovered((minX, minY, maxX, maxY) -> rectangles.add(minX + " " + minY + " " + maxX + " " + maxY));
+        return rectangles;
+    }
+
+    private static List<String> sequentialOutcome(List<ControlRobotCommand> commands) {
+        var sequential = new ExecuteInstructionsService();
+        return outcome((mission, results) -> mission.forEach(command -> results.accept(sequential.execute(command))), commands);
+    }
+
+    private static List<String> outcome(ExecuteMissionUseCase useCase, List<ControlRobotCommand> commands) {
+        List<String> lines = new ArrayList<>();
+        try {
+            useCase.execute(commands, response -> lines.add(response.toString()));
+        } catch (DomainException e) {
+            lines.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,89 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrevalidatingExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.vwdigitalhub.robots.application.domain.service.ExecutionOutcomes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrevalidatingExecuteInstructionsServiceTest {
+
+    @Test
+    void shouldBehaveLikeReferenceServiceOnRandomMissions() {
+        // GIVEN
+        Random random = new Random(29);
+        AtomicInteger delegated = new AtomicInteger();
+        ExecuteInstructionsUseCase reference = new ExecuteInstructionsService();
+        var useCase = new PrevalidatingExecuteInstructionsService(command -> {
+            delegated.incrementAndGet();
+            return reference.execute(command);
+        });
+        for (int mission = 0; mission < 200; mission++) {
+            Workspace expectedWs = new Workspace(30, 20);
+            Workspace actualWs = new Workspace(30, 20);
+            for (int robot = 0; robot < 25; robot++) {
+                var start = new Position(random.nextInt(32) - 1, random.nextInt(22) - 1);
+                var direction = Direction.values()[random.nextInt(4)];
+                var program = InstructionParser.from(randomRoute(random, random.nextInt(8), 12));
+                // WHEN
+                String expected = outcome(reference, new ControlRobotCommand(expectedWs, start, direction, program));
+                String actual = outcome(useCase, new ControlRobotCommand(actualWs, start, direction, program));
+                // THEN
+                assertEquals(expected, actual);
+            }
+            assertArrayEquals(expectedWs.occupiedCellIds(), actualWs.occupiedCellIds());
+        }
+        assertTrue(delegated.get() < 200 * 25);
+    }
+
+    @Test
+    void shouldAnswerRoutesClearOfParkedRobotsWithoutTheEngine() {
+        // GIVEN
+        var ws = new Workspace(999_999, 999_999);
+        ws.occupy(new Position(999_999, 3));
+        var useCase = new PrevalidatingExecuteInstructionsService(command -> fail("engine should not run"));
+        var patrol = InstructionParser.from("(MMRMML)*1000000000000");
+        var square = InstructionParser.from("(MMMMRMMMMRMMMMRMMMMR)*1000000000001");
+        // WHEN
+        var ex = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(OutOfBoundsException.class, () -> useCase.execute(new ControlRobotCommand(ws, new Position(0, 0), Direction.N, patrol))));
+        var parked = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> useCase.execute(new ControlRobotCommand(ws, new Position(10, 10), Direction.E, square)));
+        // THEN
+        assertEquals("Position out of bounds: Position[x=999998, y=1000000]", ex.getMessage());
+        assertEquals("10 10 E", parked.toString());
+        assertTrue(ws.isOccupied(10, 10));
+    }
+
+    @Test
+    void shouldLeaveRoutesThroughParkedRobotsToTheEngine() {
+        // GIVEN
+        var ws = new Workspace(9, 9);
+        ws.occupy(new Position(0, 3));
+        AtomicInteger delegated = new AtomicInteger();
+        ExecuteInstructionsUseCase reference = new ExecuteInstructionsService();
+        var useCase = new PrevalidatingExecuteInstructionsService(command -> {
+            delegated.incrementAndGet();
+            return reference.execute(command);
+        });
+        // WHEN
+        String outcome = outcome(useCase, new ControlRobotCommand(ws, new Position(0, 0), Direction.N, InstructionParser.from("MMMMMMMMMMMM")));
+        // THEN
+        assertEquals("PositionOccupiedException: " + new PositionOccupiedException(new Position(0, 3)).getMessage(), outcome);
+        assertEquals(1, delegated.get());
+    }
+
+}
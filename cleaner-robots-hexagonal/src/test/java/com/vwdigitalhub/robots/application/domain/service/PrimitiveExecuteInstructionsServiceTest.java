@@ -0,0 +1,97 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrimitiveExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.vwdigitalhub.robots.application.domain.service.ExecutionOutcomes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveExecuteInstructionsServiceTest {
+
+    private Workspace ws;
+    private ExecuteInstructionsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        // GIVEN
+        ws = new Workspace(5, 5);
+        useCase = new PrimitiveExecuteInstructionsService();
+    }
+
+    @Test
+    void shouldMatchSampleCaseFromStatement() {
+        // WHEN
+        var r1 = useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+        var r2 = useCase.execute(new ControlRobotCommand(ws, new Position(3, 3), Direction.E, InstructionParser.from("MMRMMRMRRM")));
+        // THEN
+        assertEquals("1 3 N", r1.toString());
+        assertEquals("5 1 E", r2.toString());
+    }
+
+    @Test
+    void shouldReportFirstStepOutsideWorkspace() {
+        // GIVEN
+        var cmd = new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("MMMMMMM"));
+        // WHEN
+        var ex = assertThrows(OutOfBoundsException.class, () -> useCase.execute(cmd));
+        // THEN
+        assertEquals("Position out of bounds: Position[x=1, y=6]", ex.getMessage());
+    }
+
+    @Test
+    void shouldRejectPathThroughOccupiedCell() {
+        // GIVEN
+        ws.occupy(new Position(1, 3));
+        var cmd = new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("MM"));
+        // WHEN + THEN
+        assertThrows(PositionOccupiedException.class, () -> useCase.execute(cmd));
+    }
+
+    @Test
+    void shouldValidateStartEvenWithoutInstructions() {
+        // GIVEN
+        var cmd = new ControlRobotCommand(ws, new Position(6, 0), Direction.N, InstructionParser.from(""));
+        // WHEN + THEN
+        assertThrows(OutOfBoundsException.class, () -> useCase.execute(cmd));
+    }
+
+    @Test
+    void shouldBehaveLikeReferenceServiceOnRandomMissions() {
+        // GIVEN
+        Random random = new Random(11);
+        for (int mission = 0; mission < 200; mission++) {
+            Workspace expectedWs = new Workspace(6, 4);
+            Workspace actualWs = new Workspace(6, 4);
+            for (int robot = 0; robot < 12; robot++) {
+                var start = new Position(random.nextInt(9) - 1, random.nextInt(7) - 1);
+                var direction = Direction.values()[random.nextInt(4)];
+                var program = InstructionParser.from(randomLetters(random, random.nextInt(30)));
+                // WHEN
+                String expected = outcome(new ExecuteInstructionsService(), new ControlRobotCommand(expectedWs, start, direction, program));
+                String actual = outcome(useCase, new ControlRobotCommand(actualWs, start, direction, program));
+                // THEN
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static String randomLetters(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("LRMMM".charAt(random.nextInt(5)));
+        }
+        return sb.toString();
+    }
+}
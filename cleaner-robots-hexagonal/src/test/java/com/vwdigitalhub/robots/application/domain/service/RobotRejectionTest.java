@@ -0,0 +1,80 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.DomainException;
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Robot;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.RobotRejection;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.vwdigitalhub.robots.application.domain.service.ExecutionOutcomes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RobotRejectionTest {
+
+    @Test
+    void shouldReportTheStepAndCellWhereEachRobotWasRejected() {
+        // GIVEN
+        Random random = new Random(37);
+        ExecuteInstructionsUseCase engine = new SegmentExecuteInstructionsService();
+        int rejections = 0;
+        for (int mission = 0; mission < 100; mission++) {
+            Workspace ws = new Workspace(15, 10);
+            for (int robot = 1; robot <= 30; robot++) {
+                var start = new Position(random.nextInt(17) - 1, random.nextInt(12) - 1);
+                var direction = Direction.values()[random.nextInt(4)];
+                String route = randomRoute(random, random.nextInt(6), 8);
+                var command = new ControlRobotCommand(ws, start, direction, InstructionParser.from(route));
+                String expected = walk(ws, robot, start, direction, route);
+                try {
+                    // WHEN
+                    engine.execute(command);
+                    // THEN
+                    assertNull(expected);
+                } catch (DomainException e) {
+                    rejections++;
+                    assertEquals(expected, RobotRejection.of(robot, command, e).toString());
+                }
+            }
+        }
+        assertTrue(rejections > 100);
+    }
+
+    @Test
+    void shouldThrowRejectionsWithoutStackTraces() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        ws.occupy(new Position(1, 1));
+        // WHEN
+        var outside = assertThrows(OutOfBoundsException.class, () -> ws.ensureValidPosition(new Position(6, 0)));
+        var occupied = assertThrows(PositionOccupiedException.class, () -> ws.occupy(new Position(1, 1)));
+        // THEN
+        assertEquals(0, outside.getStackTrace().length);
+        assertEquals(0, occupied.getStackTrace().length);
+        assertEquals("Position out of bounds: Position[x=6, y=0]", outside.getMessage());
+        assertEquals(new Position(1, 1), occupied.getPosition());
+    }
+
+    /** Rejection the step-by-step rules give, as printed, or {@code null} if the robot parks. */
+    private static String walk(Workspace ws, int index, Position start, Direction direction, String route) {
+        if (!ws.isInside(start.x(), start.y())) return "robot " + index + " rejected at step 0: OUT_OF_BOUNDS " + start.x() + " " + start.y();
+        if (ws.isOccupied(start.x(), start.y())) return "robot " + index + " rejected at step 0: POSITION_OCCUPIED " + start.x() + " " + start.y();
+        var robot = Robot.create(start, direction);
+        var program = InstructionParser.from(route);
+        for (long i = 0; i < program.length(); i++) {
+            Position p = robot.executeInstruction(program.get(i));
+            if (!ws.isInside(p.x(), p.y())) return "robot " + index + " rejected at step " + (i + 1) + ": OUT_OF_BOUNDS " + p.x() + " " + p.y();
+            if (ws.isOccupied(p.x(), p.y())) return "robot " + index + " rejected at step " + (i + 1) + ": POSITION_OCCUPIED " + p.x() + " " + p.y();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.port.in.ExecuteInstructionsUseCase;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.PrimitiveExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.SegmentExecuteInstructionsService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static com.vwdigitalhub.robots.application.domain.service.ExecutionOutcomes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentExecuteInstructionsServiceTest {
+
+    private Workspace ws;
+    private ExecuteInstructionsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        // GIVEN
+        ws = new Workspace(5, 5);
+        useCase = new SegmentExecuteInstructionsService();
+    }
+
+    @Test
+    void shouldMatchSampleCaseFromStatement() {
+        // WHEN
+        var r1 = useCase.execute(new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("LMLMLMLMM")));
+        var r2 = useCase.execute(new ControlRobotCommand(ws, new Position(3, 3), Direction.E, InstructionParser.from("MMRMMRMRRM")));
+        // THEN
+        assertEquals("1 3 N", r1.toString());
+        assertEquals("5 1 E", r2.toString());
+    }
+
+    @Test
+    void shouldReportFirstStepOutsideWorkspace() {
+        // GIVEN
+        var cmd = new ControlRobotCommand(ws, new Position(1, 2), Direction.N, InstructionParser.from("MMMMMMM"));
+        // WHEN
+        var ex = assertThrows(OutOfBoundsException.class, () -> useCase.execute(cmd));
+        // THEN
+        assertEquals("Position out of bounds: Position[x=1, y=6]", ex.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Direction.class)
+    void shouldReportNearestBlockerBeforeLeavingWorkspace(Direction direction) {
+        // GIVEN
+        ws.occupy(new Position(0, 2));
+        ws.occupy(new Position(1, 2));
+        ws.occupy(new Position(3, 2));
+        ws.occupy(new Position(4, 2));
+        ws.occupy(new Position(2, 0));
+        ws.occupy(new Position(2, 1));
+        ws.occupy(new Position(2, 3));
+        ws.occupy(new Position(2, 4));
+        var cmd = new ControlRobotCommand(ws, new Position(2, 2), direction, InstructionParser.from("MMMMMMMM"));
+        // WHEN
+        var ex = assertThrows(PositionOccupiedException.class, () -> useCase.execute(cmd));
+        // THEN
+        var expected = switch (direction) {
+            case N -> new Position(2, 3);
+            case E -> new Position(3, 2);
+            case S -> new Position(2, 1);
+            case W -> new Position(1, 2);
+        };
+        assertEquals(new PositionOccupiedException(expected).getMessage(), ex.getMessage());
+    }
+
+    @Test
+    void shouldSeeRobotsParkedAfterTheFirstSegmentQuery() {
+        // GIVEN
+        useCase.execute(new ControlRobotCommand(ws, new Position(0, 0), Direction.E, InstructionParser.from("MMM")));
+        useCase.execute(new ControlRobotCommand(ws, new Position(0, 5), Direction.S, InstructionParser.from("MMMMM")));
+        // WHEN
+        var cmd = new ControlRobotCommand(ws, new Position(5, 0), Direction.W, InstructionParser.from("MMMMM"));
+        // THEN
+        var ex = assertThrows(PositionOccupiedException.class, () -> useCase.execute(cmd));
+        assertEquals(new PositionOccupiedException(new Position(3, 0)).getMessage(), ex.getMessage());
+    }
+
+    @Test
+    void shouldBehaveLikeReferenceServiceOnRandomMissions() {
+        // GIVEN
+        Random random = new Random(13);
+        for (int mission = 0; mission < 200; mission++) {
+            Workspace expectedWs = new Workspace(12, 9);
+            Workspace actualWs = new Workspace(12, 9);
+            for (int robot = 0; robot < 25; robot++) {
+                var start = new Position(random.nextInt(14) - 1, random.nextInt(11) - 1);
+                var direction = Direction.values()[random.nextInt(4)];
+                var program = InstructionParser.from(randomRoute(random, random.nextInt(8), 12));
+                // WHEN
+                String expected = outcome(new ExecuteInstructionsService(), new ControlRobotCommand(expectedWs, start, direction, program));
+                String actual = outcome(useCase, new ControlRobotCommand(actualWs, start, direction, program));
+                // THEN
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void shouldBehaveLikeReferenceServiceOnRandomRepeatBlocks() {
+        // GIVEN
+        Random random = new Random(17);
+        for (int mission = 0; mission < 100; mission++) {
+            Workspace expectedWs = new Workspace(40, 30);
+            Workspace actualWs = new Workspace(40, 30);
+            for (int robot = 0; robot < 40; robot++) {
+                var start = new Position(random.nextInt(41), random.nextInt(31));
+                var direction = Direction.values()[random.nextInt(4)];
+                var program = InstructionParser.from(randomRepeats(random, 2));
+                // WHEN
+                String expected = outcome(new ExecuteInstructionsService(), new ControlRobotCommand(expectedWs, start, direction, program));
+                String actual = outcome(useCase, new ControlRobotCommand(actualWs, start, direction, program));
+                // THEN
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void shouldFastForwardPastParkedRobotsLikePrimitiveService() {
+        // GIVEN
+        Workspace expectedWs = new Workspace(4999, 4999);
+        Workspace actualWs = new Workspace(4999, 4999);
+        for (var parked : new Position[]{new Position(1500, 1501), new Position(3000, 2998), new Position(2001, 2000)}) {
+            expectedWs.occupy(parked);
+            actualWs.occupy(parked);
+        }
+        String[] routes = {"(MMRMML)*2400", "(MMRMML)*1000(LM)*5(RMMML)*900", "R((MRML)*30)*100", "(MMRMML)*100", "(MLMR)*3000"};
+        for (int i = 0; i < routes.length; i++) {
+            var start = new Position(i, 2 * i);
+            var program = InstructionParser.from(routes[i]);
+            // WHEN
+            String expected = outcome(new PrimitiveExecuteInstructionsService(), new ControlRobotCommand(expectedWs, start, Direction.N, program));
+            String actual = outcome(useCase, new ControlRobotCommand(actualWs, start, Direction.N, program));
+            // THEN
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldRunRepeatBlocksInTimeOfTheProgramText() {
+        // GIVEN
+        var big = new Workspace(999_999, 999_999);
+        var patrol = InstructionParser.from("(MMRMML)*1000000000000");
+        var spin = InstructionParser.from("(MMRMMRMR)*1000000000001");
+        // WHEN
+        var ex = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(OutOfBoundsException.class, () -> useCase.execute(new ControlRobotCommand(big, new Position(0, 0), Direction.N, patrol))));
+        var spun = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> useCase.execute(new ControlRobotCommand(big, new Position(10, 10), Direction.N, spin)));
+        // THEN
+        assertEquals("Position out of bounds: Position[x=999998, y=1000000]", ex.getMessage());
+        assertEquals("12 11 W", spun.toString());
+    }
+
+    private static String randomRepeats(Random random, int depth) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0, parts = 1 + random.nextInt(3); i < parts; i++) {
+            if (depth > 0 && random.nextInt(3) > 0) {
+                sb.append('(').append(randomRepeats(random, depth - 1)).append(")*").append(1 + random.nextInt(60));
+            } else {
+                for (int j = random.nextInt(5); j >= 0; j--) sb.append("MMMLR".charAt(random.nextInt(5)));
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.vwdigitalhub.robots.application.domain.service;
+
+import com.vwdigitalhub.robots.application.domain.exception.OutOfBoundsException;
+import com.vwdigitalhub.robots.application.domain.exception.PositionOccupiedException;
+import com.vwdigitalhub.robots.application.domain.model.Direction;
+import com.vwdigitalhub.robots.application.domain.model.Position;
+import com.vwdigitalhub.robots.application.domain.model.Workspace;
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
+import com.vwdigitalhub.robots.application.domain.service.executeinstructions.ControlRobotCommand;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.FleetRobotOutcome;
+import com.vwdigitalhub.robots.application.domain.service.simulatefleet.TickFleetSimulationService;
+import com.vwdigitalhub.robots.application.domain.service.util.InstructionParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TickFleetSimulationServiceTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final TickFleetSimulationService service = new TickFleetSimulationService(pool);
+
+    @AfterAll
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void shouldMoveRobotsWhosePathsNeverMeetAsIfAlone() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var robots = List.of(robot(ws, 1, 2, Direction.N, "LMLMLMLMM"), robot(ws, 3, 3, Direction.E, "MMRMMRMRRM"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(List.of("1 3 N", "5 1 E"), strings(outcomes));
+        assertTrue(ws.isOccupied(1, 3));
+        assertTrue(ws.isOccupied(5, 1));
+    }
+
+    @Test
+    void shouldHaltBothRobotsMovingIntoTheSameCell() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var robots = List.of(robot(ws, 0, 0, Direction.E, "MM"), robot(ws, 2, 0, Direction.W, "MM"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(List.of("0 0 E COLLISION after 0 instructions", "2 0 W COLLISION after 0 instructions"), strings(outcomes));
+    }
+
+    @Test
+    void shouldHaltRobotsSwappingCellsHeadOn() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var robots = List.of(robot(ws, 0, 0, Direction.E, "RLM"), robot(ws, 1, 0, Direction.W, "LRM"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(FleetRobotOutcome.Status.SWAP, outcomes.get(0).status());
+        assertEquals(FleetRobotOutcome.Status.SWAP, outcomes.get(1).status());
+        assertEquals(2, outcomes.get(0).executed());
+    }
+
+    @Test
+    void shouldLetRobotsFollowEachOtherInALineAndALoop() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        var robots = List.of(
+                robot(ws, 0, 4, Direction.E, "MM"), robot(ws, 1, 4, Direction.E, "MM"), robot(ws, 2, 4, Direction.E, "MM"),
+                robot(ws, 0, 0, Direction.N, "M"), robot(ws, 0, 1, Direction.E, "M"), robot(ws, 1, 1, Direction.S, "M"), robot(ws, 1, 0, Direction.W, "M"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(List.of("2 4 E", "3 4 E", "4 4 E", "0 1 N", "1 1 E", "1 0 S", "0 0 W"), strings(outcomes));
+    }
+
+    @Test
+    void shouldBlockTheWholeLineBehindARobotThatStays() {
+        // GIVEN
+        Workspace ws = new Workspace(5, 5);
+        ws.occupy(new Position(4, 2));
+        var robots = List.of(
+                robot(ws, 0, 0, Direction.E, "MM"), robot(ws, 1, 0, Direction.E, "MM"), robot(ws, 2, 0, Direction.E, "LL"),
+                robot(ws, 3, 2, Direction.E, "M"), robot(ws, 2, 2, Direction.E, "M"),
+                robot(ws, 5, 5, Direction.N, "RRM"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(List.of(
+                "0 0 E BLOCKED after 0 instructions", "1 0 E BLOCKED after 0 instructions", "2 0 W",
+                "3 2 E BLOCKED after 0 instructions", "2 2 E BLOCKED after 0 instructions",
+                "5 4 S"), strings(outcomes));
+    }
+
+    @Test
+    void shouldHaltRobotsLeavingTheWorkspaceAndKeepTheOthersRunning() {
+        // GIVEN
+        Workspace ws = new Workspace(3, 3);
+        var robots = List.of(robot(ws, 3, 3, Direction.W, "MRMM"), robot(ws, 0, 0, Direction.N, "(MR)*3"));
+        // WHEN
+        var outcomes = service.simulate(robots);
+        // THEN
+        assertEquals(List.of("2 3 N OUT_OF_BOUNDS after 2 instructions", "1 0 W"), strings(outcomes));
+    }
+
+    @Test
+    void shouldRejectInvalidStartsAndMixedWorkspaces() {
+        // GIVEN
+        Workspace ws = new Workspace(3, 3);
+        // WHEN + THEN
+        assertThrows(PositionOccupiedException.class,
+                () -> service.simulate(List.of(robot(ws, 1, 1, Direction.N, "M"), robot(ws, 1, 1, Direction.E, "M"))));
+        assertThrows(OutOfBoundsException.class, () -> service.simulate(List.of(robot(ws, 4, 1, Direction.N, "M"))));
+        var ex = assertThrows(IllegalArgumentException.class,
+                () -> service.simulate(List.of(robot(ws, 1, 1, Direction.N, "M"), robot(new Workspace(3, 3), 2, 2, Direction.N, "M"))));
+        assertEquals("All robots of a fleet must share one workspace", ex.getMessage());
+    }
+
+    @Test
+    void shouldMatchANaiveFixpointSimulationOnCrowdedFleets() {
+        Random random = new Random(12);
+        for (int fleet = 0; fleet < 40; fleet++) {
+            // GIVEN
+            long seed = random.nextLong();
+            int robots = fleet % 4 == 0 ? 9000 : 60;
+            int side = fleet % 4 == 0 ? 120 : 11;
+            // WHEN
+            List<String> expected = naive(randomFleet(new Random(seed), robots, side));
+            List<String> actual = strings(service.simulate(randomFleet(new Random(seed), robots, side)));
+            List<String> sequential = strings(new TickFleetSimulationService(new ForkJoinPool(1)).simulate(randomFleet(new Random(seed), robots, side)));
+            // THEN
+            assertEquals(expected, actual);
+            assertEquals(expected, sequential);
+        }
+    }
+
+    private static ControlRobotCommand robot(Workspace ws, int x, int y, Direction direction, String route) {
+        return new ControlRobotCommand(ws, new Position(x, y), direction, InstructionParser.from(route));
+    }
+
+    private static List<String> strings(List<FleetRobotOutcome> outcomes) {
+        return outcomes.stream().map(FleetRobotOutcome::toString).toList();
+    }
+
+    /** Distinct starts packed on a small floor, so moves often collide, swap or follow each other. */
+    private static List<ControlRobotCommand> randomFleet(Random random, int robots, int side) {
+        Workspace workspace = new Workspace(side, side);
+        List<Position> cells = new ArrayList<>();
+        for (int x = 0; x <= side; x++) {
+            for (int y = 0; y <= side; y++) cells.add(new Position(x, y));
+        }
+        java.util.Collections.shuffle(cells, random);
+        for (int parked = 0; parked < side; parked++) workspace.occupy(cells.remove(cells.size() - 1));
+        List<ControlRobotCommand> commands = new ArrayList<>();
+        for (int robot = 0; robot < robots; robot++) {
+            StringBuilder route = new StringBuilder();
+            for (int step = random.nextInt(40); step > 0; step--) {
+                route.append("MMMMLR".charAt(random.nextInt(6)));
+            }
+            commands.add(new ControlRobotCommand(workspace, cells.get(robot), Direction.values()[random.nextInt(4)], InstructionParser.from(route.toString())));
+        }
+        return commands;
+    }
+
+    /**
+     * Same rules as the service, resolved the obvious way: reject conflicting moves, then keep
+     * rejecting moves into cells whose robot does not leave until nothing changes.
+     */
+    private static List<String> naive(List<ControlRobotCommand> robots) {
+        Workspace ws = robots.get(0).workspace();
+        int n = robots.size();
+        int[] x = new int[n], y = new int[n], d = new int[n];
+        String[] status = new String[n];
+        long[] executed = new long[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = robots.get(i).start().x();
+            y[i] = robots.get(i).start().y();
+            d[i] = robots.get(i).direction().ordinal();
+        }
+        int[] dx = {0, 1, 0, -1};
+        int[] dy = {1, 0, -1, 0};
+        for (int tick = 0; ; tick++) {
+            boolean running = false;
+            Map<Position, Integer> at = new HashMap<>();
+            Map<Position, Integer> wanted = new HashMap<>();
+            Map<Integer, Position> moves = new HashMap<>();
+            for (int i = 0; i < n; i++) at.put(new Position(x[i], y[i]), i);
+            for (int i = 0; i < n; i++) {
+                InstructionProgram program = robots.get(i).instructions();
+                if (status[i] != null || tick >= program.length()) continue;
+                running = true;
+                switch (program.codeAtExpanded(tick)) {
+                    case InstructionProgram.TURN_LEFT -> d[i] = (d[i] + 3) & 3;
+                    case InstructionProgram.TURN_RIGHT -> d[i] = (d[i] + 1) & 3;
+                    default -> {
+                        Position target = new Position(x[i] + dx[d[i]], y[i] + dy[d[i]]);
+                        if (!ws.isInside(target.x(), target.y())) status[i] = "OUT_OF_BOUNDS";
+                        else if (ws.isOccupied(target.x(), target.y())) status[i] = "BLOCKED";
+                        else {
+                            moves.put(i, target);
+                            wanted.merge(target, 1, Integer::sum);
+                        }
+                    }
+                }
+                if (status[i] != null) executed[i] = tick;
+            }
+            if (!running) break;
+            Map<Integer, String> rejected = new HashMap<>();
+            moves.forEach((i, target) -> {
+                Integer ahead = at.get(target);
+                if (wanted.get(target) > 1) rejected.put(i, "COLLISION");
+                else if (ahead != null && new Position(x[i], y[i]).equals(moves.get(ahead))) rejected.put(i, "SWAP");
+            });
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (var move : moves.entrySet()) {
+                    Integer ahead = at.get(move.getValue());
+                    if (!rejected.containsKey(move.getKey()) && ahead != null && (!moves.containsKey(ahead) || rejected.containsKey(ahead))) {
+                        rejected.put(move.getKey(), "BLOCKED");
+                        changed = true;
+                    }
+                }
+            }
+            for (var move : moves.entrySet()) {
+                int i = move.getKey();
+                if (rejected.containsKey(i)) {
+                    status[i] = rejected.get(i);
+                    executed[i] = tick;
+                } else {
+                    x[i] = move.getValue().x();
+                    y[i] = move.getValue().y();
+                }
+            }
+        }
+        List<String> outcomes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String position = x[i] + " " + y[i] + " " + Direction.values()[d[i]];
+            outcomes.add(status[i] == null ? position : position + " " + status[i] + " after " + executed[i] + " instructions");
+        }
+        return outcomes;
+    }
+}
@@ -1,13 +1,11 @@
 package com.vwdigitalhub.robots.application.domain.service.util;
 
+import com.vwdigitalhub.robots.application.domain.model.instructions.InstructionProgram;
 import com.vwdigitalhub.robots.application.domain.model.instructions.MoveForward;
-import com.vwdigitalhub.robots.application.domain.model.instructions.RobotInstruction;
 import com.vwdigitalhub.robots.application.domain.model.instructions.TurnLeft;
 import com.vwdigitalhub.robots.application.domain.model.instructions.TurnRight;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 class InstructionParserTest {
@@ -15,7 +13,7 @@ class InstructionParserTest {
     @Test
     void shouldReturnEmptyList_whenInputIsNull() {
         // GIVEN - WHEN
-        List<RobotInstruction> res = InstructionParser.from(null);
+        InstructionProgram res = InstructionParser.from(null);
         // THEN
         assertNotNull(res);
         assertTrue(res.isEmpty());
@@ -24,7 +22,7 @@ class InstructionParserTest {
     @Test
     void shouldReturnEmptyList_whenInputIsOnlyWhitespace() {
         // GIVEN - WHEN
-        List<RobotInstruction> res = InstructionParser.from("   \t  \n ");
+        InstructionProgram res = InstructionParser.from("   \t  \n ");
         // THEN
         assertNotNull(res);
         assertTrue(res.isEmpty());
@@ -33,13 +31,13 @@ class InstructionParserTest {
     @Test
     void shouldParseLowerUpperAndMixedCaseEqually() {
         // GIVEN - WHEN
-        List<RobotInstruction> lower = InstructionParser.from("lmr");
-        List<RobotInstruction> upper = InstructionParser.from("LMR");
-        List<RobotInstruction> mixed = InstructionParser.from("LmR");
+        InstructionProgram lower = InstructionParser.from("lmr");
+        InstructionProgram upper = InstructionParser.from("LMR");
+        InstructionProgram mixed = InstructionParser.from("LmR");
         // THEN
-        assertEquals(upper.size(), lower.size());
-        assertEquals(upper.size(), mixed.size());
-        for (int i = 0; i < upper.size(); i++) {
+        assertEquals(upper.length(), lower.length());
+        assertEquals(upper.length(), mixed.length());
+        for (int i = 0; i < upper.length(); i++) {
             assertEquals(upper.get(i).getClass(), lower.get(i).getClass());
             assertEquals(upper.get(i).getClass(), mixed.get(i).getClass());
         }
@@ -48,21 +46,13 @@ class InstructionParserTest {
     @Test
     void shouldMapEachCharToExpectedSingletonInstruction() {
         // GIVEN - WHEN
-        List<RobotInstruction> res = InstructionParser.from("LMR");
+        InstructionProgram res = InstructionParser.from("LMR");
         // THEN
         assertSame(TurnLeft.INSTANCE,  res.get(0));
         assertSame(MoveForward.INSTANCE, res.get(1));
         assertSame(TurnRight.INSTANCE, res.get(2));
     }
 
-    @Test
-    void shouldProduceUnmodifiableList() {
-        // GIVEN - WHEN
-        List<RobotInstruction> res = InstructionParser.from("LMR");
-        // THEN
-        assertThrows(UnsupportedOperationException.class, () -> res.add(MoveForward.INSTANCE));
-    }
-
     @Test
     void shouldThrowOnUnknownInstructionChar() {
         // GIVEN - WHEN - THEN
@@ -83,11 +73,49 @@ class InstructionParserTest {
         // GIVEN
         String seq = "LMLMLMLMM";
         // WHEN
-        List<RobotInstruction> res = InstructionParser.from(seq);
+        InstructionProgram res = InstructionParser.from(seq);
         // THEN
-        assertEquals(seq.length(), res.size());
+        assertEquals(seq.length(), res.length());
         assertSame(TurnLeft.INSTANCE, res.get(0));
         assertSame(MoveForward.INSTANCE, res.get(1));
-        assertSame(MoveForward.INSTANCE, res.get(res.size() - 1));
+        assertSame(MoveForward.INSTANCE, res.get(res.length() - 1));
+    }
+
+    @Test
+    void shouldExpandRepeatBlocks() {
+        // GIVEN - WHEN
+        InstructionProgram repeated = InstructionParser.from("(MMRMML)*3");
+        InstructionProgram nested = InstructionParser.from("l((m)*2R)*2m");
+        // THEN
+        assertEquals(InstructionParser.from("MMRMMLMMRMMLMMRMML"), repeated);
+        assertEquals(InstructionParser.from("LMMRMMRM"), nested);
+    }
+
+    @Test
+    void shouldKeepLargeRepeatBlocksUnexpanded() {
+        // GIVEN - WHEN
+        InstructionProgram res = InstructionParser.from("M(MMRMML)*1000000000000L");
+        // THEN
+        assertFalse(res.isLiteral());
+        assertEquals(6_000_000_000_002L, res.length());
+        assertSame(TurnLeft.INSTANCE, res.get(6_000_000_000_001L));
+        assertEquals("M(MMRMML)*1000000000000L", res.toString());
+    }
+
+    @Test
+    void shouldThrowOnMalformedRepeatBlocks() {
+        // GIVEN - WHEN - THEN
+        assertEquals("Unbalanced parentheses in instructions",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("(MM")).getMessage());
+        assertEquals("Unbalanced parentheses in instructions",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("MM)*2")).getMessage());
+        assertEquals("Repeat block must be followed by '*<count>'",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("(MM)M")).getMessage());
+        assertEquals("Repeat block must be followed by '*<count>'",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("(MM)*")).getMessage());
+        assertEquals("Repeat count must be positive",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("(MM)*0")).getMessage());
+        assertEquals("Instruction program too long",
+                assertThrows(IllegalArgumentException.class, () -> InstructionParser.from("((MM)*9999999999)*9999999999")).getMessage());
     }
 }